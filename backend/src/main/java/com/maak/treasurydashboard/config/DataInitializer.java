@@ -1,5 +1,8 @@
 package com.maak.treasurydashboard.config;
 
+import com.maak.treasurydashboard.service.MarketDataPipeline;
+import com.maak.treasurydashboard.service.TradeService;
+import com.maak.treasurydashboard.service.TradeWriteBehind;
 import com.maak.treasurydashboard.service.TreasuryDataService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -11,8 +14,23 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private TreasuryDataService treasuryDataService;
     
+    @Autowired
+    private TradeService tradeService;
+    
+    @Autowired
+    private MarketDataPipeline marketDataPipeline;
+    
+    @Autowired
+    private TradeWriteBehind tradeWriteBehind;
+    
     @Override
     public void run(String... args) throws Exception {
         treasuryDataService.initializeData();
+        // Trades acknowledged from the WAL before a crash go in before anything reads the table
+        tradeWriteBehind.recover();
+        tradeService.rebuildTradeIndex();
+        tradeService.rebuildPositions();
+        // Ticks need the quote book loaded
+        marketDataPipeline.start();
     }
 }
@@ -1,19 +1,57 @@
 package com.maak.treasurydashboard.config;
 
+import com.maak.treasurydashboard.service.SessionOutboundQueues;
+import com.maak.treasurydashboard.service.SessionWireFormats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger LOG = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    // Channel tasks running at once in virtual-thread mode; each blocked send parks a virtual thread, not a carrier
+    private static final int VIRTUAL_THREAD_POOL_SIZE = 10_000;
+
+    @Autowired
+    private SessionOutboundQueues sessionOutboundQueues;
+
+    @Autowired
+    private SessionWireFormats sessionWireFormats;
+
+    @Value("${treasury.websocket.outbound.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${treasury.websocket.outbound.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    // Set by the virtual-threads profile; needs a Java 21 runtime
+    @Value("${treasury.websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
@@ -21,5 +59,70 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("http://localhost:4200", "http://127.0.0.1:4200")
                 .withSockJS();
+        // Plain WebSocket without the SockJS fallback; the only endpoint that can carry binary frames
+        registry.addEndpoint("/ws-native")
+                .setAllowedOrigins("http://localhost:4200", "http://127.0.0.1:4200")
+                .addInterceptors(new NativeTransportMarker());
+        // With an unbounded inbound executor, keep each session's frames in arrival order
+        if (useVirtualThreads()) {
+            registry.setPreserveReceiveOrder(true);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (useVirtualThreads()) {
+            registration.taskExecutor(virtualThreadExecutor("ws-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Wire format first, so the session queues conflate the frame actually sent
+        registration.interceptors(sessionWireFormats, sessionOutboundQueues);
+        // Outbound sends block on slow sockets; per-session ordering is kept by the session queues
+        if (useVirtualThreads()) {
+            registration.taskExecutor(virtualThreadExecutor("ws-outbound-"));
+        }
+    }
+
+    private boolean useVirtualThreads() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            LOG.warn("WebSocket: virtual threads need Java 21+, using platform thread pools");
+            virtualThreads = false;
+        }
+        return virtualThreads;
+    }
+
+    // Channels only take a ThreadPoolTaskExecutor, so pool virtual threads behind one; idle ones time out
+    private static ThreadPoolTaskExecutor virtualThreadExecutor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory());
+        executor.setCorePoolSize(VIRTUAL_THREAD_POOL_SIZE);
+        executor.setMaxPoolSize(VIRTUAL_THREAD_POOL_SIZE);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(sessionOutboundQueues::decorate);
+    }
+
+    private static class NativeTransportMarker implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            attributes.put(SessionWireFormats.NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
     }
 }
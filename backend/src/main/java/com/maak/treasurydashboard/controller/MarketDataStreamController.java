@@ -0,0 +1,40 @@
+package com.maak.treasurydashboard.controller;
+
+import com.maak.treasurydashboard.model.MarketDataSnapshot;
+import com.maak.treasurydashboard.model.ReplayRequest;
+import com.maak.treasurydashboard.service.MarketDataDeltaService;
+import com.maak.treasurydashboard.service.TickHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP request/reply endpoints for the delta feed. Subscribing to
+ * {@code /app/market-data/snapshot} returns one snapshot to that session only;
+ * clients subscribe again to resync after a sequence gap.
+ *
+ * <p>Sending a {@link ReplayRequest} to {@code /app/history/replay} streams journaled
+ * ticks back to the sending session on {@code /user/queue/replay}.
+ */
+@Controller
+public class MarketDataStreamController {
+
+    @Autowired
+    private MarketDataDeltaService marketDataDeltaService;
+
+    @Autowired
+    private TickHistoryService tickHistoryService;
+
+    @SubscribeMapping("/market-data/snapshot")
+    public MarketDataSnapshot snapshot() {
+        return marketDataDeltaService.snapshot();
+    }
+
+    @MessageMapping("/history/replay")
+    public void replay(@Payload ReplayRequest request, @Header("simpSessionId") String sessionId) {
+        tickHistoryService.startReplay(sessionId, request);
+    }
+}
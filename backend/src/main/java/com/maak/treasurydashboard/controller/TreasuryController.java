@@ -1,9 +1,42 @@
 package com.maak.treasurydashboard.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.maak.treasurydashboard.model.BarInterval;
+import com.maak.treasurydashboard.model.BatchBookingResponse;
+import com.maak.treasurydashboard.model.BondRisk;
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.OhlcBar;
+import com.maak.treasurydashboard.model.Position;
+import com.maak.treasurydashboard.model.PositionRisk;
+import com.maak.treasurydashboard.model.TickSeries;
 import com.maak.treasurydashboard.model.TreasuryBond;
 import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradeAmendment;
+import com.maak.treasurydashboard.model.TradePage;
+import com.maak.treasurydashboard.model.TradeQuery;
+import com.maak.treasurydashboard.model.Watchlist;
+import com.maak.treasurydashboard.model.YieldCurve;
+import com.maak.treasurydashboard.service.BarAggregator;
+import com.maak.treasurydashboard.service.BroadcastMetrics;
+import com.maak.treasurydashboard.service.MarketDataPipeline;
+import com.maak.treasurydashboard.service.MarketDataRouter;
+import com.maak.treasurydashboard.service.MetricsRegistry;
+import com.maak.treasurydashboard.service.PositionKeeper;
+import com.maak.treasurydashboard.service.ReferenceDataLoader;
+import com.maak.treasurydashboard.service.RiskEngine;
+import com.maak.treasurydashboard.service.SessionOutboundQueues;
+import com.maak.treasurydashboard.service.SessionWireFormats;
+import com.maak.treasurydashboard.service.TickHistoryService;
 import com.maak.treasurydashboard.service.TreasuryDataService;
+import com.maak.treasurydashboard.service.TradeCache;
 import com.maak.treasurydashboard.service.TradeService;
+import com.maak.treasurydashboard.service.TradeTransitionException;
+import com.maak.treasurydashboard.service.TradeWriteBehind;
+import com.maak.treasurydashboard.service.YieldCurveService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +45,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -30,6 +78,57 @@ public class TreasuryController {
     @Autowired
     private TradeService tradeService;
     
+    @Autowired
+    private BroadcastMetrics broadcastMetrics;
+    
+    @Autowired
+    private SessionOutboundQueues sessionOutboundQueues;
+    
+    @Autowired
+    private PositionKeeper positionKeeper;
+    
+    @Autowired
+    private RiskEngine riskEngine;
+    
+    @Autowired
+    private YieldCurveService yieldCurveService;
+    
+    @Autowired
+    private MarketDataPipeline marketDataPipeline;
+    
+    @Autowired
+    private TickHistoryService tickHistoryService;
+    
+    @Autowired
+    private BarAggregator barAggregator;
+    
+    @Autowired
+    private TradeWriteBehind tradeWriteBehind;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    
+    @Autowired
+    private MarketDataRouter marketDataRouter;
+    
+    @Autowired
+    private SessionWireFormats sessionWireFormats;
+    
+    @Autowired
+    private TradeCache tradeCache;
+    
+    @Autowired
+    private ReferenceDataLoader referenceDataLoader;
+    
+    @Value("${treasury.trades.batch.max-size:50000}")
+    private int maxBatchSize;
+    
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_HISTORY_POINTS = 10000;
+    
     @Operation(
         summary = "Get all treasury bonds",
         description = "Retrieves all US Treasury on-the-run issues (2Y, 5Y, 10Y, 30Y) with current market data"
@@ -128,26 +227,167 @@ public class TreasuryController {
         }
     }
     
+    @Operation(
+        summary = "Book a batch of trades",
+        description = "Validates and books an array of trades in a single transaction using JDBC batch inserts. " +
+                      "Invalid items are rejected individually; the response lists a result per request item."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; see per-item results",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BatchBookingResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Batch is empty or exceeds the maximum size"
+        )
+    })
+    @PostMapping(value = "/trades/book/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchBookingResponse> bookTradeBatch(@RequestBody List<Trade> trades) {
+        if (trades == null || trades.isEmpty() || trades.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tradeService.bookTrades(trades));
+    }
+    
+    @Operation(
+        summary = "Book a batch of trades from NDJSON",
+        description = "Same as the JSON batch endpoint, but reads one trade per line from an application/x-ndjson stream"
+    )
+    @PostMapping(value = "/trades/book/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchBookingResponse> bookTradeBatchNdjson(InputStream body) throws IOException {
+        List<Trade> trades = new ArrayList<>();
+        try (MappingIterator<Trade> items = objectMapper.readerFor(Trade.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                if (trades.size() == maxBatchSize) {
+                    return ResponseEntity.badRequest().build();
+                }
+                trades.add(items.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (trades.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tradeService.bookTrades(trades));
+    }
+    
     @Operation(
         summary = "Get all trades",
-        description = "Retrieves all trades ordered by timestamp (most recent first)"
+        description = "Retrieves all trades ordered by timestamp (most recent first). " +
+                      "Any combination of status, trader, cusip and counterparty filters is applied together."
     )
     @GetMapping("/trades")
     public ResponseEntity<List<Trade>> getAllTrades(
         @RequestParam(required = false) String status,
-        @RequestParam(required = false) String trader) {
+        @RequestParam(required = false) String trader,
+        @RequestParam(required = false) String cusip,
+        @RequestParam(required = false) String counterparty) {
         
+        TradeQuery query = new TradeQuery(trader, status, cusip, counterparty, null, null);
         List<Trade> trades;
-        if (status != null && !status.isEmpty()) {
-            trades = tradeService.getTradesByStatus(status);
-        } else if (trader != null && !trader.isEmpty()) {
-            trades = tradeService.getTradesByTrader(trader);
-        } else {
+        if (query.getStatus() == null && query.getTrader() == null
+                && query.getCusip() == null && query.getCounterparty() == null) {
             trades = tradeService.getAllTrades();
+        } else {
+            trades = tradeService.searchTrades(query);
         }
         return ResponseEntity.ok(trades);
     }
     
+    @Operation(
+        summary = "Search trades",
+        description = "Trades matching every supplied filter within [from, to), most recent first. " +
+                      "from defaults to the start of today; windows starting today are served from the " +
+                      "in-memory intraday index, earlier windows from the database."
+    )
+    @GetMapping("/trades/search")
+    public ResponseEntity<List<Trade>> searchTrades(
+        @RequestParam(required = false) String trader,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String cusip,
+        @RequestParam(required = false) String counterparty,
+        @Parameter(description = "Inclusive lower bound, ISO date-time", example = "2024-01-15T09:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive upper bound, ISO date-time")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        if (from == null) {
+            from = LocalDate.now().atStartOfDay();
+        }
+        return ResponseEntity.ok(tradeService.searchTrades(
+            new TradeQuery(trader, status, cusip, counterparty, from, to)));
+    }
+    
+    @Operation(
+        summary = "Get a page of trades",
+        description = "Keyset-paginated trades ordered by timestamp (most recent first). " +
+                      "Pass the nextCursor from the previous page to continue; it is null on the last page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Page retrieved",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TradePage.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor or limit"
+        )
+    })
+    @GetMapping("/trades/page")
+    public ResponseEntity<TradePage> getTradePage(
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "100") int limit) {
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            String statusFilter = status != null && !status.isEmpty() ? status : null;
+            return ResponseEntity.ok(tradeService.getTradePage(statusFilter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @Operation(
+        summary = "Export trades as NDJSON",
+        description = "Streams every trade (optionally filtered by status), most recent first, one JSON object per line. " +
+                      "Rows are written as they are read from the database cursor."
+    )
+    @GetMapping(value = "/trades/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTrades(@RequestParam(required = false) String status) {
+        String statusFilter = status != null && !status.isEmpty() ? status : null;
+        ObjectWriter writer = objectMapper.writerFor(Trade.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = responseStream -> {
+            OutputStream out = new BufferedOutputStream(responseStream, 64 * 1024);
+            try {
+                tradeService.streamTrades(statusFilter, trade -> {
+                    try {
+                        writer.writeValue(out, trade);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     @Operation(
         summary = "Get trade by ID",
         description = "Retrieves a specific trade by its ID"
@@ -161,14 +401,393 @@ public class TreasuryController {
     
     @Operation(
         summary = "Cancel a trade",
-        description = "Cancels a pending trade by setting its status to CANCELLED"
+        description = "Cancels a pending or executed trade by setting its status to CANCELLED. " +
+                      "With a version, the cancel only applies if the trade is still at that version."
     )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trade cancelled"),
+        @ApiResponse(responseCode = "404", description = "Trade not found"),
+        @ApiResponse(responseCode = "409", description = "Already cancelled, stale version or not yet persisted; " +
+                                                         "the body is the current trade when there is one")
+    })
     @PutMapping("/trades/{id}/cancel")
-    public ResponseEntity<Trade> cancelTrade(@PathVariable Long id) {
-        Trade cancelledTrade = tradeService.cancelTrade(id);
-        if (cancelledTrade != null) {
-            return ResponseEntity.ok(cancelledTrade);
+    public ResponseEntity<Trade> cancelTrade(@PathVariable Long id, @RequestParam(required = false) Long version) {
+        try {
+            Trade cancelledTrade = tradeService.cancelTrade(id, version);
+            if (cancelledTrade != null) {
+                return ResponseEntity.ok(cancelledTrade);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (TradeTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getCurrent());
+        }
+    }
+    
+    @Operation(
+        summary = "Amend a trade",
+        description = "Changes the quantity, price, yield, settlement date or commission of a pending or executed " +
+                      "trade; omitted fields are kept. With a version, the amend only applies if the trade is " +
+                      "still at that version."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trade amended"),
+        @ApiResponse(responseCode = "400", description = "Nothing to amend, or a non-positive quantity or price"),
+        @ApiResponse(responseCode = "404", description = "Trade not found"),
+        @ApiResponse(responseCode = "409", description = "Cancelled, stale version or not yet persisted; " +
+                                                         "the body is the current trade when there is one")
+    })
+    @PutMapping("/trades/{id}/amend")
+    public ResponseEntity<Trade> amendTrade(@PathVariable Long id, @RequestBody TradeAmendment amendment) {
+        try {
+            Trade amendedTrade = tradeService.amendTrade(id, amendment);
+            if (amendedTrade != null) {
+                return ResponseEntity.ok(amendedTrade);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TradeTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getCurrent());
+        }
+    }
+    
+    @Operation(
+        summary = "Get positions",
+        description = "Net positions by trader, counterparty and CUSIP, marked to the latest mid. " +
+                      "Live changes are published on /topic/positions."
+    )
+    @GetMapping("/positions")
+    public ResponseEntity<List<Position>> getPositions(
+        @RequestParam(required = false) String trader,
+        @RequestParam(required = false) String counterparty,
+        @RequestParam(required = false) String cusip) {
+        return ResponseEntity.ok(positionKeeper.getPositions(emptyToNull(trader), emptyToNull(counterparty),
+            emptyToNull(cusip)));
+    }
+    
+    @Operation(
+        summary = "Get the yield curve",
+        description = "Par-yield pillars and a monthly grid to 30Y of par yields, zero rates and discount factors, " +
+                      "built server-side with monotone cubic interpolation. Served from the encoding cached at the last tick; " +
+                      "live updates are published on /topic/yield-curve/curve."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Current curve",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = YieldCurve.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "No curve has been built yet"
+        )
+    })
+    @GetMapping(value = "/curve", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getYieldCurve() {
+        byte[] json = yieldCurveService.getCurveJson();
+        if (json == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+    
+    @Operation(
+        summary = "Interpolate the yield curve",
+        description = "Par yield, zero rate and discount factor at an arbitrary tenor, evaluated directly on the " +
+                      "current spline rather than the grid. Evaluation is a binary search over the pillars plus a few " +
+                      "floating-point operations; the budget is under 1 microsecond per point."
+    )
+    @GetMapping("/curve/yield")
+    public ResponseEntity<Map<String, Object>> getCurveYield(
+        @Parameter(description = "Tenor in years (7.5) or as a label (7Y, 18M)", example = "7Y")
+        @RequestParam String tenor) {
+        
+        YieldCurve curve = yieldCurveService.getCurve();
+        if (curve == null) {
+            return ResponseEntity.notFound().build();
+        }
+        double years;
+        try {
+            years = YieldCurveService.parseTenor(tenor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("tenor", tenor);
+        point.put("years", years);
+        point.put("parYield", curve.parYieldAt(years));
+        point.put("zeroRate", curve.zeroRateAt(years));
+        point.put("discountFactor", curve.discountFactorAt(years));
+        point.put("curveVersion", curve.getVersion());
+        return ResponseEntity.ok(point);
+    }
+    
+    @Operation(
+        summary = "Get intraday tick history",
+        description = "Price, yield, bid/ask and volume for a bond from the tick journal. Ranges holding more than " +
+                      "maxPoints ticks are downsampled into equal time buckets (last levels, summed volume)."
+    )
+    @GetMapping("/history/{cusip}")
+    public ResponseEntity<TickSeries> getTickHistory(
+        @PathVariable String cusip,
+        @Parameter(description = "Inclusive start (ISO date-time); defaults to the start of today")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive end (ISO date-time); defaults to now")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "500") int maxPoints) {
+        
+        long fromMillis = FixedPoint.toEpochMillis(from != null ? from : LocalDate.now().atStartOfDay());
+        long toMillis = to != null ? FixedPoint.toEpochMillis(to) : System.currentTimeMillis() + 1;
+        if (maxPoints > MAX_HISTORY_POINTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(tickHistoryService.getSeries(cusip, fromMillis, toMillis, maxPoints));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @Operation(
+        summary = "Get OHLC bars",
+        description = "Open/high/low/close mid prices and traded volume for a bond at 1s, 1m, 5m or 1h over " +
+                      "[from, to), oldest first. The last bar may still be building (complete=false). Only the most " +
+                      "recent bars per interval are kept; see treasury.bars.capacity.*"
+    )
+    @GetMapping("/bars/{cusip}")
+    public ResponseEntity<List<OhlcBar>> getBars(
+        @PathVariable String cusip,
+        @Parameter(description = "Bar interval: 1s, 1m, 5m or 1h", example = "1m")
+        @RequestParam(defaultValue = "1m") String interval,
+        @Parameter(description = "Inclusive start (ISO date-time); defaults to the start of today")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive end (ISO date-time); defaults to no limit")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        BarInterval barInterval;
+        try {
+            barInterval = BarInterval.fromLabel(interval);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        long fromMillis = FixedPoint.toEpochMillis(from != null ? from : LocalDate.now().atStartOfDay());
+        long toMillis = to != null ? FixedPoint.toEpochMillis(to) : Long.MAX_VALUE;
+        List<OhlcBar> bars = barAggregator.getBars(cusip, barInterval, fromMillis, toMillis);
+        if (bars == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bars);
+    }
+    
+    @Operation(
+        summary = "Get bond risk",
+        description = "DV01 (per 100 face, 1bp), modified duration and convexity for every bond as of the last tick"
+    )
+    @GetMapping("/risk/bonds")
+    public ResponseEntity<List<BondRisk>> getBondRisk() {
+        return ResponseEntity.ok(riskEngine.getBondRisk());
+    }
+    
+    @Operation(
+        summary = "Get risk for one bond",
+        description = "DV01, modified duration and convexity for a bond as of the last tick"
+    )
+    @GetMapping("/risk/bonds/{cusip}")
+    public ResponseEntity<BondRisk> getBondRisk(@PathVariable String cusip) {
+        BondRisk risk = riskEngine.getBondRisk(cusip);
+        if (risk != null) {
+            return ResponseEntity.ok(risk);
         }
         return ResponseEntity.notFound().build();
     }
+    
+    @Operation(
+        summary = "Get position risk",
+        description = "Aggregate DV01, duration and convexity of the matching positions, with a per-position breakdown"
+    )
+    @GetMapping("/risk/positions")
+    public ResponseEntity<PositionRisk> getPositionRisk(
+        @RequestParam(required = false) String trader,
+        @RequestParam(required = false) String counterparty,
+        @RequestParam(required = false) String cusip) {
+        return ResponseEntity.ok(riskEngine.getPositionRisk(emptyToNull(trader), emptyToNull(counterparty),
+            emptyToNull(cusip)));
+    }
+    
+    @Operation(
+        summary = "List watchlists",
+        description = "Named CUSIP sets; subscribe to /topic/watchlist/{name} for their quotes"
+    )
+    @GetMapping("/watchlists")
+    public ResponseEntity<List<Watchlist>> getWatchlists() {
+        return ResponseEntity.ok(marketDataRouter.getWatchlists());
+    }
+    
+    @Operation(
+        summary = "Get a watchlist",
+        description = "The CUSIPs in one named watchlist"
+    )
+    @GetMapping("/watchlists/{name}")
+    public ResponseEntity<Watchlist> getWatchlist(@PathVariable String name) {
+        Watchlist watchlist = marketDataRouter.getWatchlist(name);
+        if (watchlist == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(watchlist);
+    }
+    
+    @Operation(
+        summary = "Create or replace a watchlist",
+        description = "Sets the CUSIPs of a named watchlist. Subscribers to /topic/watchlist/{name} receive the " +
+                      "current quotes of every member whenever one of them ticks"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Watchlist saved"),
+        @ApiResponse(responseCode = "400", description = "Invalid name, empty list or unknown CUSIP")
+    })
+    @PutMapping("/watchlists/{name}")
+    public ResponseEntity<Watchlist> saveWatchlist(@PathVariable String name, @RequestBody List<String> cusips) {
+        try {
+            return ResponseEntity.ok(marketDataRouter.saveWatchlist(name, cusips));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @Operation(
+        summary = "Delete a watchlist",
+        description = "Removes a named watchlist; its topic stops receiving frames"
+    )
+    @DeleteMapping("/watchlists/{name}")
+    public ResponseEntity<Void> deleteWatchlist(@PathVariable String name) {
+        if (!marketDataRouter.deleteWatchlist(name)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+    
+    @Operation(
+        summary = "Get subscription routing metrics",
+        description = "STOMP sessions, subscriptions and destinations tracked by the subscription registry, and " +
+                      "frames sent on per-CUSIP and watchlist topics"
+    )
+    @GetMapping("/metrics/subscriptions")
+    public ResponseEntity<Map<String, Object>> getSubscriptionMetrics() {
+        return ResponseEntity.ok(marketDataRouter.stats());
+    }
+    
+    @Operation(
+        summary = "Get hot-path metrics",
+        description = "Latency histograms (count, mean, p50/p90/p99/p99.9, max in microseconds) for tick apply and " +
+                      "fan-out, persistence, serialization, broadcast and booking, plus WebSocket session and queue " +
+                      "gauges"
+    )
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.ok(metricsRegistry.snapshot());
+    }
+    
+    @Operation(
+        summary = "Reset latency histograms",
+        description = "Clears every latency histogram, e.g. between load-test runs; gauges are unaffected"
+    )
+    @PostMapping("/metrics/reset")
+    public ResponseEntity<Void> resetMetrics() {
+        metricsRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @Operation(
+        summary = "Get broadcast metrics",
+        description = "Bytes encoded, encode time and fan-out time for WebSocket broadcasts, for the last tick and cumulatively, "
+            + "plus binary wire-format sessions, encodes and frames"
+    )
+    @GetMapping("/metrics/broadcast")
+    public ResponseEntity<Map<String, Object>> getBroadcastMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>(broadcastMetrics.snapshot());
+        metrics.putAll(sessionWireFormats.stats());
+        return ResponseEntity.ok(metrics);
+    }
+    
+    @Operation(
+        summary = "Get trade cache metrics",
+        description = "Whether the trade lookup cache is on, entries and trades held, estimated footprint, " +
+                      "hit rate, evictions, load time and the number of entries patched by bookings and cancels"
+    )
+    @GetMapping("/metrics/trade-cache")
+    public ResponseEntity<Map<String, Object>> getTradeCacheMetrics() {
+        return ResponseEntity.ok(tradeCache.stats());
+    }
+    
+    @Operation(
+        summary = "Get WebSocket session queue metrics",
+        description = "Per-session outbound queue depth, conflation counts and slow-consumer events"
+    )
+    @GetMapping("/metrics/sessions")
+    public ResponseEntity<Map<String, Object>> getSessionMetrics() {
+        return ResponseEntity.ok(sessionOutboundQueues.snapshot());
+    }
+    
+    @Operation(
+        summary = "Get risk engine metrics",
+        description = "Instrument and cashflow counts and the compute time of the last risk run"
+    )
+    @GetMapping("/metrics/risk")
+    public ResponseEntity<Map<String, Object>> getRiskMetrics() {
+        return ResponseEntity.ok(riskEngine.stats());
+    }
+    
+    @Operation(
+        summary = "Get tick journal metrics",
+        description = "Ticks journaled, current day file, write errors and replay activity"
+    )
+    @GetMapping("/metrics/journal")
+    public ResponseEntity<Map<String, Object>> getJournalMetrics() {
+        return ResponseEntity.ok(tickHistoryService.stats());
+    }
+    
+    @Operation(
+        summary = "Get bar aggregator metrics",
+        description = "CUSIPs with bars, ticks folded, bars closed and the bars kept per interval"
+    )
+    @GetMapping("/metrics/bars")
+    public ResponseEntity<Map<String, Object>> getBarMetrics() {
+        return ResponseEntity.ok(barAggregator.stats());
+    }
+    
+    @Operation(
+        summary = "Get trade persistence metrics",
+        description = "Persistence mode, WAL size and checkpoint, background writer progress and a histogram of " +
+                      "single-trade booking latency (request to acknowledgement)"
+    )
+    @GetMapping("/metrics/trade-persistence")
+    public ResponseEntity<Map<String, Object>> getTradePersistenceMetrics() {
+        return ResponseEntity.ok(tradeWriteBehind.stats());
+    }
+    
+    @Operation(
+        summary = "Get market data pipeline metrics",
+        description = "Ticks received, rejected, conflated and published, plus per-source ring depth and back-pressure"
+    )
+    @GetMapping("/metrics/market-data")
+    public ResponseEntity<Map<String, Object>> getMarketDataMetrics() {
+        return ResponseEntity.ok(marketDataPipeline.stats());
+    }
+    
+    @Operation(
+        summary = "Get reference data metrics",
+        description = "Securities in the universe by type, on-the-run curve pillars and a summary of the last " +
+                      "security master load"
+    )
+    @GetMapping("/metrics/reference-data")
+    public ResponseEntity<Map<String, Object>> getReferenceDataMetrics() {
+        return ResponseEntity.ok(referenceDataLoader.stats());
+    }
+    
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
 }
@@ -0,0 +1,33 @@
+package com.maak.treasurydashboard.model;
+
+/**
+ * Bar intervals kept by the bar aggregator. Bars are aligned to the epoch, so a 5m bar
+ * always starts on a multiple of five minutes.
+ */
+public enum BarInterval {
+
+    ONE_SECOND("1s", 1_000L),
+    ONE_MINUTE("1m", 60_000L),
+    FIVE_MINUTES("5m", 300_000L),
+    ONE_HOUR("1h", 3_600_000L);
+
+    private final String label;
+    private final long millis;
+
+    BarInterval(String label, long millis) {
+        this.label = label;
+        this.millis = millis;
+    }
+
+    public String getLabel() { return label; }
+    public long getMillis() { return millis; }
+
+    public static BarInterval fromLabel(String label) {
+        for (BarInterval interval : values()) {
+            if (interval.label.equalsIgnoreCase(label)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bar interval: " + label);
+    }
+}
@@ -0,0 +1,27 @@
+package com.maak.treasurydashboard.model;
+
+import java.util.List;
+
+public class BatchBookingResponse {
+
+    private int booked;
+    private int rejected;
+    private List<TradeBookingResult> results;
+
+    public BatchBookingResponse() {}
+
+    public BatchBookingResponse(int booked, int rejected, List<TradeBookingResult> results) {
+        this.booked = booked;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getBooked() { return booked; }
+    public void setBooked(int booked) { this.booked = booked; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<TradeBookingResult> getResults() { return results; }
+    public void setResults(List<TradeBookingResult> results) { this.results = results; }
+}
@@ -0,0 +1,129 @@
+package com.maak.treasurydashboard.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Changed fields of a single bond between two delta-feed sequence numbers.
+ * Only fields flagged in {@link #getMask()} are populated; the rest are omitted from JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BondDelta {
+
+    public static final int PRICE = 1;
+    public static final int YIELD = 1 << 1;
+    public static final int PRICE_CHANGE = 1 << 2;
+    public static final int YIELD_CHANGE = 1 << 3;
+    public static final int BID_PRICE = 1 << 4;
+    public static final int ASK_PRICE = 1 << 5;
+    public static final int VOLUME = 1 << 6;
+    public static final int LAST_UPDATED = 1 << 7;
+    // Reference fields, sent only the first time a CUSIP appears on the feed
+    public static final int REFERENCE = 1 << 8;
+
+    private String cusip;
+    private int mask;
+    private Long id;
+    private String maturity;
+    private BigDecimal coupon;
+    private BigDecimal price;
+    private BigDecimal yield;
+    private BigDecimal priceChange;
+    private BigDecimal yieldChange;
+    private BigDecimal bidPrice;
+    private BigDecimal askPrice;
+    private Long volume;
+    private LocalDateTime lastUpdated;
+
+    public BondDelta() {}
+
+    /** Builds the delta from {@code previous} to {@code current}, or returns null if nothing changed. */
+    public static BondDelta between(BondQuote previous, BondQuote current) {
+        BondDelta delta = new BondDelta();
+        delta.cusip = current.getCusip();
+        if (previous == null || previous.getPrice() != current.getPrice()) {
+            delta.mask |= PRICE;
+            delta.price = FixedPoint.fromPriceUnits(current.getPrice());
+        }
+        if (previous == null || previous.getYield() != current.getYield()) {
+            delta.mask |= YIELD;
+            delta.yield = FixedPoint.fromYieldUnits(current.getYield());
+        }
+        if (previous == null || previous.getPriceChange() != current.getPriceChange()) {
+            delta.mask |= PRICE_CHANGE;
+            delta.priceChange = FixedPoint.fromPriceUnits(current.getPriceChange());
+        }
+        if (previous == null || previous.getYieldChange() != current.getYieldChange()) {
+            delta.mask |= YIELD_CHANGE;
+            delta.yieldChange = FixedPoint.fromYieldUnits(current.getYieldChange());
+        }
+        if (previous == null || previous.getBidPrice() != current.getBidPrice()) {
+            delta.mask |= BID_PRICE;
+            delta.bidPrice = FixedPoint.fromPriceUnits(current.getBidPrice());
+        }
+        if (previous == null || previous.getAskPrice() != current.getAskPrice()) {
+            delta.mask |= ASK_PRICE;
+            delta.askPrice = FixedPoint.fromPriceUnits(current.getAskPrice());
+        }
+        if (previous == null || previous.getVolume() != current.getVolume()) {
+            delta.mask |= VOLUME;
+            delta.volume = current.getVolume();
+        }
+        // A timestamp-only change is not worth a frame on its own
+        if (delta.mask == 0) {
+            return null;
+        }
+        if (previous == null || previous.getLastUpdated() != current.getLastUpdated()) {
+            delta.mask |= LAST_UPDATED;
+            delta.lastUpdated = FixedPoint.toLocalDateTime(current.getLastUpdated());
+        }
+        if (previous == null) {
+            delta.mask |= REFERENCE;
+            delta.id = current.getId();
+            delta.maturity = current.getMaturity();
+            delta.coupon = current.getCoupon();
+        }
+        return delta;
+    }
+
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public int getMask() { return mask; }
+    public void setMask(int mask) { this.mask = mask; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMaturity() { return maturity; }
+    public void setMaturity(String maturity) { this.maturity = maturity; }
+
+    public BigDecimal getCoupon() { return coupon; }
+    public void setCoupon(BigDecimal coupon) { this.coupon = coupon; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getYield() { return yield; }
+    public void setYield(BigDecimal yield) { this.yield = yield; }
+
+    public BigDecimal getPriceChange() { return priceChange; }
+    public void setPriceChange(BigDecimal priceChange) { this.priceChange = priceChange; }
+
+    public BigDecimal getYieldChange() { return yieldChange; }
+    public void setYieldChange(BigDecimal yieldChange) { this.yieldChange = yieldChange; }
+
+    public BigDecimal getBidPrice() { return bidPrice; }
+    public void setBidPrice(BigDecimal bidPrice) { this.bidPrice = bidPrice; }
+
+    public BigDecimal getAskPrice() { return askPrice; }
+    public void setAskPrice(BigDecimal askPrice) { this.askPrice = askPrice; }
+
+    public Long getVolume() { return volume; }
+    public void setVolume(Long volume) { this.volume = volume; }
+
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+}
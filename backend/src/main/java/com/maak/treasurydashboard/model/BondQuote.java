@@ -0,0 +1,98 @@
+package com.maak.treasurydashboard.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable point-in-time quote for a single bond. Instances are published into
+ * the quote book by swapping references, so readers never see a half-applied tick.
+ * Market fields are fixed-point longs (see {@link FixedPoint}); BigDecimal values
+ * are only produced when converting to a {@link TreasuryBond}. Static fields come
+ * from the shared {@link Security}.
+ */
+public final class BondQuote {
+
+    private final Long id;
+    private final Security security;
+    private final long price;
+    private final long yield;
+    private final long priceChange;
+    private final long yieldChange;
+    private final long bidPrice;
+    private final long askPrice;
+    private final long volume;
+    private final long lastUpdated;
+    private final long version;
+
+    public BondQuote(Long id, Security security,
+                     long price, long yield, long priceChange, long yieldChange,
+                     long bidPrice, long askPrice, long volume,
+                     long lastUpdated, long version) {
+        this.id = id;
+        this.security = security;
+        this.price = price;
+        this.yield = yield;
+        this.priceChange = priceChange;
+        this.yieldChange = yieldChange;
+        this.bidPrice = bidPrice;
+        this.askPrice = askPrice;
+        this.volume = volume;
+        this.lastUpdated = lastUpdated;
+        this.version = version;
+    }
+
+    public static BondQuote fromBond(TreasuryBond bond, Security security, long version) {
+        return new BondQuote(bond.getId(), security,
+            FixedPoint.toPriceUnits(bond.getPrice()), FixedPoint.toYieldUnits(bond.getYield()),
+            FixedPoint.toPriceUnits(bond.getPriceChange()), FixedPoint.toYieldUnits(bond.getYieldChange()),
+            FixedPoint.toPriceUnits(bond.getBidPrice()), FixedPoint.toPriceUnits(bond.getAskPrice()),
+            bond.getVolume() != null ? bond.getVolume() : 0L,
+            FixedPoint.toEpochMillis(bond.getLastUpdated()), version);
+    }
+
+    // Detached copy for REST/WebSocket payloads; never attached to a persistence context
+    public TreasuryBond toBond() {
+        TreasuryBond bond = new TreasuryBond();
+        bond.setId(id);
+        bond.setCoupon(security.getCoupon());
+        copyTo(bond);
+        bond.setCusip(security.getCusip());
+        bond.setMaturity(security.getMaturity());
+        bond.setMaturityDate(security.getMaturityDate());
+        bond.setSecurityType(security.getType());
+        return bond;
+    }
+
+    // Copies the market fields onto a managed entity during write-behind flush
+    public void copyTo(TreasuryBond bond) {
+        bond.setPrice(FixedPoint.fromPriceUnits(price));
+        bond.setYield(FixedPoint.fromYieldUnits(yield));
+        bond.setPriceChange(FixedPoint.fromPriceUnits(priceChange));
+        bond.setYieldChange(FixedPoint.fromYieldUnits(yieldChange));
+        bond.setBidPrice(FixedPoint.fromPriceUnits(bidPrice));
+        bond.setAskPrice(FixedPoint.fromPriceUnits(askPrice));
+        bond.setVolume(volume);
+        bond.setLastUpdated(FixedPoint.toLocalDateTime(lastUpdated));
+    }
+
+    public Long getId() { return id; }
+    public Security getSecurity() { return security; }
+    // Dense index for arrays sized to the universe
+    public int getSecurityId() { return security.getId(); }
+    public String getCusip() { return security.getCusip(); }
+    public String getMaturity() { return security.getMaturity(); }
+    public LocalDate getMaturityDate() { return security.getMaturityDate(); }
+    public BigDecimal getCoupon() { return security.getCoupon(); }
+
+    // Fixed-point market fields
+    public long getPrice() { return price; }
+    public long getYield() { return yield; }
+    public long getPriceChange() { return priceChange; }
+    public long getYieldChange() { return yieldChange; }
+    public long getBidPrice() { return bidPrice; }
+    public long getAskPrice() { return askPrice; }
+
+    public long getVolume() { return volume; }
+    public long getLastUpdated() { return lastUpdated; }
+    public long getVersion() { return version; }
+}
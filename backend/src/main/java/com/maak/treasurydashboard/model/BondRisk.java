@@ -0,0 +1,50 @@
+package com.maak.treasurydashboard.model;
+
+/**
+ * Yield risk for one bond per 100 face. {@code dv01} is the price change for a one
+ * basis point fall in yield; {@code modelPrice} is the price implied by the yield.
+ */
+public class BondRisk {
+
+    private String cusip;
+    private String maturity;
+    private double yield;
+    private double modelPrice;
+    private double dv01;
+    private double modifiedDuration;
+    private double convexity;
+
+    public BondRisk() {}
+
+    public BondRisk(String cusip, String maturity, double yield, double modelPrice,
+                    double dv01, double modifiedDuration, double convexity) {
+        this.cusip = cusip;
+        this.maturity = maturity;
+        this.yield = yield;
+        this.modelPrice = modelPrice;
+        this.dv01 = dv01;
+        this.modifiedDuration = modifiedDuration;
+        this.convexity = convexity;
+    }
+
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public String getMaturity() { return maturity; }
+    public void setMaturity(String maturity) { this.maturity = maturity; }
+
+    public double getYield() { return yield; }
+    public void setYield(double yield) { this.yield = yield; }
+
+    public double getModelPrice() { return modelPrice; }
+    public void setModelPrice(double modelPrice) { this.modelPrice = modelPrice; }
+
+    public double getDv01() { return dv01; }
+    public void setDv01(double dv01) { this.dv01 = dv01; }
+
+    public double getModifiedDuration() { return modifiedDuration; }
+    public void setModifiedDuration(double modifiedDuration) { this.modifiedDuration = modifiedDuration; }
+
+    public double getConvexity() { return convexity; }
+    public void setConvexity(double convexity) { this.convexity = convexity; }
+}
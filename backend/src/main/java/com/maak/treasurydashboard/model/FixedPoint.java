@@ -0,0 +1,71 @@
+package com.maak.treasurydashboard.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Scaled-long representations used on the tick path. Prices are held in
+ * ten-thousandths of a point (the scale of the price columns) and yields in
+ * ten-thousandths of a basis point, i.e. millionths of a percent (the scale of
+ * the yield columns). Conversion to BigDecimal happens only at the entity and
+ * JSON boundaries.
+ */
+public final class FixedPoint {
+
+    public static final int PRICE_DECIMALS = 4;
+    public static final long PRICE_SCALE = 10_000L;
+
+    public static final int YIELD_DECIMALS = 6;
+    public static final long YIELD_SCALE = 1_000_000L;
+
+    // One basis point expressed in yield units
+    public static final long ONE_BP = YIELD_SCALE / 100;
+
+    private FixedPoint() {}
+
+    public static long toPriceUnits(BigDecimal price) {
+        return price == null ? 0L : price.setScale(PRICE_DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromPriceUnits(long units) {
+        return BigDecimal.valueOf(units, PRICE_DECIMALS);
+    }
+
+    public static long toYieldUnits(BigDecimal yield) {
+        return yield == null ? 0L : yield.setScale(YIELD_DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromYieldUnits(long units) {
+        return BigDecimal.valueOf(units, YIELD_DECIMALS);
+    }
+
+    public static double priceToDouble(long units) {
+        return (double) units / PRICE_SCALE;
+    }
+
+    public static double yieldToDouble(long units) {
+        return (double) units / YIELD_SCALE;
+    }
+
+    /** Multiplies by {@code (1 + relativeChange)}, rounding half-up like the BigDecimal path did. */
+    public static long scale(long units, double relativeChange) {
+        return Math.round(units * (1.0 + relativeChange));
+    }
+
+    /** Integer division rounding half away from zero, matching {@link RoundingMode#HALF_UP}. */
+    public static long divideHalfUp(long units, long divisor) {
+        long half = divisor / 2;
+        return units >= 0 ? (units + half) / divisor : (units - half) / divisor;
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,31 @@
+package com.maak.treasurydashboard.model;
+
+import java.util.List;
+
+/**
+ * One frame of the delta feed. Sequence numbers are consecutive, so a client that
+ * sees anything other than {@code lastSequence + 1} has missed a frame and must resync.
+ */
+public class MarketDataDelta {
+
+    private long sequence;
+    private long timestamp;
+    private List<BondDelta> changes;
+
+    public MarketDataDelta() {}
+
+    public MarketDataDelta(long sequence, long timestamp, List<BondDelta> changes) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.changes = changes;
+    }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public List<BondDelta> getChanges() { return changes; }
+    public void setChanges(List<BondDelta> changes) { this.changes = changes; }
+}
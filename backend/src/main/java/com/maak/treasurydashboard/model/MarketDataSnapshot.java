@@ -0,0 +1,26 @@
+package com.maak.treasurydashboard.model;
+
+import java.util.List;
+
+/**
+ * Full state of the delta feed as of {@link #getSequence()}. Deltas with a higher
+ * sequence number apply on top of it.
+ */
+public class MarketDataSnapshot {
+
+    private long sequence;
+    private List<TreasuryBond> bonds;
+
+    public MarketDataSnapshot() {}
+
+    public MarketDataSnapshot(long sequence, List<TreasuryBond> bonds) {
+        this.sequence = sequence;
+        this.bonds = bonds;
+    }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public List<TreasuryBond> getBonds() { return bonds; }
+    public void setBonds(List<TreasuryBond> bonds) { this.bonds = bonds; }
+}
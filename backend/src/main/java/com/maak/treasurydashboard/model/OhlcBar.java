@@ -0,0 +1,76 @@
+package com.maak.treasurydashboard.model;
+
+/**
+ * One OHLC bar for a CUSIP over {@code [start, end)}. Prices are mids; volume is the
+ * volume traded within the bar, not the running total on the bond.
+ */
+public class OhlcBar {
+
+    private String cusip;
+    private String interval;
+    private long start;
+    private long end;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double closeYield;
+    private long volume;
+    private int tickCount;
+    private boolean complete;
+
+    public OhlcBar() {}
+
+    public OhlcBar(String cusip, String interval, long start, long end, double open, double high, double low,
+                   double close, double closeYield, long volume, int tickCount, boolean complete) {
+        this.cusip = cusip;
+        this.interval = interval;
+        this.start = start;
+        this.end = end;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.closeYield = closeYield;
+        this.volume = volume;
+        this.tickCount = tickCount;
+        this.complete = complete;
+    }
+
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public String getInterval() { return interval; }
+    public void setInterval(String interval) { this.interval = interval; }
+
+    public long getStart() { return start; }
+    public void setStart(long start) { this.start = start; }
+
+    public long getEnd() { return end; }
+    public void setEnd(long end) { this.end = end; }
+
+    public double getOpen() { return open; }
+    public void setOpen(double open) { this.open = open; }
+
+    public double getHigh() { return high; }
+    public void setHigh(double high) { this.high = high; }
+
+    public double getLow() { return low; }
+    public void setLow(double low) { this.low = low; }
+
+    public double getClose() { return close; }
+    public void setClose(double close) { this.close = close; }
+
+    public double getCloseYield() { return closeYield; }
+    public void setCloseYield(double closeYield) { this.closeYield = closeYield; }
+
+    public long getVolume() { return volume; }
+    public void setVolume(long volume) { this.volume = volume; }
+
+    public int getTickCount() { return tickCount; }
+    public void setTickCount(int tickCount) { this.tickCount = tickCount; }
+
+    // False for the bar still being built
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
@@ -0,0 +1,74 @@
+package com.maak.treasurydashboard.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Net position for one trader / counterparty / CUSIP, marked to the latest mid.
+ * Quantities are face amounts; prices are per 100 face. P&L is total (realized plus
+ * unrealized): current market value less the net cost of everything traded.
+ */
+public class Position {
+
+    private String trader;
+    private String counterparty;
+    private String cusip;
+    private long netQuantity;
+    private long boughtQuantity;
+    private long soldQuantity;
+    private int tradeCount;
+    private BigDecimal markPrice;
+    private BigDecimal marketValue;
+    private BigDecimal pnl;
+    private long lastUpdated;
+
+    public Position() {}
+
+    public Position(String trader, String counterparty, String cusip, long netQuantity,
+                    long boughtQuantity, long soldQuantity, int tradeCount,
+                    BigDecimal markPrice, BigDecimal marketValue, BigDecimal pnl, long lastUpdated) {
+        this.trader = trader;
+        this.counterparty = counterparty;
+        this.cusip = cusip;
+        this.netQuantity = netQuantity;
+        this.boughtQuantity = boughtQuantity;
+        this.soldQuantity = soldQuantity;
+        this.tradeCount = tradeCount;
+        this.markPrice = markPrice;
+        this.marketValue = marketValue;
+        this.pnl = pnl;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public String getTrader() { return trader; }
+    public void setTrader(String trader) { this.trader = trader; }
+
+    public String getCounterparty() { return counterparty; }
+    public void setCounterparty(String counterparty) { this.counterparty = counterparty; }
+
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public long getNetQuantity() { return netQuantity; }
+    public void setNetQuantity(long netQuantity) { this.netQuantity = netQuantity; }
+
+    public long getBoughtQuantity() { return boughtQuantity; }
+    public void setBoughtQuantity(long boughtQuantity) { this.boughtQuantity = boughtQuantity; }
+
+    public long getSoldQuantity() { return soldQuantity; }
+    public void setSoldQuantity(long soldQuantity) { this.soldQuantity = soldQuantity; }
+
+    public int getTradeCount() { return tradeCount; }
+    public void setTradeCount(int tradeCount) { this.tradeCount = tradeCount; }
+
+    public BigDecimal getMarkPrice() { return markPrice; }
+    public void setMarkPrice(BigDecimal markPrice) { this.markPrice = markPrice; }
+
+    public BigDecimal getMarketValue() { return marketValue; }
+    public void setMarketValue(BigDecimal marketValue) { this.marketValue = marketValue; }
+
+    public BigDecimal getPnl() { return pnl; }
+    public void setPnl(BigDecimal pnl) { this.pnl = pnl; }
+
+    public long getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(long lastUpdated) { this.lastUpdated = lastUpdated; }
+}
@@ -0,0 +1,65 @@
+package com.maak.treasurydashboard.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Risk of a set of positions. {@code dv01} is in currency for the whole face amount;
+ * duration and convexity are market-value weighted across the positions.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PositionRisk {
+
+    private String trader;
+    private String counterparty;
+    private String cusip;
+    private long netQuantity;
+    private double marketValue;
+    private double dv01;
+    private double modifiedDuration;
+    private double convexity;
+    private List<PositionRisk> positions;
+
+    public PositionRisk() {}
+
+    public PositionRisk(String trader, String counterparty, String cusip, long netQuantity,
+                        double marketValue, double dv01, double modifiedDuration, double convexity) {
+        this.trader = trader;
+        this.counterparty = counterparty;
+        this.cusip = cusip;
+        this.netQuantity = netQuantity;
+        this.marketValue = marketValue;
+        this.dv01 = dv01;
+        this.modifiedDuration = modifiedDuration;
+        this.convexity = convexity;
+    }
+
+    public String getTrader() { return trader; }
+    public void setTrader(String trader) { this.trader = trader; }
+
+    public String getCounterparty() { return counterparty; }
+    public void setCounterparty(String counterparty) { this.counterparty = counterparty; }
+
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public long getNetQuantity() { return netQuantity; }
+    public void setNetQuantity(long netQuantity) { this.netQuantity = netQuantity; }
+
+    public double getMarketValue() { return marketValue; }
+    public void setMarketValue(double marketValue) { this.marketValue = marketValue; }
+
+    public double getDv01() { return dv01; }
+    public void setDv01(double dv01) { this.dv01 = dv01; }
+
+    public double getModifiedDuration() { return modifiedDuration; }
+    public void setModifiedDuration(double modifiedDuration) { this.modifiedDuration = modifiedDuration; }
+
+    public double getConvexity() { return convexity; }
+    public void setConvexity(double convexity) { this.convexity = convexity; }
+
+    // Per-position breakdown when this is an aggregate
+    public List<PositionRisk> getPositions() { return positions; }
+    public void setPositions(List<PositionRisk> positions) { this.positions = positions; }
+}
@@ -0,0 +1,31 @@
+package com.maak.treasurydashboard.model;
+
+import java.util.List;
+
+/**
+ * One frame on {@code /topic/positions}: only the positions that changed since the
+ * previous frame. Sequence numbers are consecutive; on a gap, reload from REST.
+ */
+public class PositionUpdate {
+
+    private long sequence;
+    private long timestamp;
+    private List<Position> positions;
+
+    public PositionUpdate() {}
+
+    public PositionUpdate(long sequence, long timestamp, List<Position> positions) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.positions = positions;
+    }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public List<Position> getPositions() { return positions; }
+    public void setPositions(List<Position> positions) { this.positions = positions; }
+}
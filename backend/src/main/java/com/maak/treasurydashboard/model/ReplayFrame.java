@@ -0,0 +1,68 @@
+package com.maak.treasurydashboard.model;
+
+/**
+ * One batch of replayed ticks on {@code /user/queue/replay}, in journal order and in
+ * columns. Frames of a replay have consecutive sequence numbers starting at 1; the
+ * last one has {@code complete} set and may be empty. {@code error} is set instead
+ * when the replay was rejected.
+ */
+public class ReplayFrame {
+
+    private String replayId;
+    private long sequence;
+    private boolean complete;
+    private String error;
+    private String[] cusips;
+    private long[] timestamps;
+    private double[] prices;
+    private double[] yields;
+    private long[] volumes;
+
+    public ReplayFrame() {}
+
+    public ReplayFrame(String replayId, long sequence, boolean complete, String[] cusips, long[] timestamps,
+                       double[] prices, double[] yields, long[] volumes) {
+        this.replayId = replayId;
+        this.sequence = sequence;
+        this.complete = complete;
+        this.cusips = cusips;
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.yields = yields;
+        this.volumes = volumes;
+    }
+
+    public static ReplayFrame rejected(String replayId, String error) {
+        ReplayFrame frame = new ReplayFrame(replayId, 1, true, new String[0], new long[0], new double[0],
+            new double[0], new long[0]);
+        frame.setError(error);
+        return frame;
+    }
+
+    public String getReplayId() { return replayId; }
+    public void setReplayId(String replayId) { this.replayId = replayId; }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public String[] getCusips() { return cusips; }
+    public void setCusips(String[] cusips) { this.cusips = cusips; }
+
+    public long[] getTimestamps() { return timestamps; }
+    public void setTimestamps(long[] timestamps) { this.timestamps = timestamps; }
+
+    public double[] getPrices() { return prices; }
+    public void setPrices(double[] prices) { this.prices = prices; }
+
+    public double[] getYields() { return yields; }
+    public void setYields(double[] yields) { this.yields = yields; }
+
+    public long[] getVolumes() { return volumes; }
+    public void setVolumes(long[] volumes) { this.volumes = volumes; }
+}
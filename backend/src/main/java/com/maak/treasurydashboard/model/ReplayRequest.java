@@ -0,0 +1,33 @@
+package com.maak.treasurydashboard.model;
+
+/**
+ * Client request to replay journaled ticks in {@code [from, to)} (epoch millis) over
+ * its own session. {@code speed} scales the original pacing: 1 is real time, 10 is
+ * ten times faster, 0 sends as fast as the session drains.
+ */
+public class ReplayRequest {
+
+    private String replayId;
+    private String cusip;
+    private long from;
+    private long to;
+    private double speed;
+
+    public ReplayRequest() {}
+
+    public String getReplayId() { return replayId; }
+    public void setReplayId(String replayId) { this.replayId = replayId; }
+
+    // Null or empty replays every CUSIP
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public long getFrom() { return from; }
+    public void setFrom(long from) { this.from = from; }
+
+    public long getTo() { return to; }
+    public void setTo(long to) { this.to = to; }
+
+    public double getSpeed() { return speed; }
+    public void setSpeed(double speed) { this.speed = speed; }
+}
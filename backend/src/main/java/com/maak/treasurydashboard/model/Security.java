@@ -0,0 +1,44 @@
+package com.maak.treasurydashboard.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Static reference data for one instrument. Each CUSIP gets exactly one instance,
+ * with a dense {@code id} (0, 1, 2, ...) assigned when it is registered. Hot-path
+ * code indexes plain arrays by that id instead of hashing the CUSIP. Quotes share
+ * the instance, so a tick copies one reference instead of the static fields.
+ */
+public final class Security {
+
+    private final int id;
+    private final String cusip;
+    private final String type;
+    private final String maturity;
+    private final LocalDate maturityDate;
+    private final BigDecimal coupon;
+
+    public Security(int id, String cusip, String type, String maturity, LocalDate maturityDate, BigDecimal coupon) {
+        this.id = id;
+        this.cusip = cusip;
+        this.type = type;
+        this.maturity = maturity;
+        this.maturityDate = maturityDate;
+        this.coupon = coupon;
+    }
+
+    public static Security fromBond(int id, TreasuryBond bond) {
+        return new Security(id, bond.getCusip(), bond.getSecurityType(), bond.getMaturity(), bond.getMaturityDate(),
+            bond.getCoupon());
+    }
+
+    public int getId() { return id; }
+    public String getCusip() { return cusip; }
+    // BILL, NOTE, BOND, TIPS or FRN; null for instruments added without reference data
+    public String getType() { return type; }
+    // Original term label, e.g. "10Y"
+    public String getMaturity() { return maturity; }
+    // Null for instruments added without reference data
+    public LocalDate getMaturityDate() { return maturityDate; }
+    public BigDecimal getCoupon() { return coupon; }
+}
@@ -0,0 +1,73 @@
+package com.maak.treasurydashboard.model;
+
+/**
+ * Intraday chart data for one CUSIP from the tick journal, in columns. When the range
+ * holds more ticks than requested points, each bucket of {@code bucketMillis} carries
+ * its last price, yield, bid and ask and its summed volume.
+ */
+public class TickSeries {
+
+    private String cusip;
+    private long from;
+    private long to;
+    private long bucketMillis;
+    private long tickCount;
+    private long[] timestamps;
+    private double[] prices;
+    private double[] yields;
+    private double[] bids;
+    private double[] asks;
+    private long[] volumes;
+
+    public TickSeries() {}
+
+    public TickSeries(String cusip, long from, long to, long bucketMillis, long tickCount, long[] timestamps,
+                      double[] prices, double[] yields, double[] bids, double[] asks, long[] volumes) {
+        this.cusip = cusip;
+        this.from = from;
+        this.to = to;
+        this.bucketMillis = bucketMillis;
+        this.tickCount = tickCount;
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.yields = yields;
+        this.bids = bids;
+        this.asks = asks;
+        this.volumes = volumes;
+    }
+
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+
+    public long getFrom() { return from; }
+    public void setFrom(long from) { this.from = from; }
+
+    public long getTo() { return to; }
+    public void setTo(long to) { this.to = to; }
+
+    // 0 when every tick in the range is returned
+    public long getBucketMillis() { return bucketMillis; }
+    public void setBucketMillis(long bucketMillis) { this.bucketMillis = bucketMillis; }
+
+    // Journal ticks in the range, before downsampling
+    public long getTickCount() { return tickCount; }
+    public void setTickCount(long tickCount) { this.tickCount = tickCount; }
+
+    public long[] getTimestamps() { return timestamps; }
+    public void setTimestamps(long[] timestamps) { this.timestamps = timestamps; }
+
+    public double[] getPrices() { return prices; }
+    public void setPrices(double[] prices) { this.prices = prices; }
+
+    public double[] getYields() { return yields; }
+    public void setYields(double[] yields) { this.yields = yields; }
+
+    public double[] getBids() { return bids; }
+    public void setBids(double[] bids) { this.bids = bids; }
+
+    public double[] getAsks() { return asks; }
+    public void setAsks(double[] asks) { this.asks = asks; }
+
+    public long[] getVolumes() { return volumes; }
+    public void setVolumes(long[] volumes) { this.volumes = volumes; }
+}
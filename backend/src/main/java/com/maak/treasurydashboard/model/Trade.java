@@ -5,11 +5,21 @@ import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "trades")
+@Table(name = "trades", indexes = {
+    // (timestamp, id) matches the blotter's keyset ordering
+    @Index(name = "idx_trades_timestamp", columnList = "timestamp, id"),
+    @Index(name = "idx_trades_status_timestamp", columnList = "status, timestamp, id"),
+    @Index(name = "idx_trades_trader", columnList = "trader"),
+    @Index(name = "idx_trades_cusip", columnList = "cusip")
+})
 public class Trade {
     
+    // IDs are reserved from trade_id_seq in blocks of this size (pooled-lo), so inserts can batch
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_id")
+    @SequenceGenerator(name = "trade_id", sequenceName = "trade_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
@@ -48,6 +58,11 @@ public class Trade {
     @Column(precision = 10, scale = 2)
     private BigDecimal commission;
     
+    // Bumped by every cancel and amend; a write against an older version is rejected
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     // Default constructor
     public Trade() {}
     
@@ -174,4 +189,12 @@ public class Trade {
     public void setCommission(BigDecimal commission) {
         this.commission = commission;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
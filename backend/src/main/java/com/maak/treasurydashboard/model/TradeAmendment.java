@@ -0,0 +1,41 @@
+package com.maak.treasurydashboard.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * New terms for a booked trade. Null fields are left as they are. Side, trader,
+ * counterparty and CUSIP cannot be amended; cancel and rebook instead.
+ *
+ * <p>{@code version} is the version the client last saw. When set, the amend is
+ * rejected if the trade has changed since.
+ */
+public class TradeAmendment {
+
+    private Long quantity;
+    private BigDecimal price;
+    private BigDecimal yield;
+    private LocalDateTime settlementDate;
+    private BigDecimal commission;
+    private Long version;
+
+    public TradeAmendment() {}
+
+    public Long getQuantity() { return quantity; }
+    public void setQuantity(Long quantity) { this.quantity = quantity; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getYield() { return yield; }
+    public void setYield(BigDecimal yield) { this.yield = yield; }
+
+    public LocalDateTime getSettlementDate() { return settlementDate; }
+    public void setSettlementDate(LocalDateTime settlementDate) { this.settlementDate = settlementDate; }
+
+    public BigDecimal getCommission() { return commission; }
+    public void setCommission(BigDecimal commission) { this.commission = commission; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,50 @@
+package com.maak.treasurydashboard.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of one item in a batch booking request, keyed by its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TradeBookingResult {
+
+    public static final String BOOKED = "BOOKED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String result;
+    private Trade trade;
+    private List<String> errors;
+
+    public TradeBookingResult() {}
+
+    public static TradeBookingResult booked(int index, Trade trade) {
+        TradeBookingResult r = new TradeBookingResult();
+        r.index = index;
+        r.result = BOOKED;
+        r.trade = trade;
+        return r;
+    }
+
+    public static TradeBookingResult rejected(int index, List<String> errors) {
+        TradeBookingResult r = new TradeBookingResult();
+        r.index = index;
+        r.result = REJECTED;
+        r.errors = errors;
+        return r;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getResult() { return result; }
+    public void setResult(String result) { this.result = result; }
+
+    public Trade getTrade() { return trade; }
+    public void setTrade(Trade trade) { this.trade = trade; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,59 @@
+package com.maak.treasurydashboard.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of the trade blotter. {@code nextCursor} is an opaque token for the
+ * (timestamp, id) position of the last row, or null on the last page.
+ */
+public class TradePage {
+
+    private List<Trade> items;
+    private String nextCursor;
+
+    public TradePage() {}
+
+    public TradePage(List<Trade> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public static String encodeCursor(Trade last) {
+        String position = last.getTimestamp() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a cursor into its timestamp and id; throws IllegalArgumentException if malformed. */
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = position.indexOf('|');
+            return new Cursor(LocalDateTime.parse(position.substring(0, sep)),
+                Long.parseLong(position.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public List<Trade> getItems() { return items; }
+    public void setItems(List<Trade> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public static final class Cursor {
+        private final LocalDateTime timestamp;
+        private final long id;
+
+        Cursor(LocalDateTime timestamp, long id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        public LocalDateTime getTimestamp() { return timestamp; }
+        public long getId() { return id; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.maak.treasurydashboard.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * AND-combination of blotter filters. Null fields are not filtered on; the time
+ * window is {@code from} inclusive to {@code to} exclusive.
+ */
+public class TradeQuery {
+    
+    private String trader;
+    private String status;
+    private String cusip;
+    private String counterparty;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    
+    public TradeQuery() {}
+    
+    public TradeQuery(String trader, String status, String cusip, String counterparty,
+                      LocalDateTime from, LocalDateTime to) {
+        this.trader = emptyToNull(trader);
+        this.status = emptyToNull(status);
+        this.cusip = emptyToNull(cusip);
+        this.counterparty = emptyToNull(counterparty);
+        this.from = from;
+        this.to = to;
+    }
+    
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+    
+    public boolean matchesTime(LocalDateTime timestamp) {
+        return (from == null || !timestamp.isBefore(from)) && (to == null || timestamp.isBefore(to));
+    }
+    
+    // Getters and Setters
+    public String getTrader() { return trader; }
+    public void setTrader(String trader) { this.trader = trader; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getCusip() { return cusip; }
+    public void setCusip(String cusip) { this.cusip = cusip; }
+    
+    public String getCounterparty() { return counterparty; }
+    public void setCounterparty(String counterparty) { this.counterparty = counterparty; }
+    
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+    
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+}
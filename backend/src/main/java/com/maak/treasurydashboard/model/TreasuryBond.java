@@ -2,10 +2,13 @@ package com.maak.treasurydashboard.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "treasury_bonds")
+@Table(name = "treasury_bonds", indexes = {
+    @Index(name = "idx_treasury_bonds_maturity_date", columnList = "maturity_date, cusip")
+})
 public class TreasuryBond {
     
     @Id
@@ -16,7 +19,13 @@ public class TreasuryBond {
     private String cusip;
     
     @Column(nullable = false)
-    private String maturity; // 2Y, 5Y, 10Y, 30Y
+    private String maturity; // Original term: 4W, 26W, 2Y, 10Y, 30Y
+    
+    @Column(name = "maturity_date")
+    private LocalDate maturityDate;
+    
+    @Column(name = "security_type")
+    private String securityType; // BILL, NOTE, BOND, TIPS or FRN
     
     @Column(nullable = false, precision = 10, scale = 6)
     private BigDecimal yield;
@@ -73,6 +82,12 @@ public class TreasuryBond {
     public String getMaturity() { return maturity; }
     public void setMaturity(String maturity) { this.maturity = maturity; }
     
+    public LocalDate getMaturityDate() { return maturityDate; }
+    public void setMaturityDate(LocalDate maturityDate) { this.maturityDate = maturityDate; }
+    
+    public String getSecurityType() { return securityType; }
+    public void setSecurityType(String securityType) { this.securityType = securityType; }
+    
     public BigDecimal getYield() { return yield; }
     public void setYield(BigDecimal yield) { this.yield = yield; }
     
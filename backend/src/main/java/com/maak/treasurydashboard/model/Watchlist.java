@@ -0,0 +1,26 @@
+package com.maak.treasurydashboard.model;
+
+import java.util.List;
+
+/**
+ * A named set of CUSIPs. Subscribers to {@code /topic/watchlist/{name}} get the
+ * current quotes for every member whenever one of them ticks.
+ */
+public class Watchlist {
+
+    private String name;
+    private List<String> cusips;
+
+    public Watchlist() {}
+
+    public Watchlist(String name, List<String> cusips) {
+        this.name = name;
+        this.cusips = cusips;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public List<String> getCusips() { return cusips; }
+    public void setCusips(List<String> cusips) { this.cusips = cusips; }
+}
@@ -0,0 +1,155 @@
+package com.maak.treasurydashboard.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable built curve: the par-yield pillars, a monotone cubic through them, the
+ * zero curve bootstrapped from it at semi-annual points, and a dense monthly grid of
+ * par yield, zero rate and discount factor. Yields and zero rates are in percent with
+ * semi-annual compounding; tenors are in years.
+ *
+ * <p>Only the pillars and the grid are serialized; the {@code *At} methods evaluate
+ * the curve at arbitrary tenors without touching the grid.
+ */
+public final class YieldCurve {
+
+    public static final int PAYMENTS_PER_YEAR = 2;
+    public static final String INTERPOLATION = "MONOTONE_CUBIC";
+
+    private final long version;
+    private final long timestamp;
+    private final String[] tenors;
+    // Pillar abscissae, par yields and Hermite tangents
+    private final double[] x;
+    private final double[] y;
+    private final double[] m;
+    // Discount factors at 0.5, 1.0, ... years
+    private final double[] semiDiscount;
+    private final int[] gridMonths;
+    private final double[] gridPar;
+    private final double[] gridZero;
+    private final double[] gridDiscount;
+
+    public YieldCurve(long version, long timestamp, String[] tenors, double[] x, double[] y, double[] m,
+                      double[] semiDiscount, int[] gridMonths, double[] gridPar, double[] gridZero,
+                      double[] gridDiscount) {
+        this.version = version;
+        this.timestamp = timestamp;
+        this.tenors = tenors;
+        this.x = x;
+        this.y = y;
+        this.m = m;
+        this.semiDiscount = semiDiscount;
+        this.gridMonths = gridMonths;
+        this.gridPar = gridPar;
+        this.gridZero = gridZero;
+        this.gridDiscount = gridDiscount;
+    }
+
+    public double parYieldAt(double years) {
+        return hermite(x, y, m, years);
+    }
+
+    public double discountFactorAt(double years) {
+        return discountFactor(semiDiscount, years);
+    }
+
+    public double zeroRateAt(double years) {
+        return zeroRate(discountFactorAt(years), years);
+    }
+
+    /**
+     * Monotone cubic Hermite evaluation, flat outside the pillars. Binary search on
+     * the pillars, then a handful of multiplies.
+     */
+    public static double hermite(double[] x, double[] y, double[] m, double t) {
+        int n = x.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (t <= x[0]) {
+            return y[0];
+        }
+        if (t >= x[n - 1]) {
+            return y[n - 1];
+        }
+        int lo = 0;
+        int hi = n - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (x[mid] <= t) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        double h = x[hi] - x[lo];
+        double s = (t - x[lo]) / h;
+        double s2 = s * s;
+        double s3 = s2 * s;
+        return (2 * s3 - 3 * s2 + 1) * y[lo]
+            + (s3 - 2 * s2 + s) * h * m[lo]
+            + (-2 * s3 + 3 * s2) * y[hi]
+            + (s3 - s2) * h * m[hi];
+    }
+
+    /** Log-linear interpolation between semi-annual discount factors (flat forwards). */
+    public static double discountFactor(double[] semiDiscount, double years) {
+        if (years <= 0 || semiDiscount.length == 0) {
+            return 1.0;
+        }
+        double periods = years * PAYMENTS_PER_YEAR;
+        int k = (int) Math.ceil(periods) - 1;
+        if (k >= semiDiscount.length) {
+            // Extend the last period's forward rate
+            int last = semiDiscount.length - 1;
+            double prev = last > 0 ? semiDiscount[last - 1] : 1.0;
+            return semiDiscount[last] * Math.pow(semiDiscount[last] / prev, periods - semiDiscount.length);
+        }
+        double prev = k > 0 ? semiDiscount[k - 1] : 1.0;
+        double w = periods - k;
+        return prev * Math.pow(semiDiscount[k] / prev, w);
+    }
+
+    public static double zeroRate(double discountFactor, double years) {
+        if (years <= 0) {
+            return 0.0;
+        }
+        return 100.0 * PAYMENTS_PER_YEAR * (Math.pow(discountFactor, -1.0 / (PAYMENTS_PER_YEAR * years)) - 1.0);
+    }
+
+    public long getVersion() { return version; }
+    public long getTimestamp() { return timestamp; }
+    public String getInterpolation() { return INTERPOLATION; }
+
+    public List<CurvePoint> getPillars() {
+        List<CurvePoint> pillars = new ArrayList<>(x.length);
+        for (int i = 0; i < x.length; i++) {
+            pillars.add(new CurvePoint(tenors[i], x[i], y[i]));
+        }
+        return pillars;
+    }
+
+    // Dense grid, one entry per month
+    public int[] getGridMonths() { return gridMonths; }
+    public double[] getGridParYields() { return gridPar; }
+    public double[] getGridZeroRates() { return gridZero; }
+    public double[] getGridDiscountFactors() { return gridDiscount; }
+
+    public static class CurvePoint {
+        private final String tenor;
+        private final double years;
+        private final double parYield;
+
+        public CurvePoint(String tenor, double years, double parYield) {
+            this.tenor = tenor;
+            this.years = years;
+            this.parYield = parYield;
+        }
+
+        public String getTenor() { return tenor; }
+        public double getYears() { return years; }
+        public double getParYield() { return parYield; }
+    }
+}
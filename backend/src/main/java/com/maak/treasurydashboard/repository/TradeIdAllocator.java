@@ -0,0 +1,58 @@
+package com.maak.treasurydashboard.repository;
+
+import com.maak.treasurydashboard.model.Trade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out trade IDs for inserts that bypass Hibernate. Uses the same sequence and
+ * pooled-lo scheme as the {@link Trade} entity: each sequence value {@code v} reserves
+ * {@code [v, v + ID_ALLOCATION_SIZE)}, so IDs never collide with ones Hibernate assigns.
+ */
+@Repository
+public class TradeIdAllocator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A lock rather than a monitor: the refill is a database call, which would pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private long next;
+    private long limit;
+
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next == limit) {
+                Long low = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR trade_id_seq", Long.class);
+                next = low;
+                limit = low + Trade.ID_ALLOCATION_SIZE;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the sequence past {@code id}, e.g. after trades with pre-assigned IDs were
+     * recovered into a fresh database, and drops any block this allocator holds.
+     */
+    public void advancePast(long id) {
+        lock.lock();
+        try {
+            Long low = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR trade_id_seq", Long.class);
+            if (low <= id) {
+                jdbcTemplate.execute("ALTER SEQUENCE trade_id_seq RESTART WITH " + (id + 1));
+            }
+            next = 0;
+            limit = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.maak.treasurydashboard.repository;
+
+import com.maak.treasurydashboard.model.Trade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Plain JDBC access to the trades table for bulk paths where going through the
+ * persistence context would cost a round-trip per row.
+ */
+@Repository
+public class TradeJdbcRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO trades (id, cusip, maturity, side, quantity, price, yield, counterparty, trader, " +
+        "timestamp, status, settlement_date, commission, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String SELECT_SQL =
+        "SELECT id, cusip, maturity, side, quantity, price, yield, counterparty, trader, " +
+        "timestamp, status, settlement_date, commission, version FROM trades";
+
+    // Compare-and-set on the version: only the terms a cancel or amend may change are written
+    private static final String UPDATE_SQL =
+        "UPDATE trades SET status = ?, quantity = ?, price = ?, yield = ?, settlement_date = ?, commission = ?, " +
+        "version = version + 1 WHERE id = ? AND version = ?";
+
+    // Rows pulled from the driver per round-trip when streaming
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TradeIdAllocator tradeIdAllocator;
+
+    /**
+     * Inserts the trades as JDBC batches at version 0, first assigning sequence IDs to
+     * any trade without one. Callers set version 0 on the trades themselves when they
+     * accept them: these may already be published, so nothing else is written here.
+     * Runs in the caller's transaction.
+     */
+    public void insertBatch(List<Trade> trades, int batchSize) {
+        for (Trade trade : trades) {
+            if (trade.getId() == null) {
+                trade.setId(tradeIdAllocator.nextId());
+            }
+        }
+        for (int from = 0; from < trades.size(); from += batchSize) {
+            List<Trade> chunk = trades.subList(from, Math.min(from + batchSize, trades.size()));
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bindInsert(ps, chunk.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+
+    private static void bindInsert(PreparedStatement ps, Trade trade) throws SQLException {
+        ps.setLong(1, trade.getId());
+        ps.setString(2, trade.getCusip());
+        ps.setString(3, trade.getMaturity());
+        ps.setString(4, trade.getSide());
+        ps.setLong(5, trade.getQuantity());
+        ps.setBigDecimal(6, trade.getPrice());
+        ps.setBigDecimal(7, trade.getYield());
+        ps.setString(8, trade.getCounterparty());
+        ps.setString(9, trade.getTrader());
+        ps.setTimestamp(10, Timestamp.valueOf(trade.getTimestamp()));
+        ps.setString(11, trade.getStatus());
+        ps.setTimestamp(12, Timestamp.valueOf(trade.getSettlementDate()));
+        setCommission(ps, 13, trade);
+    }
+
+    private static void setCommission(PreparedStatement ps, int index, Trade trade) throws SQLException {
+        if (trade.getCommission() != null) {
+            ps.setBigDecimal(index, trade.getCommission());
+        } else {
+            ps.setNull(index, Types.DECIMAL);
+        }
+    }
+
+    /** Reads the committed row, bypassing the persistence context and any entity it has cached. */
+    public Optional<Trade> findById(Long id) {
+        List<Trade> rows = jdbcTemplate.query(SELECT_SQL + " WHERE id = ?", (rs, row) -> mapTrade(rs), id);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Writes {@code trade}'s status and terms if the row is still at {@code expectedVersion},
+     * bumping the version. Returns false, writing nothing, if another writer got there first.
+     */
+    public boolean updateIfVersion(Trade trade, long expectedVersion) {
+        int updated = jdbcTemplate.update(UPDATE_SQL, ps -> {
+            ps.setString(1, trade.getStatus());
+            ps.setLong(2, trade.getQuantity());
+            ps.setBigDecimal(3, trade.getPrice());
+            ps.setBigDecimal(4, trade.getYield());
+            ps.setTimestamp(5, Timestamp.valueOf(trade.getSettlementDate()));
+            setCommission(ps, 6, trade);
+            ps.setLong(7, trade.getId());
+            ps.setLong(8, expectedVersion);
+        });
+        if (updated == 0) {
+            return false;
+        }
+        trade.setVersion(expectedVersion + 1);
+        return true;
+    }
+
+    /**
+     * Streams trades newest first to {@code consumer} one row at a time off a
+     * forward-only cursor, without building a list. {@code status} may be null.
+     */
+    public void streamTrades(String status, TradeConsumer consumer) {
+        String sql = SELECT_SQL + (status != null ? " WHERE status = ?" : "") + " ORDER BY timestamp DESC, id DESC";
+        RowCallbackHandler handler = rs -> consumer.accept(mapTrade(rs));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            if (status != null) {
+                ps.setString(1, status);
+            }
+            return ps;
+        }, handler);
+    }
+
+    /** The subset of {@code ids} already present in the trades table. */
+    public Set<Long> findExistingIds(List<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += STREAM_FETCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STREAM_FETCH_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id FROM trades WHERE id IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> existing.add(rs.getLong(1)), chunk.toArray());
+        }
+        return existing;
+    }
+
+    private static Trade mapTrade(ResultSet rs) throws SQLException {
+        Trade trade = new Trade(rs.getString("cusip"), rs.getString("maturity"), rs.getString("side"),
+            rs.getLong("quantity"), rs.getBigDecimal("price"), rs.getBigDecimal("yield"),
+            rs.getString("counterparty"), rs.getString("trader"),
+            rs.getTimestamp("timestamp").toLocalDateTime(), rs.getString("status"),
+            rs.getTimestamp("settlement_date").toLocalDateTime(), rs.getBigDecimal("commission"));
+        trade.setId(rs.getLong("id"));
+        trade.setVersion(rs.getLong("version"));
+        return trade;
+    }
+
+    @FunctionalInterface
+    public interface TradeConsumer {
+        void accept(Trade trade) throws SQLException;
+    }
+}
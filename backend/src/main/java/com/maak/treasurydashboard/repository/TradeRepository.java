@@ -1,15 +1,18 @@
 package com.maak.treasurydashboard.repository;
 
 import com.maak.treasurydashboard.model.Trade;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface TradeRepository extends JpaRepository<Trade, Long> {
+public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade> {
     
     List<Trade> findByStatus(String status);
     
@@ -24,4 +27,23 @@ public interface TradeRepository extends JpaRepository<Trade, Long> {
     
     @Query("SELECT t FROM Trade t ORDER BY t.timestamp DESC")
     List<Trade> findAllOrderByTimestampDesc();
+    
+    List<Trade> findByTimestampGreaterThanEqual(LocalDateTime from);
+    
+    // Keyset pages over (timestamp, id) descending; pass a page size of limit + 1 to detect more rows
+    @Query("SELECT t FROM Trade t ORDER BY t.timestamp DESC, t.id DESC")
+    List<Trade> findFirstPage(Pageable pageable);
+    
+    @Query("SELECT t FROM Trade t WHERE t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id) " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Trade> findPageAfter(@Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT t FROM Trade t WHERE t.status = :status ORDER BY t.timestamp DESC, t.id DESC")
+    List<Trade> findFirstPageByStatus(@Param("status") String status, Pageable pageable);
+    
+    @Query("SELECT t FROM Trade t WHERE t.status = :status " +
+           "AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id)) " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Trade> findPageByStatusAfter(@Param("status") String status, @Param("timestamp") LocalDateTime timestamp,
+                                      @Param("id") Long id, Pageable pageable);
 }
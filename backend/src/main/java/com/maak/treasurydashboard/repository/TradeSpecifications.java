@@ -0,0 +1,40 @@
+package com.maak.treasurydashboard.repository;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradeQuery;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TradeSpecifications {
+
+    private TradeSpecifications() {}
+
+    /** SQL form of a {@link TradeQuery}, used for windows the intraday index does not cover. */
+    public static Specification<Trade> matching(TradeQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.getTrader() != null) {
+                predicates.add(cb.equal(root.get("trader"), query.getTrader()));
+            }
+            if (query.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), query.getStatus()));
+            }
+            if (query.getCusip() != null) {
+                predicates.add(cb.equal(root.get("cusip"), query.getCusip()));
+            }
+            if (query.getCounterparty() != null) {
+                predicates.add(cb.equal(root.get("counterparty"), query.getCounterparty()));
+            }
+            if (query.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), query.getFrom()));
+            }
+            if (query.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("timestamp"), query.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.maak.treasurydashboard.repository;
+
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Plain JDBC bulk insert into the treasury_bonds table, used to load the security
+ * master without a persistence-context round-trip per row. IDs come from the
+ * table's identity column.
+ */
+@Repository
+public class TreasuryBondJdbcRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO treasury_bonds (cusip, maturity, maturity_date, security_type, yield, price, coupon, " +
+        "price_change, yield_change, bid_price, ask_price, last_updated, volume) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Inserts the bonds as one JDBC batch. Runs in the caller's transaction. */
+    public void insertBatch(List<TreasuryBond> bonds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, bonds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return bonds.size();
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement ps, TreasuryBond bond) throws SQLException {
+        ps.setString(1, bond.getCusip());
+        ps.setString(2, bond.getMaturity());
+        if (bond.getMaturityDate() != null) {
+            ps.setDate(3, Date.valueOf(bond.getMaturityDate()));
+        } else {
+            ps.setNull(3, Types.DATE);
+        }
+        ps.setString(4, bond.getSecurityType());
+        ps.setBigDecimal(5, bond.getYield());
+        ps.setBigDecimal(6, bond.getPrice());
+        ps.setBigDecimal(7, bond.getCoupon());
+        ps.setBigDecimal(8, bond.getPriceChange());
+        ps.setBigDecimal(9, bond.getYieldChange());
+        ps.setBigDecimal(10, bond.getBidPrice());
+        ps.setBigDecimal(11, bond.getAskPrice());
+        if (bond.getLastUpdated() != null) {
+            ps.setTimestamp(12, Timestamp.valueOf(bond.getLastUpdated()));
+        } else {
+            ps.setNull(12, Types.TIMESTAMP);
+        }
+        ps.setLong(13, bond.getVolume() != null ? bond.getVolume() : 0L);
+    }
+}
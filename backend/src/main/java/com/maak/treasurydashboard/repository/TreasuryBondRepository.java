@@ -15,12 +15,7 @@ public interface TreasuryBondRepository extends JpaRepository<TreasuryBond, Long
     
     List<TreasuryBond> findByMaturityOrderByYieldAsc(String maturity);
     
-    @Query("SELECT t FROM TreasuryBond t ORDER BY " +
-           "CASE t.maturity " +
-           "WHEN '2Y' THEN 1 " +
-           "WHEN '5Y' THEN 2 " +
-           "WHEN '10Y' THEN 3 " +
-           "WHEN '30Y' THEN 4 " +
-           "END")
+    // Undated instruments sort last
+    @Query("SELECT t FROM TreasuryBond t ORDER BY t.maturityDate ASC NULLS LAST, t.cusip ASC")
     List<TreasuryBond> findAllOrderByMaturity();
 }
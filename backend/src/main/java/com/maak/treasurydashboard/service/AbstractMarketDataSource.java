@@ -0,0 +1,149 @@
+package com.maak.treasurydashboard.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread and back-pressure handling shared by the sources. Subclasses implement
+ * {@link #run()} and hand each tick to {@link #emit} or {@link #emitLine}; when the
+ * ring is full the source thread spins until the pipeline catches up, so nothing is
+ * dropped between the source and the conflation stage.
+ */
+public abstract class AbstractMarketDataSource implements MarketDataSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractMarketDataSource.class);
+
+    private final String name;
+    private final CusipInterner interner = new CusipInterner();
+    private Thread thread;
+    private TickRingBuffer ring;
+
+    protected volatile boolean running;
+
+    private final AtomicLong produced = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+    private final AtomicLong ringFullSpins = new AtomicLong();
+
+    protected AbstractMarketDataSource(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized void start(TickRingBuffer ring) {
+        if (running) {
+            return;
+        }
+        this.ring = ring;
+        running = true;
+        thread = new Thread(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                if (running) {
+                    LOG.error("Market data source {} failed: {}", name, e.getMessage(), e);
+                }
+            } finally {
+                running = false;
+            }
+        }, "md-source-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        LOG.info("Market data source {} started", name);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        onStop();
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /** Source loop; return when {@link #running} goes false. */
+    protected abstract void run() throws Exception;
+
+    // Hook for sources blocked in I/O, e.g. closing a channel
+    protected void onStop() {
+    }
+
+    protected final boolean emit(String cusip, long price, long yield, long volume, long timestamp) {
+        MarketTick slot = claim();
+        if (slot == null) {
+            return false;
+        }
+        slot.set(cusip, price, yield, volume, timestamp);
+        ring.commit();
+        produced.incrementAndGet();
+        return true;
+    }
+
+    /** Decodes one wire-format line into the ring; see {@link TickDecoder}. */
+    protected final boolean emitLine(byte[] buf, int off, int len) {
+        MarketTick slot = claim();
+        if (slot == null) {
+            return false;
+        }
+        TickDecoder.Result result = TickDecoder.decode(buf, off, len, interner, slot);
+        if (result == TickDecoder.Result.TICK) {
+            ring.commit();
+            produced.incrementAndGet();
+            return true;
+        }
+        if (result == TickDecoder.Result.MALFORMED) {
+            malformed.incrementAndGet();
+        }
+        return false;
+    }
+
+    /** Splits {@code buf[off, off + len)} on newlines and emits each complete line; returns bytes consumed. */
+    protected final int emitLines(byte[] buf, int off, int len) {
+        int end = off + len;
+        int lineStart = off;
+        for (int i = off; i < end; i++) {
+            if (buf[i] == '\n') {
+                emitLine(buf, lineStart, i - lineStart);
+                lineStart = i + 1;
+            }
+        }
+        return lineStart - off;
+    }
+
+    private MarketTick claim() {
+        MarketTick slot;
+        while ((slot = ring.claim()) == null) {
+            if (!running) {
+                return null;
+            }
+            ringFullSpins.incrementAndGet();
+            Thread.onSpinWait();
+        }
+        return slot;
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("running", running);
+        stats.put("produced", produced.get());
+        stats.put("malformed", malformed.get());
+        stats.put("ringFullSpins", ringFullSpins.get());
+        return stats;
+    }
+}
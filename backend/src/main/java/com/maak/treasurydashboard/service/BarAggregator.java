@@ -0,0 +1,175 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BarInterval;
+import com.maak.treasurydashboard.model.OhlcBar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming OHLC+volume bars per CUSIP at every {@link BarInterval}, folded from every
+ * tick the {@link MarketDataPipeline} accepts, before conflation, so highs and lows
+ * include the levels the published feed skips. Each CUSIP/interval pair keeps a fixed
+ * number of bars in a {@link BarSeries} ring, so memory is bounded by the universe
+ * size. Bar volume is the sum of the ticks' traded volume.
+ *
+ * <p>A bar closes when the first tick of the next interval arrives or, for quiet
+ * bonds, when the sweep sees its interval has ended by the wall clock. Closed bars
+ * are pushed by the sweep, once per interval topic, e.g. {@code /topic/bars/1m}, so
+ * the pipeline thread never encodes a frame.
+ */
+@Service
+public class BarAggregator {
+
+    public static final String BARS_TOPIC_PREFIX = "/topic/bars/";
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(BarAggregator.class);
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private ReferenceDataStore referenceDataStore;
+
+    @Value("${treasury.bars.capacity.1s:900}")
+    private int secondBars;
+
+    @Value("${treasury.bars.capacity.1m:480}")
+    private int minuteBars;
+
+    @Value("${treasury.bars.capacity.5m:288}")
+    private int fiveMinuteBars;
+
+    @Value("${treasury.bars.capacity.1h:168}")
+    private int hourBars;
+
+    // Series by security ID, then interval ordinal; null until the security ticks. Only
+    // the pipeline thread writes it, growing it with the universe
+    private volatile BarSeries[][] bySecurity = new BarSeries[0][];
+    // Bars closed by a tick, waiting for the sweep to send them
+    private final Queue<OhlcBar> closedByTicks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ticksFolded = new AtomicLong();
+    private final AtomicLong barsClosed = new AtomicLong();
+
+    /** Called on the pipeline thread for each accepted tick, outside the pipeline lock. */
+    public void onTick(int securityId, String cusip, long timestamp, long price, long yield, long volume) {
+        BarSeries[][] all = bySecurity;
+        if (securityId >= all.length) {
+            all = Arrays.copyOf(all, Math.max(securityId + 1, referenceDataStore.size()));
+            bySecurity = all;
+        }
+        BarSeries[] series = all[securityId];
+        if (series == null) {
+            series = newSeries(cusip);
+            all[securityId] = series;
+        }
+        for (BarSeries bars : series) {
+            OhlcBar bar = bars.add(timestamp, price, yield, volume);
+            if (bar != null) {
+                closedByTicks.add(bar);
+            }
+        }
+        ticksFolded.incrementAndGet();
+    }
+
+    /** Sends bars closed by ticks, and closes bars whose interval has ended for bonds that have gone quiet. */
+    @Scheduled(fixedRateString = "${treasury.bars.sweep-interval-ms:250}")
+    public void closeElapsedBars() {
+        long now = System.currentTimeMillis();
+        Map<BarInterval, List<OhlcBar>> closed = new EnumMap<>(BarInterval.class);
+        OhlcBar bar;
+        while ((bar = closedByTicks.poll()) != null) {
+            closed.computeIfAbsent(BarInterval.fromLabel(bar.getInterval()), k -> new ArrayList<>()).add(bar);
+        }
+        BarInterval[] intervals = BarInterval.values();
+        for (BarSeries[] series : bySecurity) {
+            if (series == null) {
+                continue;
+            }
+            for (int i = 0; i < intervals.length; i++) {
+                bar = series[i].closeIfElapsed(now);
+                if (bar != null) {
+                    closed.computeIfAbsent(intervals[i], k -> new ArrayList<>()).add(bar);
+                }
+            }
+        }
+        publish(closed);
+    }
+
+    private void publish(Map<BarInterval, List<OhlcBar>> closed) {
+        for (Map.Entry<BarInterval, List<OhlcBar>> entry : closed.entrySet()) {
+            barsClosed.addAndGet(entry.getValue().size());
+            try {
+                webSocketService.broadcast(entry.getValue(), BARS_TOPIC_PREFIX + entry.getKey().getLabel());
+            } catch (Exception e) {
+                LOG.warn("publish", "WebSocket: Error sending {} bars: {}", entry.getKey().getLabel(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Bars for {@code cusip} overlapping {@code [from, to)}, oldest first. The last bar
+     * may still be building. Returns null for a CUSIP that has not ticked.
+     */
+    public List<OhlcBar> getBars(String cusip, BarInterval interval, long from, long to) {
+        int id = referenceDataStore.idOf(cusip);
+        BarSeries[][] all = bySecurity;
+        BarSeries[] series = id >= 0 && id < all.length ? all[id] : null;
+        if (series == null) {
+            return null;
+        }
+        return series[interval.ordinal()].bars(from, to);
+    }
+
+    private BarSeries[] newSeries(String cusip) {
+        BarInterval[] intervals = BarInterval.values();
+        BarSeries[] series = new BarSeries[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            series[i] = new BarSeries(cusip, intervals[i], capacity(intervals[i]));
+        }
+        return series;
+    }
+
+    private int capacity(BarInterval interval) {
+        switch (interval) {
+            case ONE_SECOND:
+                return secondBars;
+            case ONE_MINUTE:
+                return minuteBars;
+            case FIVE_MINUTES:
+                return fiveMinuteBars;
+            default:
+                return hourBars;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        int cusips = 0;
+        for (BarSeries[] series : bySecurity) {
+            if (series != null) {
+                cusips++;
+            }
+        }
+        stats.put("cusips", cusips);
+        stats.put("ticksFolded", ticksFolded.get());
+        stats.put("barsClosed", barsClosed.get());
+        Map<String, Integer> capacities = new LinkedHashMap<>();
+        for (BarInterval interval : BarInterval.values()) {
+            capacities.put(interval.getLabel(), capacity(interval));
+        }
+        stats.put("capacity", capacities);
+        return stats;
+    }
+}
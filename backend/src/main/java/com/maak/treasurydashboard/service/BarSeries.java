@@ -0,0 +1,117 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BarInterval;
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.OhlcBar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bars of one interval for one CUSIP in a fixed-size ring of primitive columns. The
+ * newest slot is the bar being built while {@code building} is set; once the ring is
+ * full the oldest bar is overwritten. Prices and yields are fixed-point units.
+ */
+final class BarSeries {
+
+    private final String cusip;
+    private final BarInterval interval;
+    private final int capacity;
+
+    private final long[] start;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] closeYield;
+    private final long[] volume;
+    private final int[] ticks;
+
+    // Slot of the newest bar, -1 before the first tick
+    private int head = -1;
+    private int size;
+    private boolean building;
+
+    BarSeries(String cusip, BarInterval interval, int capacity) {
+        this.cusip = cusip;
+        this.interval = interval;
+        this.capacity = capacity;
+        this.start = new long[capacity];
+        this.open = new long[capacity];
+        this.high = new long[capacity];
+        this.low = new long[capacity];
+        this.close = new long[capacity];
+        this.closeYield = new long[capacity];
+        this.volume = new long[capacity];
+        this.ticks = new int[capacity];
+    }
+
+    /**
+     * Folds a tick into the bar covering {@code timestamp}. Returns the previous bar if
+     * this tick closed it, otherwise null. Ticks older than the newest bar are folded
+     * into it; if the sweep had already closed that bar it is reopened and sent again
+     * on its next close, with the same start.
+     */
+    synchronized OhlcBar add(long timestamp, long price, long yield, long tradedVolume) {
+        long barStart = timestamp - Math.floorMod(timestamp, interval.getMillis());
+        if (head >= 0 && barStart <= start[head]) {
+            building = true;
+            fold(head, price, yield, tradedVolume);
+            return null;
+        }
+        OhlcBar closed = building ? toBar(head, true) : null;
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+        building = true;
+        start[head] = barStart;
+        open[head] = price;
+        high[head] = price;
+        low[head] = price;
+        close[head] = price;
+        closeYield[head] = yield;
+        volume[head] = tradedVolume;
+        ticks[head] = 1;
+        return closed;
+    }
+
+    private void fold(int slot, long price, long yield, long tradedVolume) {
+        if (price > high[slot]) {
+            high[slot] = price;
+        }
+        if (price < low[slot]) {
+            low[slot] = price;
+        }
+        close[slot] = price;
+        closeYield[slot] = yield;
+        volume[slot] += tradedVolume;
+        ticks[slot]++;
+    }
+
+    /** Closes the building bar if its interval ended before {@code now}; returns it, or null. */
+    synchronized OhlcBar closeIfElapsed(long now) {
+        if (!building || start[head] + interval.getMillis() > now) {
+            return null;
+        }
+        building = false;
+        return toBar(head, true);
+    }
+
+    /** Bars overlapping {@code [from, to)}, oldest first, including the one being built. */
+    synchronized List<OhlcBar> bars(long from, long to) {
+        List<OhlcBar> result = new ArrayList<>();
+        for (int k = size - 1; k >= 0; k--) {
+            int slot = Math.floorMod(head - k, capacity);
+            if (start[slot] + interval.getMillis() > from && start[slot] < to) {
+                result.add(toBar(slot, slot != head || !building));
+            }
+        }
+        return result;
+    }
+
+    private OhlcBar toBar(int slot, boolean complete) {
+        return new OhlcBar(cusip, interval.getLabel(), start[slot], start[slot] + interval.getMillis(),
+            FixedPoint.priceToDouble(open[slot]), FixedPoint.priceToDouble(high[slot]),
+            FixedPoint.priceToDouble(low[slot]), FixedPoint.priceToDouble(close[slot]),
+            FixedPoint.yieldToDouble(closeYield[slot]), volume[slot], ticks[slot], complete);
+    }
+}
@@ -0,0 +1,242 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TreasuryBond;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary wire format for the market-data and trade topics, sent to sessions that
+ * negotiate it (see {@link SessionWireFormats}). Little-endian throughout, so the
+ * browser reads it with a {@code DataView}:
+ *
+ * <pre>
+ * header  u8 kind (1 = bond list, 2 = trade), u8 version, u16 record count
+ * bond    i64 id, str cusip, str maturity, i32 coupon, i32 price, i32 yield,
+ *         i32 priceChange, i32 yieldChange, i32 bidPrice, i32 askPrice,
+ *         i64 volume, i64 lastUpdated
+ * trade   i64 id, str cusip, str maturity, str side, i64 quantity, i64 price,
+ *         i64 yield, str counterparty, str trader, i64 timestamp, str status,
+ *         i64 settlementDate, i64 commission
+ * str     u8 byte length, UTF-8 bytes
+ * </pre>
+ *
+ * Bond prices are in {@link FixedPoint} price units, bond yields and coupons in yield
+ * units. Trade prices and yields are in millionths and commission in cents, with
+ * {@link Long#MIN_VALUE} for no commission. Timestamps are the wall-clock time read
+ * as UTC epoch millis, so a decoder rebuilds the same local time string the JSON
+ * carries; 0 stands for null. Values outside these ranges throw, and the caller
+ * falls back to JSON.
+ */
+public final class BinaryWireFormat {
+
+    public static final int KIND_BONDS = 1;
+    public static final int KIND_TRADE = 2;
+    public static final int VERSION = 1;
+
+    static final long NO_COMMISSION = Long.MIN_VALUE;
+
+    private static final int TRADE_DECIMALS = 6;
+    private static final int COMMISSION_DECIMALS = 2;
+
+    // Buffers above this size are not kept for reuse
+    private static final int MAX_POOLED_BUFFER = 1 << 20;
+
+    private static final ThreadLocal<ByteBuffer> ENCODE_BUFFER =
+        ThreadLocal.withInitial(() -> allocate(8192));
+
+    private BinaryWireFormat() {}
+
+    /** Encodes a bond list or a trade; returns null for any other payload. */
+    public static byte[] encode(Object payload) {
+        if (payload instanceof Trade trade) {
+            return encodeTrade(trade);
+        }
+        if (payload instanceof List<?> list && (list.isEmpty() || list.get(0) instanceof TreasuryBond)) {
+            @SuppressWarnings("unchecked")
+            List<TreasuryBond> bonds = (List<TreasuryBond>) list;
+            return encodeBonds(bonds);
+        }
+        return null;
+    }
+
+    public static byte[] encodeBonds(List<TreasuryBond> bonds) {
+        if (bonds.size() > 0xFFFF) {
+            throw new IllegalArgumentException("Too many bonds for one frame: " + bonds.size());
+        }
+        ByteBuffer buffer = ENCODE_BUFFER.get();
+        while (true) {
+            try {
+                buffer.clear();
+                header(buffer, KIND_BONDS, bonds.size());
+                for (TreasuryBond bond : bonds) {
+                    writeBond(buffer, bond);
+                }
+                return finish(buffer);
+            } catch (BufferOverflowException e) {
+                buffer = grow(buffer);
+            }
+        }
+    }
+
+    public static byte[] encodeTrade(Trade trade) {
+        ByteBuffer buffer = ENCODE_BUFFER.get();
+        while (true) {
+            try {
+                buffer.clear();
+                header(buffer, KIND_TRADE, 1);
+                writeTrade(buffer, trade);
+                return finish(buffer);
+            } catch (BufferOverflowException e) {
+                buffer = grow(buffer);
+            }
+        }
+    }
+
+    private static void header(ByteBuffer buffer, int kind, int count) {
+        buffer.put((byte) kind).put((byte) VERSION).putShort((short) count);
+    }
+
+    private static void writeBond(ByteBuffer buffer, TreasuryBond bond) {
+        buffer.putLong(bond.getId() != null ? bond.getId() : 0L);
+        writeString(buffer, bond.getCusip());
+        writeString(buffer, bond.getMaturity());
+        buffer.putInt(Math.toIntExact(FixedPoint.toYieldUnits(bond.getCoupon())));
+        buffer.putInt(Math.toIntExact(FixedPoint.toPriceUnits(bond.getPrice())));
+        buffer.putInt(Math.toIntExact(FixedPoint.toYieldUnits(bond.getYield())));
+        buffer.putInt(Math.toIntExact(FixedPoint.toPriceUnits(bond.getPriceChange())));
+        buffer.putInt(Math.toIntExact(FixedPoint.toYieldUnits(bond.getYieldChange())));
+        buffer.putInt(Math.toIntExact(FixedPoint.toPriceUnits(bond.getBidPrice())));
+        buffer.putInt(Math.toIntExact(FixedPoint.toPriceUnits(bond.getAskPrice())));
+        buffer.putLong(bond.getVolume() != null ? bond.getVolume() : 0L);
+        buffer.putLong(wallClockMillis(bond.getLastUpdated()));
+    }
+
+    private static void writeTrade(ByteBuffer buffer, Trade trade) {
+        buffer.putLong(trade.getId() != null ? trade.getId() : 0L);
+        writeString(buffer, trade.getCusip());
+        writeString(buffer, trade.getMaturity());
+        writeString(buffer, trade.getSide());
+        buffer.putLong(trade.getQuantity() != null ? trade.getQuantity() : 0L);
+        buffer.putLong(units(trade.getPrice(), TRADE_DECIMALS));
+        buffer.putLong(units(trade.getYield(), TRADE_DECIMALS));
+        writeString(buffer, trade.getCounterparty());
+        writeString(buffer, trade.getTrader());
+        buffer.putLong(wallClockMillis(trade.getTimestamp()));
+        writeString(buffer, trade.getStatus());
+        buffer.putLong(wallClockMillis(trade.getSettlementDate()));
+        buffer.putLong(trade.getCommission() != null ? units(trade.getCommission(), COMMISSION_DECIMALS) : NO_COMMISSION);
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length > 0xFF) {
+            throw new IllegalArgumentException("String field longer than 255 bytes");
+        }
+        buffer.put((byte) bytes.length).put(bytes);
+    }
+
+    private static byte[] finish(ByteBuffer buffer) {
+        byte[] body = Arrays.copyOf(buffer.array(), buffer.position());
+        if (buffer.capacity() > MAX_POOLED_BUFFER) {
+            ENCODE_BUFFER.remove();
+        }
+        return body;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = allocate(buffer.capacity() * 2);
+        ENCODE_BUFFER.set(larger);
+        return larger;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long units(BigDecimal value, int decimals) {
+        return value == null ? 0L : value.setScale(decimals, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long wallClockMillis(LocalDateTime time) {
+        return time == null ? 0L : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromWallClockMillis(long millis) {
+        return millis == 0L ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+            (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    // Decoders for Java clients and the benchmarks; the browser has its own in the frontend
+
+    public static List<TreasuryBond> decodeBonds(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        int count = readHeader(buffer, KIND_BONDS);
+        List<TreasuryBond> bonds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TreasuryBond bond = new TreasuryBond();
+            bond.setId(buffer.getLong());
+            bond.setCusip(readString(buffer));
+            bond.setMaturity(readString(buffer));
+            bond.setCoupon(FixedPoint.fromYieldUnits(buffer.getInt()));
+            bond.setPrice(FixedPoint.fromPriceUnits(buffer.getInt()));
+            bond.setYield(FixedPoint.fromYieldUnits(buffer.getInt()));
+            bond.setPriceChange(FixedPoint.fromPriceUnits(buffer.getInt()));
+            bond.setYieldChange(FixedPoint.fromYieldUnits(buffer.getInt()));
+            bond.setBidPrice(FixedPoint.fromPriceUnits(buffer.getInt()));
+            bond.setAskPrice(FixedPoint.fromPriceUnits(buffer.getInt()));
+            bond.setVolume(buffer.getLong());
+            bond.setLastUpdated(fromWallClockMillis(buffer.getLong()));
+            bonds.add(bond);
+        }
+        return bonds;
+    }
+
+    public static Trade decodeTrade(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        readHeader(buffer, KIND_TRADE);
+        Trade trade = new Trade();
+        trade.setId(buffer.getLong());
+        trade.setCusip(readString(buffer));
+        trade.setMaturity(readString(buffer));
+        trade.setSide(readString(buffer));
+        trade.setQuantity(buffer.getLong());
+        trade.setPrice(BigDecimal.valueOf(buffer.getLong(), TRADE_DECIMALS));
+        trade.setYield(BigDecimal.valueOf(buffer.getLong(), TRADE_DECIMALS));
+        trade.setCounterparty(readString(buffer));
+        trade.setTrader(readString(buffer));
+        trade.setTimestamp(fromWallClockMillis(buffer.getLong()));
+        trade.setStatus(readString(buffer));
+        trade.setSettlementDate(fromWallClockMillis(buffer.getLong()));
+        long commission = buffer.getLong();
+        trade.setCommission(commission != NO_COMMISSION ? BigDecimal.valueOf(commission, COMMISSION_DECIMALS) : null);
+        return trade;
+    }
+
+    private static int readHeader(ByteBuffer buffer, int kind) {
+        int actualKind = buffer.get() & 0xFF;
+        int version = buffer.get() & 0xFF;
+        if (actualKind != kind || version != VERSION) {
+            throw new IllegalArgumentException("Unexpected frame kind " + actualKind + " version " + version);
+        }
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.get() & 0xFF;
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.maak.treasurydashboard.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the STOMP broadcast path. Encodes and fan-outs accumulate into the
+ * current tick until {@link #completeTick()} rolls them into the last-tick figures.
+ * Each encode and fan-out is also recorded in the {@link MetricsRegistry} histograms.
+ */
+@Component
+public class BroadcastMetrics {
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    private final LongAdder tickBytes = new LongAdder();
+    private final LongAdder tickEncodeNanos = new LongAdder();
+    private final LongAdder tickFanOutNanos = new LongAdder();
+    private final LongAdder tickPayloads = new LongAdder();
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong totalEncodeNanos = new AtomicLong();
+    private final AtomicLong totalFanOutNanos = new AtomicLong();
+    private final AtomicLong totalPayloads = new AtomicLong();
+    private final AtomicLong totalSends = new AtomicLong();
+    private final AtomicLong binaryPayloads = new AtomicLong();
+    private final AtomicLong binaryBytes = new AtomicLong();
+    private final AtomicLong binaryEncodeNanos = new AtomicLong();
+
+    private volatile long lastTickBytes;
+    private volatile long lastTickEncodeNanos;
+    private volatile long lastTickFanOutNanos;
+    private volatile long lastTickPayloads;
+
+    public void recordEncode(int bytes, long nanos) {
+        tickBytes.add(bytes);
+        tickEncodeNanos.add(nanos);
+        tickPayloads.increment();
+        metricsRegistry.record(MetricsRegistry.SERIALIZE_ENCODE, nanos);
+    }
+
+    // Binary bodies are extra to the JSON encode, so they are kept out of the per-tick figures
+    public void recordBinaryEncode(int bytes, long nanos) {
+        binaryPayloads.incrementAndGet();
+        binaryBytes.addAndGet(bytes);
+        binaryEncodeNanos.addAndGet(nanos);
+        metricsRegistry.record(MetricsRegistry.SERIALIZE_ENCODE_BINARY, nanos);
+    }
+
+    public void recordFanOut(int destinations, long nanos) {
+        tickFanOutNanos.add(nanos);
+        totalSends.addAndGet(destinations);
+        metricsRegistry.record(MetricsRegistry.BROADCAST_SEND, nanos);
+    }
+
+    public void completeTick() {
+        lastTickBytes = tickBytes.sumThenReset();
+        lastTickEncodeNanos = tickEncodeNanos.sumThenReset();
+        lastTickFanOutNanos = tickFanOutNanos.sumThenReset();
+        lastTickPayloads = tickPayloads.sumThenReset();
+        ticks.incrementAndGet();
+        totalBytes.addAndGet(lastTickBytes);
+        totalEncodeNanos.addAndGet(lastTickEncodeNanos);
+        totalFanOutNanos.addAndGet(lastTickFanOutNanos);
+        totalPayloads.addAndGet(lastTickPayloads);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long tickCount = ticks.get();
+        stats.put("ticks", tickCount);
+        stats.put("lastTickPayloads", lastTickPayloads);
+        stats.put("lastTickBytesEncoded", lastTickBytes);
+        stats.put("lastTickEncodeMicros", lastTickEncodeNanos / 1_000);
+        stats.put("lastTickFanOutMicros", lastTickFanOutNanos / 1_000);
+        stats.put("totalPayloads", totalPayloads.get());
+        stats.put("totalSends", totalSends.get());
+        stats.put("totalBytesEncoded", totalBytes.get());
+        stats.put("avgEncodeMicrosPerTick", tickCount > 0 ? totalEncodeNanos.get() / tickCount / 1_000 : 0);
+        stats.put("avgFanOutMicrosPerTick", tickCount > 0 ? totalFanOutNanos.get() / tickCount / 1_000 : 0);
+        long binary = binaryPayloads.get();
+        stats.put("binaryPayloads", binary);
+        stats.put("binaryBytesEncoded", binaryBytes.get());
+        stats.put("avgBinaryEncodeMicros", binary > 0 ? binaryEncodeNanos.get() / binary / 1_000 : 0);
+        return stats;
+    }
+}
@@ -0,0 +1,96 @@
+package com.maak.treasurydashboard.service;
+
+import java.util.Arrays;
+
+/**
+ * Cashflow schedules for a fixed universe of bonds, stored as parallel primitive
+ * arrays. The flows of instrument {@code i} occupy {@code [offsets[i], offsets[i + 1])}
+ * in {@link #times} and {@link #amounts}, so the risk loop walks contiguous memory
+ * and the schedule can be reused across ticks for as long as the universe is unchanged.
+ *
+ * <p>Coupons fall every six months back from the maturity date: at {@code T},
+ * {@code T - 0.5}, ... while still in the future, with the final flow including
+ * principal. The first flow is therefore usually a fractional stub. Accrued interest
+ * is ignored. Amounts are per 100 face.
+ */
+public final class CashflowSchedule {
+
+    public static final int PAYMENTS_PER_YEAR = 2;
+
+    private final String[] cusips;
+    private final int[] offsets;
+    private final double[] times;
+    private final double[] amounts;
+
+    private CashflowSchedule(String[] cusips, int[] offsets, double[] times, double[] amounts) {
+        this.cusips = cusips;
+        this.offsets = offsets;
+        this.times = times;
+        this.amounts = amounts;
+    }
+
+    /**
+     * @param yearsToMaturity time to the maturity date in years; matured bonds get a
+     *                        single flow at zero
+     * @param couponRates annual coupon in percent, e.g. 4.875
+     */
+    public static CashflowSchedule build(String[] cusips, double[] yearsToMaturity, double[] couponRates) {
+        int n = cusips.length;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + paymentCount(yearsToMaturity[i]);
+        }
+
+        double[] times = new double[offsets[n]];
+        double[] amounts = new double[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            double coupon = couponRates[i] / PAYMENTS_PER_YEAR;
+            double maturity = Math.max(0.0, yearsToMaturity[i]);
+            int first = offsets[i];
+            int last = offsets[i + 1] - 1;
+            for (int k = first; k <= last; k++) {
+                times[k] = maturity - (double) (last - k) / PAYMENTS_PER_YEAR;
+                amounts[k] = coupon;
+            }
+            amounts[last] += 100.0;
+        }
+        return new CashflowSchedule(cusips.clone(), offsets, times, amounts);
+    }
+
+    // Coupon dates strictly after today, and always the principal
+    private static int paymentCount(double yearsToMaturity) {
+        if (!(yearsToMaturity > 0)) {
+            return 1;
+        }
+        return Math.max(1, (int) Math.ceil(yearsToMaturity * PAYMENTS_PER_YEAR - 1e-9));
+    }
+
+    /** True when this schedule was built for exactly these CUSIPs in this order. */
+    public boolean matches(String[] other) {
+        return Arrays.equals(cusips, other);
+    }
+
+    public int size() {
+        return cusips.length;
+    }
+
+    public String cusip(int instrument) {
+        return cusips[instrument];
+    }
+
+    public int flowCount() {
+        return times.length;
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    double[] times() {
+        return times;
+    }
+
+    double[] amounts() {
+        return amounts;
+    }
+}
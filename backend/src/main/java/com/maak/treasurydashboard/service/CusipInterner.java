@@ -0,0 +1,74 @@
+package com.maak.treasurydashboard.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps CUSIP bytes straight off the wire to a canonical String without allocating
+ * for identifiers already seen. Open addressing over ASCII bytes; not thread-safe,
+ * so each decoding thread owns one.
+ */
+public final class CusipInterner {
+
+    private String[] table = new String[256];
+    private int size;
+
+    public String intern(byte[] buf, int off, int len) {
+        int hash = hash(buf, off, len);
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            String candidate = table[i];
+            if (candidate == null) {
+                String value = new String(buf, off, len, StandardCharsets.US_ASCII);
+                table[i] = value;
+                if (++size * 2 > table.length) {
+                    grow();
+                }
+                return value;
+            }
+            if (matches(candidate, buf, off, len)) {
+                return candidate;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(byte[] buf, int off, int len) {
+        int h = 0;
+        for (int i = off; i < off + len; i++) {
+            h = 31 * h + buf[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String candidate, byte[] buf, int off, int len) {
+        if (candidate.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (candidate.charAt(i) != buf[off + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        int mask = table.length - 1;
+        for (String value : old) {
+            if (value == null) {
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            int i = hash(bytes, 0, bytes.length) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.maak.treasurydashboard.service;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a file of {@link TickDecoder} lines, optionally throttled to a target
+ * rate and looping at end of file. Lines are decoded straight from the read buffer.
+ */
+public class FileReplayMarketDataSource extends AbstractMarketDataSource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Pace in bursts of this many ticks to keep clock reads off the per-tick path
+    private static final int PACE_BATCH = 256;
+
+    private final Path file;
+    private final long ticksPerSecond;
+    private final boolean loop;
+    private volatile long passes;
+
+    /** @param ticksPerSecond target rate, or 0 to replay as fast as the pipeline accepts */
+    public FileReplayMarketDataSource(Path file, long ticksPerSecond, boolean loop) {
+        super("replay-file");
+        this.file = file;
+        this.ticksPerSecond = ticksPerSecond;
+        this.loop = loop;
+    }
+
+    @Override
+    protected void run() throws Exception {
+        byte[] buf = new byte[BUFFER_SIZE];
+        long start = System.nanoTime();
+        long lines = 0;
+        do {
+            try (InputStream in = Files.newInputStream(file)) {
+                int filled = 0;
+                int read;
+                while (running && (read = in.read(buf, filled, buf.length - filled)) > 0) {
+                    filled += read;
+                    int end = lastNewline(buf, filled);
+                    int lineStart = 0;
+                    for (int i = 0; i < end; i++) {
+                        if (buf[i] != '\n') {
+                            continue;
+                        }
+                        emitLine(buf, lineStart, i - lineStart);
+                        lineStart = i + 1;
+                        if (ticksPerSecond > 0 && ++lines % PACE_BATCH == 0) {
+                            pace(start, lines);
+                        }
+                    }
+                    // Carry the partial last line over to the next read
+                    System.arraycopy(buf, lineStart, buf, 0, filled - lineStart);
+                    filled -= lineStart;
+                    if (filled == buf.length) {
+                        throw new IllegalStateException("Line longer than " + BUFFER_SIZE + " bytes in " + file);
+                    }
+                }
+                if (filled > 0) {
+                    emitLine(buf, 0, filled);
+                }
+            }
+            passes++;
+        } while (running && loop);
+    }
+
+    private void pace(long start, long lines) {
+        long due = start + lines * 1_000_000_000L / ticksPerSecond;
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private static int lastNewline(byte[] buf, int filled) {
+        for (int i = filled - 1; i >= 0; i--) {
+            if (buf[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = super.stats();
+        stats.put("file", file.toString());
+        stats.put("targetTicksPerSecond", ticksPerSecond);
+        stats.put("passes", passes);
+        return stats;
+    }
+}
@@ -0,0 +1,337 @@
+package com.maak.treasurydashboard.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One segment of a day of the tick journal: a memory-mapped file of fixed-width
+ * records plus a side file listing the CUSIP behind each record's CUSIP id. A day
+ * starts in part 0 ({@code ticks-<day>.bin}) and continues in parts 1, 2, ...
+ * ({@code ticks-<day>.<part>.bin}) once a part reaches its size limit.
+ *
+ * <p>Layout: a {@value #HEADER_SIZE}-byte header (magic, version, record size, committed
+ * record count) followed by {@value #RECORD_SIZE}-byte records:
+ * <pre>
+ *  0 long  timestamp (epoch millis, non-decreasing within the file)
+ *  8 int   CUSIP id
+ * 12 int   reserved
+ * 16 long  price   (price units)
+ * 24 long  yield   (yield units)
+ * 32 long  bid     (price units)
+ * 40 long  ask     (price units)
+ * 48 long  volume  (traded on this tick)
+ * </pre>
+ *
+ * <p>There is a single writer. A record is written before the committed count is
+ * published, so readers that read the count first see only complete records. Every
+ * {@code indexInterval}-th timestamp is kept in memory as a sparse index, which the
+ * open path rebuilds by sampling instead of scanning. A read-only segment keeps no
+ * file handle; its mapping is released once the last cursor over it is collected.
+ *
+ * <p>Record offsets are ints, so a part never grows past {@link Integer#MAX_VALUE}
+ * bytes; {@link #isFull()} tells the writer when to move on to the next part.
+ */
+public final class JournalSegment implements AutoCloseable {
+
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 56;
+
+    private static final int MAGIC = 0x54494B4A; // "TIKJ"
+    private static final int VERSION = 1;
+    private static final int COUNT_OFFSET = 16;
+
+    static final int TIMESTAMP = 0;
+    static final int CUSIP_ID = 8;
+    static final int PRICE = 16;
+    static final int YIELD = 24;
+    static final int BID = 32;
+    static final int ASK = 40;
+    static final int VOLUME = 48;
+
+    private final LocalDate day;
+    private final int part;
+    private final Path dataFile;
+    private final Path cusipFile;
+    private final boolean writable;
+    private final int indexInterval;
+    // Largest size the writer may remap to
+    private final long maxBytes;
+    // Null for read-only segments, which need the channel only to map the file
+    private final FileChannel channel;
+
+    private volatile MappedByteBuffer buffer;
+    private volatile long count;
+    private volatile long[] sparseIndex;
+    private volatile String[] cusipsById;
+
+    // Writer-only state
+    private final Map<String, Integer> idByCusip = new HashMap<>();
+    private long lastTimestamp;
+
+    private JournalSegment(LocalDate day, int part, Path directory, boolean writable, int indexInterval,
+                           long maxBytes, FileChannel channel) {
+        this.day = day;
+        this.part = part;
+        this.dataFile = dataFile(directory, day, part);
+        this.cusipFile = directory.resolve(baseName(day, part) + ".cusips");
+        this.writable = writable;
+        this.indexInterval = indexInterval;
+        this.maxBytes = maxBytes;
+        this.channel = channel;
+    }
+
+    static Path dataFile(Path directory, LocalDate day, int part) {
+        return directory.resolve(baseName(day, part) + ".bin");
+    }
+
+    private static String baseName(LocalDate day, int part) {
+        return part == 0 ? "ticks-" + day : "ticks-" + day + "." + part;
+    }
+
+    /** Highest part written for the day, or 0 if it has none yet. */
+    static int lastPart(Path directory, LocalDate day) {
+        int part = 0;
+        while (Files.exists(dataFile(directory, day, part + 1))) {
+            part++;
+        }
+        return part;
+    }
+
+    /**
+     * Opens or creates one part of the day for appending, recovering the committed
+     * count. The part grows by remapping up to {@code maxBytes}, at most
+     * {@link Integer#MAX_VALUE}.
+     */
+    static JournalSegment openForWrite(Path directory, LocalDate day, int part, long initialBytes, long maxBytes,
+                                       int indexInterval) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(dataFile(directory, day, part), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(Math.min(initialBytes, maxBytes), channel.size());
+        long limit = Math.min(Math.max(maxBytes, size), Integer.MAX_VALUE);
+        JournalSegment segment = new JournalSegment(day, part, directory, true, indexInterval, limit, channel);
+        segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, limit));
+        segment.load();
+        return segment;
+    }
+
+    /** Opens an existing part read-only, or returns null if there is no file for it. */
+    static JournalSegment openForRead(Path directory, LocalDate day, int part, int indexInterval)
+            throws IOException {
+        Path data = dataFile(directory, day, part);
+        if (!Files.exists(data) || Files.size(data) < HEADER_SIZE) {
+            return null;
+        }
+        JournalSegment segment = new JournalSegment(day, part, directory, false, indexInterval, 0L, null);
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+            segment.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        segment.load();
+        return segment;
+    }
+
+    private void load() throws IOException {
+        MappedByteBuffer buf = buffer;
+        if (buf.getInt(0) != MAGIC) {
+            if (!writable) {
+                throw new IOException("Not a tick journal: " + dataFile);
+            }
+            buf.putInt(0, MAGIC);
+            buf.putInt(4, VERSION);
+            buf.putInt(8, RECORD_SIZE);
+            buf.putLong(COUNT_OFFSET, 0L);
+        } else if (buf.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Unsupported record size " + buf.getInt(8) + " in " + dataFile);
+        }
+
+        List<String> cusips = Files.exists(cusipFile)
+            ? Files.readAllLines(cusipFile, StandardCharsets.US_ASCII) : new ArrayList<>();
+        for (int i = 0; i < cusips.size(); i++) {
+            idByCusip.put(cusips.get(i), i);
+        }
+        cusipsById = cusips.toArray(new String[0]);
+
+        long committed = buf.getLong(COUNT_OFFSET);
+        long[] index = new long[(int) Math.max(16, committed / indexInterval + 1)];
+        for (long i = 0; i < committed; i += indexInterval) {
+            index[(int) (i / indexInterval)] = buf.getLong(offset(i) + TIMESTAMP);
+        }
+        sparseIndex = index;
+        lastTimestamp = committed > 0 ? buf.getLong(offset(committed - 1) + TIMESTAMP) : 0L;
+        count = committed;
+    }
+
+    /** True once another record would take the part past its size limit. */
+    boolean isFull() {
+        return HEADER_SIZE + (count + 1) * RECORD_SIZE > maxBytes;
+    }
+
+    /**
+     * Appends one record. Timestamps earlier than the previous record are raised to
+     * it so the file stays sorted for seeks. Fails once the part {@link #isFull() is full}.
+     */
+    void append(String cusip, long timestamp, long price, long yield, long bid, long ask, long volume)
+            throws IOException {
+        long n = count;
+        long position = HEADER_SIZE + n * RECORD_SIZE;
+        MappedByteBuffer buf = buffer;
+        if (position + RECORD_SIZE > buf.capacity()) {
+            // Remap twice as large; readers holding the old mapping still see their records
+            long size = Math.min((long) buf.capacity() * 2, maxBytes);
+            if (position + RECORD_SIZE > size) {
+                throw new IOException("Tick journal segment full: " + dataFile);
+            }
+            buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer = buf;
+        }
+        long ts = Math.max(timestamp, lastTimestamp);
+        lastTimestamp = ts;
+
+        int p = (int) position;
+        buf.putLong(p + TIMESTAMP, ts);
+        buf.putInt(p + CUSIP_ID, cusipId(cusip));
+        buf.putInt(p + CUSIP_ID + 4, 0);
+        buf.putLong(p + PRICE, price);
+        buf.putLong(p + YIELD, yield);
+        buf.putLong(p + BID, bid);
+        buf.putLong(p + ASK, ask);
+        buf.putLong(p + VOLUME, volume);
+
+        if (n % indexInterval == 0) {
+            int slot = (int) (n / indexInterval);
+            long[] index = sparseIndex;
+            if (slot >= index.length) {
+                index = Arrays.copyOf(index, index.length * 2);
+            }
+            index[slot] = ts;
+            sparseIndex = index;
+        }
+        buf.putLong(COUNT_OFFSET, n + 1);
+        count = n + 1;
+    }
+
+    private int cusipId(String cusip) throws IOException {
+        Integer id = idByCusip.get(cusip);
+        if (id != null) {
+            return id;
+        }
+        int next = idByCusip.size();
+        Files.write(cusipFile, (cusip + "\n").getBytes(StandardCharsets.US_ASCII),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        idByCusip.put(cusip, next);
+        String[] ids = Arrays.copyOf(cusipsById, next + 1);
+        ids[next] = cusip;
+        cusipsById = ids;
+        return next;
+    }
+
+    /** First record with timestamp at or after {@code from}: sparse-index search, then a search within the block. */
+    long seek(long from) {
+        long n = count;
+        if (n == 0) {
+            return 0;
+        }
+        long[] index = sparseIndex;
+        int entries = (int) ((n + indexInterval - 1) / indexInterval);
+        int lo = 0;
+        int hi = entries - 1;
+        int block = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (index[mid] < from) {
+                block = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        ByteBuffer buf = buffer;
+        long first = (long) block * indexInterval;
+        long last = Math.min(n, first + indexInterval);
+        while (first < last) {
+            long mid = (first + last) >>> 1;
+            if (buf.getLong(offset(mid) + TIMESTAMP) < from) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        return first;
+    }
+
+    /** Id of {@code cusip} in this segment, or -1 if it never ticked here. */
+    int idOf(String cusip) {
+        String[] ids = cusipsById;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i].equals(cusip)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String cusip(int id) {
+        String[] ids = cusipsById;
+        return id >= 0 && id < ids.length ? ids[id] : null;
+    }
+
+    // Read count before buffer: any buffer read after the count holds those records
+    long count() {
+        return count;
+    }
+
+    ByteBuffer view() {
+        return buffer;
+    }
+
+    static int offset(long record) {
+        return (int) (HEADER_SIZE + record * RECORD_SIZE);
+    }
+
+    LocalDate day() {
+        return day;
+    }
+
+    int part() {
+        return part;
+    }
+
+    Path file() {
+        return dataFile;
+    }
+
+    // As of open for a read-only segment
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    boolean isWritable() {
+        return writable;
+    }
+
+    void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
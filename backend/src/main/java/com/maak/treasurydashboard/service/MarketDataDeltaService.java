@@ -0,0 +1,79 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondDelta;
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.MarketDataDelta;
+import com.maak.treasurydashboard.model.MarketDataSnapshot;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sequence-numbered delta feed over the quote book. Tracks the last quote sent per
+ * security, indexed by security ID, so each frame carries only changed CUSIPs and,
+ * within them, only changed fields.
+ * Publishing and snapshotting share one lock so a snapshot always matches its sequence.
+ */
+@Service
+public class MarketDataDeltaService {
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private MarketDataStore marketDataStore;
+
+    @Value("${treasury.websocket.delta-feed.enabled:true}")
+    private boolean enabled;
+
+    // Guarded by this
+    private BondQuote[] lastSent = new BondQuote[0];
+    private long sequence;
+
+    public synchronized void publish(List<BondQuote> quotes) {
+        if (!enabled) {
+            return;
+        }
+        List<BondDelta> changes = new ArrayList<>();
+        for (BondQuote quote : quotes) {
+            int id = quote.getSecurityId();
+            if (id >= lastSent.length) {
+                lastSent = Arrays.copyOf(lastSent, Math.max(id + 1, marketDataStore.size()));
+            }
+            BondDelta delta = BondDelta.between(lastSent[id], quote);
+            if (delta != null) {
+                changes.add(delta);
+                lastSent[id] = quote;
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        sequence++;
+        webSocketService.sendMarketDelta(new MarketDataDelta(sequence, System.currentTimeMillis(), changes));
+    }
+
+    /**
+     * State as of the current sequence number. CUSIPs that have never been sent on the
+     * feed are taken from the quote book; their first delta carries every field anyway.
+     */
+    public synchronized MarketDataSnapshot snapshot() {
+        List<BondQuote> current = marketDataStore.snapshot();
+        List<TreasuryBond> bonds = new ArrayList<>(current.size());
+        for (BondQuote quote : current) {
+            int id = quote.getSecurityId();
+            BondQuote sent = id < lastSent.length ? lastSent[id] : null;
+            bonds.add((sent != null ? sent : quote).toBond());
+        }
+        return new MarketDataSnapshot(sequence, bonds);
+    }
+
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+}
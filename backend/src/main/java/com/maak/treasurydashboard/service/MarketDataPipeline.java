@@ -0,0 +1,362 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.FixedPoint;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Market data ingestion: decode, validate, conflate, publish.
+ *
+ * <p>Each {@link MarketDataSource} decodes on its own thread into a private
+ * {@link TickRingBuffer}. One pipeline thread drains the rings, validates each tick
+ * and folds it into a conflation slot indexed by security ID (latest levels, summed
+ * volume); the tick's CUSIP is interned once here and never hashed again. A
+ * publisher thread wakes every {@code publish-interval-ms}, takes the dirty slots,
+ * applies them to the {@link MarketDataStore} and hands the new quotes to
+ * {@link TreasuryDataService} for fan-out. Sources can therefore tick at any rate;
+ * clients see at most one update per CUSIP per publish interval. Every accepted tick
+ * is also appended to the {@link TickJournal} and folded into the
+ * {@link BarAggregator}; the pipeline thread does both for a drain pass's ticks after
+ * releasing the lock, so journal I/O never holds up the publisher.
+ */
+@Service
+public class MarketDataPipeline {
+
+    // Ticks taken from one ring before moving on to the next
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 50_000L;
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(MarketDataPipeline.class);
+
+    // Sanity bounds for validation, in fixed-point units
+    private static final long MAX_PRICE = 1_000L * FixedPoint.PRICE_SCALE;
+    private static final long MIN_YIELD = -5L * FixedPoint.YIELD_SCALE;
+    private static final long MAX_YIELD = 50L * FixedPoint.YIELD_SCALE;
+
+    @Autowired
+    private MarketDataStore marketDataStore;
+
+    @Autowired
+    private ReferenceDataStore referenceDataStore;
+
+    @Autowired
+    private TreasuryDataService treasuryDataService;
+
+    @Autowired
+    private TickJournal tickJournal;
+
+    @Autowired
+    private BarAggregator barAggregator;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${treasury.marketdata.sources:simulator}")
+    private List<String> sourceNames;
+
+    @Value("${treasury.marketdata.publish-interval-ms:100}")
+    private long publishIntervalMs;
+
+    @Value("${treasury.marketdata.ring-capacity:65536}")
+    private int ringCapacity;
+
+    @Value("${treasury.marketdata.simulator.interval-ms:2000}")
+    private long simulatorIntervalMs;
+
+    @Value("${treasury.marketdata.replay.file:}")
+    private String replayFile;
+
+    @Value("${treasury.marketdata.replay.ticks-per-second:0}")
+    private long replayTicksPerSecond;
+
+    @Value("${treasury.marketdata.replay.loop:true}")
+    private boolean replayLoop;
+
+    @Value("${treasury.marketdata.udp.port:9555}")
+    private int udpPort;
+
+    private final List<MarketDataSource> sources = new ArrayList<>();
+    private final List<TickRingBuffer> rings = new ArrayList<>();
+    private Thread pipelineThread;
+    private ScheduledExecutorService publisher;
+    private volatile boolean running;
+
+    // Conflation slots by security ID, guarded by this; grown when the universe grows
+    private long[] pendingPrice = new long[0];
+    private long[] pendingYield = new long[0];
+    private long[] pendingVolume = new long[0];
+    private long[] pendingTimestamp = new long[0];
+    private boolean[] dirty = new boolean[0];
+    private int dirtyCount;
+
+    // Accepted ticks of the current drain pass, recorded once the lock is released; pipeline thread only
+    private int[] stagedId = new int[0];
+    private String[] stagedCusip = new String[0];
+    private long[] stagedTimestamp = new long[0];
+    private long[] stagedPrice = new long[0];
+    private long[] stagedYield = new long[0];
+    private long[] stagedVolume = new long[0];
+    private int stagedCount;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejectedUnknown = new AtomicLong();
+    private final AtomicLong rejectedInvalid = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong publishCycles = new AtomicLong();
+
+    private final Consumer<MarketTick> stage = this::validateAndConflate;
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (String name : sourceNames) {
+            MarketDataSource source = createSource(name.trim());
+            if (source != null) {
+                sources.add(source);
+                rings.add(new TickRingBuffer(ringCapacity));
+            }
+        }
+        growSlots();
+        int stagedCapacity = DRAIN_BATCH * rings.size();
+        stagedId = new int[stagedCapacity];
+        stagedCusip = new String[stagedCapacity];
+        stagedTimestamp = new long[stagedCapacity];
+        stagedPrice = new long[stagedCapacity];
+        stagedYield = new long[stagedCapacity];
+        stagedVolume = new long[stagedCapacity];
+        running = true;
+
+        pipelineThread = new Thread(this::runPipeline, "md-pipeline");
+        pipelineThread.setDaemon(true);
+        pipelineThread.start();
+
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "md-publisher");
+            t.setDaemon(true);
+            return t;
+        });
+        publisher.scheduleAtFixedRate(this::publishSafely, publishIntervalMs, publishIntervalMs, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < sources.size(); i++) {
+            sources.get(i).start(rings.get(i));
+        }
+        LOG.info("start", "Market data pipeline started with sources {}, publishing every {}ms", sourceNames,
+            publishIntervalMs);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        for (MarketDataSource source : sources) {
+            source.stop();
+        }
+        running = false;
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+        if (pipelineThread != null) {
+            LockSupport.unpark(pipelineThread);
+        }
+        sources.clear();
+        rings.clear();
+    }
+
+    private MarketDataSource createSource(String name) {
+        switch (name) {
+            case "simulator":
+                return new SimulatedMarketDataSource(marketDataStore, simulatorIntervalMs);
+            case "replay-file":
+                if (replayFile.isEmpty()) {
+                    LOG.warn("source", "Market data source replay-file needs treasury.marketdata.replay.file");
+                    return null;
+                }
+                return new FileReplayMarketDataSource(Path.of(replayFile), replayTicksPerSecond, replayLoop);
+            case "replay-udp":
+                return new UdpMarketDataSource(udpPort);
+            default:
+                LOG.warn("source", "Unknown market data source: {}", name);
+                return null;
+        }
+    }
+
+    // Decode has already happened on the source thread; this thread validates and conflates
+    private void runPipeline() {
+        while (running) {
+            int drained = 0;
+            synchronized (this) {
+                if (referenceDataStore.size() != dirty.length) {
+                    growSlots();
+                }
+                for (TickRingBuffer ring : rings) {
+                    drained += ring.drain(stage, DRAIN_BATCH);
+                }
+            }
+            recordStaged();
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void validateAndConflate(MarketTick tick) {
+        received.incrementAndGet();
+        int i = referenceDataStore.idOf(tick.cusip);
+        if (i < 0 || i >= dirty.length) {
+            rejectedUnknown.incrementAndGet();
+            return;
+        }
+        if (tick.price <= 0 || tick.price > MAX_PRICE || tick.yield < MIN_YIELD || tick.yield > MAX_YIELD
+                || tick.volume < 0) {
+            rejectedInvalid.incrementAndGet();
+            return;
+        }
+        // Conflation keeps the last tick to arrive; sources are expected to deliver in order
+        long timestamp = tick.timestamp > 0 ? tick.timestamp : System.currentTimeMillis();
+        // Every valid tick is journaled and barred, including the ones conflation drops from the feed
+        int j = stagedCount++;
+        stagedId[j] = i;
+        stagedCusip[j] = tick.cusip;
+        stagedTimestamp[j] = timestamp;
+        stagedPrice[j] = tick.price;
+        stagedYield[j] = tick.yield;
+        stagedVolume[j] = tick.volume;
+        if (dirty[i]) {
+            conflated.incrementAndGet();
+        } else {
+            dirty[i] = true;
+            dirtyCount++;
+        }
+        pendingPrice[i] = tick.price;
+        pendingYield[i] = tick.yield;
+        pendingVolume[i] += tick.volume;
+        pendingTimestamp[i] = timestamp;
+    }
+
+    // Outside the lock: a journal day roll forces and remaps the segment, which must not stall publish()
+    private void recordStaged() {
+        for (int j = 0; j < stagedCount; j++) {
+            tickJournal.append(stagedCusip[j], stagedTimestamp[j], stagedPrice[j], stagedYield[j], stagedVolume[j]);
+            barAggregator.onTick(stagedId[j], stagedCusip[j], stagedTimestamp[j], stagedPrice[j], stagedYield[j],
+                stagedVolume[j]);
+            stagedCusip[j] = null;
+        }
+        stagedCount = 0;
+    }
+
+    // Caller holds the lock; IDs are never reused, so pending ticks keep their slots
+    private void growSlots() {
+        int n = referenceDataStore.size();
+        pendingPrice = Arrays.copyOf(pendingPrice, n);
+        pendingYield = Arrays.copyOf(pendingYield, n);
+        pendingVolume = Arrays.copyOf(pendingVolume, n);
+        pendingTimestamp = Arrays.copyOf(pendingTimestamp, n);
+        dirty = Arrays.copyOf(dirty, n);
+    }
+
+    private void publishSafely() {
+        try {
+            publish();
+        } catch (Exception e) {
+            LOG.warn("publish", "Market data publish failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void publish() {
+        long start = System.nanoTime();
+        int count;
+        int[] ids;
+        long[] prices;
+        long[] yields;
+        long[] volumes;
+        long[] timestamps;
+        synchronized (this) {
+            if (dirtyCount == 0) {
+                return;
+            }
+            count = dirtyCount;
+            ids = new int[count];
+            prices = new long[count];
+            yields = new long[count];
+            volumes = new long[count];
+            timestamps = new long[count];
+            int n = 0;
+            for (int i = 0; i < dirty.length; i++) {
+                if (!dirty[i]) {
+                    continue;
+                }
+                ids[n] = i;
+                prices[n] = pendingPrice[i];
+                yields[n] = pendingYield[i];
+                volumes[n] = pendingVolume[i];
+                timestamps[n] = pendingTimestamp[i];
+                n++;
+                dirty[i] = false;
+                pendingVolume[i] = 0;
+            }
+            dirtyCount = 0;
+        }
+
+        List<BondQuote> accepted = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BondQuote current = marketDataStore.get(ids[i]);
+            if (current == null) {
+                continue;
+            }
+            BondQuote next = TickMath.withLevels(current, prices[i], yields[i], volumes[i], timestamps[i],
+                marketDataStore.nextVersion());
+            // The publisher is the only tick writer, so a failed swap just means the quote was reloaded
+            if (marketDataStore.publish(current, next)) {
+                accepted.add(next);
+            }
+        }
+        published.addAndGet(accepted.size());
+        publishCycles.incrementAndGet();
+        metricsRegistry.record(MetricsRegistry.TICK_APPLY, System.nanoTime() - start);
+        if (!accepted.isEmpty()) {
+            treasuryDataService.onQuotesPublished(accepted);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running);
+        stats.put("publishIntervalMs", publishIntervalMs);
+        stats.put("received", received.get());
+        stats.put("rejectedUnknownCusip", rejectedUnknown.get());
+        stats.put("rejectedInvalid", rejectedInvalid.get());
+        stats.put("conflated", conflated.get());
+        stats.put("published", published.get());
+        stats.put("publishCycles", publishCycles.get());
+        List<Map<String, Object>> perSource = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < sources.size(); i++) {
+                Map<String, Object> sourceStats = sources.get(i).stats();
+                sourceStats.put("ringDepth", rings.get(i).size());
+                sourceStats.put("ringCapacity", rings.get(i).capacity());
+                perSource.add(sourceStats);
+            }
+        }
+        stats.put("sources", perSource);
+        return stats;
+    }
+}
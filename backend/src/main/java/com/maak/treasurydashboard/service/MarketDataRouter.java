@@ -0,0 +1,210 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import com.maak.treasurydashboard.model.Watchlist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-instrument and per-watchlist market data. Each published quote goes to
+ * {@code /topic/market-data/{cusip}}, and every watchlist containing it is re-sent on
+ * {@code /topic/watchlist/{name}}. Both happen only if the {@link SubscriptionRegistry}
+ * has a subscriber for that destination. A tick costs two array reads by security ID
+ * per ticked CUSIP plus an encode and broker fan-out per watched destination, however
+ * many sessions are connected.
+ *
+ * <p>Watchlist frames carry every member, not just the ones that ticked, so the
+ * outbound queues can conflate them like the full feed.
+ */
+@Service
+public class MarketDataRouter {
+
+    public static final String CUSIP_TOPIC_PREFIX = "/topic/market-data/";
+    public static final String WATCHLIST_TOPIC_PREFIX = "/topic/watchlist/";
+
+    private static final Pattern WATCHLIST_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(MarketDataRouter.class);
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private MarketDataStore marketDataStore;
+
+    @Autowired
+    private ReferenceDataStore referenceDataStore;
+
+    private final Map<String, List<String>> watchlists = new ConcurrentHashMap<>();
+    // By security ID: names of the watchlists holding it, null for none; rebuilt on every watchlist change
+    private volatile List<String>[] watchlistsBySecurity = newLists(0);
+    // By security ID: its per-CUSIP destination, built on first tick; publisher thread only
+    private String[] destinations = new String[0];
+
+    private final AtomicLong cusipFrames = new AtomicLong();
+    private final AtomicLong watchlistFrames = new AtomicLong();
+    private final AtomicLong unwatchedQuotes = new AtomicLong();
+
+    /** Called on the publisher thread with each batch of published quotes. */
+    public void publish(List<BondQuote> quotes) {
+        List<String>[] bySecurity = watchlistsBySecurity;
+        Set<String> touched = null;
+        for (BondQuote quote : quotes) {
+            int id = quote.getSecurityId();
+            String destination = destination(id, quote.getCusip());
+            if (subscriptionRegistry.hasSubscribers(destination)) {
+                send(quote.toBond(), destination);
+                cusipFrames.incrementAndGet();
+            } else {
+                unwatchedQuotes.incrementAndGet();
+            }
+            List<String> names = id < bySecurity.length ? bySecurity[id] : null;
+            if (names != null) {
+                for (String name : names) {
+                    if (touched == null) {
+                        touched = new LinkedHashSet<>();
+                    }
+                    touched.add(name);
+                }
+            }
+        }
+        if (touched == null) {
+            return;
+        }
+        for (String name : touched) {
+            String destination = WATCHLIST_TOPIC_PREFIX + name;
+            List<String> members = watchlists.get(name);
+            if (members == null || !subscriptionRegistry.hasSubscribers(destination)) {
+                continue;
+            }
+            send(quotes(members), destination);
+            watchlistFrames.incrementAndGet();
+        }
+    }
+
+    private String destination(int id, String cusip) {
+        if (id >= destinations.length) {
+            destinations = Arrays.copyOf(destinations, Math.max(id + 1, referenceDataStore.size()));
+        }
+        String destination = destinations[id];
+        if (destination == null) {
+            destination = CUSIP_TOPIC_PREFIX + cusip;
+            destinations[id] = destination;
+        }
+        return destination;
+    }
+
+    private void send(Object payload, String destination) {
+        try {
+            webSocketService.broadcast(payload, destination);
+        } catch (Exception e) {
+            LOG.warn("publish", "WebSocket: Error sending {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private List<TreasuryBond> quotes(List<String> cusips) {
+        List<TreasuryBond> bonds = new ArrayList<>(cusips.size());
+        for (String cusip : cusips) {
+            BondQuote quote = marketDataStore.get(cusip);
+            if (quote != null) {
+                bonds.add(quote.toBond());
+            }
+        }
+        return bonds;
+    }
+
+    /**
+     * Creates or replaces a watchlist. Throws {@link IllegalArgumentException} for a name
+     * that cannot be used in a destination, an empty list or a CUSIP not in the quote book.
+     */
+    public Watchlist saveWatchlist(String name, List<String> cusips) {
+        if (name == null || !WATCHLIST_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Watchlist names are 1-64 letters, digits, '-' or '_'");
+        }
+        if (cusips == null || cusips.isEmpty()) {
+            throw new IllegalArgumentException("A watchlist needs at least one CUSIP");
+        }
+        List<String> members = new ArrayList<>(new LinkedHashSet<>(cusips));
+        for (String cusip : members) {
+            if (marketDataStore.get(cusip) == null) {
+                throw new IllegalArgumentException("Unknown CUSIP: " + cusip);
+            }
+        }
+        synchronized (watchlists) {
+            watchlists.put(name, List.copyOf(members));
+            reindex();
+        }
+        return new Watchlist(name, members);
+    }
+
+    public boolean deleteWatchlist(String name) {
+        synchronized (watchlists) {
+            boolean removed = watchlists.remove(name) != null;
+            if (removed) {
+                reindex();
+            }
+            return removed;
+        }
+    }
+
+    public Watchlist getWatchlist(String name) {
+        List<String> members = watchlists.get(name);
+        return members != null ? new Watchlist(name, members) : null;
+    }
+
+    public List<Watchlist> getWatchlists() {
+        List<Watchlist> result = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : new TreeMap<>(watchlists).entrySet()) {
+            result.add(new Watchlist(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    // Caller holds the watchlists lock; members were checked against the quote book when saved
+    private void reindex() {
+        List<String>[] index = newLists(referenceDataStore.size());
+        for (Map.Entry<String, List<String>> entry : watchlists.entrySet()) {
+            for (String cusip : entry.getValue()) {
+                int id = referenceDataStore.idOf(cusip);
+                if (id < 0) {
+                    continue;
+                }
+                if (index[id] == null) {
+                    index[id] = new ArrayList<>();
+                }
+                index[id].add(entry.getKey());
+            }
+        }
+        watchlistsBySecurity = index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newLists(int n) {
+        return new List[n];
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(subscriptionRegistry.stats());
+        stats.put("watchlists", watchlists.size());
+        stats.put("cusipFrames", cusipFrames.get());
+        stats.put("watchlistFrames", watchlistFrames.get());
+        stats.put("unwatchedQuotes", unwatchedQuotes.get());
+        return stats;
+    }
+}
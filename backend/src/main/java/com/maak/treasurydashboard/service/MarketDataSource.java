@@ -0,0 +1,20 @@
+package com.maak.treasurydashboard.service;
+
+import java.util.Map;
+
+/**
+ * A producer of market data ticks. Each source runs on its own thread, decodes its
+ * input and writes ticks into the ring it is started with; the
+ * {@link MarketDataPipeline} validates, conflates and publishes them.
+ */
+public interface MarketDataSource {
+
+    String getName();
+
+    /** Starts producing into {@code ring}; this source is the ring's only producer. */
+    void start(TickRingBuffer ring);
+
+    void stop();
+
+    Map<String, Object> stats();
+}
@@ -0,0 +1,149 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.Security;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free quote book indexed by the dense security ID from {@link ReferenceDataStore}.
+ * This is the source of truth for live quotes; the database only receives periodic
+ * write-behind flushes of quotes marked dirty.
+ *
+ * <p>Each security has one slot holding its current quote and a dirty flag. The slot
+ * array is only replaced when the universe grows, and the new array reuses the old
+ * slots, so a writer that loaded the old array still lands in the live slot.
+ */
+@Service
+public class MarketDataStore {
+
+    @Autowired
+    private ReferenceDataStore referenceDataStore;
+
+    private volatile Slot[] slots = new Slot[0];
+
+    private final AtomicLong version = new AtomicLong();
+
+    public synchronized void load(Collection<TreasuryBond> bonds) {
+        List<Security> securities = referenceDataStore.register(bonds);
+        Slot[] current = slots;
+        Slot[] next = current.length < referenceDataStore.size()
+            ? Arrays.copyOf(current, referenceDataStore.size()) : current;
+        int i = 0;
+        for (TreasuryBond bond : bonds) {
+            Security security = securities.get(i++);
+            if (next[security.getId()] == null) {
+                next[security.getId()] = new Slot(BondQuote.fromBond(bond, security, nextVersion()));
+            }
+        }
+        slots = next;
+    }
+
+    public BondQuote get(String cusip) {
+        return get(referenceDataStore.idOf(cusip));
+    }
+
+    public BondQuote get(int securityId) {
+        Slot[] current = slots;
+        if (securityId < 0 || securityId >= current.length || current[securityId] == null) {
+            return null;
+        }
+        return current[securityId].get();
+    }
+
+    /**
+     * Swaps in a new quote if the book still holds {@code expected}.
+     * Returns false when another writer got there first.
+     */
+    public boolean publish(BondQuote expected, BondQuote next) {
+        Slot[] current = slots;
+        int id = next.getSecurityId();
+        if (id >= current.length || current[id] == null || !current[id].compareAndSet(expected, next)) {
+            return false;
+        }
+        current[id].dirty.set(true);
+        return true;
+    }
+
+    /** Every quote, by maturity date. */
+    public List<BondQuote> snapshot() {
+        return quotes(referenceDataStore.maturityOrder());
+    }
+
+    /** On-the-run nominal quotes in tenor order, one per original term. */
+    public List<BondQuote> curveSnapshot() {
+        return quotes(referenceDataStore.curveIds());
+    }
+
+    private List<BondQuote> quotes(int[] ids) {
+        Slot[] current = slots;
+        List<BondQuote> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            // Registered but not yet loaded while a load is in progress
+            if (id < current.length && current[id] != null) {
+                result.add(current[id].get());
+            }
+        }
+        return result;
+    }
+
+    /** Quotes that changed since the last drain, each once. */
+    public List<BondQuote> drainDirty() {
+        List<BondQuote> drained = new ArrayList<>();
+        for (Slot slot : slots) {
+            // Flag first, then read, so a tick racing the drain is flushed now or next time
+            if (slot != null && slot.dirty.get() && slot.dirty.compareAndSet(true, false)) {
+                drained.add(slot.get());
+            }
+        }
+        return drained;
+    }
+
+    public long nextVersion() {
+        return version.incrementAndGet();
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return referenceDataStore.size();
+    }
+
+    // "2Y" -> 24, "6M" -> 6; unknown labels sort last
+    static int tenorMonths(String maturity) {
+        if (maturity == null || maturity.length() < 2) {
+            return Integer.MAX_VALUE;
+        }
+        char unit = Character.toUpperCase(maturity.charAt(maturity.length() - 1));
+        try {
+            int n = Integer.parseInt(maturity.substring(0, maturity.length() - 1));
+            switch (unit) {
+                case 'Y': return n * 12;
+                case 'M': return n;
+                case 'W': return n / 4;
+                default: return Integer.MAX_VALUE;
+            }
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static final class Slot extends AtomicReference<BondQuote> {
+        final AtomicBoolean dirty = new AtomicBoolean();
+
+        Slot(BondQuote quote) {
+            super(quote);
+        }
+    }
+}
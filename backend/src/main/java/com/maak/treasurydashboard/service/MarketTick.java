@@ -0,0 +1,31 @@
+package com.maak.treasurydashboard.service;
+
+/**
+ * Mutable ring-buffer slot for one decoded tick. Slots are preallocated and
+ * overwritten in place, so the ingest path allocates nothing per tick.
+ * Price and yield are fixed-point units (see {@link com.maak.treasurydashboard.model.FixedPoint});
+ * {@code volume} is the amount traded since the source's previous tick for the CUSIP.
+ */
+public final class MarketTick {
+
+    String cusip;
+    long price;
+    long yield;
+    long volume;
+    // Source time in epoch millis; 0 means stamp on arrival
+    long timestamp;
+
+    public void set(String cusip, long price, long yield, long volume, long timestamp) {
+        this.cusip = cusip;
+        this.price = price;
+        this.yield = yield;
+        this.volume = volume;
+        this.timestamp = timestamp;
+    }
+
+    public String getCusip() { return cusip; }
+    public long getPrice() { return price; }
+    public long getYield() { return yield; }
+    public long getVolume() { return volume; }
+    public long getTimestamp() { return timestamp; }
+}
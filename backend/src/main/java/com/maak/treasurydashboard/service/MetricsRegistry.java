@@ -0,0 +1,100 @@
+package com.maak.treasurydashboard.service;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named latency histograms and gauges for the hot paths, served together by
+ * {@code GET /api/treasury/metrics}. Looking up an existing histogram is a plain map
+ * read and recording is a few {@link LatencyHistogram} atomics, so neither allocates
+ * or locks. Gauges are read only when a snapshot is taken.
+ */
+@Component
+public class MetricsRegistry {
+
+    // Time to apply a publish cycle's conflated ticks to the quote book
+    public static final String TICK_APPLY = "tick.apply";
+    // Feed, positions, bars, risk and curve work for one publish cycle
+    public static final String TICK_FAN_OUT = "tick.fanOut";
+    public static final String PERSIST_QUOTE_FLUSH = "persistence.quoteFlush";
+    public static final String PERSIST_TRADE_INSERT = "persistence.tradeInsert";
+    public static final String PERSIST_WAL_SYNC = "persistence.walSync";
+    public static final String SERIALIZE_ENCODE = "serialization.encode";
+    public static final String SERIALIZE_ENCODE_BINARY = "serialization.encodeBinary";
+    public static final String BROADCAST_SEND = "broadcast.send";
+    public static final String BOOKING_END_TO_END = "booking.endToEnd";
+    // A cancel or amend, including the wait for its lock stripe
+    public static final String TRADE_TRANSITION = "trades.transition";
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public MetricsRegistry() {
+        // Heap and GC totals, so a load test can watch the server without JMX
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        gauge("jvm.heap.usedBytes", () -> memory.getHeapMemoryUsage().getUsed());
+        gauge("jvm.heap.committedBytes", () -> memory.getHeapMemoryUsage().getCommitted());
+        gauge("jvm.gc.count", () -> {
+            long count = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+            }
+            return count;
+        });
+        gauge("jvm.gc.timeMs", () -> {
+            long time = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                time += Math.max(0, gc.getCollectionTime());
+            }
+            return time;
+        });
+    }
+
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /** Registers a value read at snapshot time, e.g. a queue depth. */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public void record(String name, long nanos) {
+        histogram(name).record(nanos);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> latency = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            latency.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        Map<String, Object> values = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            try {
+                values.put(entry.getKey(), entry.getValue().getAsLong());
+            } catch (RuntimeException e) {
+                values.put(entry.getKey(), null);
+            }
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("latency", latency);
+        snapshot.put("gauges", values);
+        snapshot.put("suppressedLogLines", RateLimitedLogger.suppressedTotal());
+        return snapshot;
+    }
+}
@@ -0,0 +1,261 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.Position;
+import com.maak.treasurydashboard.model.PositionUpdate;
+import com.maak.treasurydashboard.model.Trade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental positions keyed by trader / counterparty / CUSIP.
+ *
+ * <p>Each EXECUTED trade adjusts one position in constant time; nothing is ever
+ * recomputed from the trade list. On every tick only positions in CUSIPs whose mid
+ * actually moved are re-marked; marks and the positions in each CUSIP are arrays
+ * indexed by security ID, so a tick costs no hashing. Every change is pushed to
+ * {@link #POSITIONS_TOPIC} as a sequence-numbered frame holding just the positions
+ * that changed.
+ *
+ * <p>Amounts are in {@code quantity * price units}, i.e. in units of
+ * 1/(100 * {@link FixedPoint#PRICE_SCALE}) of currency. A $1bn trade at par is
+ * already 1e15 of those units, so cost is accumulated as a BigDecimal, and market
+ * value is computed as one when a position is converted for a frame.
+ */
+@Service
+public class PositionKeeper {
+
+    public static final String POSITIONS_TOPIC = "/topic/positions";
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(PositionKeeper.class);
+
+    private static final String EXECUTED = "EXECUTED";
+
+    // quantity * price units -> currency: price is per 100 face and has PRICE_DECIMALS
+    private static final int AMOUNT_DECIMALS = FixedPoint.PRICE_DECIMALS + 2;
+
+    @Autowired
+    private MarketDataStore marketDataStore;
+
+    @Autowired
+    private ReferenceDataStore referenceDataStore;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    // All guarded by this. By security ID, grown with the universe: the last mark (0 before
+    // the first, as no valid price is 0) and the positions in that security
+    private final Map<String, PositionState> positions = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private List<PositionState>[] bySecurity = new List[0];
+    private long[] marks = new long[0];
+    private long sequence;
+
+    /** Replaces all positions with those implied by {@code trades}; no frame is sent. */
+    public synchronized void rebuild(Collection<Trade> trades) {
+        positions.clear();
+        Arrays.fill(bySecurity, null);
+        long now = System.currentTimeMillis();
+        for (Trade trade : trades) {
+            if (EXECUTED.equals(trade.getStatus())) {
+                apply(trade, 1, now);
+            }
+        }
+    }
+
+    public void onBooked(Trade trade) {
+        onBooked(List.of(trade));
+    }
+
+    public synchronized void onBooked(Collection<Trade> trades) {
+        long now = System.currentTimeMillis();
+        Map<String, PositionState> changed = new HashMap<>();
+        for (Trade trade : trades) {
+            if (EXECUTED.equals(trade.getStatus())) {
+                PositionState state = apply(trade, 1, now);
+                changed.put(state.key, state);
+            }
+        }
+        publish(changed.values(), now);
+    }
+
+    /**
+     * Adjusts positions for a trade whose status moved from {@code previousStatus}.
+     * Only transitions into or out of EXECUTED affect a position.
+     */
+    public synchronized void onStatusChange(Trade trade, String previousStatus) {
+        boolean was = EXECUTED.equals(previousStatus);
+        boolean is = EXECUTED.equals(trade.getStatus());
+        if (was == is) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        PositionState state = apply(trade, is ? 1 : -1, now);
+        publish(List.of(state), now);
+    }
+
+    /**
+     * Moves an EXECUTED trade's contribution from its terms in {@code before} to those
+     * in {@code after}. An amend keeps the status, trader, counterparty and CUSIP, so
+     * this touches a single position.
+     */
+    public synchronized void onAmended(Trade before, Trade after) {
+        if (!EXECUTED.equals(after.getStatus())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        apply(before, -1, now);
+        PositionState state = apply(after, 1, now);
+        publish(List.of(state), now);
+    }
+
+    /** Re-marks positions in every CUSIP whose mid differs from the last mark. */
+    public synchronized void mark(List<BondQuote> quotes) {
+        List<PositionState> changed = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (BondQuote quote : quotes) {
+            int id = quote.getSecurityId();
+            ensureCapacity(id);
+            if (marks[id] == quote.getPrice()) {
+                continue;
+            }
+            marks[id] = quote.getPrice();
+            List<PositionState> affected = bySecurity[id];
+            if (affected == null) {
+                continue;
+            }
+            for (PositionState state : affected) {
+                state.markPrice = quote.getPrice();
+                state.lastUpdated = now;
+                changed.add(state);
+            }
+        }
+        publish(changed, now);
+    }
+
+    /** Current positions; null filters match everything. */
+    public synchronized List<Position> getPositions(String trader, String counterparty, String cusip) {
+        List<Position> result = new ArrayList<>();
+        for (PositionState state : positions.values()) {
+            if ((trader == null || trader.equals(state.trader))
+                    && (counterparty == null || counterparty.equals(state.counterparty))
+                    && (cusip == null || cusip.equals(state.cusip))) {
+                result.add(state.toPosition());
+            }
+        }
+        return result;
+    }
+
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    private PositionState apply(Trade trade, int direction, long now) {
+        String key = trade.getTrader() + '|' + trade.getCounterparty() + '|' + trade.getCusip();
+        PositionState state = positions.get(key);
+        if (state == null) {
+            state = new PositionState(key, trade.getTrader(), trade.getCounterparty(), trade.getCusip());
+            positions.put(key, state);
+            // A CUSIP outside the universe (an old trade) keeps a zero mark
+            int id = referenceDataStore.idOf(trade.getCusip());
+            if (id >= 0) {
+                ensureCapacity(id);
+                state.markPrice = currentMark(id);
+                if (bySecurity[id] == null) {
+                    bySecurity[id] = new ArrayList<>();
+                }
+                bySecurity[id].add(state);
+            }
+        }
+
+        long quantity = trade.getQuantity() * direction;
+        BigDecimal amount = BigDecimal.valueOf(quantity)
+            .multiply(BigDecimal.valueOf(FixedPoint.toPriceUnits(trade.getPrice())));
+        if ("BUY".equals(trade.getSide())) {
+            state.netQuantity = Math.addExact(state.netQuantity, quantity);
+            state.bought = Math.addExact(state.bought, quantity);
+            state.cost = state.cost.add(amount);
+        } else {
+            state.netQuantity = Math.subtractExact(state.netQuantity, quantity);
+            state.sold = Math.addExact(state.sold, quantity);
+            state.cost = state.cost.subtract(amount);
+        }
+        state.tradeCount += direction;
+        state.lastUpdated = now;
+        return state;
+    }
+
+    private long currentMark(int id) {
+        if (marks[id] != 0) {
+            return marks[id];
+        }
+        BondQuote quote = marketDataStore.get(id);
+        return quote != null ? quote.getPrice() : 0L;
+    }
+
+    // IDs are never reused, so existing slots keep their meaning
+    private void ensureCapacity(int id) {
+        if (id < marks.length) {
+            return;
+        }
+        int n = Math.max(id + 1, referenceDataStore.size());
+        marks = Arrays.copyOf(marks, n);
+        bySecurity = Arrays.copyOf(bySecurity, n);
+    }
+
+    private void publish(Collection<PositionState> changed, long now) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Position> frame = new ArrayList<>(changed.size());
+        for (PositionState state : changed) {
+            frame.add(state.toPosition());
+        }
+        sequence++;
+        try {
+            webSocketService.broadcast(new PositionUpdate(sequence, now, frame), POSITIONS_TOPIC);
+        } catch (Exception e) {
+            LOG.warn("publish", "WebSocket: Error sending position update {}: {}", sequence, e.getMessage());
+        }
+    }
+
+    private static final class PositionState {
+        final String key;
+        final String trader;
+        final String counterparty;
+        final String cusip;
+        long netQuantity;
+        long bought;
+        long sold;
+        int tradeCount;
+        // Signed sum of quantity * price units; buys positive
+        BigDecimal cost = BigDecimal.ZERO;
+        long markPrice;
+        long lastUpdated;
+
+        PositionState(String key, String trader, String counterparty, String cusip) {
+            this.key = key;
+            this.trader = trader;
+            this.counterparty = counterparty;
+            this.cusip = cusip;
+        }
+
+        Position toPosition() {
+            BigDecimal marketValue = BigDecimal.valueOf(netQuantity).multiply(BigDecimal.valueOf(markPrice));
+            return new Position(trader, counterparty, cusip, netQuantity, bought, sold, tradeCount,
+                FixedPoint.fromPriceUnits(markPrice),
+                marketValue.movePointLeft(AMOUNT_DECIMALS),
+                marketValue.subtract(cost).movePointLeft(AMOUNT_DECIMALS),
+                lastUpdated);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.maak.treasurydashboard.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logger for code that runs per tick, per message or per trade. Each call site passes
+ * a key, and a key logs at most once per interval; lines dropped in between are
+ * counted and reported on the next line that gets through. Output goes through
+ * SLF4J to the async appender in {@code logback-spring.xml}, so the calling thread
+ * never waits on the console.
+ *
+ * <p>Classes that only log at startup, shutdown or on rare failures use a plain SLF4J
+ * {@code Logger} instead; nothing in the backend writes to stdout or stderr directly.
+ */
+public final class RateLimitedLogger {
+
+    public static final long DEFAULT_INTERVAL_MS = 1000;
+
+    private static final AtomicLong SUPPRESSED_TOTAL = new AtomicLong();
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Class<?> owner) {
+        this(owner, DEFAULT_INTERVAL_MS);
+    }
+
+    public RateLimitedLogger(Class<?> owner, long intervalMs) {
+        this.log = LoggerFactory.getLogger(owner);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    /** Lines dropped by every rate-limited logger since startup. */
+    public static long suppressedTotal() {
+        return SUPPRESSED_TOTAL.get();
+    }
+
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    // Single-argument form, so a disabled debug line on a hot path does not build an array
+    public void debug(String key, String format, Object arg) {
+        if (log.isDebugEnabled()) {
+            long suppressed = acquire(key);
+            if (suppressed >= 0) {
+                log.debug(withSuppressed(format, suppressed), arg);
+            }
+        }
+    }
+
+    public void debug(String key, String format, Object... args) {
+        if (log.isDebugEnabled()) {
+            long suppressed = acquire(key);
+            if (suppressed >= 0) {
+                log.debug(withSuppressed(format, suppressed), args);
+            }
+        }
+    }
+
+    public void info(String key, String format, Object... args) {
+        if (log.isInfoEnabled()) {
+            long suppressed = acquire(key);
+            if (suppressed >= 0) {
+                log.info(withSuppressed(format, suppressed), args);
+            }
+        }
+    }
+
+    /** A trailing {@link Throwable} argument is logged with its stack trace. */
+    public void warn(String key, String format, Object... args) {
+        long suppressed = acquire(key);
+        if (suppressed >= 0) {
+            log.warn(withSuppressed(format, suppressed), args);
+        }
+    }
+
+    // Lines dropped for key since it last logged, or -1 if this one is dropped too
+    private long acquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime();
+        long next = window.next.get();
+        if (now - next < 0 || !window.next.compareAndSet(next, now + intervalNanos)) {
+            window.suppressed.incrementAndGet();
+            SUPPRESSED_TOTAL.incrementAndGet();
+            return -1;
+        }
+        return window.suppressed.getAndSet(0);
+    }
+
+    private static String withSuppressed(String format, long suppressed) {
+        return suppressed == 0 ? format : format + " (" + suppressed + " similar lines suppressed)";
+    }
+
+    private static final class Window {
+        // System.nanoTime() after which the key may log again
+        final AtomicLong next = new AtomicLong(System.nanoTime());
+        final AtomicLong suppressed = new AtomicLong();
+    }
+}
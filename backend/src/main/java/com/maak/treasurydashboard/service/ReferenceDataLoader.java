@@ -0,0 +1,93 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.TreasuryBond;
+import com.maak.treasurydashboard.repository.TreasuryBondJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds the treasury_bonds table from the security master CSV (see
+ * {@link ReferenceDataParser} for the format). Rows stream from the file into JDBC
+ * batches of {@code batch-size}, so only one batch of bonds is in memory at a time.
+ */
+@Service
+public class ReferenceDataLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReferenceDataLoader.class);
+
+    @Autowired
+    private TreasuryBondJdbcRepository treasuryBondJdbcRepository;
+
+    @Autowired
+    private ReferenceDataStore referenceDataStore;
+
+    @Value("${treasury.refdata.file:classpath:refdata/treasuries.csv}")
+    private Resource file;
+
+    @Value("${treasury.refdata.batch-size:1000}")
+    private int batchSize;
+
+    // Summary of the last load
+    private volatile Map<String, Object> lastLoad = Map.of();
+
+    /** Loads every valid row of the file into an empty table. Returns the number inserted. */
+    @Transactional
+    public long load() {
+        if (!file.exists()) {
+            LOG.error("Reference data file not found: {}", file.getDescription());
+            return 0;
+        }
+        long start = System.nanoTime();
+        ReferenceDataParser parser = new ReferenceDataParser();
+        List<TreasuryBond> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.US_ASCII))) {
+            parser.parse(reader, bond -> {
+                batch.add(bond);
+                if (batch.size() >= batchSize) {
+                    treasuryBondJdbcRepository.insertBatch(batch);
+                    batch.clear();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read reference data from " + file.getDescription(), e);
+        }
+        if (!batch.isEmpty()) {
+            treasuryBondJdbcRepository.insertBatch(batch);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("source", file.getDescription());
+        summary.put("loaded", parser.accepted());
+        summary.put("malformed", parser.malformed());
+        summary.put("duplicates", parser.duplicates());
+        summary.put("elapsedMs", elapsedMs);
+        lastLoad = summary;
+        LOG.info("Loaded {} securities from {} in {}ms ({} malformed, {} duplicate rows skipped)", parser.accepted(),
+            file.getDescription(), elapsedMs, parser.malformed(), parser.duplicates());
+        return parser.accepted();
+    }
+
+    /** The in-memory universe plus a summary of the last file load, if any. */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(referenceDataStore.stats());
+        stats.put("lastLoad", lastLoad);
+        return stats;
+    }
+}
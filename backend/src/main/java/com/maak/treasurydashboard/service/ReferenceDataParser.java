@@ -0,0 +1,141 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.TreasuryBond;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for the security master CSV. Rows are handed to the sink one at a
+ * time, so memory stays flat however large the file is:
+ *
+ * <pre>
+ * cusip,type,maturity,maturityDate,coupon,price,yield[,bid,ask]
+ * 912828YN9,NOTE,10Y,2036-08-15,4.450,97.2500,4.450
+ * </pre>
+ *
+ * {@code type} is one of BILL, NOTE, BOND, TIPS or FRN and {@code maturity} is the
+ * original term ("26W", "10Y"). Bid and ask default to the price either side of
+ * {@link TickMath#HALF_SPREAD}. Blank lines, {@code #} comments and a header row
+ * starting with {@code cusip} are skipped. Malformed rows and repeated CUSIPs are
+ * counted and dropped; the first row for a CUSIP wins. Not thread-safe.
+ */
+public final class ReferenceDataParser {
+
+    private static final Set<String> TYPES = Set.of("BILL", "NOTE", "BOND", "TIPS", "FRN");
+    private static final int CUSIP_LENGTH = 9;
+    private static final int MIN_FIELDS = 7;
+    private static final int MAX_FIELDS = 9;
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(ReferenceDataParser.class);
+
+    private final Set<String> seen = new HashSet<>();
+    private final String[] fields = new String[MAX_FIELDS];
+    private long accepted;
+    private long malformed;
+    private long duplicates;
+
+    public void parse(BufferedReader reader, Consumer<TreasuryBond> sink) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("cusip")) {
+                continue;
+            }
+            TreasuryBond bond = parseLine(line);
+            if (bond == null) {
+                malformed++;
+                LOG.warn("malformed", "Reference data: skipping malformed line {}: {}", lineNumber, line);
+            } else if (!seen.add(bond.getCusip())) {
+                duplicates++;
+                LOG.warn("duplicate", "Reference data: skipping duplicate CUSIP {} on line {}", bond.getCusip(),
+                    lineNumber);
+            } else {
+                accepted++;
+                sink.accept(bond);
+            }
+        }
+    }
+
+    // Null when the row does not validate
+    TreasuryBond parseLine(String line) {
+        int count = split(line);
+        // A bid needs its ask; too many fields counts as MAX_FIELDS + 1
+        if (count < MIN_FIELDS || count == MIN_FIELDS + 1 || count > MAX_FIELDS) {
+            return null;
+        }
+        String cusip = fields[0];
+        String type = fields[1];
+        String maturity = fields[2];
+        if (!isCusip(cusip) || !TYPES.contains(type) || MarketDataStore.tenorMonths(maturity) == Integer.MAX_VALUE) {
+            return null;
+        }
+        try {
+            LocalDate maturityDate = LocalDate.parse(fields[3]);
+            BigDecimal coupon = new BigDecimal(fields[4]);
+            long price = FixedPoint.toPriceUnits(new BigDecimal(fields[5]));
+            long yield = FixedPoint.toYieldUnits(new BigDecimal(fields[6]));
+            long bid = count > MIN_FIELDS ? FixedPoint.toPriceUnits(new BigDecimal(fields[7])) : TickMath.bid(price);
+            long ask = count > MIN_FIELDS ? FixedPoint.toPriceUnits(new BigDecimal(fields[8])) : TickMath.ask(price);
+            if (price <= 0 || coupon.signum() < 0 || bid > ask) {
+                return null;
+            }
+            TreasuryBond bond = new TreasuryBond(cusip, maturity, FixedPoint.fromYieldUnits(yield),
+                FixedPoint.fromPriceUnits(price), coupon, FixedPoint.fromPriceUnits(bid),
+                FixedPoint.fromPriceUnits(ask));
+            bond.setMaturityDate(maturityDate);
+            bond.setSecurityType(type);
+            return bond;
+        } catch (NumberFormatException | DateTimeParseException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // Splits on commas into fields without a regex; returns the field count, or MAX_FIELDS + 1 if too many
+    private int split(String line) {
+        int count = 0;
+        int from = 0;
+        while (count < MAX_FIELDS) {
+            int comma = line.indexOf(',', from);
+            fields[count++] = (comma < 0 ? line.substring(from) : line.substring(from, comma)).trim();
+            if (comma < 0) {
+                return count;
+            }
+            from = comma + 1;
+        }
+        return MAX_FIELDS + 1;
+    }
+
+    private static boolean isCusip(String cusip) {
+        if (cusip.length() != CUSIP_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < CUSIP_LENGTH; i++) {
+            char c = cusip.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long accepted() {
+        return accepted;
+    }
+
+    public long malformed() {
+        return malformed;
+    }
+
+    public long duplicates() {
+        return duplicates;
+    }
+}
@@ -0,0 +1,163 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Security;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The instrument universe. Each CUSIP is interned once into a {@link Security} with a
+ * dense int ID. Hot-path state indexes plain arrays by that ID, so the CUSIP is hashed
+ * once per tick at the pipeline's edge instead of once per lookup.
+ *
+ * <p>IDs only ever grow. Registration is serialized; it builds a new immutable
+ * {@link Universe} and publishes it through a volatile field, so lookups never lock.
+ * Maturity order and the on-the-run curve set are computed once per registration,
+ * not per tick.
+ */
+@Service
+public class ReferenceDataStore {
+
+    // Types priced off the nominal curve; TIPS and FRNs never set a curve pillar
+    private static final List<String> CURVE_TYPES = List.of("BILL", "NOTE", "BOND");
+
+    private static final Comparator<Security> BY_MATURITY = Comparator
+        .comparing(Security::getMaturityDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(Security::getCusip);
+
+    private volatile Universe universe = new Universe(new Security[0], Map.of(), new int[0], new int[0]);
+
+    /**
+     * Interns the CUSIPs of {@code bonds}, assigning IDs to new ones. Returns the
+     * security for each bond, in the same order. A CUSIP already registered keeps its
+     * original ID and reference data.
+     */
+    public synchronized List<Security> register(Collection<TreasuryBond> bonds) {
+        Universe old = universe;
+        Map<String, Security> byCusip = null;
+        List<Security> added = new ArrayList<>();
+        List<Security> result = new ArrayList<>(bonds.size());
+        for (TreasuryBond bond : bonds) {
+            Security security = (byCusip != null ? byCusip : old.byCusip).get(bond.getCusip());
+            if (security == null) {
+                if (byCusip == null) {
+                    byCusip = new HashMap<>(old.byCusip);
+                }
+                security = Security.fromBond(old.byId.length + added.size(), bond);
+                byCusip.put(security.getCusip(), security);
+                added.add(security);
+            }
+            result.add(security);
+        }
+        if (!added.isEmpty()) {
+            Security[] byId = Arrays.copyOf(old.byId, old.byId.length + added.size());
+            for (Security security : added) {
+                byId[security.getId()] = security;
+            }
+            universe = new Universe(byId, byCusip, maturityOrder(byId), curveSet(byId));
+        }
+        return result;
+    }
+
+    public Security get(String cusip) {
+        return universe.byCusip.get(cusip);
+    }
+
+    public Security get(int id) {
+        Security[] byId = universe.byId;
+        return id >= 0 && id < byId.length ? byId[id] : null;
+    }
+
+    /** Dense ID of {@code cusip}, or -1 if it is not in the universe. */
+    public int idOf(String cusip) {
+        Security security = universe.byCusip.get(cusip);
+        return security != null ? security.getId() : -1;
+    }
+
+    public int size() {
+        return universe.byId.length;
+    }
+
+    /** IDs by maturity date, then CUSIP; undated instruments last. Do not modify. */
+    public int[] maturityOrder() {
+        return universe.maturityOrder;
+    }
+
+    /**
+     * IDs of the on-the-run nominal curve in tenor order: per original term, the issue
+     * with the latest maturity date. Do not modify.
+     */
+    public int[] curveIds() {
+        return universe.curveIds;
+    }
+
+    public Map<String, Object> stats() {
+        Universe current = universe;
+        Map<String, Integer> byType = new TreeMap<>();
+        for (Security security : current.byId) {
+            byType.merge(security.getType() != null ? security.getType() : "UNKNOWN", 1, Integer::sum);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("securities", current.byId.length);
+        stats.put("byType", byType);
+        stats.put("curvePillars", current.curveIds.length);
+        return stats;
+    }
+
+    private static int[] maturityOrder(Security[] byId) {
+        Security[] sorted = byId.clone();
+        Arrays.sort(sorted, BY_MATURITY);
+        int[] order = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = sorted[i].getId();
+        }
+        return order;
+    }
+
+    // Instruments without a type or date (ad-hoc loads) count as nominal and as the newest issue
+    private static int[] curveSet(Security[] byId) {
+        Map<String, Security> latest = new HashMap<>();
+        for (Security security : byId) {
+            if (security.getType() != null && !CURVE_TYPES.contains(security.getType())) {
+                continue;
+            }
+            int months = MarketDataStore.tenorMonths(security.getMaturity());
+            if (months == Integer.MAX_VALUE || months <= 0) {
+                continue;
+            }
+            latest.merge(security.getMaturity(), security,
+                (a, b) -> BY_MATURITY.compare(a, b) >= 0 ? a : b);
+        }
+        List<Security> curve = new ArrayList<>(latest.values());
+        curve.sort(Comparator.comparingInt((Security s) -> MarketDataStore.tenorMonths(s.getMaturity()))
+            .thenComparing(Security::getCusip));
+        int[] ids = new int[curve.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = curve.get(i).getId();
+        }
+        return ids;
+    }
+
+    private static final class Universe {
+        final Security[] byId;
+        final Map<String, Security> byCusip;
+        final int[] maturityOrder;
+        final int[] curveIds;
+
+        Universe(Security[] byId, Map<String, Security> byCusip, int[] maturityOrder, int[] curveIds) {
+            this.byId = byId;
+            this.byCusip = byCusip;
+            this.maturityOrder = maturityOrder;
+            this.curveIds = curveIds;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.maak.treasurydashboard.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bumped-yield risk over a {@link CashflowSchedule}. Each instrument is priced at its
+ * yield and at +/-1bp in a single pass over its flows; instruments are independent,
+ * so large universes are split across the common fork/join pool.
+ */
+public final class RiskCalculator {
+
+    // One basis point as a decimal yield
+    public static final double BUMP = 0.0001;
+
+    // Instruments per fork/join leaf task
+    private static final int LEAF_SIZE = 64;
+
+    private RiskCalculator() {}
+
+    /**
+     * @param yields yield per instrument in percent, indexed like the schedule
+     * @param parallelThreshold evaluate on the fork/join pool from this many instruments
+     */
+    public static RiskResult evaluate(CashflowSchedule schedule, double[] yields, int parallelThreshold) {
+        RiskResult result = new RiskResult(schedule.size());
+        if (schedule.size() >= parallelThreshold) {
+            ForkJoinPool.commonPool().invoke(new Slice(schedule, yields, result, 0, schedule.size()));
+        } else {
+            evaluate(schedule, yields, result, 0, schedule.size());
+        }
+        return result;
+    }
+
+    static void evaluate(CashflowSchedule schedule, double[] yields, RiskResult out, int from, int to) {
+        int[] offsets = schedule.offsets();
+        double[] times = schedule.times();
+        double[] amounts = schedule.amounts();
+        int periods = CashflowSchedule.PAYMENTS_PER_YEAR;
+
+        for (int i = from; i < to; i++) {
+            double y = yields[i] / 100.0;
+            double v0 = 1.0 / (1.0 + y / periods);
+            double vUp = 1.0 / (1.0 + (y + BUMP) / periods);
+            double vDown = 1.0 / (1.0 + (y - BUMP) / periods);
+            int first = offsets[i];
+            // The first flow may be a fractional stub (or due now, at zero); the rest fall a
+            // whole period apart, so each later factor is the previous one times v
+            double stub = times[first] * periods;
+            double d0 = Math.pow(v0, stub), dUp = Math.pow(vUp, stub), dDown = Math.pow(vDown, stub);
+            double p0 = 0.0, pUp = 0.0, pDown = 0.0;
+
+            for (int k = first, end = offsets[i + 1]; k < end; k++) {
+                double cf = amounts[k];
+                p0 += cf * d0;
+                pUp += cf * dUp;
+                pDown += cf * dDown;
+                d0 *= v0;
+                dUp *= vUp;
+                dDown *= vDown;
+            }
+
+            out.price[i] = p0;
+            out.dv01[i] = (pDown - pUp) / 2.0;
+            out.modifiedDuration[i] = (pDown - pUp) / (2.0 * p0 * BUMP);
+            out.convexity[i] = (pDown + pUp - 2.0 * p0) / (p0 * BUMP * BUMP);
+        }
+    }
+
+    private static final class Slice extends RecursiveAction {
+        private final CashflowSchedule schedule;
+        private final double[] yields;
+        private final RiskResult out;
+        private final int from;
+        private final int to;
+
+        Slice(CashflowSchedule schedule, double[] yields, RiskResult out, int from, int to) {
+            this.schedule = schedule;
+            this.yields = yields;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                evaluate(schedule, yields, out, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Slice(schedule, yields, out, from, mid), new Slice(schedule, yields, out, mid, to));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.BondRisk;
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.Position;
+import com.maak.treasurydashboard.model.PositionRisk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DV01, modified duration and convexity for every bond in the quote book, refreshed
+ * on each tick. The cashflow schedule is built from each bond's maturity date and
+ * reused until the set of CUSIPs or the calendar day changes; each tick only fills a
+ * yield array and re-runs the bumped pricing. Readers see the last completed tick
+ * through a single volatile reference.
+ */
+@Service
+public class RiskEngine {
+
+    @Autowired
+    private PositionKeeper positionKeeper;
+
+    @Value("${treasury.risk.parallel-threshold:256}")
+    private int parallelThreshold;
+
+    // Only touched by the tick thread
+    private CashflowSchedule schedule;
+    private String[] maturities;
+    private Map<String, Integer> instrumentByCusip = Map.of();
+    private LocalDate scheduleDate;
+
+    private volatile RiskView current;
+
+    public void update(List<BondQuote> quotes) {
+        int n = quotes.size();
+        String[] cusips = new String[n];
+        double[] yields = new double[n];
+        for (int i = 0; i < n; i++) {
+            BondQuote quote = quotes.get(i);
+            cusips[i] = quote.getCusip();
+            yields[i] = FixedPoint.yieldToDouble(quote.getYield());
+        }
+
+        LocalDate today = LocalDate.now();
+        if (schedule == null || !today.equals(scheduleDate) || !schedule.matches(cusips)) {
+            rebuildSchedule(quotes, cusips, today);
+        }
+
+        long start = System.nanoTime();
+        RiskResult result = RiskCalculator.evaluate(schedule, yields, parallelThreshold);
+        current = new RiskView(schedule, maturities, instrumentByCusip, yields, result,
+            System.currentTimeMillis(), System.nanoTime() - start);
+    }
+
+    private void rebuildSchedule(List<BondQuote> quotes, String[] cusips, LocalDate today) {
+        int n = cusips.length;
+        String[] tenors = new String[n];
+        double[] years = new double[n];
+        double[] coupons = new double[n];
+        Map<String, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            BondQuote quote = quotes.get(i);
+            tenors[i] = quote.getMaturity();
+            years[i] = yearsToMaturity(quote, today);
+            coupons[i] = quote.getCoupon() != null ? quote.getCoupon().doubleValue() : 0.0;
+            index.put(cusips[i], i);
+        }
+        schedule = CashflowSchedule.build(cusips, years, coupons);
+        maturities = tenors;
+        instrumentByCusip = index;
+        scheduleDate = today;
+    }
+
+    // Bonds loaded without a maturity date are treated as freshly issued at their tenor
+    private static double yearsToMaturity(BondQuote quote, LocalDate today) {
+        if (quote.getMaturityDate() != null) {
+            return (quote.getMaturityDate().toEpochDay() - today.toEpochDay()) / 365.25;
+        }
+        int months = MarketDataStore.tenorMonths(quote.getMaturity());
+        return months != Integer.MAX_VALUE ? months / 12.0 : 0.5;
+    }
+
+    public List<BondRisk> getBondRisk() {
+        RiskView view = current;
+        List<BondRisk> risks = new ArrayList<>();
+        if (view == null) {
+            return risks;
+        }
+        for (int i = 0; i < view.schedule.size(); i++) {
+            risks.add(view.bondRisk(i));
+        }
+        return risks;
+    }
+
+    public BondRisk getBondRisk(String cusip) {
+        RiskView view = current;
+        Integer i = view != null ? view.instrumentByCusip.get(cusip) : null;
+        return i != null ? view.bondRisk(i) : null;
+    }
+
+    /**
+     * Aggregate risk of the positions matching the filters (null matches everything),
+     * with the per-position breakdown. Position DV01 scales the bond DV01 by face / 100.
+     */
+    public PositionRisk getPositionRisk(String trader, String counterparty, String cusip) {
+        RiskView view = current;
+        List<PositionRisk> breakdown = new ArrayList<>();
+        double totalDv01 = 0.0;
+        double totalValue = 0.0;
+        double weightedConvexity = 0.0;
+
+        for (Position position : positionKeeper.getPositions(trader, counterparty, cusip)) {
+            Integer i = view != null ? view.instrumentByCusip.get(position.getCusip()) : null;
+            if (i == null) {
+                continue;
+            }
+            double face = position.getNetQuantity() / 100.0;
+            double marketValue = position.getMarketValue().doubleValue();
+            double dv01 = view.result.dv01(i) * face;
+            breakdown.add(new PositionRisk(position.getTrader(), position.getCounterparty(), position.getCusip(),
+                position.getNetQuantity(), marketValue, dv01,
+                view.result.modifiedDuration(i), view.result.convexity(i)));
+            totalDv01 += dv01;
+            totalValue += marketValue;
+            weightedConvexity += view.result.convexity(i) * marketValue;
+        }
+
+        PositionRisk total = new PositionRisk(trader, counterparty, cusip, 0L, totalValue, totalDv01,
+            totalValue != 0.0 ? totalDv01 / (totalValue * RiskCalculator.BUMP) : 0.0,
+            totalValue != 0.0 ? weightedConvexity / totalValue : 0.0);
+        long net = 0L;
+        for (PositionRisk position : breakdown) {
+            net += position.getNetQuantity();
+        }
+        total.setNetQuantity(net);
+        total.setPositions(breakdown);
+        return total;
+    }
+
+    public Map<String, Object> stats() {
+        RiskView view = current;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("instruments", view != null ? view.schedule.size() : 0);
+        stats.put("cashflows", view != null ? view.schedule.flowCount() : 0);
+        stats.put("parallelThreshold", parallelThreshold);
+        stats.put("computedAt", view != null ? view.computedAt : 0L);
+        stats.put("computeMicros", view != null ? view.computeNanos / 1_000 : 0L);
+        return stats;
+    }
+
+    private static final class RiskView {
+        final CashflowSchedule schedule;
+        final String[] maturities;
+        final Map<String, Integer> instrumentByCusip;
+        final double[] yields;
+        final RiskResult result;
+        final long computedAt;
+        final long computeNanos;
+
+        RiskView(CashflowSchedule schedule, String[] maturities, Map<String, Integer> instrumentByCusip,
+                 double[] yields, RiskResult result, long computedAt, long computeNanos) {
+            this.schedule = schedule;
+            this.maturities = maturities;
+            this.instrumentByCusip = instrumentByCusip;
+            this.yields = yields;
+            this.result = result;
+            this.computedAt = computedAt;
+            this.computeNanos = computeNanos;
+        }
+
+        BondRisk bondRisk(int i) {
+            return new BondRisk(schedule.cusip(i), maturities[i], yields[i], result.price(i),
+                result.dv01(i), result.modifiedDuration(i), result.convexity(i));
+        }
+    }
+}
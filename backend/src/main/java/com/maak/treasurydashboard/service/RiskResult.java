@@ -0,0 +1,28 @@
+package com.maak.treasurydashboard.service;
+
+/**
+ * Risk measures for every instrument of a {@link CashflowSchedule}, indexed like the
+ * schedule. DV01 is per 100 face for a one basis point parallel move; duration and
+ * convexity come from the same +/-1bp bumps.
+ */
+public final class RiskResult {
+
+    final double[] price;
+    final double[] dv01;
+    final double[] modifiedDuration;
+    final double[] convexity;
+
+    public RiskResult(int size) {
+        price = new double[size];
+        dv01 = new double[size];
+        modifiedDuration = new double[size];
+        convexity = new double[size];
+    }
+
+    public int size() { return price.length; }
+
+    public double price(int instrument) { return price[instrument]; }
+    public double dv01(int instrument) { return dv01[instrument]; }
+    public double modifiedDuration(int instrument) { return modifiedDuration[instrument]; }
+    public double convexity(int instrument) { return convexity[instrument]; }
+}
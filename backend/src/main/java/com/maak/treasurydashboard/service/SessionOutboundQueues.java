@@ -0,0 +1,316 @@
+package com.maak.treasurydashboard.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session outbound queues sitting on the client outbound channel.
+ *
+ * <p>Broker messages for a session are parked here and released one at a time: the
+ * next message is only handed to the channel once the previous one has been written
+ * to the session. Destinations where every frame is a complete state are conflated,
+ * so a slow client only ever holds the latest frame for each: the full market-data and
+ * curve feeds, one quote per {@code /topic/market-data/{cusip}}, and whole watchlists.
+ * Everything else is queued losslessly, including the sequence-numbered delta feed,
+ * whose frames only make sense in order, plus trades and replies. A session whose
+ * lossless backlog passes the high-water mark, or whose in-flight frame is older than
+ * the lag limit, is treated as a slow consumer.
+ */
+@Component
+public class SessionOutboundQueues implements ExecutorChannelInterceptor {
+
+    public enum SlowConsumerPolicy { DISCONNECT, NONE }
+
+    // Matched exactly: a prefix match on /topic/market-data would also catch the delta feed
+    private static final Set<String> CONFLATED_DESTINATIONS = Set.of(
+        WebSocketService.MARKET_DATA_TOPIC, WebSocketService.YIELD_CURVE_TOPIC, YieldCurveService.CURVE_TOPIC);
+    private static final String[] CONFLATED_PREFIXES = {
+        MarketDataRouter.CUSIP_TOPIC_PREFIX, MarketDataRouter.WATCHLIST_TOPIC_PREFIX};
+
+    // Set while this class re-sends a released message so preSend lets it through
+    private static final ThreadLocal<Boolean> RELEASING = new ThreadLocal<>();
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(SessionOutboundQueues.class);
+
+    @Autowired
+    @Lazy
+    @Qualifier("clientOutboundChannel")
+    private MessageChannel clientOutboundChannel;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${treasury.websocket.outbound.high-water-mark:1000}")
+    private int highWaterMark;
+
+    @Value("${treasury.websocket.outbound.max-lag-ms:10000}")
+    private long maxLagMs;
+
+    @Value("${treasury.websocket.outbound.slow-consumer-policy:DISCONNECT}")
+    private SlowConsumerPolicy slowConsumerPolicy;
+
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong slowConsumerEvents = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+
+    @PostConstruct
+    public void registerGauges() {
+        metricsRegistry.gauge("websocket.sessions", sessions::size);
+        metricsRegistry.gauge("websocket.queueDepth.total", () -> queueDepth(false));
+        metricsRegistry.gauge("websocket.queueDepth.max", () -> queueDepth(true));
+        metricsRegistry.gauge("websocket.slowConsumerEvents", slowConsumerEvents::get);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (Boolean.TRUE.equals(RELEASING.get())) {
+            return message;
+        }
+        Map<String, Object> headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (sessionId == null || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        SessionQueue queue = queues.computeIfAbsent(sessionId, SessionQueue::new);
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        boolean slow;
+        synchronized (queue) {
+            if (isConflated(destination)) {
+                if (queue.conflated.put(destination, message) != null) {
+                    queue.conflatedTotal++;
+                }
+            } else {
+                queue.lossless.add(message);
+            }
+            slow = queue.lossless.size() > highWaterMark
+                || (queue.inFlight != null && System.nanoTime() - queue.inFlightSince > TimeUnit.MILLISECONDS.toNanos(maxLagMs));
+        }
+        if (slow) {
+            onSlowConsumer(queue);
+        } else {
+            drain(queue);
+        }
+        // The message now belongs to the session queue
+        return null;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return;
+        }
+        SessionQueue queue = queues.get(sessionId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            if (queue.inFlight != message) {
+                return;
+            }
+            queue.inFlight = null;
+            queue.sentTotal++;
+        }
+        drain(queue);
+    }
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                queues.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public boolean isConnected(String sessionId) {
+        return sessions.containsKey(sessionId);
+    }
+
+    /** Lossless frames waiting for {@code sessionId}, for producers that pace themselves. */
+    public int pendingLossless(String sessionId) {
+        SessionQueue queue = queues.get(sessionId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.lossless.size() + (queue.inFlight != null ? 1 : 0);
+        }
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    // Frames waiting across all sessions, or the deepest single queue
+    private long queueDepth(boolean max) {
+        long result = 0;
+        for (SessionQueue queue : queues.values()) {
+            int depth;
+            synchronized (queue) {
+                depth = queue.conflated.size() + queue.lossless.size();
+            }
+            result = max ? Math.max(result, depth) : result + depth;
+        }
+        return result;
+    }
+
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> perSession = new ArrayList<>();
+        long totalDepth = 0;
+        for (SessionQueue queue : queues.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            synchronized (queue) {
+                int depth = queue.conflated.size() + queue.lossless.size();
+                totalDepth += depth;
+                stats.put("sessionId", queue.sessionId);
+                stats.put("queueDepth", depth);
+                stats.put("conflatedPending", queue.conflated.size());
+                stats.put("losslessPending", queue.lossless.size());
+                stats.put("inFlightMillis", queue.inFlight != null
+                    ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queue.inFlightSince) : 0);
+                stats.put("sent", queue.sentTotal);
+                stats.put("conflated", queue.conflatedTotal);
+            }
+            perSession.add(stats);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessions", sessions.size());
+        result.put("totalQueueDepth", totalDepth);
+        result.put("highWaterMark", highWaterMark);
+        result.put("maxLagMs", maxLagMs);
+        result.put("slowConsumerPolicy", slowConsumerPolicy);
+        result.put("slowConsumerEvents", slowConsumerEvents.get());
+        result.put("slowConsumerDisconnects", disconnects.get());
+        result.put("queues", perSession);
+        return result;
+    }
+
+    private void drain(SessionQueue queue) {
+        Message<?> next;
+        synchronized (queue) {
+            if (queue.inFlight != null) {
+                return;
+            }
+            // Trades and replies go ahead of conflated market data
+            next = queue.lossless.poll();
+            if (next == null) {
+                Iterator<Message<?>> it = queue.conflated.values().iterator();
+                if (!it.hasNext()) {
+                    return;
+                }
+                next = it.next();
+                it.remove();
+            }
+            queue.inFlight = next;
+            queue.inFlightSince = System.nanoTime();
+        }
+
+        boolean sent;
+        RELEASING.set(Boolean.TRUE);
+        try {
+            sent = clientOutboundChannel.send(next);
+        } catch (RuntimeException e) {
+            sent = false;
+        } finally {
+            RELEASING.remove();
+        }
+        if (!sent) {
+            synchronized (queue) {
+                if (queue.inFlight == next) {
+                    queue.inFlight = null;
+                }
+            }
+        }
+    }
+
+    private void onSlowConsumer(SessionQueue queue) {
+        slowConsumerEvents.incrementAndGet();
+        if (slowConsumerPolicy != SlowConsumerPolicy.DISCONNECT) {
+            drain(queue);
+            return;
+        }
+        queues.remove(queue.sessionId);
+        WebSocketSession session = sessions.remove(queue.sessionId);
+        if (session == null) {
+            return;
+        }
+        disconnects.incrementAndGet();
+        LOG.info("disconnect", "WebSocket: Disconnecting slow consumer {}", queue.sessionId);
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE.withReason("Slow consumer"));
+        } catch (IOException e) {
+            LOG.warn("disconnect-error", "WebSocket: Error closing slow consumer {}: {}", queue.sessionId, e.getMessage());
+        }
+    }
+
+    private static boolean isConflated(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        if (CONFLATED_DESTINATIONS.contains(destination)) {
+            return true;
+        }
+        for (String prefix : CONFLATED_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class SessionQueue {
+        final String sessionId;
+        // Latest pending frame per destination, in first-queued order
+        final LinkedHashMap<String, Message<?>> conflated = new LinkedHashMap<>();
+        final ArrayDeque<Message<?>> lossless = new ArrayDeque<>();
+        Message<?> inFlight;
+        long inFlightSince;
+        long sentTotal;
+        long conflatedTotal;
+
+        SessionQueue(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.maak.treasurydashboard.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session wire format. A client opts into {@link BinaryWireFormat} by sending
+ * {@code x-wire-format: binary} on its STOMP CONNECT. That is only honoured on the raw
+ * {@code /ws-native} endpoint, since SockJS carries frames as text. Other sessions
+ * carry on with JSON.
+ *
+ * <p>{@link WebSocketService} encodes the binary body once per broadcast, and only
+ * while some session has negotiated it. The body rides along on the broker message in
+ * {@link #BINARY_BODY_HEADER}, which is not written to the STOMP frame. This
+ * interceptor sits in front of {@link SessionOutboundQueues} on the client outbound
+ * channel and swaps the binary body in for binary sessions. Clients tell the two
+ * formats apart by the frame's content-type.
+ */
+@Component
+public class SessionWireFormats implements ChannelInterceptor {
+
+    public static final String WIRE_FORMAT_HEADER = "x-wire-format";
+    public static final String BINARY = "binary";
+
+    // Session attribute set by the /ws-native handshake
+    public static final String NATIVE_TRANSPORT_ATTRIBUTE = "treasury.nativeTransport";
+
+    // Broker message header carrying the binary body next to the JSON payload
+    public static final String BINARY_BODY_HEADER = "treasury.binaryBody";
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(SessionWireFormats.class);
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong binaryFrames = new AtomicLong();
+    private final AtomicLong refusedNegotiations = new AtomicLong();
+
+    @PostConstruct
+    public void registerGauges() {
+        metricsRegistry.gauge("websocket.binarySessions", binarySessions::size);
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (!BINARY.equalsIgnoreCase(accessor.getFirstNativeHeader(WIRE_FORMAT_HEADER))) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null && Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE))) {
+            binarySessions.add(accessor.getSessionId());
+        } else {
+            refusedNegotiations.incrementAndGet();
+            LOG.info("refused", "WebSocket: session {} asked for binary frames over SockJS, sending JSON",
+                accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        binarySessions.remove(event.getSessionId());
+    }
+
+    public boolean hasBinarySessions() {
+        return !binarySessions.isEmpty();
+    }
+
+    public boolean isBinary(String sessionId) {
+        return sessionId != null && binarySessions.contains(sessionId);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!(message.getHeaders().get(BINARY_BODY_HEADER) instanceof byte[] body)) {
+            return message;
+        }
+        if (!isBinary(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.removeHeader(BINARY_BODY_HEADER);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        binaryFrames.incrementAndGet();
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("binarySessions", binarySessions.size());
+        stats.put("binaryFrames", binaryFrames.get());
+        stats.put("refusedNegotiations", refusedNegotiations.get());
+        return stats;
+    }
+}
@@ -0,0 +1,46 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.FixedPoint;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The random-walk simulator as a source. Every interval it moves each bond in the
+ * quote book by a small gaussian step (about 0.05% for price, 0.02% for yield) and
+ * adds simulated volume.
+ */
+public class SimulatedMarketDataSource extends AbstractMarketDataSource {
+
+    private final MarketDataStore marketDataStore;
+    private final long intervalNanos;
+    private final Random random = new Random();
+
+    public SimulatedMarketDataSource(MarketDataStore marketDataStore, long intervalMs) {
+        super("simulator");
+        this.marketDataStore = marketDataStore;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    @Override
+    protected void run() {
+        long next = System.nanoTime();
+        while (running) {
+            for (BondQuote quote : marketDataStore.snapshot()) {
+                long price = FixedPoint.scale(quote.getPrice(), random.nextGaussian() * 0.0005);
+                long yield = FixedPoint.scale(quote.getYield(), random.nextGaussian() * 0.0002);
+                long volume = random.nextInt(1000) + 100;
+                emit(quote.getCusip(), price, yield, volume, System.currentTimeMillis());
+            }
+            next += intervalNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                next = System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.maak.treasurydashboard.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live STOMP subscription counts per destination, kept from the session subscribe,
+ * unsubscribe and disconnect events. Publishers check {@link #hasSubscribers} before
+ * encoding a frame, so a destination nobody watches costs one map lookup per tick.
+ * Delivery itself stays with the broker, which only visits the matching sessions.
+ */
+@Component
+public class SubscriptionRegistry {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+    // Wildcard subscriptions such as /topic/market-data/**; rare, so matched by scanning
+    private final Map<String, Integer> patterns = new ConcurrentHashMap<>();
+    // sessionId -> subscriptionId -> destination, to resolve unsubscribes and disconnects
+    private final Map<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+        String previous = bySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+            .put(subscriptionId, destination);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(destination, 1);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = accessor.getSessionId() != null
+            ? bySession.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            adjust(destination, -1);
+        }
+    }
+
+    // May be published more than once for a session; only the first removes anything
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = bySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            for (String destination : subscriptions.values()) {
+                adjust(destination, -1);
+            }
+        }
+    }
+
+    private void adjust(String destination, int delta) {
+        Map<String, Integer> target = pathMatcher.isPattern(destination) ? patterns : counts;
+        target.compute(destination, (k, count) -> {
+            int next = (count == null ? 0 : count) + delta;
+            return next > 0 ? next : null;
+        });
+    }
+
+    public boolean hasSubscribers(String destination) {
+        if (counts.containsKey(destination)) {
+            return true;
+        }
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        for (String pattern : patterns.keySet()) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Subscriptions to exactly {@code destination}, not counting wildcard matches. */
+    public int subscribers(String destination) {
+        return counts.getOrDefault(destination, 0);
+    }
+
+    public Map<String, Object> stats() {
+        int subscriptions = 0;
+        for (Map<String, String> session : bySession.values()) {
+            subscriptions += session.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", bySession.size());
+        stats.put("subscriptions", subscriptions);
+        stats.put("destinations", counts.size());
+        stats.put("patternDestinations", patterns.size());
+        return stats;
+    }
+}
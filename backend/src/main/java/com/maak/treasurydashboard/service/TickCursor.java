@@ -0,0 +1,114 @@
+package com.maak.treasurydashboard.service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Forward-only view over journal records in {@code [from, to)}, optionally for one
+ * CUSIP, spanning segment files in order. Accessors read straight from the mapped file;
+ * nothing is copied or allocated per record. Each segment's committed count is taken when
+ * the cursor reaches it, so ticks appended after that are not seen.
+ *
+ * <pre>
+ * TickCursor cursor = tickJournal.cursor(from, to, "912828YN9");
+ * while (cursor.next()) {
+ *     chart.add(cursor.timestamp(), cursor.price());
+ * }
+ * </pre>
+ */
+public final class TickCursor {
+
+    private final List<JournalSegment> segments;
+    private final long from;
+    private final long to;
+    private final String cusip;
+
+    private int segmentIndex = -1;
+    private JournalSegment segment;
+    private ByteBuffer buffer;
+    private int cusipId;
+    private long record;
+    private long end;
+    private int offset;
+
+    TickCursor(List<JournalSegment> segments, long from, long to, String cusip) {
+        this.segments = segments;
+        this.from = from;
+        this.to = to;
+        this.cusip = cusip;
+    }
+
+    /** Advances to the next matching record; false once the range is exhausted. */
+    public boolean next() {
+        while (true) {
+            if (segment == null && !openNextSegment()) {
+                return false;
+            }
+            while (record < end) {
+                int position = JournalSegment.offset(record++);
+                if (buffer.getLong(position + JournalSegment.TIMESTAMP) >= to) {
+                    segmentIndex = segments.size();
+                    segment = null;
+                    return false;
+                }
+                if (cusipId < 0 || buffer.getInt(position + JournalSegment.CUSIP_ID) == cusipId) {
+                    offset = position;
+                    return true;
+                }
+            }
+            segment = null;
+        }
+    }
+
+    private boolean openNextSegment() {
+        while (++segmentIndex < segments.size()) {
+            JournalSegment next = segments.get(segmentIndex);
+            int id = cusip == null ? -1 : next.idOf(cusip);
+            if (cusip != null && id < 0) {
+                continue;
+            }
+            // Count before buffer: the buffer read afterwards always covers these records
+            long count = next.count();
+            segment = next;
+            buffer = next.view();
+            cusipId = id;
+            record = next.seek(from);
+            end = count;
+            return true;
+        }
+        return false;
+    }
+
+    public long timestamp() {
+        return buffer.getLong(offset + JournalSegment.TIMESTAMP);
+    }
+
+    /** Id of this record's CUSIP within its segment file. */
+    public int cusipId() {
+        return buffer.getInt(offset + JournalSegment.CUSIP_ID);
+    }
+
+    public String cusip() {
+        return segment.cusip(cusipId());
+    }
+
+    public long price() {
+        return buffer.getLong(offset + JournalSegment.PRICE);
+    }
+
+    public long yield() {
+        return buffer.getLong(offset + JournalSegment.YIELD);
+    }
+
+    public long bid() {
+        return buffer.getLong(offset + JournalSegment.BID);
+    }
+
+    public long ask() {
+        return buffer.getLong(offset + JournalSegment.ASK);
+    }
+
+    public long volume() {
+        return buffer.getLong(offset + JournalSegment.VOLUME);
+    }
+}
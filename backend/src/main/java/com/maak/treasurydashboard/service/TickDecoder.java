@@ -0,0 +1,127 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.FixedPoint;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Text wire format shared by the replay sources, one tick per line:
+ *
+ * <pre>CUSIP,price,yield,volume[,epochMillis]</pre>
+ *
+ * e.g. {@code 912828YN9,97.2531,4.451200,500,1718031600000}. Price and yield are
+ * plain decimals parsed straight into fixed-point units; a missing timestamp means
+ * "stamp on arrival". Blank lines and lines starting with {@code #} are skipped.
+ */
+public final class TickDecoder {
+
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private TickDecoder() {}
+
+    public enum Result { TICK, SKIPPED, MALFORMED }
+
+    /** Decodes {@code buf[off, off + len)} (without the line terminator) into {@code out}. */
+    public static Result decode(byte[] buf, int off, int len, CusipInterner interner, MarketTick out) {
+        int end = off + len;
+        if (end > off && buf[end - 1] == '\r') {
+            end--;
+        }
+        if (end == off || buf[off] == '#') {
+            return Result.SKIPPED;
+        }
+
+        int c1 = indexOf(buf, off, end, (byte) ',');
+        int c2 = indexOf(buf, c1 + 1, end, (byte) ',');
+        int c3 = indexOf(buf, c2 + 1, end, (byte) ',');
+        if (c1 <= off || c2 < 0 || c3 < 0) {
+            return Result.MALFORMED;
+        }
+        int c4 = indexOf(buf, c3 + 1, end, (byte) ',');
+
+        long price = parseFixed(buf, c1 + 1, c2, FixedPoint.PRICE_DECIMALS);
+        long yield = parseFixed(buf, c2 + 1, c3, FixedPoint.YIELD_DECIMALS);
+        long volume = parseFixed(buf, c3 + 1, c4 < 0 ? end : c4, 0);
+        long timestamp = c4 < 0 ? 0L : parseFixed(buf, c4 + 1, end, 0);
+        if (price == INVALID || yield == INVALID || volume == INVALID || timestamp == INVALID) {
+            return Result.MALFORMED;
+        }
+
+        out.set(interner.intern(buf, off, c1 - off), price, yield, volume, timestamp);
+        return Result.TICK;
+    }
+
+    /** Encodes a tick in the wire format, without a line terminator. */
+    public static String format(String cusip, long price, long yield, long volume, long timestamp) {
+        return cusip + ',' + FixedPoint.fromPriceUnits(price).toPlainString() + ','
+            + FixedPoint.fromYieldUnits(yield).toPlainString() + ',' + volume
+            + (timestamp > 0 ? "," + timestamp : "");
+    }
+
+    public static byte[] formatBytes(String cusip, long price, long yield, long volume, long timestamp) {
+        return (format(cusip, price, yield, volume, timestamp) + '\n').getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int indexOf(byte[] buf, int from, int end, byte b) {
+        if (from < 0) {
+            return -1;
+        }
+        for (int i = from; i < end; i++) {
+            if (buf[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Signed decimal to units with the given number of decimals, rounding half-up on extra digits
+    static long parseFixed(byte[] buf, int from, int to, int decimals) {
+        if (from >= to) {
+            return INVALID;
+        }
+        boolean negative = buf[from] == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) {
+            return INVALID;
+        }
+        long value = 0;
+        int fraction = -1;
+        boolean roundUp = false;
+        for (; i < to; i++) {
+            byte b = buf[i];
+            if (b == '.') {
+                if (fraction >= 0) {
+                    return INVALID;
+                }
+                fraction = 0;
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                return INVALID;
+            }
+            if (fraction >= decimals) {
+                // First digit past the scale decides rounding; the rest are ignored
+                if (fraction == decimals) {
+                    roundUp = b >= '5';
+                }
+                fraction++;
+                continue;
+            }
+            if (value > (Long.MAX_VALUE - 9) / 10) {
+                return INVALID;
+            }
+            value = value * 10 + (b - '0');
+            if (fraction >= 0) {
+                fraction++;
+            }
+        }
+        int scaled = Math.max(fraction, 0);
+        for (int k = Math.min(scaled, decimals); k < decimals; k++) {
+            value *= 10;
+        }
+        if (roundUp) {
+            value++;
+        }
+        return negative ? -value : value;
+    }
+}
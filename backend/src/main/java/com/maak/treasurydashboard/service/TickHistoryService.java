@@ -0,0 +1,241 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.ReplayFrame;
+import com.maak.treasurydashboard.model.ReplayRequest;
+import com.maak.treasurydashboard.model.TickSeries;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the {@link TickJournal} for intraday charts and for replaying a time window
+ * to one WebSocket session.
+ *
+ * <p>Replays run on a small fixed pool and are paced two ways: by the original tick
+ * timestamps scaled by the requested speed, and by the session's outbound backlog,
+ * so a replay never pushes a client past half its high-water mark.
+ */
+@Service
+public class TickHistoryService {
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(TickHistoryService.class);
+
+    public static final String REPLAY_QUEUE = "/queue/replay";
+
+    private static final int FRAME_SIZE = 500;
+    private static final long BACKPRESSURE_PAUSE_MS = 10;
+
+    @Autowired
+    private TickJournal tickJournal;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private SessionOutboundQueues sessionOutboundQueues;
+
+    @Value("${treasury.journal.replay.max-concurrent:4}")
+    private int maxConcurrentReplays;
+
+    private ExecutorService replayExecutor;
+    private final AtomicInteger activeReplays = new AtomicInteger();
+    private final AtomicLong replaysCompleted = new AtomicLong();
+    private final AtomicLong replayTicksSent = new AtomicLong();
+
+    /**
+     * Ticks for {@code cusip} in {@code [from, to)}. At most {@code maxPoints} points
+     * are returned; longer ranges are downsampled into equal time buckets.
+     */
+    public TickSeries getSeries(String cusip, long from, long to, int maxPoints) {
+        if (to <= from) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("maxPoints must be positive");
+        }
+        // First pass only touches timestamps and ids in the mapped file
+        long ticks = 0;
+        TickCursor counter = tickJournal.cursor(from, to, cusip);
+        while (counter.next()) {
+            ticks++;
+        }
+        long bucketMillis = ticks > maxPoints ? (to - from + maxPoints - 1) / maxPoints : 0;
+        int capacity = (int) Math.min(ticks, maxPoints);
+
+        long[] timestamps = new long[capacity];
+        double[] prices = new double[capacity];
+        double[] yields = new double[capacity];
+        double[] bids = new double[capacity];
+        double[] asks = new double[capacity];
+        long[] volumes = new long[capacity];
+
+        int n = 0;
+        long currentBucket = -1;
+        TickCursor cursor = tickJournal.cursor(from, to, cusip);
+        while (cursor.next()) {
+            long bucket = bucketMillis > 0 ? (cursor.timestamp() - from) / bucketMillis : n;
+            if (bucket != currentBucket) {
+                // Ticks appended since the first pass can push past the count; drop them
+                if (n == capacity) {
+                    break;
+                }
+                currentBucket = bucket;
+                n++;
+            }
+            int i = n - 1;
+            timestamps[i] = cursor.timestamp();
+            prices[i] = FixedPoint.priceToDouble(cursor.price());
+            yields[i] = FixedPoint.yieldToDouble(cursor.yield());
+            bids[i] = FixedPoint.priceToDouble(cursor.bid());
+            asks[i] = FixedPoint.priceToDouble(cursor.ask());
+            volumes[i] += cursor.volume();
+        }
+        return new TickSeries(cusip, from, to, bucketMillis, ticks, Arrays.copyOf(timestamps, n),
+            Arrays.copyOf(prices, n), Arrays.copyOf(yields, n), Arrays.copyOf(bids, n),
+            Arrays.copyOf(asks, n), Arrays.copyOf(volumes, n));
+    }
+
+    /** Starts a replay to {@code sessionId}; rejections are reported on the same queue. */
+    public void startReplay(String sessionId, ReplayRequest request) {
+        String replayId = request.getReplayId() != null ? request.getReplayId() : sessionId;
+        String error = null;
+        if (!tickJournal.isEnabled()) {
+            error = "Tick journal is disabled";
+        } else if (request.getTo() <= request.getFrom()) {
+            error = "'to' must be after 'from'";
+        } else if (request.getSpeed() < 0) {
+            error = "speed must not be negative";
+        } else if (activeReplays.incrementAndGet() > maxConcurrentReplays) {
+            activeReplays.decrementAndGet();
+            error = "Too many concurrent replays";
+        }
+        if (error != null) {
+            webSocketService.sendToSession(sessionId, REPLAY_QUEUE, ReplayFrame.rejected(replayId, error));
+            return;
+        }
+        executor().execute(() -> {
+            try {
+                replay(sessionId, replayId, request);
+            } catch (Exception e) {
+                LOG.warn("replay", "Replay {} for session {} failed: {}", replayId, sessionId, e.getMessage());
+            } finally {
+                activeReplays.decrementAndGet();
+            }
+        });
+    }
+
+    private void replay(String sessionId, String replayId, ReplayRequest request) throws InterruptedException {
+        String cusip = request.getCusip() == null || request.getCusip().isEmpty() ? null : request.getCusip();
+        double speed = request.getSpeed();
+        TickCursor cursor = tickJournal.cursor(request.getFrom(), request.getTo(), cusip);
+
+        String[] cusips = new String[FRAME_SIZE];
+        long[] timestamps = new long[FRAME_SIZE];
+        double[] prices = new double[FRAME_SIZE];
+        double[] yields = new double[FRAME_SIZE];
+        long[] volumes = new long[FRAME_SIZE];
+        int n = 0;
+        long sequence = 0;
+        long firstTimestamp = -1;
+        long startNanos = System.nanoTime();
+
+        while (cursor.next()) {
+            long timestamp = cursor.timestamp();
+            if (firstTimestamp < 0) {
+                firstTimestamp = timestamp;
+            }
+            if (speed > 0) {
+                long dueNanos = startNanos + (long) ((timestamp - firstTimestamp) * 1_000_000L / speed);
+                long waitNanos = dueNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    // Flush what is due now, then wait for this tick's slot
+                    if (n > 0) {
+                        if (!send(sessionId, frame(replayId, ++sequence, false, n, cusips, timestamps, prices,
+                                yields, volumes))) {
+                            return;
+                        }
+                        n = 0;
+                    }
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            }
+            cusips[n] = cursor.cusip();
+            timestamps[n] = timestamp;
+            prices[n] = FixedPoint.priceToDouble(cursor.price());
+            yields[n] = FixedPoint.yieldToDouble(cursor.yield());
+            volumes[n] = cursor.volume();
+            if (++n == FRAME_SIZE) {
+                if (!send(sessionId, frame(replayId, ++sequence, false, n, cusips, timestamps, prices, yields,
+                        volumes))) {
+                    return;
+                }
+                n = 0;
+            }
+        }
+        if (send(sessionId, frame(replayId, ++sequence, true, n, cusips, timestamps, prices, yields, volumes))) {
+            replaysCompleted.incrementAndGet();
+        }
+    }
+
+    // The column buffers are reused for the next frame, so the frame gets its own copies
+    private static ReplayFrame frame(String replayId, long sequence, boolean complete, int n, String[] cusips,
+                                     long[] timestamps, double[] prices, double[] yields, long[] volumes) {
+        return new ReplayFrame(replayId, sequence, complete, Arrays.copyOf(cusips, n), Arrays.copyOf(timestamps, n),
+            Arrays.copyOf(prices, n), Arrays.copyOf(yields, n), Arrays.copyOf(volumes, n));
+    }
+
+    // Waits while the session's lossless backlog is high; false once the session is gone
+    private boolean send(String sessionId, ReplayFrame frame) throws InterruptedException {
+        int limit = Math.max(1, sessionOutboundQueues.getHighWaterMark() / 2);
+        while (sessionOutboundQueues.pendingLossless(sessionId) > limit) {
+            if (!sessionOutboundQueues.isConnected(sessionId)) {
+                return false;
+            }
+            Thread.sleep(BACKPRESSURE_PAUSE_MS);
+        }
+        if (!sessionOutboundQueues.isConnected(sessionId)) {
+            return false;
+        }
+        webSocketService.sendToSession(sessionId, REPLAY_QUEUE, frame);
+        replayTicksSent.addAndGet(frame.getTimestamps().length);
+        return true;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (replayExecutor == null) {
+            AtomicInteger threads = new AtomicInteger();
+            replayExecutor = Executors.newFixedThreadPool(maxConcurrentReplays, r -> {
+                Thread t = new Thread(r, "tick-replay-" + threads.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return replayExecutor;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = tickJournal.stats();
+        stats.put("activeReplays", activeReplays.get());
+        stats.put("maxConcurrentReplays", maxConcurrentReplays);
+        stats.put("replaysCompleted", replaysCompleted.get());
+        stats.put("replayTicksSent", replayTicksSent.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (replayExecutor != null) {
+            replayExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.maak.treasurydashboard.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only tick history in memory-mapped {@link JournalSegment}s, one or more per day.
+ *
+ * <p>The market data pipeline thread is the only writer: every validated tick is
+ * appended, including the ones conflation drops, so the journal keeps the full intraday
+ * history that the quote book overwrites. Readers get a {@link TickCursor} over a time
+ * range; it seeks each segment through the sparse index and reads records in place.
+ *
+ * <p>A segment is capped at {@code max-segment-mb} (2 GB at most, about 38 million
+ * ticks); when it fills, the writer rolls to the day's next part and logs a warning, so
+ * a busy day is split across several files rather than dropping ticks. The roll count
+ * is in {@link #stats()}.
+ *
+ * <p>Only the writer's segment stays open. Earlier segments are mapped per cursor and
+ * never cached, so a range query over old history does not pin those files for the life
+ * of the process; the previous segment is closed when the writer rolls.
+ */
+@Service
+public class TickJournal {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(TickJournal.class);
+
+    @Value("${treasury.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${treasury.journal.directory:${java.io.tmpdir}/treasury-tick-journal}")
+    private String directory;
+
+    @Value("${treasury.journal.initial-size-mb:64}")
+    private long initialSizeMb;
+
+    @Value("${treasury.journal.max-segment-mb:2047}")
+    private long maxSegmentMb;
+
+    @Value("${treasury.journal.index-interval:1024}")
+    private int indexInterval;
+
+    // The writer's segment, shared with readers of the same day
+    private volatile JournalSegment writer;
+    private long writerDayStart;
+    private long writerDayEnd;
+    // Last timestamp in the day's previous parts, so timestamps stay sorted across them
+    private long writerFloor;
+    // Ticks in the day's parts before the writer's
+    private volatile long writerDayBase;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong writeErrors = new AtomicLong();
+    private final AtomicLong segmentRolls = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Called from the single pipeline thread. Failures are counted, never thrown into the feed. */
+    public void append(String cusip, long timestamp, long price, long yield, long volume) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (writer == null || timestamp >= writerDayEnd) {
+                rollDay(dayOf(timestamp));
+            } else if (timestamp < writerDayStart) {
+                // Late tick from before the current day: keep it in today's file
+                timestamp = writerDayStart;
+            }
+            if (writer.isFull()) {
+                rollPart();
+            }
+            writer.append(cusip, Math.max(timestamp, writerFloor), price, yield, TickMath.bid(price),
+                TickMath.ask(price), volume);
+            appended.incrementAndGet();
+        } catch (IOException e) {
+            writeErrors.incrementAndGet();
+            LOG.warn("write", "Tick journal write failed: {}", e.getMessage());
+        }
+    }
+
+    // Resumes the day's last part, so a restart appends after what is already there
+    private void rollDay(LocalDate day) throws IOException {
+        Path dir = Path.of(directory);
+        int part = JournalSegment.lastPart(dir, day);
+        long base = 0;
+        long floor = 0;
+        for (int p = 0; p < part; p++) {
+            JournalSegment earlier = JournalSegment.openForRead(dir, day, p, indexInterval);
+            if (earlier != null) {
+                base += earlier.count();
+                floor = Math.max(floor, earlier.lastTimestamp());
+            }
+        }
+        JournalSegment segment = open(day, part);
+        writerDayStart = day.atStartOfDay(ZONE).toInstant().toEpochMilli();
+        writerDayEnd = day.plusDays(1).atStartOfDay(ZONE).toInstant().toEpochMilli();
+        writerFloor = floor;
+        replaceWriter(segment, base);
+    }
+
+    private void rollPart() throws IOException {
+        JournalSegment full = writer;
+        JournalSegment segment = open(full.day(), full.part() + 1);
+        segmentRolls.incrementAndGet();
+        LOG.warn("segment", "Tick journal: {} is full after {} ticks, continuing in {}", full.file(), full.count(),
+            segment.file());
+        writerFloor = Math.max(writerFloor, full.lastTimestamp());
+        replaceWriter(segment, writerDayBase + full.count());
+    }
+
+    private JournalSegment open(LocalDate day, int part) throws IOException {
+        JournalSegment segment = JournalSegment.openForWrite(Path.of(directory), day, part, initialSizeMb << 20,
+            maxSegmentMb << 20, indexInterval);
+        LOG.info("roll", "Tick journal: writing {} ({} existing ticks)", segment.file(), segment.count());
+        return segment;
+    }
+
+    private void replaceWriter(JournalSegment segment, long dayBase) throws IOException {
+        JournalSegment previous = writer;
+        writerDayBase = dayBase;
+        writer = segment;
+        // Cursors already over the previous segment keep its mapping; only the file handle goes
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Cursor over ticks with {@code from <= timestamp < to} (epoch millis), for one
+     * CUSIP or all of them when {@code cusip} is null.
+     */
+    public TickCursor cursor(long from, long to, String cusip) {
+        List<JournalSegment> segments = new ArrayList<>();
+        if (enabled && from < to) {
+            for (LocalDate day = dayOf(from); !day.isAfter(dayOf(to - 1)); day = day.plusDays(1)) {
+                addSegments(day, segments);
+            }
+        }
+        return new TickCursor(segments, from, to, cusip);
+    }
+
+    // The writer's segment is shared; every other part is opened read-only for this cursor alone
+    private void addSegments(LocalDate day, List<JournalSegment> segments) {
+        JournalSegment current = writer;
+        boolean writerDay = current != null && current.day().equals(day);
+        int parts = writerDay ? current.part() : Integer.MAX_VALUE;
+        for (int part = 0; part < parts; part++) {
+            try {
+                JournalSegment segment = JournalSegment.openForRead(Path.of(directory), day, part, indexInterval);
+                if (segment == null) {
+                    break;
+                }
+                segments.add(segment);
+            } catch (IOException e) {
+                LOG.warn("open", "Tick journal: cannot open {} part {}: {}", day, part, e.getMessage());
+            }
+        }
+        if (writerDay) {
+            segments.add(current);
+        }
+    }
+
+    private static LocalDate dayOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZONE).toLocalDate();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("directory", directory);
+        stats.put("indexInterval", indexInterval);
+        stats.put("appended", appended.get());
+        stats.put("writeErrors", writeErrors.get());
+        stats.put("segmentRolls", segmentRolls.get());
+        JournalSegment current = writer;
+        stats.put("currentDay", current != null ? current.day().toString() : null);
+        stats.put("currentSegment", current != null ? current.part() : 0);
+        stats.put("currentDayTicks", current != null ? writerDayBase + current.count() : 0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        JournalSegment current = writer;
+        if (current == null) {
+            return;
+        }
+        writer = null;
+        try {
+            current.close();
+        } catch (IOException e) {
+            LOG.warn("close", "Tick journal: error closing {}: {}", current.day(), e.getMessage());
+        }
+    }
+}
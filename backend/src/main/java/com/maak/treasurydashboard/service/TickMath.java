@@ -0,0 +1,45 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.FixedPoint;
+
+/**
+ * Allocation-free quote arithmetic for the simulated tick path. All inputs and
+ * outputs are fixed-point longs; the only object created is the resulting quote.
+ */
+public final class TickMath {
+
+    // 1/8th point spread in price units, split half-up either side of mid (0.0063)
+    public static final long SPREAD = 125L;
+    public static final long HALF_SPREAD = FixedPoint.divideHalfUp(SPREAD, 2);
+
+    private TickMath() {}
+
+    public static long bid(long price) {
+        return price - HALF_SPREAD;
+    }
+
+    public static long ask(long price) {
+        return price + HALF_SPREAD;
+    }
+
+    /**
+     * Applies relative price and yield moves to {@code quote}.
+     *
+     * @param priceChangePercent relative price move, e.g. 0.0005 for +0.05%
+     * @param yieldChangePercent relative yield move
+     */
+    public static BondQuote nextQuote(BondQuote quote, double priceChangePercent, double yieldChangePercent,
+                                      long volumeIncrease, long timestamp, long version) {
+        long newPrice = FixedPoint.scale(quote.getPrice(), priceChangePercent);
+        long newYield = FixedPoint.scale(quote.getYield(), yieldChangePercent);
+        return withLevels(quote, newPrice, newYield, volumeIncrease, timestamp, version);
+    }
+
+    /** Moves {@code quote} to absolute price and yield levels, e.g. from an external feed. */
+    public static BondQuote withLevels(BondQuote quote, long newPrice, long newYield,
+                                       long volumeIncrease, long timestamp, long version) {
+        return new BondQuote(quote.getId(), quote.getSecurity(), newPrice, newYield, newPrice - quote.getPrice(), newYield - quote.getYield(),
+            bid(newPrice), ask(newPrice), quote.getVolume() + volumeIncrease, timestamp, version);
+    }
+}
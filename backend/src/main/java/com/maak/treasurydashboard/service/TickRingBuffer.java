@@ -0,0 +1,82 @@
+package com.maak.treasurydashboard.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded single-producer / single-consumer hand-off between pipeline stages.
+ *
+ * <p>Slots are preallocated {@link MarketTick}s: the producer claims the next free
+ * slot, fills it in place and commits; the consumer drains committed slots in batches.
+ * Each side caches the other's counter and only re-reads it when the ring looks
+ * full (or empty), so the common case touches no shared cache line.
+ */
+public final class TickRingBuffer {
+
+    private final MarketTick[] slots;
+    private final int mask;
+
+    // Next slot to read; written only by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to write; written only by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    private long producerTail;
+    private long cachedHead;
+    private long cachedTail;
+
+    public TickRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        slots = new MarketTick[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new MarketTick();
+        }
+        mask = capacity - 1;
+    }
+
+    /** Producer: the next free slot, or null if the ring is full. Follow with {@link #commit()}. */
+    public MarketTick claim() {
+        if (producerTail - cachedHead > mask) {
+            cachedHead = head.get();
+            if (producerTail - cachedHead > mask) {
+                return null;
+            }
+        }
+        return slots[(int) producerTail & mask];
+    }
+
+    /** Producer: makes the slot returned by the last {@link #claim()} visible to the consumer. */
+    public void commit() {
+        producerTail++;
+        tail.lazySet(producerTail);
+    }
+
+    /** Consumer: hands up to {@code max} committed ticks to {@code handler}; returns how many. */
+    public int drain(Consumer<MarketTick> handler, int max) {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) {
+                return 0;
+            }
+        }
+        long end = Math.min(cachedTail, h + max);
+        for (long i = h; i < end; i++) {
+            handler.accept(slots[(int) i & mask]);
+        }
+        // Slots become reusable only once the handler is done with them
+        head.lazySet(end);
+        return (int) (end - h);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    // Approximate; safe to call from any thread
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+}
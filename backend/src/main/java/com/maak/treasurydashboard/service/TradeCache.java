@@ -0,0 +1,253 @@
+package com.maak.treasurydashboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.repository.TradeRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache in front of the {@link TradeRepository} lookups by ID, trader,
+ * CUSIP and status. It is one Caffeine cache (W-TinyLFU eviction) weighted by the
+ * number of trades each entry holds, so {@code max-trades} bounds its size.
+ *
+ * <p>Nothing expires on a timer. Instead {@link TradeService} reports every trade
+ * that reaches the table ({@link #onInserted}) and every status change
+ * ({@link #onUpdated}), and the cached entries touching that trade are patched in
+ * place. Entries that were never read are left alone. Loads run inside the cache's
+ * per-key compute, and patches run only after the change has committed. So a patch
+ * either waits for a concurrent load and applies on top of it, or the load already
+ * sees the committed row.
+ *
+ * <p>With {@code treasury.trades.cache.enabled=false} every call goes straight to the
+ * repository, so the two modes can be compared under the same load.
+ */
+@Component
+public class TradeCache {
+
+    // Rough retained size of one cached Trade: the entity, three date-times, three decimals and its strings
+    static final long ESTIMATED_TRADE_BYTES = 640;
+
+    private enum Kind { ID, TRADER, CUSIP, STATUS }
+
+    private record Key(Kind kind, Object value) {}
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${treasury.trades.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${treasury.trades.cache.max-trades:100000}")
+    private long maxTrades;
+
+    private Cache<Key, Object> cache;
+
+    private final AtomicLong patches = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxTrades)
+            .weigher((Key key, Object value) -> value instanceof List<?> list ? Math.max(1, list.size()) : 1)
+            .recordStats()
+            .build();
+        metricsRegistry.gauge("tradeCache.entries", () -> enabled ? cache.estimatedSize() : 0);
+        metricsRegistry.gauge("tradeCache.trades", this::weightedSize);
+        metricsRegistry.gauge("tradeCache.hitRatePct", () -> Math.round(hitRate(cache.stats()) * 100));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<Trade> findById(Long id) {
+        if (!enabled) {
+            return tradeRepository.findById(id);
+        }
+        return Optional.ofNullable((Trade) cache.get(new Key(Kind.ID, id),
+            key -> tradeRepository.findById(id).orElse(null)));
+    }
+
+    public List<Trade> findByTrader(String trader) {
+        return list(Kind.TRADER, trader, () -> tradeRepository.findByTrader(trader));
+    }
+
+    public List<Trade> findByCusip(String cusip) {
+        return list(Kind.CUSIP, cusip, () -> tradeRepository.findByCusip(cusip));
+    }
+
+    /** Most recent first, like {@link TradeRepository#findByStatusOrderByTimestampDesc}. */
+    public List<Trade> findByStatus(String status) {
+        return list(Kind.STATUS, status, () -> tradeRepository.findByStatusOrderByTimestampDesc(status));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Trade> list(Kind kind, String value, Supplier<List<Trade>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // Unmodifiable, since callers share the cached list
+        return (List<Trade>) cache.get(new Key(kind, value), key -> List.copyOf(loader.get()));
+    }
+
+    /** Trades just written to the table; patched in once the surrounding transaction commits. */
+    public void onInserted(List<Trade> trades) {
+        if (!enabled || trades.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (Trade trade : trades) {
+                append(new Key(Kind.TRADER, trade.getTrader()), trade);
+                append(new Key(Kind.CUSIP, trade.getCusip()), trade);
+                insertNewestFirst(new Key(Kind.STATUS, trade.getStatus()), trade);
+            }
+        });
+    }
+
+    /** A trade whose status or terms changed; trader and CUSIP are fixed once booked. */
+    public void onUpdated(Trade trade, String previousStatus) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            patch(new Key(Kind.ID, trade.getId()), current -> trade);
+            replace(new Key(Kind.TRADER, trade.getTrader()), trade);
+            replace(new Key(Kind.CUSIP, trade.getCusip()), trade);
+            if (Objects.equals(previousStatus, trade.getStatus())) {
+                replace(new Key(Kind.STATUS, trade.getStatus()), trade);
+            } else {
+                patch(new Key(Kind.STATUS, previousStatus), current -> without(asTrades(current), trade.getId()));
+                insertNewestFirst(new Key(Kind.STATUS, trade.getStatus()), trade);
+            }
+        });
+    }
+
+    private void append(Key key, Trade trade) {
+        // A load that ran after the commit already holds the trade
+        patch(key, current -> {
+            List<Trade> updated = new ArrayList<>(without(asTrades(current), trade.getId()));
+            updated.add(trade);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    private void replace(Key key, Trade trade) {
+        patch(key, current -> {
+            List<Trade> trades = asTrades(current);
+            List<Trade> updated = new ArrayList<>(trades);
+            for (int i = 0; i < updated.size(); i++) {
+                if (Objects.equals(updated.get(i).getId(), trade.getId())) {
+                    updated.set(i, trade);
+                }
+            }
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    // Keeps timestamp-descending order; new bookings land at the front
+    private void insertNewestFirst(Key key, Trade trade) {
+        patch(key, current -> {
+            List<Trade> trades = without(asTrades(current), trade.getId());
+            int at = 0;
+            while (at < trades.size() && trades.get(at).getTimestamp().isAfter(trade.getTimestamp())) {
+                at++;
+            }
+            List<Trade> updated = new ArrayList<>(trades.size() + 1);
+            updated.addAll(trades.subList(0, at));
+            updated.add(trade);
+            updated.addAll(trades.subList(at, trades.size()));
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    private static List<Trade> without(List<Trade> trades, Long id) {
+        List<Trade> updated = new ArrayList<>(trades.size());
+        for (Trade trade : trades) {
+            if (!Objects.equals(trade.getId(), id)) {
+                updated.add(trade);
+            }
+        }
+        return Collections.unmodifiableList(updated);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Trade> asTrades(Object value) {
+        return (List<Trade>) value;
+    }
+
+    // Only entries already cached are touched; the re-weigh may evict others
+    private void patch(Key key, UnaryOperator<Object> update) {
+        if (key.value() == null) {
+            return;
+        }
+        if (cache.asMap().computeIfPresent(key, (k, current) -> update.apply(current)) != null) {
+            patches.incrementAndGet();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Caffeine reports 1.0 before the first request
+    private static double hitRate(CacheStats stats) {
+        return stats.requestCount() == 0 ? 0.0 : stats.hitRate();
+    }
+
+    private long weightedSize() {
+        if (!enabled) {
+            return 0;
+        }
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        long trades = weightedSize();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("maxTrades", maxTrades);
+        result.put("entries", enabled ? cache.estimatedSize() : 0);
+        result.put("cachedTrades", trades);
+        // Upper bound: a trade held by several lookups shares one object
+        result.put("estimatedBytes", trades * ESTIMATED_TRADE_BYTES);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", hitRate(stats));
+        result.put("evictions", stats.evictionCount());
+        result.put("evictedTrades", stats.evictionWeight());
+        result.put("averageLoadMicros", stats.averageLoadPenalty() / 1_000);
+        result.put("patches", patches.get());
+        return result;
+    }
+}
@@ -0,0 +1,201 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradeQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory secondary index over today's trades.
+ *
+ * <p>Each trade gets a dense document number in booking order, and every indexed
+ * field (trader, status, CUSIP, counterparty) keeps a bitmap of the documents holding
+ * each value. A query ANDs the bitmaps of its filters and checks the time window on
+ * the survivors only. {@link TradeService} keeps the index current on book and
+ * cancel; queries reaching before today go to the database instead.
+ */
+@Component
+public class TradeIndex {
+
+    private static final Comparator<Trade> NEWEST_FIRST =
+        Comparator.comparing(Trade::getTimestamp).thenComparing(Trade::getId).reversed();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LocalDate day = LocalDate.now();
+    private final List<Trade> docs = new ArrayList<>();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final Map<String, BitSet> byTrader = new HashMap<>();
+    private final Map<String, BitSet> byStatus = new HashMap<>();
+    private final Map<String, BitSet> byCusip = new HashMap<>();
+    private final Map<String, BitSet> byCounterparty = new HashMap<>();
+
+    /** Replaces the index contents; trades not booked today are ignored. */
+    public void rebuild(Collection<Trade> trades) {
+        lock.writeLock().lock();
+        try {
+            reset(LocalDate.now());
+            for (Trade trade : trades) {
+                if (day.equals(trade.getTimestamp().toLocalDate())) {
+                    insert(trade);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Trade trade) {
+        addAll(List.of(trade));
+    }
+
+    public void addAll(Collection<Trade> trades) {
+        lock.writeLock().lock();
+        try {
+            for (Trade trade : trades) {
+                LocalDate tradeDay = trade.getTimestamp().toLocalDate();
+                if (tradeDay.isAfter(day)) {
+                    reset(tradeDay);
+                }
+                if (tradeDay.equals(day)) {
+                    insert(trade);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Re-indexes a trade whose status changed. Trades not in the index are ignored. */
+    public void update(Trade trade) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docById.get(trade.getId());
+            if (doc == null) {
+                return;
+            }
+            Trade previous = docs.get(doc);
+            if (!previous.getStatus().equals(trade.getStatus())) {
+                BitSet old = byStatus.get(previous.getStatus());
+                old.clear(doc);
+                if (old.isEmpty()) {
+                    byStatus.remove(previous.getStatus());
+                }
+                postings(byStatus, trade.getStatus()).set(doc);
+            }
+            docs.set(doc, trade);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True when every trade matching {@code query} is in the index, i.e. the window
+     * starts today. Queries without a lower bound span history and are not covered.
+     */
+    public boolean covers(TradeQuery query) {
+        LocalDateTime from = query.getFrom();
+        return from != null && !from.isBefore(LocalDate.now().atStartOfDay());
+    }
+
+    /** Matching trades, most recent first. Only meaningful when {@link #covers} is true. */
+    public List<Trade> search(TradeQuery query) {
+        lock.readLock().lock();
+        List<Trade> matches = new ArrayList<>();
+        try {
+            if (!day.equals(LocalDate.now())) {
+                // Nothing booked since midnight; the stale day will be dropped on the next add
+                return matches;
+            }
+            BitSet hits = null;
+            hits = intersect(hits, byTrader, query.getTrader());
+            hits = intersect(hits, byStatus, query.getStatus());
+            hits = intersect(hits, byCusip, query.getCusip());
+            hits = intersect(hits, byCounterparty, query.getCounterparty());
+
+            if (hits == null) {
+                for (Trade trade : docs) {
+                    if (query.matchesTime(trade.getTimestamp())) {
+                        matches.add(trade);
+                    }
+                }
+            } else {
+                for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+                    Trade trade = docs.get(doc);
+                    if (query.matchesTime(trade.getTimestamp())) {
+                        matches.add(trade);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Booking order is close to, but not strictly, timestamp order across threads
+        matches.sort(NEWEST_FIRST);
+        return matches;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Trade trade) {
+        if (docById.containsKey(trade.getId())) {
+            update(trade);
+            return;
+        }
+        int doc = docs.size();
+        docs.add(trade);
+        docById.put(trade.getId(), doc);
+        postings(byTrader, trade.getTrader()).set(doc);
+        postings(byStatus, trade.getStatus()).set(doc);
+        postings(byCusip, trade.getCusip()).set(doc);
+        postings(byCounterparty, trade.getCounterparty()).set(doc);
+    }
+
+    private void reset(LocalDate newDay) {
+        day = newDay;
+        docs.clear();
+        docById.clear();
+        byTrader.clear();
+        byStatus.clear();
+        byCusip.clear();
+        byCounterparty.clear();
+    }
+
+    private static BitSet postings(Map<String, BitSet> field, String value) {
+        return field.computeIfAbsent(value, v -> new BitSet());
+    }
+
+    // Null filter leaves the running result alone; an unknown value yields an empty set
+    private static BitSet intersect(BitSet hits, Map<String, BitSet> field, String value) {
+        if (value == null) {
+            return hits;
+        }
+        BitSet postings = field.get(value);
+        if (postings == null) {
+            return new BitSet();
+        }
+        if (hits == null) {
+            return (BitSet) postings.clone();
+        }
+        hits.and(postings);
+        return hits;
+    }
+}
@@ -1,77 +1,292 @@
 package com.maak.treasurydashboard.service;
 
+import com.maak.treasurydashboard.model.BatchBookingResponse;
 import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradeAmendment;
+import com.maak.treasurydashboard.model.TradeBookingResult;
+import com.maak.treasurydashboard.model.TradePage;
+import com.maak.treasurydashboard.model.TradeQuery;
+import com.maak.treasurydashboard.repository.TradeJdbcRepository;
 import com.maak.treasurydashboard.repository.TradeRepository;
+import com.maak.treasurydashboard.repository.TradeSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class TradeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TradeService.class);
     
     @Autowired
     private TradeRepository tradeRepository;
     
+    @Autowired
+    private TradeJdbcRepository tradeJdbcRepository;
+    
     @Autowired
     private WebSocketService webSocketService;
     
+    @Autowired
+    private TradeIndex tradeIndex;
+    
+    @Autowired
+    private PositionKeeper positionKeeper;
+    
+    @Autowired
+    private TradeWriteBehind tradeWriteBehind;
+    
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    
+    @Autowired
+    private TradeCache tradeCache;
+    
+    @Autowired
+    private TradeStateMachine tradeStateMachine;
+    
+    @Value("${treasury.trades.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+    
+    /**
+     * Books a single trade. In WAL mode the trade is acknowledged once it is fsync'd
+     * to the write-ahead log and reaches the database shortly after; otherwise it is
+     * inserted before returning. Either way the booking latency is recorded.
+     */
     public Trade bookTrade(Trade trade) {
-        // Set timestamp and initial status
+        long start = System.nanoTime();
+        // Execution is simulated in memory, so the trade reaches its terminal state
+        // before it is written and costs a single insert
+        trade.setId(null);
+        trade.setVersion(null);
         trade.setTimestamp(LocalDateTime.now());
-        if (trade.getStatus() == null) {
-            trade.setStatus("PENDING");
-        }
+        trade.setStatus("EXECUTED");
         
-        // Save the trade
-        Trade savedTrade = tradeRepository.save(trade);
-        
-        // Simulate trade execution (in real system this would be more complex)
-        savedTrade.setStatus("EXECUTED");
-        savedTrade = tradeRepository.save(savedTrade);
+        Trade savedTrade;
+        if (tradeWriteBehind.isEnabled()) {
+            savedTrade = tradeWriteBehind.append(trade);
+        } else {
+            long insertStart = System.nanoTime();
+            savedTrade = tradeRepository.save(trade);
+            metricsRegistry.record(MetricsRegistry.PERSIST_TRADE_INSERT, System.nanoTime() - insertStart);
+            // In WAL mode the writer reports the trade once its insert lands
+            tradeCache.onInserted(List.of(savedTrade));
+        }
+        tradeIndex.add(savedTrade);
+        positionKeeper.onBooked(savedTrade);
         
         // Notify WebSocket clients
         webSocketService.broadcastTradeUpdate(savedTrade);
         
+        long elapsed = System.nanoTime() - start;
+        tradeWriteBehind.recordAck(elapsed);
+        metricsRegistry.record(MetricsRegistry.BOOKING_END_TO_END, elapsed);
         return savedTrade;
     }
     
+    /**
+     * Books a batch of trades in one transaction. Invalid items are rejected individually
+     * and the rest are inserted with JDBC batching straight into their terminal EXECUTED
+     * state. Clients get one aggregated broadcast for the whole batch, sent on
+     * {@link WebSocketService#TRADE_BATCH_TOPIC} once the transaction commits.
+     */
+    @Transactional
+    public BatchBookingResponse bookTrades(List<Trade> trades) {
+        List<TradeBookingResult> results = new ArrayList<>(trades.size());
+        List<Trade> accepted = new ArrayList<>(trades.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(trades.size());
+        LocalDateTime now = LocalDateTime.now();
+        
+        for (int i = 0; i < trades.size(); i++) {
+            Trade trade = trades.get(i);
+            List<String> errors = validate(trade);
+            if (!errors.isEmpty()) {
+                results.add(TradeBookingResult.rejected(i, errors));
+                continue;
+            }
+            trade.setId(null);
+            trade.setVersion(0L);
+            trade.setTimestamp(now);
+            trade.setStatus("EXECUTED");
+            accepted.add(trade);
+            acceptedIndexes.add(i);
+            results.add(null);
+        }
+        
+        tradeJdbcRepository.insertBatch(accepted, jdbcBatchSize);
+        tradeCache.onInserted(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results.set(index, TradeBookingResult.booked(index, accepted.get(i)));
+        }
+        
+        if (!accepted.isEmpty()) {
+            // A rolled-back batch must never reach the index, positions or clients
+            afterCommit(() -> {
+                tradeIndex.addAll(accepted);
+                positionKeeper.onBooked(accepted);
+                webSocketService.broadcastTradeBatch(accepted);
+            });
+        }
+        return new BatchBookingResponse(accepted.size(), trades.size() - accepted.size(), results);
+    }
+    
+    // Runs straight away when there is no transaction to wait for
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    public List<String> validate(Trade trade) {
+        List<String> errors = new ArrayList<>();
+        if (trade == null) {
+            errors.add("trade is required");
+            return errors;
+        }
+        if (isBlank(trade.getCusip())) {
+            errors.add("cusip is required");
+        }
+        if (isBlank(trade.getMaturity())) {
+            errors.add("maturity is required");
+        }
+        if (!"BUY".equals(trade.getSide()) && !"SELL".equals(trade.getSide())) {
+            errors.add("side must be BUY or SELL");
+        }
+        if (trade.getQuantity() == null || trade.getQuantity() <= 0) {
+            errors.add("quantity must be positive");
+        }
+        if (trade.getPrice() == null || trade.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            errors.add("price must be positive");
+        }
+        if (trade.getYield() == null) {
+            errors.add("yield is required");
+        }
+        if (isBlank(trade.getCounterparty())) {
+            errors.add("counterparty is required");
+        }
+        if (isBlank(trade.getTrader())) {
+            errors.add("trader is required");
+        }
+        if (trade.getSettlementDate() == null) {
+            errors.add("settlementDate is required");
+        }
+        return errors;
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
     public List<Trade> getAllTrades() {
         return tradeRepository.findAllOrderByTimestampDesc();
     }
     
+    /**
+     * Keyset page of trades, newest first, optionally filtered by status.
+     * {@code cursor} is the token from the previous page, or null for the first page.
+     */
+    public TradePage getTradePage(String status, String cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Trade> rows;
+        if (cursor == null) {
+            rows = status == null
+                ? tradeRepository.findFirstPage(page)
+                : tradeRepository.findFirstPageByStatus(status, page);
+        } else {
+            TradePage.Cursor after = TradePage.decodeCursor(cursor);
+            rows = status == null
+                ? tradeRepository.findPageAfter(after.getTimestamp(), after.getId(), page)
+                : tradeRepository.findPageByStatusAfter(status, after.getTimestamp(), after.getId(), page);
+        }
+        
+        if (rows.size() <= limit) {
+            return new TradePage(rows, null);
+        }
+        List<Trade> items = rows.subList(0, limit);
+        return new TradePage(items, TradePage.encodeCursor(items.get(limit - 1)));
+    }
+    
+    public void streamTrades(String status, TradeJdbcRepository.TradeConsumer consumer) {
+        tradeJdbcRepository.streamTrades(status, consumer);
+    }
+    
+    /**
+     * Trades matching every filter in {@code query}, most recent first. Windows starting
+     * today are answered from the intraday index; anything reaching further back is
+     * run as SQL.
+     */
+    public List<Trade> searchTrades(TradeQuery query) {
+        if (tradeIndex.covers(query)) {
+            return tradeIndex.search(query);
+        }
+        return tradeRepository.findAll(TradeSpecifications.matching(query),
+            Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+    }
+    
+    // Loads today's trades into the intraday index after a restart
+    public void rebuildTradeIndex() {
+        tradeIndex.rebuild(tradeRepository.findByTimestampGreaterThanEqual(LocalDate.now().atStartOfDay()));
+        LOG.info("Indexed {} intraday trades", tradeIndex.size());
+    }
+    
+    public void rebuildPositions() {
+        positionKeeper.rebuild(tradeRepository.findByStatus("EXECUTED"));
+    }
+    
     public Optional<Trade> getTradeById(Long id) {
-        return tradeRepository.findById(id);
+        // Trades acknowledged from the WAL are visible before their insert lands
+        Trade pending = tradeWriteBehind.getPending(id);
+        if (pending != null) {
+            return Optional.of(pending);
+        }
+        return tradeCache.findById(id);
     }
     
     public List<Trade> getTradesByStatus(String status) {
-        return tradeRepository.findByStatusOrderByTimestampDesc(status);
+        return tradeCache.findByStatus(status);
     }
     
     public List<Trade> getTradesByTrader(String trader) {
-        return tradeRepository.findByTrader(trader);
+        return tradeCache.findByTrader(trader);
     }
     
     public List<Trade> getTradesByCusip(String cusip) {
-        return tradeRepository.findByCusip(cusip);
-    }
-    
-    public Trade cancelTrade(Long id) {
-        Optional<Trade> tradeOpt = tradeRepository.findById(id);
-        if (tradeOpt.isPresent()) {
-            Trade trade = tradeOpt.get();
-            if ("PENDING".equals(trade.getStatus())) {
-                trade.setStatus("CANCELLED");
-                Trade cancelledTrade = tradeRepository.save(trade);
-                
-                // Notify WebSocket clients
-                webSocketService.broadcastTradeUpdate(cancelledTrade);
-                
-                return cancelledTrade;
-            }
-        }
-        return null;
+        return tradeCache.findByCusip(cusip);
+    }
+    
+    /**
+     * Cancels a trade, or returns null if there is none. Throws
+     * {@link TradeTransitionException} if it is already cancelled or not at
+     * {@code expectedVersion} (when given).
+     */
+    public Trade cancelTrade(Long id, Long expectedVersion) {
+        return tradeStateMachine.cancel(id, expectedVersion);
+    }
+    
+    /** Amends a trade's terms; see {@link TradeStateMachine#amend}. */
+    public Trade amendTrade(Long id, TradeAmendment amendment) {
+        return tradeStateMachine.amend(id, amendment);
     }
 }
@@ -0,0 +1,211 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradeAmendment;
+import com.maak.treasurydashboard.repository.TradeJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Lifecycle of a booked trade. Booking takes a trade from PENDING to EXECUTED in
+ * memory before it is written (see {@link TradeService#bookTrade}), so what reaches
+ * this class is a cancel or an amend:
+ *
+ * <pre>
+ *   PENDING  --cancel-->  CANCELLED      PENDING  --amend-->  PENDING
+ *   EXECUTED --cancel-->  CANCELLED      EXECUTED --amend-->  EXECUTED
+ * </pre>
+ *
+ * CANCELLED is terminal. Partial fills would add a PARTIALLY_FILLED state to
+ * {@link #ALLOWED}.
+ *
+ * <p>Each transition reads the row, checks it, writes it and publishes the result
+ * while holding one of a fixed set of lock stripes chosen by trade ID. So two
+ * transitions on the same trade run one after the other and the second sees the
+ * first, while transitions on different trades rarely share a lock. The write is a
+ * compare-and-set on the trade's version column, which also catches a writer outside
+ * this JVM. A transition the current state does not allow, or one whose expected
+ * version is stale, fails with {@link TradeTransitionException} and changes nothing.
+ */
+@Component
+public class TradeStateMachine {
+
+    public enum Action { CANCEL, AMEND }
+
+    private static final String PENDING = "PENDING";
+    private static final String EXECUTED = "EXECUTED";
+    private static final String CANCELLED = "CANCELLED";
+
+    private static final Map<String, Set<Action>> ALLOWED = Map.of(
+        PENDING, EnumSet.of(Action.CANCEL, Action.AMEND),
+        EXECUTED, EnumSet.of(Action.CANCEL, Action.AMEND),
+        CANCELLED, EnumSet.noneOf(Action.class));
+
+    @Autowired
+    private TradeJdbcRepository tradeJdbcRepository;
+
+    @Autowired
+    private TradeWriteBehind tradeWriteBehind;
+
+    @Autowired
+    private TradeCache tradeCache;
+
+    @Autowired
+    private TradeIndex tradeIndex;
+
+    @Autowired
+    private PositionKeeper positionKeeper;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    // Rounded up to a power of two
+    @Value("${treasury.trades.lock-stripes:64}")
+    private int lockStripes;
+
+    private ReentrantLock[] stripes;
+    private int mask;
+
+    private final AtomicLong transitions = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+        metricsRegistry.gauge("trades.transitions", transitions::get);
+        metricsRegistry.gauge("trades.transitionConflicts", conflicts::get);
+    }
+
+    /**
+     * Cancels the trade, or returns null if there is no such trade. With a non-null
+     * {@code expectedVersion} the cancel only applies to that version.
+     */
+    public Trade cancel(Long id, Long expectedVersion) {
+        return transition(id, Action.CANCEL, expectedVersion, trade -> trade.setStatus(CANCELLED));
+    }
+
+    /**
+     * Applies the non-null terms of {@code amendment}, or returns null if there is no
+     * such trade. Throws {@link IllegalArgumentException} for invalid terms.
+     */
+    public Trade amend(Long id, TradeAmendment amendment) {
+        validate(amendment);
+        return transition(id, Action.AMEND, amendment.getVersion(), trade -> {
+            if (amendment.getQuantity() != null) {
+                trade.setQuantity(amendment.getQuantity());
+            }
+            if (amendment.getPrice() != null) {
+                trade.setPrice(amendment.getPrice());
+            }
+            if (amendment.getYield() != null) {
+                trade.setYield(amendment.getYield());
+            }
+            if (amendment.getSettlementDate() != null) {
+                trade.setSettlementDate(amendment.getSettlementDate());
+            }
+            if (amendment.getCommission() != null) {
+                trade.setCommission(amendment.getCommission());
+            }
+        });
+    }
+
+    private static void validate(TradeAmendment amendment) {
+        if (amendment.getQuantity() == null && amendment.getPrice() == null && amendment.getYield() == null
+                && amendment.getSettlementDate() == null && amendment.getCommission() == null) {
+            throw new IllegalArgumentException("Nothing to amend");
+        }
+        if (amendment.getQuantity() != null && amendment.getQuantity() <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        if (amendment.getPrice() != null && amendment.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("price must be positive");
+        }
+    }
+
+    private Trade transition(Long id, Action action, Long expectedVersion, Consumer<Trade> change) {
+        long start = System.nanoTime();
+        ReentrantLock lock = stripe(id);
+        lock.lock();
+        try {
+            // Pending first: the writer inserts before it clears a trade from pending, so a
+            // trade not pending by now is already in the database or does not exist
+            if (tradeWriteBehind.getPending(id) != null) {
+                throw conflict("Trade " + id + " is still being written", null);
+            }
+            Optional<Trade> loaded = tradeJdbcRepository.findById(id);
+            if (loaded.isEmpty()) {
+                return null;
+            }
+            Trade before = loaded.get();
+            if (!ALLOWED.getOrDefault(before.getStatus(), Set.of()).contains(action)) {
+                throw conflict("Cannot " + action.name().toLowerCase() + " a " + before.getStatus() + " trade", before);
+            }
+            if (expectedVersion != null && !expectedVersion.equals(before.getVersion())) {
+                throw conflict("Trade " + id + " is at version " + before.getVersion() + ", not " + expectedVersion,
+                    before);
+            }
+
+            Trade after = copy(before);
+            change.accept(after);
+            if (!tradeJdbcRepository.updateIfVersion(after, before.getVersion())) {
+                // Another instance wrote the row between our read and update
+                throw conflict("Trade " + id + " was changed concurrently",
+                    tradeJdbcRepository.findById(id).orElse(null));
+            }
+            transitions.incrementAndGet();
+
+            // Still under the stripe, so per-trade updates reach caches and clients in order
+            tradeCache.onUpdated(after, before.getStatus());
+            tradeIndex.update(after);
+            if (action == Action.CANCEL) {
+                positionKeeper.onStatusChange(after, before.getStatus());
+            } else {
+                positionKeeper.onAmended(before, after);
+            }
+            webSocketService.broadcastTradeUpdate(after);
+            return after;
+        } finally {
+            lock.unlock();
+            metricsRegistry.record(MetricsRegistry.TRADE_TRANSITION, System.nanoTime() - start);
+        }
+    }
+
+    // IDs are sequential, so mixing matters only for strided ones, e.g. per-instance ID blocks
+    private ReentrantLock stripe(Long id) {
+        int hash = Long.hashCode(id * 0x9E3779B97F4A7C15L);
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private TradeTransitionException conflict(String message, Trade current) {
+        conflicts.incrementAndGet();
+        return new TradeTransitionException(message, current);
+    }
+
+    private static Trade copy(Trade trade) {
+        Trade copy = new Trade(trade.getCusip(), trade.getMaturity(), trade.getSide(), trade.getQuantity(),
+            trade.getPrice(), trade.getYield(), trade.getCounterparty(), trade.getTrader(), trade.getTimestamp(),
+            trade.getStatus(), trade.getSettlementDate(), trade.getCommission());
+        copy.setId(trade.getId());
+        copy.setVersion(trade.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,23 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Trade;
+
+/**
+ * A cancel or amend that the trade's current state does not allow: it is already
+ * CANCELLED, the client's version is stale, or it is still waiting in the WAL.
+ * {@link #getCurrent} is the trade as it stands, so the client can retry against it;
+ * it is null while the trade has not reached the table.
+ */
+public class TradeTransitionException extends RuntimeException {
+
+    private final transient Trade current;
+
+    public TradeTransitionException(String message, Trade current) {
+        super(message);
+        this.current = current;
+    }
+
+    public Trade getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,223 @@
+package com.maak.treasurydashboard.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of booked trades awaiting their database insert.
+ *
+ * <p>Each record is {@code [int length][int crc32][payload]}. A separate checkpoint
+ * file holds the offset up to which records are known to be in the database; on
+ * startup everything after it is replayed and a torn tail record is cut off. Once the
+ * checkpoint catches up with the end of a large log, the log is emptied.
+ *
+ * <p>{@link #sync} is a group commit: appends from many threads share one
+ * {@code force} call, and a caller returns once a force covering its record is done.
+ */
+public final class TradeWriteAheadLog implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TradeWriteAheadLog.class);
+
+    private static final int HEADER = 8;
+
+    private final Path logFile;
+    private final FileChannel log;
+    private final FileChannel checkpointFile;
+
+    // Locks rather than monitors so a virtual thread waiting on an fsync does not pin its carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // End of the last appended record; written under writeLock
+    private volatile long written;
+    // End of the last record known to be on disk; written under syncLock
+    private volatile long synced;
+    private long checkpoint;
+    private long syncCount;
+
+    public TradeWriteAheadLog(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.logFile = directory.resolve("trades.wal");
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        this.checkpointFile = FileChannel.open(directory.resolve("trades.wal.checkpoint"), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer buf = ByteBuffer.allocate(8);
+        checkpointFile.read(buf, 0);
+        this.checkpoint = buf.position() == 8 ? buf.getLong(0) : 0L;
+    }
+
+    public static final class Record {
+        private final byte[] payload;
+        private final long end;
+
+        Record(byte[] payload, long end) {
+            this.payload = payload;
+            this.end = end;
+        }
+
+        public byte[] payload() { return payload; }
+        public long end() { return end; }
+    }
+
+    /**
+     * Records after the checkpoint, in append order. Stops at the first record that is
+     * short or fails its checksum and truncates the log there. Call before appending.
+     */
+    public List<Record> recover() throws IOException {
+        long size = log.size();
+        long position = Math.min(checkpoint, size);
+        List<Record> records = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        while (position + HEADER <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int crc = header.getInt(4);
+            if (length < 0 || position + HEADER + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER);
+            if (crc32(payload.array()) != crc) {
+                break;
+            }
+            position += HEADER + length;
+            records.add(new Record(payload.array(), position));
+        }
+        if (position < size) {
+            LOG.warn("Trade WAL: discarding {} bytes of torn tail in {}", size - position, logFile);
+            log.truncate(position);
+            log.force(true);
+        }
+        written = position;
+        synced = position;
+        return records;
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (log.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of " + logFile);
+            }
+        }
+    }
+
+    /** Appends a record and returns its end offset; it is not durable until {@link #sync}. */
+    public long append(byte[] payload) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(HEADER + payload.length);
+        record.putInt(payload.length).putInt(crc32(payload)).put(payload).flip();
+        writeLock.lock();
+        try {
+            long position = written;
+            while (record.hasRemaining()) {
+                position += log.write(record, position);
+            }
+            written = position;
+            return position;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Returns once every record up to {@code end} is on disk. */
+    public void sync(long end) throws IOException {
+        if (synced >= end) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // Whoever held the lock before us may already have covered this record
+            if (synced >= end) {
+                return;
+            }
+            long target = written;
+            log.force(false);
+            synced = target;
+            syncCount++;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Marks records up to {@code end} as persisted elsewhere. If that leaves nothing
+     * pending and the log has grown past {@code truncateBytes}, the log is emptied.
+     */
+    public void checkpoint(long end, long truncateBytes) throws IOException {
+        writeCheckpoint(end);
+        if (end < truncateBytes) {
+            return;
+        }
+        writeLock.lock();
+        syncLock.lock();
+        try {
+            if (written != end) {
+                return;
+            }
+            // Checkpoint first: a crash in between replays already-inserted records, which recovery skips
+            writeCheckpoint(0);
+            log.truncate(0);
+            log.force(true);
+            written = 0;
+            synced = 0;
+        } finally {
+            syncLock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    private synchronized void writeCheckpoint(long end) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(8);
+        buf.putLong(0, end);
+        while (buf.hasRemaining()) {
+            checkpointFile.write(buf, buf.position());
+        }
+        checkpointFile.force(false);
+        checkpoint = end;
+    }
+
+    private static int crc32(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    public long size() {
+        return written;
+    }
+
+    /** End of the last record known to be on disk. */
+    public long synced() {
+        return synced;
+    }
+
+    public synchronized long checkpointOffset() {
+        return checkpoint;
+    }
+
+    public long syncCount() {
+        syncLock.lock();
+        try {
+            return syncCount;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+        checkpointFile.close();
+    }
+}
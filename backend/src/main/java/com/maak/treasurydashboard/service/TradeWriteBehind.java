@@ -0,0 +1,280 @@
+package com.maak.treasurydashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.repository.TradeIdAllocator;
+import com.maak.treasurydashboard.repository.TradeJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trade persistence behind a local write-ahead log.
+ *
+ * <p>With {@code treasury.trades.persistence.mode=wal}, {@link #append} assigns the
+ * trade its ID, writes it to the {@link TradeWriteAheadLog} and returns once it is
+ * fsync'd; the caller can acknowledge straight away. A background writer drains the
+ * log into the trades table with JDBC batches and then advances the log checkpoint.
+ * Until its batch lands, a trade is served from {@link #getPending}.
+ *
+ * <p>{@link #recover} runs at startup in either mode and inserts whatever the log holds
+ * past its checkpoint, skipping IDs already in the table.
+ */
+@Service
+public class TradeWriteBehind {
+
+    public enum Mode { SYNC, WAL }
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(TradeWriteBehind.class);
+
+    @Autowired
+    private TradeJdbcRepository tradeJdbcRepository;
+
+    @Autowired
+    private TradeIdAllocator tradeIdAllocator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private TradeCache tradeCache;
+
+    @Value("${treasury.trades.persistence.mode:SYNC}")
+    private Mode mode;
+
+    @Value("${treasury.trades.persistence.wal.directory:${java.io.tmpdir}/treasury-trade-wal}")
+    private String directory;
+
+    @Value("${treasury.trades.persistence.wal.drain-interval-ms:50}")
+    private long drainIntervalMs;
+
+    @Value("${treasury.trades.persistence.wal.truncate-bytes:67108864}")
+    private long truncateBytes;
+
+    @Value("${treasury.trades.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    private TradeWriteAheadLog wal;
+    private Thread drainThread;
+    private volatile boolean running;
+
+    private final ConcurrentLinkedQueue<PendingTrade> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Trade> pending = new ConcurrentHashMap<>();
+    // A batch whose insert failed; retried before anything newer. Drain thread only
+    private List<PendingTrade> retry = List.of();
+
+    private final LatencyHistogram ackLatency = new LatencyHistogram();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final AtomicLong drainBatches = new AtomicLong();
+    private final AtomicLong drainFailures = new AtomicLong();
+
+    @PostConstruct
+    public void registerGauges() {
+        metricsRegistry.gauge("trades.pendingInsert", pending::size);
+    }
+
+    public boolean isEnabled() {
+        return mode == Mode.WAL;
+    }
+
+    /** Replays unflushed log entries into the database, then starts the writer in WAL mode. */
+    public synchronized void recover() throws IOException {
+        if (wal != null) {
+            return;
+        }
+        wal = new TradeWriteAheadLog(Path.of(directory));
+        List<TradeWriteAheadLog.Record> records = wal.recover();
+        if (!records.isEmpty()) {
+            List<Trade> trades = new ArrayList<>(records.size());
+            List<Long> ids = new ArrayList<>(records.size());
+            for (TradeWriteAheadLog.Record record : records) {
+                Trade trade = objectMapper.readValue(record.payload(), Trade.class);
+                trade.setVersion(0L);
+                trades.add(trade);
+                ids.add(trade.getId());
+            }
+            Set<Long> existing = tradeJdbcRepository.findExistingIds(ids);
+            trades.removeIf(trade -> existing.contains(trade.getId()));
+            long maxId = ids.stream().mapToLong(Long::longValue).max().orElse(0L);
+            transactionTemplate.executeWithoutResult(status -> {
+                tradeIdAllocator.advancePast(maxId);
+                tradeJdbcRepository.insertBatch(trades, jdbcBatchSize);
+            });
+            tradeCache.onInserted(trades);
+            wal.checkpoint(records.get(records.size() - 1).end(), 0);
+            recovered.addAndGet(trades.size());
+            LOG.info("recover", "Trade WAL: recovered {} of {} logged trades ({} already persisted)", trades.size(),
+                records.size(), existing.size());
+        }
+        if (isEnabled()) {
+            running = true;
+            drainThread = new Thread(this::runDrain, "trade-wal-writer");
+            drainThread.setDaemon(true);
+            drainThread.start();
+        }
+    }
+
+    /**
+     * Assigns an ID and version 0 and makes the trade durable in the log. The trade is
+     * inserted into the database later by the background writer, which only reads it.
+     */
+    public Trade append(Trade trade) {
+        if (!running) {
+            throw new IllegalStateException("Trade WAL is not running");
+        }
+        trade.setId(tradeIdAllocator.nextId());
+        trade.setVersion(0L);
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(trade);
+            pending.put(trade.getId(), trade);
+            long end;
+            // Queue order matches log order, so a drained prefix of the queue is a prefix of the log
+            synchronized (queue) {
+                end = wal.append(payload);
+                queue.add(new PendingTrade(trade, end));
+            }
+            long syncStart = System.nanoTime();
+            wal.sync(end);
+            metricsRegistry.record(MetricsRegistry.PERSIST_WAL_SYNC, System.nanoTime() - syncStart);
+        } catch (IOException e) {
+            pending.remove(trade.getId());
+            throw new UncheckedIOException("Trade WAL append failed", e);
+        }
+        LockSupport.unpark(drainThread);
+        return trade;
+    }
+
+    /** A trade acknowledged from the log whose insert has not landed yet, or null. */
+    public Trade getPending(Long id) {
+        return id != null ? pending.get(id) : null;
+    }
+
+    public void recordAck(long nanos) {
+        ackLatency.record(nanos);
+    }
+
+    private void runDrain() {
+        while (running || !queue.isEmpty() || !retry.isEmpty()) {
+            if (!drainOnce()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(drainIntervalMs));
+            }
+        }
+    }
+
+    // Inserts one batch; false if there was nothing to do or the insert failed
+    private boolean drainOnce() {
+        List<PendingTrade> batch = retry;
+        if (batch.isEmpty()) {
+            batch = new ArrayList<>();
+            long synced = wal.synced();
+            PendingTrade next;
+            // Only records already on disk: the database never gets ahead of the log
+            while (batch.size() < jdbcBatchSize && (next = queue.peek()) != null && next.end <= synced) {
+                batch.add(queue.poll());
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+        }
+        List<Trade> trades = new ArrayList<>(batch.size());
+        for (PendingTrade item : batch) {
+            trades.add(item.trade);
+        }
+        long end = batch.get(batch.size() - 1).end;
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> tradeJdbcRepository.insertBatch(trades, jdbcBatchSize));
+        } catch (RuntimeException e) {
+            retry = batch;
+            drainFailures.incrementAndGet();
+            LOG.warn("insert", "Trade WAL: insert of {} trades failed, will retry: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        retry = List.of();
+        metricsRegistry.record(MetricsRegistry.PERSIST_TRADE_INSERT, System.nanoTime() - start);
+        tradeCache.onInserted(trades);
+        for (Trade trade : trades) {
+            pending.remove(trade.getId());
+        }
+        drained.addAndGet(trades.size());
+        drainBatches.incrementAndGet();
+        try {
+            wal.checkpoint(end, truncateBytes);
+        } catch (IOException e) {
+            LOG.warn("checkpoint", "Trade WAL: checkpoint failed: {}", e.getMessage());
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = drainThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (wal != null) {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                LOG.warn("close", "Trade WAL: error closing log: {}", e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode);
+        stats.put("pending", pending.size());
+        stats.put("recovered", recovered.get());
+        stats.put("drained", drained.get());
+        stats.put("drainBatches", drainBatches.get());
+        stats.put("drainFailures", drainFailures.get());
+        if (wal != null) {
+            stats.put("walBytes", wal.size());
+            stats.put("walCheckpoint", wal.checkpointOffset());
+            stats.put("walSyncs", wal.syncCount());
+        }
+        stats.put("ackLatency", ackLatency.snapshot());
+        return stats;
+    }
+
+    private static final class PendingTrade {
+        final Trade trade;
+        final long end;
+
+        PendingTrade(Trade trade, long end) {
+            this.trade = trade;
+            this.end = end;
+        }
+    }
+}
@@ -1,108 +1,143 @@
 package com.maak.treasurydashboard.service;
 
+import com.maak.treasurydashboard.model.BondQuote;
 import com.maak.treasurydashboard.model.TreasuryBond;
 import com.maak.treasurydashboard.repository.TreasuryBondRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 
 @Service
 public class TreasuryDataService {
     
+    private static final Logger LOG = LoggerFactory.getLogger(TreasuryDataService.class);
+    
     @Autowired
     private TreasuryBondRepository repository;
     
     @Autowired
     private WebSocketService webSocketService;
     
-    private final Random random = new Random();
+    @Autowired
+    private MarketDataStore marketDataStore;
+    
+    @Autowired
+    private ReferenceDataLoader referenceDataLoader;
+    
+    @Autowired
+    private MarketDataDeltaService marketDataDeltaService;
+    
+    @Autowired
+    private BroadcastMetrics broadcastMetrics;
+    
+    @Autowired
+    private PositionKeeper positionKeeper;
+    
+    @Autowired
+    private RiskEngine riskEngine;
+    
+    @Autowired
+    private YieldCurveService yieldCurveService;
+    
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    
+    @Autowired
+    private MarketDataRouter marketDataRouter;
+    
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     
     public void initializeData() {
         if (repository.count() == 0) {
-            // Initialize with on-the-run treasury bonds
-            // Constructor: cusip, maturity, yield, price, coupon, bidPrice, askPrice
-            repository.save(new TreasuryBond("912828YK5", "2Y", 
-                new BigDecimal("4.875"), new BigDecimal("99.8125"), 
-                new BigDecimal("4.875"), new BigDecimal("99.8000"), new BigDecimal("99.8250")));
-            
-            repository.save(new TreasuryBond("912828YM1", "5Y", 
-                new BigDecimal("4.625"), new BigDecimal("98.7500"), 
-                new BigDecimal("4.625"), new BigDecimal("98.7375"), new BigDecimal("98.7625")));
-            
-            repository.save(new TreasuryBond("912828YN9", "10Y", 
-                new BigDecimal("4.450"), new BigDecimal("97.2500"), 
-                new BigDecimal("4.450"), new BigDecimal("97.2375"), new BigDecimal("97.2625")));
-            
-            repository.save(new TreasuryBond("912810TM0", "30Y", 
-                new BigDecimal("4.625"), new BigDecimal("95.1250"), 
-                new BigDecimal("4.625"), new BigDecimal("95.1125"), new BigDecimal("95.1375")));
-            
-            System.out.println("Initialized " + repository.count() + " Treasury bonds");
+            referenceDataLoader.load();
         }
+        // Security IDs are assigned in load order, so the book starts out laid out by maturity
+        marketDataStore.load(repository.findAllOrderByMaturity());
     }
     
-    @Scheduled(fixedRate = 2000) // Update every 2 seconds
-    public void updateMarketData() {
-        System.out.println("Scheduled task: Starting market data update");
-        List<TreasuryBond> bonds = repository.findAll();
-        System.out.println("Found " + bonds.size() + " bonds to update");
+    /**
+     * Fan-out for quotes the {@link MarketDataPipeline} has just published to the quote
+     * book: WebSocket feeds, positions, risk and the curve. Runs on the publisher thread.
+     */
+    public void onQuotesPublished(List<BondQuote> published) {
+        long start = System.nanoTime();
+        // The full feed is only encoded while someone is subscribed to it. Each frame is
+        // the whole book: clients replace their list with it and slow sessions keep only
+        // the newest frame, so a frame of just the ticked CUSIPs would lose the rest
+        if (subscriptionRegistry.hasSubscribers(WebSocketService.MARKET_DATA_TOPIC)
+                || subscriptionRegistry.hasSubscribers(WebSocketService.YIELD_CURVE_TOPIC)) {
+            webSocketService.sendMarketAndYieldCurveUpdate(getAllBonds());
+        }
+        marketDataRouter.publish(published);
+        marketDataDeltaService.publish(published);
+        positionKeeper.mark(published);
         
-        for (TreasuryBond bond : bonds) {
-            // Simulate realistic market movements
-            BigDecimal oldPrice = bond.getPrice();
-            BigDecimal oldYield = bond.getYield();
-            
-            // Generate small random changes (±0.05% for price, ±0.02% for yield)
-            double priceChangePercent = (random.nextGaussian() * 0.0005);
-            double yieldChangePercent = (random.nextGaussian() * 0.0002);
-            
-            BigDecimal newPrice = oldPrice.multiply(BigDecimal.ONE.add(BigDecimal.valueOf(priceChangePercent)))
-                .setScale(4, RoundingMode.HALF_UP);
-            BigDecimal newYield = oldYield.multiply(BigDecimal.ONE.add(BigDecimal.valueOf(yieldChangePercent)))
-                .setScale(6, RoundingMode.HALF_UP);
-            
-            // Calculate changes
-            BigDecimal priceChange = newPrice.subtract(oldPrice);
-            BigDecimal yieldChange = newYield.subtract(oldYield);
-            
-            // Update bid/ask spread
-            BigDecimal spread = new BigDecimal("0.0125"); // 1/8th point spread
-            BigDecimal bidPrice = newPrice.subtract(spread.divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP));
-            BigDecimal askPrice = newPrice.add(spread.divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP));
-            
-            // Update volume (simulate trading activity)
-            long volumeIncrease = random.nextInt(1000) + 100;
-            
-            bond.setPrice(newPrice);
-            bond.setYield(newYield);
-            bond.setPriceChange(priceChange);
-            bond.setYieldChange(yieldChange);
-            bond.setBidPrice(bidPrice);
-            bond.setAskPrice(askPrice);
-            bond.setVolume(bond.getVolume() + volumeIncrease);
-            bond.setLastUpdated(LocalDateTime.now());
-            
-            repository.save(bond);
+        riskEngine.update(marketDataStore.snapshot());
+        yieldCurveService.update(marketDataStore.curveSnapshot());
+        broadcastMetrics.completeTick();
+        metricsRegistry.record(MetricsRegistry.TICK_FAN_OUT, System.nanoTime() - start);
+    }
+    
+    /**
+     * Write-behind flush of the quote book. Only CUSIPs that ticked since the last
+     * flush are written, and each is written once regardless of how many ticks it saw.
+     */
+    @Scheduled(fixedRateString = "${treasury.marketdata.flush-interval-ms:30000}")
+    @Transactional
+    public void flushQuotes() {
+        List<BondQuote> quotes = marketDataStore.drainDirty();
+        if (quotes.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        
+        Map<Long, BondQuote> byId = new HashMap<>();
+        for (BondQuote quote : quotes) {
+            if (quote.getId() != null) {
+                byId.put(quote.getId(), quote);
+            }
         }
         
-        // Send updates via WebSocket
-        System.out.println("Calling WebSocket service to send updates");
-        webSocketService.sendMarketUpdate(bonds);
-        webSocketService.sendYieldCurveUpdate(bonds);
-        System.out.println("Market data update cycle completed");
+        List<TreasuryBond> entities = repository.findAllById(byId.keySet());
+        for (TreasuryBond bond : entities) {
+            byId.get(bond.getId()).copyTo(bond);
+        }
+        repository.saveAll(entities);
+        metricsRegistry.record(MetricsRegistry.PERSIST_QUOTE_FLUSH, System.nanoTime() - start);
+        LOG.info("Flushed {} bond quotes to the database", entities.size());
+    }
+    
+    // @PreDestroy runs on the raw bean, not the proxy, so the transaction is opened here
+    @PreDestroy
+    public void flushOnShutdown() {
+        transactionTemplate.executeWithoutResult(status -> flushQuotes());
     }
     
     public List<TreasuryBond> getAllBonds() {
-        return repository.findAllOrderByMaturity();
+        List<BondQuote> quotes = marketDataStore.snapshot();
+        List<TreasuryBond> bonds = new ArrayList<>(quotes.size());
+        for (BondQuote quote : quotes) {
+            bonds.add(quote.toBond());
+        }
+        return bonds;
     }
     
     public TreasuryBond getBondByCusip(String cusip) {
-        return repository.findByCusip(cusip).orElse(null);
+        BondQuote quote = marketDataStore.get(cusip);
+        return quote != null ? quote.toBond() : null;
     }
 }
@@ -0,0 +1,72 @@
+package com.maak.treasurydashboard.service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives {@link TickDecoder} lines over UDP on the loopback interface. A datagram
+ * may carry several newline-terminated lines; senders should pack as many as fit in
+ * one datagram to reach high rates. Loss is possible if the kernel buffer overflows.
+ */
+public class UdpMarketDataSource extends AbstractMarketDataSource {
+
+    private static final int MAX_DATAGRAM = 65_507;
+    private static final int RECEIVE_BUFFER = 8 * 1024 * 1024;
+
+    private final int port;
+    private volatile DatagramChannel channel;
+    private final AtomicLong datagrams = new AtomicLong();
+
+    public UdpMarketDataSource(int port) {
+        super("replay-udp");
+        this.port = port;
+    }
+
+    @Override
+    protected void run() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM);
+        byte[] bytes = buffer.array();
+        try (DatagramChannel ch = DatagramChannel.open()) {
+            ch.setOption(StandardSocketOptions.SO_RCVBUF, RECEIVE_BUFFER);
+            ch.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            channel = ch;
+            while (running) {
+                buffer.clear();
+                ch.receive(buffer);
+                datagrams.incrementAndGet();
+                int len = buffer.position();
+                int consumed = emitLines(bytes, 0, len);
+                if (consumed < len) {
+                    // Unterminated last line
+                    emitLine(bytes, consumed, len - consumed);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        DatagramChannel ch = channel;
+        if (ch != null) {
+            try {
+                ch.close();
+            } catch (IOException e) {
+                // Closing only unblocks receive
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = super.stats();
+        stats.put("port", port);
+        stats.put("datagrams", datagrams.get());
+        return stats;
+    }
+}
@@ -1,53 +1,200 @@
 package com.maak.treasurydashboard.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maak.treasurydashboard.model.MarketDataDelta;
 import com.maak.treasurydashboard.model.TreasuryBond;
 import com.maak.treasurydashboard.model.Trade;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class WebSocketService {
     
+    public static final String MARKET_DATA_TOPIC = "/topic/market-data";
+    public static final String YIELD_CURVE_TOPIC = "/topic/yield-curve";
+    public static final String MARKET_DELTA_TOPIC = "/topic/market-data-delta";
+    public static final String TRADES_TOPIC = "/topic/trades";
+    public static final String TRADE_BATCH_TOPIC = "/topic/trades/batch";
+    
+    // Called per tick and per trade, so logging is rate-limited and off the calling thread
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(WebSocketService.class);
+    
+    // Topics also offered in the binary wire format to sessions that negotiate it
+    private static final Set<String> BINARY_TOPICS = Set.of(MARKET_DATA_TOPIC, YIELD_CURVE_TOPIC, TRADES_TOPIC);
+    
+    // Buffers above this size are not kept for reuse
+    private static final int MAX_POOLED_BUFFER = 1 << 20;
+    
+    // Per-thread encode buffer, reused across broadcasts; only the exact-size copy is shared
+    private static final ThreadLocal<ByteArrayOutputStream> ENCODE_BUFFER =
+        ThreadLocal.withInitial(() -> new ByteArrayOutputStream(8192));
+    
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
     
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private BroadcastMetrics broadcastMetrics;
+    
+    @Autowired
+    private SessionWireFormats sessionWireFormats;
+    
+    /**
+     * Sends the same bond list to the market-data and yield-curve topics,
+     * serializing it once.
+     */
+    public void sendMarketAndYieldCurveUpdate(List<TreasuryBond> bonds) {
+        try {
+            LOG.debug("market-and-curve", "WebSocket: Sending market and yield curve update for {} bonds", bonds.size());
+            broadcast(bonds, MARKET_DATA_TOPIC, YIELD_CURVE_TOPIC);
+        } catch (Exception e) {
+            LOG.warn("market-and-curve-error", "WebSocket: Error sending market update: {}", e.getMessage(), e);
+        }
+    }
+    
     public void sendMarketUpdate(List<TreasuryBond> bonds) {
         try {
-            System.out.println("WebSocket: Sending market update for " + bonds.size() + " bonds");
-            messagingTemplate.convertAndSend("/topic/market-data", bonds);
-            System.out.println("WebSocket: Market update sent successfully");
+            LOG.debug("market", "WebSocket: Sending market update for {} bonds", bonds.size());
+            broadcast(bonds, MARKET_DATA_TOPIC);
         } catch (Exception e) {
-            System.err.println("WebSocket: Error sending market update: " + e.getMessage());
-            e.printStackTrace();
+            LOG.warn("market-error", "WebSocket: Error sending market update: {}", e.getMessage(), e);
         }
     }
     
     public void sendYieldCurveUpdate(List<TreasuryBond> bonds) {
         try {
-            System.out.println("WebSocket: Sending yield curve update for " + bonds.size() + " bonds");
-            messagingTemplate.convertAndSend("/topic/yield-curve", bonds);
-            System.out.println("WebSocket: Yield curve update sent successfully");
+            LOG.debug("curve", "WebSocket: Sending yield curve update for {} bonds", bonds.size());
+            broadcast(bonds, YIELD_CURVE_TOPIC);
+        } catch (Exception e) {
+            LOG.warn("curve-error", "WebSocket: Error sending yield curve update: {}", e.getMessage(), e);
+        }
+    }
+    
+    public void sendMarketDelta(MarketDataDelta delta) {
+        try {
+            broadcast(delta, MARKET_DELTA_TOPIC);
         } catch (Exception e) {
-            System.err.println("WebSocket: Error sending yield curve update: " + e.getMessage());
-            e.printStackTrace();
+            LOG.warn("delta-error", "WebSocket: Error sending market delta {}: {}", delta.getSequence(), e.getMessage(), e);
         }
     }
     
     public void broadcastTradeUpdate(Trade trade) {
         try {
-            System.out.println("WebSocket: Broadcasting trade update for trade ID: " + trade.getId());
-            messagingTemplate.convertAndSend("/topic/trades", trade);
-            System.out.println("WebSocket: Trade update sent successfully");
+            LOG.debug("trade", "WebSocket: Broadcasting trade update for trade ID: {}", trade.getId());
+            broadcast(trade, TRADES_TOPIC);
+        } catch (Exception e) {
+            LOG.warn("trade-error", "WebSocket: Error sending trade update: {}", e.getMessage(), e);
+        }
+    }
+    
+    public void broadcastTradeBatch(List<Trade> trades) {
+        try {
+            LOG.debug("trade-batch", "WebSocket: Broadcasting batch of {} trades", trades.size());
+            broadcast(trades, TRADE_BATCH_TOPIC);
         } catch (Exception e) {
-            System.err.println("WebSocket: Error sending trade update: " + e.getMessage());
-            e.printStackTrace();
+            LOG.warn("trade-batch-error", "WebSocket: Error sending trade batch: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Encodes {@code payload} to JSON once and sends the same byte array to every
+     * destination. The broker hands that array to each subscribed session as-is.
+     * While any session has negotiated binary frames, the binary encoding is made
+     * once as well and carried alongside for {@link SessionWireFormats} to swap in.
+     */
+    public void broadcast(Object payload, String... destinations) throws IOException {
+        long start = System.nanoTime();
+        byte[] body = encode(payload);
+        broadcastMetrics.recordEncode(body.length, System.nanoTime() - start);
+        send(body, encodeBinary(payload, destinations), destinations);
+    }
+    
+    /** Sends an already encoded JSON body, e.g. one that is also cached for REST. */
+    public void sendEncoded(byte[] body, String... destinations) {
+        send(body, null, destinations);
+    }
+    
+    private void send(byte[] body, byte[] binaryBody, String[] destinations) {
+        long start = System.nanoTime();
+        for (String destination : destinations) {
+            messagingTemplate.send(destination,
+                jsonMessage(body, BINARY_TOPICS.contains(destination) ? binaryBody : null));
+        }
+        broadcastMetrics.recordFanOut(destinations.length, System.nanoTime() - start);
+    }
+    
+    // Null when no session wants binary or the payload has no binary form; JSON still goes out
+    private byte[] encodeBinary(Object payload, String[] destinations) {
+        if (!sessionWireFormats.hasBinarySessions() || !hasBinaryTopic(destinations)) {
+            return null;
+        }
+        try {
+            long start = System.nanoTime();
+            byte[] binaryBody = BinaryWireFormat.encode(payload);
+            if (binaryBody != null) {
+                broadcastMetrics.recordBinaryEncode(binaryBody.length, System.nanoTime() - start);
+            }
+            return binaryBody;
+        } catch (RuntimeException e) {
+            LOG.warn("binary-error", "WebSocket: Cannot encode binary frame, sending JSON only: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private static boolean hasBinaryTopic(String[] destinations) {
+        for (String destination : destinations) {
+            if (BINARY_TOPICS.contains(destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Sends {@code payload} to one STOMP session on {@code /user/queue/...}, e.g. a
+     * reply streamed from a background task. The session id doubles as the user name,
+     * so this works for unauthenticated clients.
+     */
+    public void sendToSession(String sessionId, String destination, Object payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, destination, payload, accessor.getMessageHeaders());
+    }
+    
+    /** JSON encoding of {@code payload}; the returned array is an exact-size copy safe to keep. */
+    public byte[] encode(Object payload) throws IOException {
+        ByteArrayOutputStream buffer = ENCODE_BUFFER.get();
+        buffer.reset();
+        objectMapper.writeValue(buffer, payload);
+        byte[] body = buffer.toByteArray();
+        if (body.length > MAX_POOLED_BUFFER) {
+            ENCODE_BUFFER.remove();
+        }
+        return body;
+    }
+    
+    // Headers are per destination since the template stamps the destination onto them
+    private static Message<byte[]> jsonMessage(byte[] body, byte[] binaryBody) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (binaryBody != null) {
+            accessor.setHeader(SessionWireFormats.BINARY_BODY_HEADER, binaryBody);
         }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
     }
 }
@@ -0,0 +1,178 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.YieldCurve;
+
+import java.util.Arrays;
+
+/**
+ * Single-writer curve builder over a fixed set of par-yield pillars.
+ *
+ * <p>Tangents use the Fritsch-Butland weighted harmonic mean, which keeps the cubic
+ * monotone between pillars and makes each tangent depend only on its two adjacent
+ * secants. Moving pillar {@code i} therefore changes the spline only on
+ * {@code [x[i-2], x[i+2]]}: {@link #update} recomputes the tangents and monthly par
+ * points in that span, then re-runs the zero bootstrap from the first affected
+ * semi-annual point onward. Shorter maturities are left untouched.
+ */
+public final class YieldCurveBuilder {
+
+    public static final int GRID_MONTHS = 360;
+
+    private final String[] tenors;
+    private final double[] x;
+    private final double[] y;
+    private final double[] d;
+    private final double[] m;
+
+    private final int semiCount;
+    // Bootstrapped discount factors and running annuity at 0.5, 1.0, ... years
+    private final double[] semiDiscount;
+    private final double[] annuity;
+
+    private final int[] gridMonths;
+    private final double[] gridPar;
+    private final double[] gridZero;
+    private final double[] gridDiscount;
+
+    private long version;
+    private int lastRebuiltFromMonth;
+
+    /**
+     * @param tenors pillar labels, e.g. "2Y"
+     * @param years pillar tenors in years, strictly increasing
+     */
+    public YieldCurveBuilder(String[] tenors, double[] years) {
+        int n = years.length;
+        this.tenors = tenors.clone();
+        this.x = years.clone();
+        this.y = new double[n];
+        this.d = new double[Math.max(0, n - 1)];
+        this.m = new double[n];
+
+        double horizon = Math.max(GRID_MONTHS / 12.0, n > 0 ? x[n - 1] : 0.0);
+        this.semiCount = (int) Math.ceil(horizon * YieldCurve.PAYMENTS_PER_YEAR);
+        this.semiDiscount = new double[semiCount];
+        this.annuity = new double[semiCount];
+
+        this.gridMonths = new int[GRID_MONTHS];
+        this.gridPar = new double[GRID_MONTHS];
+        this.gridZero = new double[GRID_MONTHS];
+        this.gridDiscount = new double[GRID_MONTHS];
+        for (int j = 0; j < GRID_MONTHS; j++) {
+            gridMonths[j] = j + 1;
+        }
+    }
+
+    /** Sets every pillar and rebuilds the whole curve. */
+    public void rebuild(double[] parYields) {
+        System.arraycopy(parYields, 0, y, 0, y.length);
+        recompute(0, y.length - 1);
+    }
+
+    /**
+     * Applies new pillar yields, recomputing only the span affected by the pillars
+     * that changed. Returns false if nothing moved.
+     */
+    public boolean update(double[] parYields) {
+        int lo = -1;
+        int hi = -1;
+        for (int i = 0; i < y.length; i++) {
+            if (parYields[i] != y[i]) {
+                if (lo < 0) {
+                    lo = i;
+                }
+                hi = i;
+                y[i] = parYields[i];
+            }
+        }
+        if (lo < 0) {
+            return false;
+        }
+        recompute(lo, hi);
+        return true;
+    }
+
+    private void recompute(int lo, int hi) {
+        int n = x.length;
+        if (n == 0) {
+            return;
+        }
+        for (int j = Math.max(0, lo - 1); j <= Math.min(n - 2, hi); j++) {
+            d[j] = (y[j + 1] - y[j]) / (x[j + 1] - x[j]);
+        }
+        for (int k = Math.max(0, lo - 1); k <= Math.min(n - 1, hi + 1); k++) {
+            m[k] = tangent(k);
+        }
+
+        // Span of the spline that moved; open-ended where it reaches the flat extrapolation
+        double from = lo - 2 <= 0 ? 0.0 : x[lo - 2];
+        double to = hi + 2 >= n - 1 ? Double.POSITIVE_INFINITY : x[hi + 2];
+
+        int firstSemi = Math.max(0, (int) Math.ceil(from * YieldCurve.PAYMENTS_PER_YEAR) - 1);
+        bootstrap(firstSemi);
+
+        // Monthly par points in the moved span, and every monthly zero that depends on a re-bootstrapped factor
+        int firstMonth = firstSemi * 12 / YieldCurve.PAYMENTS_PER_YEAR;
+        for (int j = firstMonth; j < GRID_MONTHS; j++) {
+            double t = gridMonths[j] / 12.0;
+            if (t >= from && t <= to) {
+                gridPar[j] = YieldCurve.hermite(x, y, m, t);
+            }
+            double df = YieldCurve.discountFactor(semiDiscount, t);
+            gridDiscount[j] = df;
+            gridZero[j] = YieldCurve.zeroRate(df, t);
+        }
+        lastRebuiltFromMonth = firstMonth;
+        version++;
+    }
+
+    private double tangent(int k) {
+        int n = x.length;
+        if (n == 1) {
+            return 0.0;
+        }
+        if (k == 0) {
+            return d[0];
+        }
+        if (k == n - 1) {
+            return d[n - 2];
+        }
+        double d0 = d[k - 1];
+        double d1 = d[k];
+        if (d0 * d1 <= 0) {
+            return 0.0;
+        }
+        double h0 = x[k] - x[k - 1];
+        double h1 = x[k + 1] - x[k];
+        double w0 = 2 * h1 + h0;
+        double w1 = h1 + 2 * h0;
+        return (w0 + w1) / (w0 / d0 + w1 / d1);
+    }
+
+    // Par bonds price at 100: DF_k = (1 - c/2 * annuity_{k-1}) / (1 + c/2)
+    private void bootstrap(int first) {
+        double running = first > 0 ? annuity[first - 1] : 0.0;
+        for (int k = first; k < semiCount; k++) {
+            double t = (double) (k + 1) / YieldCurve.PAYMENTS_PER_YEAR;
+            double coupon = YieldCurve.hermite(x, y, m, t) / 100.0 / YieldCurve.PAYMENTS_PER_YEAR;
+            double df = (1.0 - coupon * running) / (1.0 + coupon);
+            semiDiscount[k] = df;
+            running += df;
+            annuity[k] = running;
+        }
+    }
+
+    public YieldCurve snapshot(long timestamp) {
+        return new YieldCurve(version, timestamp, tenors, x, y.clone(), m.clone(), semiDiscount.clone(),
+            gridMonths, gridPar.clone(), gridZero.clone(), gridDiscount.clone());
+    }
+
+    public boolean hasPillars(String[] otherTenors) {
+        return Arrays.equals(tenors, otherTenors);
+    }
+
+    // First grid month recomputed by the last rebuild or update
+    public int lastRebuiltFromMonth() {
+        return lastRebuiltFromMonth;
+    }
+}
@@ -0,0 +1,122 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.YieldCurve;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Server-side yield curve over the on-the-run par yields in the quote book.
+ *
+ * <p>Each tick feeds the pillar yields to a {@link YieldCurveBuilder}, which only
+ * recomputes the part of the curve the moved pillars affect. The resulting immutable
+ * curve and its JSON encoding are cached together, so REST reads of the dense grid
+ * are a byte copy and point queries evaluate the spline without locking.
+ */
+@Service
+public class YieldCurveService {
+
+    public static final String CURVE_TOPIC = "/topic/yield-curve/curve";
+
+    private static final RateLimitedLogger LOG = new RateLimitedLogger(YieldCurveService.class);
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    // Only touched by the tick thread
+    private YieldCurveBuilder builder;
+
+    private volatile CachedCurve current;
+
+    /**
+     * Updates the curve from tenor-ordered on-the-run quotes (see
+     * {@link MarketDataStore#curveSnapshot}) and publishes it if it moved.
+     */
+    public void update(List<BondQuote> quotes) {
+        // One pillar per tenor; later duplicates are skipped
+        int n = 0;
+        String[] tenors = new String[quotes.size()];
+        double[] years = new double[quotes.size()];
+        double[] yields = new double[quotes.size()];
+        for (BondQuote quote : quotes) {
+            int months = MarketDataStore.tenorMonths(quote.getMaturity());
+            if (months == Integer.MAX_VALUE || months <= 0 || (n > 0 && months / 12.0 <= years[n - 1])) {
+                continue;
+            }
+            tenors[n] = quote.getMaturity();
+            years[n] = months / 12.0;
+            yields[n] = FixedPoint.yieldToDouble(quote.getYield());
+            n++;
+        }
+        tenors = Arrays.copyOf(tenors, n);
+        years = Arrays.copyOf(years, n);
+        yields = Arrays.copyOf(yields, n);
+        if (n == 0) {
+            return;
+        }
+
+        boolean moved;
+        if (builder == null || !builder.hasPillars(tenors)) {
+            builder = new YieldCurveBuilder(tenors, years);
+            builder.rebuild(yields);
+            moved = true;
+        } else {
+            moved = builder.update(yields);
+        }
+        if (!moved) {
+            return;
+        }
+
+        YieldCurve curve = builder.snapshot(System.currentTimeMillis());
+        try {
+            byte[] json = webSocketService.encode(curve);
+            current = new CachedCurve(curve, json);
+            webSocketService.sendEncoded(json, CURVE_TOPIC);
+        } catch (Exception e) {
+            LOG.warn("publish", "WebSocket: Error sending yield curve {}: {}", curve.getVersion(), e.getMessage());
+        }
+    }
+
+    public YieldCurve getCurve() {
+        CachedCurve cached = current;
+        return cached != null ? cached.curve : null;
+    }
+
+    // Pre-encoded JSON of the current curve, or null before the first tick
+    public byte[] getCurveJson() {
+        CachedCurve cached = current;
+        return cached != null ? cached.json : null;
+    }
+
+    /**
+     * Parses a tenor given either in years ("7.5") or as a label ("7Y", "18M").
+     * Throws IllegalArgumentException if it cannot be parsed or is not positive.
+     */
+    public static double parseTenor(String tenor) {
+        double years;
+        try {
+            int months = MarketDataStore.tenorMonths(tenor);
+            years = months != Integer.MAX_VALUE ? months / 12.0 : Double.parseDouble(tenor);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid tenor: " + tenor);
+        }
+        if (!(years > 0) || Double.isInfinite(years)) {
+            throw new IllegalArgumentException("Invalid tenor: " + tenor);
+        }
+        return years;
+    }
+
+    private static final class CachedCurve {
+        final YieldCurve curve;
+        final byte[] json;
+
+        CachedCurve(YieldCurve curve, byte[] json) {
+            this.curve = curve;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.maak.treasurydashboard.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TradePageTest {
+
+    @Test
+    void cursorRoundTripsTheLastRowsPosition() {
+        Trade last = new Trade();
+        last.setId(123_456_789L);
+        last.setTimestamp(LocalDateTime.of(2026, 3, 2, 14, 30, 5, 123_456_000));
+
+        String cursor = TradePage.encodeCursor(last);
+        // Safe in a query string as is
+        assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"));
+        TradePage.Cursor decoded = TradePage.decodeCursor(cursor);
+        assertEquals(last.getTimestamp(), decoded.getTimestamp());
+        assertEquals(123_456_789L, decoded.getId());
+    }
+
+    @Test
+    void cursorOnAWholeMinuteRoundTrips() {
+        Trade last = new Trade();
+        last.setId(1L);
+        // LocalDateTime.toString drops the seconds here
+        last.setTimestamp(LocalDateTime.of(2026, 3, 2, 14, 30));
+
+        assertEquals(last.getTimestamp(), TradePage.decodeCursor(TradePage.encodeCursor(last)).getTimestamp());
+    }
+
+    @Test
+    void malformedCursorsAreRejectedAsIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> TradePage.decodeCursor("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> TradePage.decodeCursor(encode("2026-03-02T14:30:05")));
+        assertThrows(IllegalArgumentException.class, () -> TradePage.decodeCursor(encode("yesterday|42")));
+        assertThrows(IllegalArgumentException.class, () -> TradePage.decodeCursor(encode("2026-03-02T14:30:05|x")));
+        assertThrows(IllegalArgumentException.class, () -> TradePage.decodeCursor(""));
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
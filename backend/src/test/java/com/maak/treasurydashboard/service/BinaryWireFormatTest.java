@@ -0,0 +1,138 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryWireFormatTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 3, 2, 14, 30, 5, 123_000_000);
+
+    @Test
+    void tradeRoundTrips() {
+        Trade trade = new Trade("912828YN9", "10Y", "BUY", 5_000_000L, new BigDecimal("99.8125"),
+            new BigDecimal("4.875"), "GS", "JSMITH", TIME, "EXECUTED", TIME.plusDays(1), new BigDecimal("25.50"));
+        trade.setId(42L);
+
+        byte[] body = BinaryWireFormat.encodeTrade(trade);
+        assertEquals(BinaryWireFormat.KIND_TRADE, body[0]);
+        Trade decoded = BinaryWireFormat.decodeTrade(body);
+
+        assertEquals(42L, decoded.getId());
+        assertEquals("912828YN9", decoded.getCusip());
+        assertEquals("10Y", decoded.getMaturity());
+        assertEquals("BUY", decoded.getSide());
+        assertEquals(5_000_000L, decoded.getQuantity());
+        assertEquals(0, new BigDecimal("99.8125").compareTo(decoded.getPrice()));
+        assertEquals(0, new BigDecimal("4.875").compareTo(decoded.getYield()));
+        assertEquals("GS", decoded.getCounterparty());
+        assertEquals("JSMITH", decoded.getTrader());
+        assertEquals(TIME, decoded.getTimestamp());
+        assertEquals("EXECUTED", decoded.getStatus());
+        assertEquals(TIME.plusDays(1), decoded.getSettlementDate());
+        assertEquals(new BigDecimal("25.50"), decoded.getCommission());
+    }
+
+    @Test
+    void nullFieldsSurviveTheRoundTrip() {
+        Trade trade = new Trade();
+        trade.setCusip("912828YN9");
+        trade.setSide("SELL");
+        trade.setQuantity(1L);
+
+        Trade decoded = BinaryWireFormat.decodeTrade(BinaryWireFormat.encodeTrade(trade));
+        assertNull(decoded.getCommission());
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getSettlementDate());
+        assertEquals("", decoded.getCounterparty());
+        assertEquals(0L, decoded.getId());
+    }
+
+    @Test
+    void bondListRoundTripsAcrossBufferGrowth() {
+        // Well past the 8 KB starting buffer
+        List<TreasuryBond> bonds = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            bonds.add(bond(i));
+        }
+
+        byte[] body = BinaryWireFormat.encodeBonds(bonds);
+        assertTrue(body.length > 8192);
+        List<TreasuryBond> decoded = BinaryWireFormat.decodeBonds(body);
+
+        assertEquals(bonds.size(), decoded.size());
+        for (int i = 0; i < bonds.size(); i++) {
+            TreasuryBond expected = bonds.get(i);
+            TreasuryBond actual = decoded.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getCusip(), actual.getCusip());
+            assertEquals(expected.getMaturity(), actual.getMaturity());
+            assertEquals(0, expected.getCoupon().compareTo(actual.getCoupon()));
+            assertEquals(0, expected.getPrice().compareTo(actual.getPrice()));
+            assertEquals(0, expected.getYield().compareTo(actual.getYield()));
+            assertEquals(0, expected.getPriceChange().compareTo(actual.getPriceChange()));
+            assertEquals(0, expected.getYieldChange().compareTo(actual.getYieldChange()));
+            assertEquals(0, expected.getBidPrice().compareTo(actual.getBidPrice()));
+            assertEquals(0, expected.getAskPrice().compareTo(actual.getAskPrice()));
+            assertEquals(expected.getVolume(), actual.getVolume());
+            assertEquals(expected.getLastUpdated(), actual.getLastUpdated());
+        }
+
+        // The grown buffer is reused: a small frame afterwards encodes the same as ever
+        assertArrayEquals(BinaryWireFormat.encodeBonds(bonds.subList(0, 1)),
+            BinaryWireFormat.encodeBonds(List.of(bond(0))));
+    }
+
+    @Test
+    void encodeDispatchesOnPayloadType() {
+        assertEquals(BinaryWireFormat.KIND_BONDS, BinaryWireFormat.encode(List.of())[0]);
+        assertEquals(0, BinaryWireFormat.decodeBonds(BinaryWireFormat.encode(List.of())).size());
+        assertEquals(BinaryWireFormat.KIND_TRADE, BinaryWireFormat.encode(new Trade())[0]);
+        assertNull(BinaryWireFormat.encode(Map.of("type", "heartbeat")));
+        assertNull(BinaryWireFormat.encode(List.of("not a bond")));
+    }
+
+    @Test
+    void valuesTheFormatCannotCarryThrowSoTheCallerFallsBackToJson() {
+        Trade longName = new Trade();
+        longName.setCounterparty("X".repeat(256));
+        assertThrows(IllegalArgumentException.class, () -> BinaryWireFormat.encodeTrade(longName));
+
+        TreasuryBond huge = bond(0);
+        // Price units overflow the i32 field
+        huge.setPrice(new BigDecimal("300000"));
+        assertThrows(ArithmeticException.class, () -> BinaryWireFormat.encodeBonds(List.of(huge)));
+
+        byte[] trade = BinaryWireFormat.encodeTrade(new Trade());
+        assertThrows(IllegalArgumentException.class, () -> BinaryWireFormat.decodeBonds(trade));
+    }
+
+    private static TreasuryBond bond(int i) {
+        TreasuryBond bond = new TreasuryBond();
+        bond.setId((long) i);
+        bond.setCusip(String.format("9128%05d", i));
+        bond.setMaturity((i % 30 + 1) + "Y");
+        bond.setCoupon(new BigDecimal("4.125"));
+        bond.setPrice(BigDecimal.valueOf(990_000 + i, 4));
+        bond.setYield(BigDecimal.valueOf(4_250_000 - i, 6));
+        bond.setPriceChange(new BigDecimal("-0.0312"));
+        bond.setYieldChange(new BigDecimal("0.015"));
+        bond.setBidPrice(BigDecimal.valueOf(989_950 + i, 4));
+        bond.setAskPrice(BigDecimal.valueOf(990_050 + i, 4));
+        bond.setVolume(1_000_000L * i);
+        bond.setLastUpdated(TIME.plusSeconds(i));
+        return bond;
+    }
+}
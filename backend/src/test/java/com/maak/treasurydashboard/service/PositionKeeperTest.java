@@ -0,0 +1,154 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.Position;
+import com.maak.treasurydashboard.model.Security;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PositionKeeperTest {
+
+    private static final String CUSIP = "912828YN9";
+
+    private final ReferenceDataStore referenceDataStore = new ReferenceDataStore();
+    private final MarketDataStore marketDataStore = mock(MarketDataStore.class);
+    private final WebSocketService webSocketService = mock(WebSocketService.class);
+    private final PositionKeeper keeper = new PositionKeeper();
+    private Security security;
+
+    @BeforeEach
+    void wire() {
+        TreasuryBond bond = new TreasuryBond();
+        bond.setCusip(CUSIP);
+        bond.setMaturity("10Y");
+        security = referenceDataStore.register(List.of(bond)).get(0);
+        when(marketDataStore.get(anyInt())).thenReturn(null);
+        ReflectionTestUtils.setField(keeper, "referenceDataStore", referenceDataStore);
+        ReflectionTestUtils.setField(keeper, "marketDataStore", marketDataStore);
+        ReflectionTestUtils.setField(keeper, "webSocketService", webSocketService);
+    }
+
+    @Test
+    void buysAndSellsNetIntoOnePosition() {
+        keeper.onBooked(trade("BUY", 1_000_000L, "99.50"));
+        keeper.onBooked(trade("SELL", 400_000L, "100.00"));
+        mark("100.25");
+
+        Position position = only();
+        assertEquals(600_000L, position.getNetQuantity());
+        assertEquals(1_000_000L, position.getBoughtQuantity());
+        assertEquals(400_000L, position.getSoldQuantity());
+        assertEquals(2, position.getTradeCount());
+        // 600k face at 100.25 per 100
+        assertMoney("601500", position.getMarketValue());
+        // 601,500 - (995,000 - 400,000)
+        assertMoney("6500", position.getPnl());
+    }
+
+    @Test
+    void amendMovesTheTradesContributionToItsNewTerms() {
+        Trade before = trade("BUY", 1_000_000L, "99.50");
+        keeper.onBooked(before);
+        Trade after = copy(before);
+        after.setQuantity(1_500_000L);
+        after.setPrice(new BigDecimal("99.75"));
+        keeper.onAmended(before, after);
+        mark("100.00");
+
+        Position position = only();
+        assertEquals(1_500_000L, position.getNetQuantity());
+        assertEquals(1_500_000L, position.getBoughtQuantity());
+        assertEquals(1, position.getTradeCount());
+        // 1,500,000 - 1,496,250
+        assertMoney("3750", position.getPnl());
+    }
+
+    @Test
+    void cancelTakesTheTradeBackOutAndOnlyOnce() {
+        Trade kept = trade("SELL", 200_000L, "101.00");
+        Trade cancelled = trade("BUY", 1_000_000L, "99.50");
+        keeper.onBooked(List.of(kept, cancelled));
+        Trade after = copy(cancelled);
+        after.setStatus("CANCELLED");
+        keeper.onStatusChange(after, "EXECUTED");
+        // A repeated notification for the same state is not a transition
+        keeper.onStatusChange(after, "CANCELLED");
+        // Amends to a cancelled trade never reach a position
+        keeper.onAmended(after, after);
+
+        Position position = only();
+        assertEquals(-200_000L, position.getNetQuantity());
+        assertEquals(0L, position.getBoughtQuantity());
+        assertEquals(200_000L, position.getSoldQuantity());
+        assertEquals(1, position.getTradeCount());
+        // Booking frame plus the cancel
+        assertEquals(2L, keeper.currentSequence());
+    }
+
+    @Test
+    void unchangedMarkPublishesNothing() throws Exception {
+        keeper.onBooked(trade("BUY", 1_000_000L, "99.50"));
+        mark("100.00");
+        mark("100.00");
+        mark("100.50");
+
+        assertEquals(3L, keeper.currentSequence());
+        verify(webSocketService, times(3)).broadcast(any(), eq(PositionKeeper.POSITIONS_TOPIC));
+        assertMoney("1005000", only().getMarketValue());
+    }
+
+    @Test
+    void rebuildReplacesPositionsWithTheExecutedTrades() {
+        keeper.onBooked(trade("BUY", 5_000_000L, "99.00"));
+        Trade pending = trade("BUY", 7_000_000L, "99.00");
+        pending.setStatus("PENDING");
+
+        keeper.rebuild(List.of(trade("SELL", 300_000L, "99.00"), pending));
+
+        Position position = only();
+        assertEquals(-300_000L, position.getNetQuantity());
+        assertEquals(1, position.getTradeCount());
+    }
+
+    private Position only() {
+        List<Position> positions = keeper.getPositions("JSMITH", "GS", CUSIP);
+        assertEquals(1, positions.size());
+        return positions.get(0);
+    }
+
+    private void mark(String price) {
+        long units = new BigDecimal(price).movePointRight(4).longValueExact();
+        keeper.mark(List.of(new BondQuote(1L, security, units, 0L, 0L, 0L, units, units, 0L, 0L, 1L)));
+    }
+
+    private static void assertMoney(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+
+    private static Trade trade(String side, long quantity, String price) {
+        return new Trade(CUSIP, "10Y", side, quantity, new BigDecimal(price), new BigDecimal("4.5"), "GS", "JSMITH",
+            LocalDateTime.now(), "EXECUTED", LocalDateTime.now().plusDays(1), null);
+    }
+
+    private static Trade copy(Trade trade) {
+        return new Trade(trade.getCusip(), trade.getMaturity(), trade.getSide(), trade.getQuantity(), trade.getPrice(),
+            trade.getYield(), trade.getCounterparty(), trade.getTrader(), trade.getTimestamp(), trade.getStatus(),
+            trade.getSettlementDate(), trade.getCommission());
+    }
+}
@@ -0,0 +1,89 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReferenceDataParserTest {
+
+    private final ReferenceDataParser parser = new ReferenceDataParser();
+
+    @Test
+    void parsesARowWithDefaultBidAndAsk() {
+        TreasuryBond bond = parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,4.450,97.2500,4.450");
+
+        assertNotNull(bond);
+        assertEquals("912828YN9", bond.getCusip());
+        assertEquals("NOTE", bond.getSecurityType());
+        assertEquals("10Y", bond.getMaturity());
+        assertEquals(LocalDate.of(2036, 8, 15), bond.getMaturityDate());
+        assertEquals(0, new BigDecimal("4.450").compareTo(bond.getCoupon()));
+        assertEquals(972_500L, FixedPoint.toPriceUnits(bond.getPrice()));
+        assertEquals(4_450_000L, FixedPoint.toYieldUnits(bond.getYield()));
+        assertEquals(TickMath.bid(972_500L), FixedPoint.toPriceUnits(bond.getBidPrice()));
+        assertEquals(TickMath.ask(972_500L), FixedPoint.toPriceUnits(bond.getAskPrice()));
+    }
+
+    @Test
+    void explicitBidAndAskAndSurroundingSpacesAreAccepted() {
+        TreasuryBond bond = parser.parseLine(" 912797AB2 , BILL , 26W , 2026-09-10 , 0 , 97.81 , 5.02 , 97.80 , 97.82 ");
+
+        assertNotNull(bond);
+        assertEquals("912797AB2", bond.getCusip());
+        assertEquals(978_000L, FixedPoint.toPriceUnits(bond.getBidPrice()));
+        assertEquals(978_200L, FixedPoint.toPriceUnits(bond.getAskPrice()));
+    }
+
+    @Test
+    void invalidRowsAreRejected() {
+        // Too few, a bid without an ask, too many
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,4.450,97.25"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,4.450,97.25,4.45,97.2"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,4.450,97.25,4.45,97.2,97.3,x"));
+        // CUSIP, type, tenor and date
+        assertNull(parser.parseLine("912828YN,NOTE,10Y,2036-08-15,4.450,97.25,4.45"));
+        assertNull(parser.parseLine("912828yn9,NOTE,10Y,2036-08-15,4.450,97.25,4.45"));
+        assertNull(parser.parseLine("912828YN9,STRIP,10Y,2036-08-15,4.450,97.25,4.45"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Q,2036-08-15,4.450,97.25,4.45"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-02-30,4.450,97.25,4.45"));
+        // Numbers
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,abc,97.25,4.45"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,-1,97.25,4.45"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,4.450,0,4.45"));
+        assertNull(parser.parseLine("912828YN9,NOTE,10Y,2036-08-15,4.450,97.25,4.45,97.3,97.2"));
+    }
+
+    @Test
+    void streamSkipsCommentsAndHeaderAndCountsRejects() throws IOException {
+        String csv = String.join("\n",
+            "# security master",
+            "cusip,type,maturity,maturityDate,coupon,price,yield,bid,ask",
+            "",
+            "912828YN9,NOTE,10Y,2036-08-15,4.450,97.2500,4.450",
+            "912810TM0,BOND,30Y,2056-05-15,4.625,99.1250,4.680",
+            "912828YN9,NOTE,10Y,2036-08-15,4.500,98.0000,4.400",
+            "not,a,bond",
+            "91282CAA9,TIPS,5Y,2031-04-15,1.250,101.5000,1.100");
+        List<TreasuryBond> bonds = new ArrayList<>();
+        parser.parse(new BufferedReader(new StringReader(csv)), bonds::add);
+
+        assertEquals(List.of("912828YN9", "912810TM0", "91282CAA9"), bonds.stream().map(TreasuryBond::getCusip).toList());
+        // The first row for a CUSIP wins
+        assertEquals(972_500L, FixedPoint.toPriceUnits(bonds.get(0).getPrice()));
+        assertEquals(3, parser.accepted());
+        assertEquals(1, parser.duplicates());
+        assertEquals(1, parser.malformed());
+    }
+}
@@ -0,0 +1,91 @@
+package com.maak.treasurydashboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RiskCalculatorTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void billIsDiscountedOverItsOwnStubNotAWholePeriod() {
+        double years = 0.3;
+        double yield = 5.0;
+        CashflowSchedule schedule = CashflowSchedule.build(new String[] {"912797AA1"}, new double[] {years},
+            new double[] {0.0});
+        RiskResult result = RiskCalculator.evaluate(schedule, new double[] {yield}, Integer.MAX_VALUE);
+
+        assertEquals(1, schedule.flowCount());
+        assertEquals(billPrice(years, yield), result.price(0), TOLERANCE);
+        assertEquals((billPrice(years, yield - 0.01) - billPrice(years, yield + 0.01)) / 2.0, result.dv01(0),
+            TOLERANCE);
+        // Closed-form modified duration of a single flow: t / (1 + y/2)
+        assertEquals(years / (1.0 + yield / 200.0), result.modifiedDuration(0), 1e-6);
+    }
+
+    @Test
+    void midCouponBondMatchesClosedFormPrice() {
+        double years = 2.25;
+        double coupon = 4.5;
+        double yield = 4.0;
+        CashflowSchedule schedule = CashflowSchedule.build(new String[] {"91282CAA9"}, new double[] {years},
+            new double[] {coupon});
+        RiskResult result = RiskCalculator.evaluate(schedule, new double[] {yield}, Integer.MAX_VALUE);
+
+        // Flows at 0.25, 0.75, ..., 2.25 years
+        assertEquals(5, schedule.flowCount());
+        assertArrayEquals(new double[] {0.25, 0.75, 1.25, 1.75, 2.25}, schedule.times(), TOLERANCE);
+        assertEquals(stubBondPrice(years, coupon, yield), result.price(0), TOLERANCE);
+        assertEquals((stubBondPrice(years, coupon, yield - 0.01) - stubBondPrice(years, coupon, yield + 0.01)) / 2.0,
+            result.dv01(0), TOLERANCE);
+    }
+
+    @Test
+    void maturedBondIsNotDiscounted() {
+        CashflowSchedule schedule = CashflowSchedule.build(new String[] {"912828AA1"}, new double[] {-0.1},
+            new double[] {4.0});
+        RiskResult result = RiskCalculator.evaluate(schedule, new double[] {4.0}, Integer.MAX_VALUE);
+
+        assertEquals(102.0, result.price(0), TOLERANCE);
+        assertEquals(0.0, result.dv01(0), TOLERANCE);
+    }
+
+    @Test
+    void forkJoinMatchesSequential() {
+        int n = 500;
+        String[] cusips = new String[n];
+        double[] years = new double[n];
+        double[] coupons = new double[n];
+        double[] yields = new double[n];
+        for (int i = 0; i < n; i++) {
+            cusips[i] = String.format("9128%05d", i);
+            years[i] = 0.1 + (i % 60) * 0.5 + (i % 7) * 0.03;
+            coupons[i] = (i % 9) * 0.5;
+            yields[i] = 3.5 + (i % 11) * 0.1;
+        }
+        CashflowSchedule schedule = CashflowSchedule.build(cusips, years, coupons);
+        RiskResult sequential = RiskCalculator.evaluate(schedule, yields, Integer.MAX_VALUE);
+        RiskResult parallel = RiskCalculator.evaluate(schedule, yields, 0);
+        for (int i = 0; i < n; i++) {
+            assertEquals(sequential.price(i), parallel.price(i), 0.0);
+            assertEquals(sequential.dv01(i), parallel.dv01(i), 0.0);
+            assertEquals(sequential.convexity(i), parallel.convexity(i), 0.0);
+        }
+    }
+
+    // 100 discounted over 2t semiannual periods
+    private static double billPrice(double years, double yield) {
+        return 100.0 / Math.pow(1.0 + yield / 200.0, 2.0 * years);
+    }
+
+    // Stub to the first coupon, then an n-flow annuity plus principal, summed as a geometric series
+    private static double stubBondPrice(double years, double coupon, double yield) {
+        double v = 1.0 / (1.0 + yield / 200.0);
+        int n = (int) Math.ceil(years * 2.0);
+        double stub = years * 2.0 - (n - 1);
+        double annuity = (1.0 - Math.pow(v, n)) / (1.0 - v);
+        return Math.pow(v, stub) * (coupon / 2.0 * annuity + 100.0 * Math.pow(v, n - 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.maak.treasurydashboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TickDecoderTest {
+
+    private final CusipInterner interner = new CusipInterner();
+    private final MarketTick tick = new MarketTick();
+
+    @Test
+    void decodesPriceAndYieldIntoFixedPointUnits() {
+        assertEquals(TickDecoder.Result.TICK, decode("912828YN9,97.2531,4.451200,500,1718031600000"));
+        assertEquals("912828YN9", tick.getCusip());
+        assertEquals(972_531L, tick.getPrice());
+        assertEquals(4_451_200L, tick.getYield());
+        assertEquals(500L, tick.getVolume());
+        assertEquals(1_718_031_600_000L, tick.getTimestamp());
+    }
+
+    @Test
+    void missingTimestampMeansStampOnArrival() {
+        assertEquals(TickDecoder.Result.TICK, decode("912828YN9,100,4.5,0\r"));
+        assertEquals(1_000_000L, tick.getPrice());
+        assertEquals(4_500_000L, tick.getYield());
+        assertEquals(0L, tick.getTimestamp());
+    }
+
+    @Test
+    void extraDigitsRoundHalfUp() {
+        assertEquals(972_532L, parsePrice("97.25315"));
+        assertEquals(972_531L, parsePrice("97.253149999"));
+        assertEquals(1_000_000L, parsePrice("99.99995"));
+        assertEquals(-1_234L, parsePrice("-0.12344"));
+        assertEquals(-1_235L, parsePrice("-0.12345"));
+        assertEquals(970_000L, parsePrice("97."));
+    }
+
+    @Test
+    void blankAndCommentLinesAreSkipped() {
+        assertEquals(TickDecoder.Result.SKIPPED, decode(""));
+        assertEquals(TickDecoder.Result.SKIPPED, decode("\r"));
+        assertEquals(TickDecoder.Result.SKIPPED, decode("# CUSIP,price,yield,volume"));
+    }
+
+    @Test
+    void malformedLinesAreRejected() {
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,97.25,4.45"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode(",97.25,4.45,100"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,97.2.5,4.45,100"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,,4.45,100"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,97.25,4.45,1e3"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,-,4.45,100"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,97.25,4.45,100,"));
+        assertEquals(TickDecoder.Result.MALFORMED, decode("912828YN9,99999999999999999999,4.45,100"));
+    }
+
+    @Test
+    void decodesTheLineAtAnOffsetAndInternsTheCusip() {
+        byte[] buf = "xx912828YN9,97.25,4.45,100\n912828YN9,97.5,4.4,200\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(TickDecoder.Result.TICK, TickDecoder.decode(buf, 2, 24, interner, tick));
+        String first = tick.getCusip();
+        assertEquals(972_500L, tick.getPrice());
+        assertEquals(TickDecoder.Result.TICK, TickDecoder.decode(buf, 27, 22, interner, tick));
+        assertSame(first, tick.getCusip());
+        assertEquals(975_000L, tick.getPrice());
+        assertEquals(200L, tick.getVolume());
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void formatRoundTripsThroughDecode() {
+        byte[] line = TickDecoder.formatBytes("91282CAA9", 1_012_345L, 3_987_654L, 250L, 1_718_031_600_123L);
+        assertEquals(TickDecoder.Result.TICK, TickDecoder.decode(line, 0, line.length - 1, interner, tick));
+        assertEquals("91282CAA9", tick.getCusip());
+        assertEquals(1_012_345L, tick.getPrice());
+        assertEquals(3_987_654L, tick.getYield());
+        assertEquals(250L, tick.getVolume());
+        assertEquals(1_718_031_600_123L, tick.getTimestamp());
+        assertEquals("91282CAA9,101.2345,3.987654,250", TickDecoder.format("91282CAA9", 1_012_345L, 3_987_654L,
+            250L, 0L));
+    }
+
+    private TickDecoder.Result decode(String line) {
+        byte[] buf = line.getBytes(StandardCharsets.US_ASCII);
+        return TickDecoder.decode(buf, 0, buf.length, interner, tick);
+    }
+
+    private static long parsePrice(String text) {
+        byte[] buf = text.getBytes(StandardCharsets.US_ASCII);
+        return TickDecoder.parseFixed(buf, 0, buf.length, 4);
+    }
+}
@@ -0,0 +1,137 @@
+package com.maak.treasurydashboard.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickJournalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final long DAY_START = DAY.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long OPEN = DAY_START + 9 * 3_600_000L;
+    // Records in a 1 MB part
+    private static final int PART_CAPACITY = ((1 << 20) - JournalSegment.HEADER_SIZE) / JournalSegment.RECORD_SIZE;
+    // Spans three parts
+    private static final int TICKS = 40_000;
+
+    @TempDir
+    Path directory;
+
+    private TickJournal journal;
+
+    @AfterEach
+    void closeJournal() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void fullSegmentRollsToTheNextPartWithoutLosingTicks() {
+        journal = newJournal();
+        appendTicks(journal, 0, TICKS);
+
+        Map<String, Object> stats = journal.stats();
+        assertEquals(0L, stats.get("writeErrors"));
+        assertEquals((long) TICKS, stats.get("appended"));
+        assertEquals(2L, stats.get("segmentRolls"));
+        assertEquals(2, stats.get("currentSegment"));
+        assertEquals((long) TICKS, stats.get("currentDayTicks"));
+        assertTrue(Files.exists(JournalSegment.dataFile(directory, DAY, 0)));
+        assertTrue(Files.exists(JournalSegment.dataFile(directory, DAY, 1)));
+        assertTrue(Files.exists(JournalSegment.dataFile(directory, DAY, 2)));
+
+        TickCursor cursor = journal.cursor(DAY_START, DAY_START + 86_400_000L, null);
+        for (int i = 0; i < TICKS; i++) {
+            assertTrue(cursor.next(), "tick " + i + " missing");
+            assertEquals(OPEN + i, cursor.timestamp());
+            assertEquals(1_000_000L + i, cursor.price());
+            assertEquals(cusip(i), cursor.cusip());
+        }
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void seekLandsInsideALaterPartAndStopsAtTheEndOfTheRange() {
+        journal = newJournal();
+        appendTicks(journal, 0, TICKS);
+
+        int first = 30_000;
+        int last = 30_010;
+        TickCursor cursor = journal.cursor(OPEN + first, OPEN + last, cusip(first));
+        for (int i = first; i < last; i += 2) {
+            assertTrue(cursor.next());
+            assertEquals(OPEN + i, cursor.timestamp());
+            assertEquals(cusip(first), cursor.cusip());
+        }
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void restartResumesTheDaysLastPart() {
+        journal = newJournal();
+        appendTicks(journal, 0, TICKS);
+        journal.close();
+
+        journal = newJournal();
+        appendTicks(journal, TICKS, 1);
+        Map<String, Object> stats = journal.stats();
+        assertEquals(2, stats.get("currentSegment"));
+        assertEquals(TICKS + 1L, stats.get("currentDayTicks"));
+
+        TickCursor cursor = journal.cursor(OPEN + TICKS - 1, OPEN + TICKS + 1, null);
+        assertTrue(cursor.next());
+        assertEquals(OPEN + TICKS - 1, cursor.timestamp());
+        assertTrue(cursor.next());
+        assertEquals(OPEN + TICKS, cursor.timestamp());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void lateTickOpeningANewPartIsKeptInOrder() {
+        journal = newJournal();
+        appendTicks(journal, 0, PART_CAPACITY);
+        // First record of part 1, earlier than the last of part 0: raised so the day stays sorted
+        journal.append(cusip(0), OPEN, 1L, 1L, 1L);
+        assertEquals(1, journal.stats().get("currentSegment"));
+
+        TickCursor cursor = journal.cursor(OPEN + PART_CAPACITY - 1, OPEN + PART_CAPACITY, null);
+        assertTrue(cursor.next());
+        assertEquals(1_000_000L + PART_CAPACITY - 1, cursor.price());
+        assertTrue(cursor.next());
+        assertEquals(OPEN + PART_CAPACITY - 1, cursor.timestamp());
+        assertEquals(1L, cursor.price());
+        assertFalse(cursor.next());
+    }
+
+    private TickJournal newJournal() {
+        TickJournal journal = new TickJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "initialSizeMb", 1L);
+        ReflectionTestUtils.setField(journal, "maxSegmentMb", 1L);
+        ReflectionTestUtils.setField(journal, "indexInterval", 64);
+        return journal;
+    }
+
+    private static void appendTicks(TickJournal journal, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            journal.append(cusip(i), OPEN + i, 1_000_000L + i, 4_000_000L, 100L);
+        }
+    }
+
+    private static String cusip(int i) {
+        return (i & 1) == 0 ? "912828YN9" : "91282CAA9";
+    }
+}
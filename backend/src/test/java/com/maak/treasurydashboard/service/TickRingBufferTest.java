@@ -0,0 +1,102 @@
+package com.maak.treasurydashboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TickRingBufferTest {
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TickRingBuffer(1));
+        assertThrows(IllegalArgumentException.class, () -> new TickRingBuffer(12));
+        assertEquals(16, new TickRingBuffer(16).capacity());
+    }
+
+    @Test
+    void fullRingRefusesClaimsUntilTheConsumerDrains() {
+        TickRingBuffer ring = new TickRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            publish(ring, i);
+        }
+        assertEquals(4, ring.size());
+        assertNull(ring.claim(), "claim on a full ring");
+
+        List<Long> seen = new ArrayList<>();
+        assertEquals(1, ring.drain(tick -> seen.add(tick.getPrice()), 1));
+        assertEquals(List.of(0L), seen);
+        // One slot freed, and only one
+        publish(ring, 4);
+        assertNull(ring.claim());
+    }
+
+    @Test
+    void wrapsAroundInOrderAndDrainsAtMostMax() {
+        TickRingBuffer ring = new TickRingBuffer(4);
+        List<Long> seen = new ArrayList<>();
+        long next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                publish(ring, next++);
+            }
+            assertEquals(2, ring.drain(tick -> seen.add(tick.getPrice()), 2));
+            assertEquals(1, ring.drain(tick -> seen.add(tick.getPrice()), 8));
+            assertEquals(0, ring.drain(tick -> seen.add(tick.getPrice()), 8));
+        }
+        assertEquals(30, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(i, (long) seen.get(i));
+        }
+    }
+
+    @Test
+    void producerAndConsumerThreadsSeeEveryTickOnceInOrder() throws Exception {
+        int ticks = 200_000;
+        TickRingBuffer ring = new TickRingBuffer(64);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < ticks; i++) {
+                MarketTick slot;
+                while ((slot = ring.claim()) == null) {
+                    Thread.yield();
+                }
+                slot.set("912828YN9", i, -i, 1, i);
+                ring.commit();
+            }
+        });
+        producer.start();
+
+        AtomicLong expected = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (expected.get() < ticks && System.nanoTime() < deadline) {
+            int drained = ring.drain(tick -> {
+                long n = expected.getAndIncrement();
+                assertEquals(n, tick.getPrice());
+                assertEquals(-n, tick.getYield());
+                assertEquals(n, tick.getTimestamp());
+            }, 16);
+            if (drained == 0) {
+                Thread.yield();
+            }
+        }
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        assertEquals(ticks, expected.get());
+        assertEquals(0, ring.size());
+    }
+
+    private static void publish(TickRingBuffer ring, long n) {
+        MarketTick slot = ring.claim();
+        assertNotNull(slot, "claim " + n);
+        slot.set("912828YN9", n, 0, 0, 0);
+        ring.commit();
+    }
+}
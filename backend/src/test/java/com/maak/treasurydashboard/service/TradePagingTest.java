@@ -0,0 +1,107 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradePage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks the keyset-paged blotter against the in-memory H2 database. A batch booking
+ * stamps every trade with the same time, so pages break inside runs of equal
+ * timestamps and only the id tie-break keeps rows from being skipped or repeated.
+ */
+@SpringBootTest(properties = {
+    "treasury.trades.persistence.mode=SYNC",
+    "treasury.journal.enabled=false",
+    "treasury.marketdata.simulator.interval-ms=3600000"
+})
+class TradePagingTest {
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Test
+    void pagesCoverEveryTradeOnceInOrderAcrossEqualTimestamps() {
+        List<Trade> batch = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            batch.add(newTrade(i));
+        }
+        tradeService.bookTrades(batch);
+
+        List<Trade> all = walk(null, 7);
+        assertEquals(tradeService.getAllTrades().size(), all.size());
+        assertTrue(all.size() >= 25);
+        assertNewestFirstWithoutRepeats(all);
+    }
+
+    @Test
+    void statusFilterIsKeptAcrossPages() {
+        List<Trade> batch = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            batch.add(newTrade(i));
+        }
+        List<Long> ids = tradeService.bookTrades(batch).getResults().stream().map(r -> r.getTrade().getId()).toList();
+        for (int i = 0; i < ids.size(); i += 2) {
+            tradeService.cancelTrade(ids.get(i), null);
+        }
+
+        List<Trade> cancelled = walk("CANCELLED", 4);
+        long expected = tradeService.getAllTrades().stream().filter(t -> "CANCELLED".equals(t.getStatus())).count();
+        assertEquals(expected, cancelled.size());
+        assertTrue(cancelled.stream().allMatch(t -> "CANCELLED".equals(t.getStatus())));
+        assertNewestFirstWithoutRepeats(cancelled);
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() {
+        tradeService.bookTrade(newTrade(0));
+        int total = tradeService.getAllTrades().size();
+        TradePage page = tradeService.getTradePage(null, null, total);
+        assertEquals(total, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    private List<Trade> walk(String status, int limit) {
+        List<Trade> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            TradePage page = tradeService.getTradePage(status, cursor, limit);
+            assertTrue(page.getItems().size() <= limit);
+            rows.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private static void assertNewestFirstWithoutRepeats(List<Trade> rows) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Trade row = rows.get(i);
+            assertTrue(ids.add(row.getId()), "trade " + row.getId() + " repeated");
+            if (i > 0) {
+                Trade previous = rows.get(i - 1);
+                int byTime = previous.getTimestamp().compareTo(row.getTimestamp());
+                assertTrue(byTime > 0 || (byTime == 0 && previous.getId() > row.getId()),
+                    "trade " + row.getId() + " out of order after " + previous.getId());
+            }
+        }
+    }
+
+    private static Trade newTrade(int n) {
+        return new Trade("912828YN9", "10Y", (n & 1) == 0 ? "BUY" : "SELL", 1_000_000L, new BigDecimal("99.8125"),
+            new BigDecimal("4.875"), "GS", "JSMITH", LocalDateTime.now(), "PENDING", LocalDateTime.now().plusDays(1),
+            new BigDecimal("25.00"));
+    }
+}
@@ -0,0 +1,199 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TradeAmendment;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races bookings, amends and cancels through {@link TradeService} against the
+ * in-memory H2 database: each trade's amenders and cancellers start as soon as its
+ * booking returns, while other trades are still being booked. Checks the invariants
+ * the loadtest module's TradeLifecycleStressTest checks over HTTP: every trade is
+ * cancelled exactly once, its quantity includes every successful amend, and its
+ * version equals the number of successful transitions, each of which returned a
+ * different version. {@link TradeStateMachineWriteBehindConcurrencyTest} runs the same
+ * race in WAL mode, where the first transitions land on trades still being written.
+ */
+@SpringBootTest(properties = {
+    "treasury.trades.persistence.mode=SYNC",
+    "treasury.journal.enabled=false",
+    "treasury.marketdata.simulator.interval-ms=3600000"
+})
+class TradeStateMachineConcurrencyTest {
+
+    // Each successful amend adds this to the quantity it read, so a lost update leaves a shortfall
+    private static final long STEP = 1_000L;
+    private static final long INITIAL_QUANTITY = 1_000_000L;
+    private static final int TRADES = 50;
+    private static final int AMENDERS = 4;
+    private static final int CANCELLERS = 2;
+    private static final int AMENDS = 5;
+    private static final int MAX_ATTEMPTS = 1_000;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Test
+    void concurrentBookingsAmendsAndCancelsAreNeitherLostNorRepeated() throws Exception {
+        List<Tracked> tracked = new ArrayList<>(TRADES);
+        ExecutorService racers = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        // Each booking is queued ahead of its racers, so it is running before they wait on it
+        for (int i = 0; i < TRADES; i++) {
+            Tracked trade = new Tracked(i);
+            tracked.add(trade);
+            futures.add(racers.submit(() -> book(trade)));
+            for (int a = 0; a < AMENDERS; a++) {
+                futures.add(racers.submit(() -> amend(trade)));
+            }
+            for (int c = 0; c < CANCELLERS; c++) {
+                futures.add(racers.submit(() -> cancel(trade)));
+            }
+        }
+        for (Future<?> future : futures) {
+            // Rethrows anything other than an expected conflict
+            future.get(2, TimeUnit.MINUTES);
+        }
+        racers.shutdown();
+
+        int pendingConflicts = 0;
+        for (Tracked trade : tracked) {
+            pendingConflicts += trade.pendingConflicts.get();
+            Trade last = tradeService.getTradeById(trade.id()).orElse(null);
+            assertNotNull(last, "trade " + trade.id() + " missing");
+            int transitions = trade.amends.get() + trade.cancels.get();
+            assertEquals(1, trade.cancels.get(), "trade " + trade.id() + " cancels");
+            assertEquals("CANCELLED", last.getStatus(), "trade " + trade.id() + " status");
+            assertEquals(INITIAL_QUANTITY + STEP * trade.amends.get(), (long) last.getQuantity(),
+                "trade " + trade.id() + " quantity");
+            assertEquals(transitions, (long) last.getVersion(), "trade " + trade.id() + " version");
+            assertEquals(transitions, trade.versions.size(),
+                "trade " + trade.id() + " transitions returning a repeated version");
+        }
+        if (writeBehind()) {
+            assertTrue(pendingConflicts > 0, "no transition raced a trade still being written");
+        }
+    }
+
+    /** Whether trades are acknowledged from the WAL before their insert lands. */
+    boolean writeBehind() {
+        return false;
+    }
+
+    private void book(Tracked trade) {
+        Trade booked = tradeService.bookTrade(newTrade(trade.n));
+        assertNotNull(booked.getId(), "booked trade has no id");
+        assertEquals(0L, (long) booked.getVersion(), "booked trade version");
+        trade.booked.complete(booked.getId());
+    }
+
+    private void amend(Tracked trade) {
+        Trade current = tradeService.getTradeById(trade.id()).orElseThrow();
+        int done = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && done < AMENDS; attempt++) {
+            if ("CANCELLED".equals(current.getStatus())) {
+                return;
+            }
+            TradeAmendment amendment = new TradeAmendment();
+            amendment.setQuantity(current.getQuantity() + STEP);
+            amendment.setVersion(current.getVersion());
+            try {
+                current = tradeService.amendTrade(trade.id(), amendment);
+                trade.amends.incrementAndGet();
+                trade.succeeded(current);
+                done++;
+            } catch (TradeTransitionException e) {
+                current = afterConflict(trade, e);
+            }
+        }
+        assertTrue(done == AMENDS || "CANCELLED".equals(current.getStatus()),
+            "amender on trade " + trade.id() + " gave up after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    private void cancel(Tracked trade) {
+        // Let the amenders get going first
+        Thread.yield();
+        Trade current = tradeService.getTradeById(trade.id()).orElseThrow();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if ("CANCELLED".equals(current.getStatus())) {
+                return;
+            }
+            try {
+                trade.succeeded(tradeService.cancelTrade(trade.id(), current.getVersion()));
+                trade.cancels.incrementAndGet();
+                return;
+            } catch (TradeTransitionException e) {
+                current = afterConflict(trade, e);
+            }
+        }
+        throw new AssertionError("canceller on trade " + trade.id() + " gave up after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    // The conflict carries the trade as it stands, unless it is still being written
+    private Trade afterConflict(Tracked trade, TradeTransitionException e) {
+        if (e.getCurrent() != null) {
+            return e.getCurrent();
+        }
+        trade.pendingConflicts.incrementAndGet();
+        // Give the writer a moment to insert it, as a client retrying would
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("interrupted", interrupted);
+        }
+        return tradeService.getTradeById(trade.id()).orElseThrow();
+    }
+
+    private static Trade newTrade(int n) {
+        return new Trade("912828YN9", "10Y", (n & 1) == 0 ? "BUY" : "SELL", INITIAL_QUANTITY,
+            new BigDecimal("99.8125"), new BigDecimal("4.875"), "GS", "JSMITH", LocalDateTime.now(), "PENDING",
+            LocalDateTime.now().plusDays(1), new BigDecimal("25.00"));
+    }
+
+    private static final class Tracked {
+        final int n;
+        final CompletableFuture<Long> booked = new CompletableFuture<>();
+        final AtomicInteger amends = new AtomicInteger();
+        final AtomicInteger cancels = new AtomicInteger();
+        final AtomicInteger pendingConflicts = new AtomicInteger();
+        // Versions returned by successful transitions; each should be new
+        final Set<Long> versions = ConcurrentHashMap.newKeySet();
+
+        Tracked(int n) {
+            this.n = n;
+        }
+
+        // Blocks the racers until the booking returns
+        long id() {
+            try {
+                return booked.get(1, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                throw new AssertionError("trade " + n + " was not booked", e);
+            }
+        }
+
+        void succeeded(Trade trade) {
+            versions.add(trade.getVersion());
+        }
+    }
+}
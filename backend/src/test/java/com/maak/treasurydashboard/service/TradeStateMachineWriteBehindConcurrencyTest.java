@@ -0,0 +1,22 @@
+package com.maak.treasurydashboard.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link TradeStateMachineConcurrencyTest} in WAL mode: bookings are acknowledged from
+ * the write-ahead log, so the racers' first transitions hit trades whose insert has not
+ * landed yet and must be retried rather than lost.
+ */
+@SpringBootTest(properties = {
+    "treasury.trades.persistence.mode=WAL",
+    "treasury.trades.persistence.wal.directory=${java.io.tmpdir}/treasury-trade-wal-test-${random.uuid}",
+    "treasury.journal.enabled=false",
+    "treasury.marketdata.simulator.interval-ms=3600000"
+})
+class TradeStateMachineWriteBehindConcurrencyTest extends TradeStateMachineConcurrencyTest {
+
+    @Override
+    boolean writeBehind() {
+        return true;
+    }
+}
@@ -0,0 +1,173 @@
+package com.maak.treasurydashboard.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TradeWriteAheadLogTest {
+
+    // Never reached, so checkpoints keep the log
+    private static final long NO_TRUNCATE = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoverReturnsSyncedRecordsInAppendOrder() throws IOException {
+        long[] ends = new long[3];
+        try (TradeWriteAheadLog wal = open()) {
+            assertTrue(wal.recover().isEmpty());
+            for (int i = 0; i < 3; i++) {
+                ends[i] = wal.append(payload("trade-" + i));
+            }
+            wal.sync(ends[2]);
+            assertEquals(ends[2], wal.synced());
+        }
+
+        try (TradeWriteAheadLog wal = open()) {
+            List<TradeWriteAheadLog.Record> records = wal.recover();
+            assertEquals(3, records.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals("trade-" + i, text(records.get(i)));
+                assertEquals(ends[i], records.get(i).end());
+            }
+            assertEquals(ends[2], wal.size());
+        }
+    }
+
+    @Test
+    void recoverSkipsRecordsUpToTheCheckpoint() throws IOException {
+        try (TradeWriteAheadLog wal = open()) {
+            wal.recover();
+            wal.append(payload("a"));
+            long second = wal.append(payload("b"));
+            long third = wal.append(payload("c"));
+            wal.sync(third);
+            wal.checkpoint(second, NO_TRUNCATE);
+            assertEquals(second, wal.checkpointOffset());
+        }
+
+        try (TradeWriteAheadLog wal = open()) {
+            List<TradeWriteAheadLog.Record> records = wal.recover();
+            assertEquals(1, records.size());
+            assertEquals("c", text(records.get(0)));
+        }
+    }
+
+    @Test
+    void tornTailIsCutOffAndAppendsContinueAfterTheLastGoodRecord() throws IOException {
+        long first;
+        try (TradeWriteAheadLog wal = open()) {
+            wal.recover();
+            first = wal.append(payload("whole"));
+            long second = wal.append(payload("torn in half"));
+            wal.sync(second);
+        }
+        try (FileChannel file = FileChannel.open(logFile(), StandardOpenOption.WRITE)) {
+            file.truncate(first + 10);
+        }
+
+        try (TradeWriteAheadLog wal = open()) {
+            List<TradeWriteAheadLog.Record> records = wal.recover();
+            assertEquals(1, records.size());
+            assertEquals("whole", text(records.get(0)));
+            assertEquals(first, Files.size(logFile()));
+            wal.sync(wal.append(payload("after")));
+        }
+
+        try (TradeWriteAheadLog wal = open()) {
+            List<TradeWriteAheadLog.Record> records = wal.recover();
+            assertEquals(2, records.size());
+            assertEquals("after", text(records.get(1)));
+        }
+    }
+
+    @Test
+    void recordFailingItsChecksumEndsTheLog() throws IOException {
+        long first;
+        try (TradeWriteAheadLog wal = open()) {
+            wal.recover();
+            first = wal.append(payload("good"));
+            wal.append(payload("flipped"));
+            wal.sync(wal.append(payload("unreachable")));
+        }
+        try (FileChannel file = FileChannel.open(logFile(), StandardOpenOption.WRITE)) {
+            // First payload byte of the second record
+            file.write(ByteBuffer.wrap(new byte[] {'F'}), first + 8);
+        }
+
+        try (TradeWriteAheadLog wal = open()) {
+            List<TradeWriteAheadLog.Record> records = wal.recover();
+            assertEquals(1, records.size());
+            assertEquals("good", text(records.get(0)));
+            assertEquals(first, wal.size());
+        }
+    }
+
+    @Test
+    void checkpointAtTheEndOfALargeLogEmptiesIt() throws IOException {
+        try (TradeWriteAheadLog wal = open()) {
+            wal.recover();
+            long first = wal.append(payload("a"));
+            long end = wal.append(payload("b"));
+            wal.sync(end);
+
+            // A record still pending past the checkpoint: the log is kept
+            wal.checkpoint(first, 1);
+            assertEquals(end, wal.size());
+
+            wal.checkpoint(end, 1);
+            assertEquals(0, wal.size());
+            assertEquals(0, wal.checkpointOffset());
+            assertEquals(0, Files.size(logFile()));
+            wal.sync(wal.append(payload("c")));
+        }
+
+        try (TradeWriteAheadLog wal = open()) {
+            List<TradeWriteAheadLog.Record> records = wal.recover();
+            assertEquals(1, records.size());
+            assertEquals("c", text(records.get(0)));
+        }
+    }
+
+    @Test
+    void syncCoveredByAnEarlierForceDoesNotForceAgain() throws IOException {
+        try (TradeWriteAheadLog wal = open()) {
+            wal.recover();
+            long first = wal.append(payload("a"));
+            long second = wal.append(payload("b"));
+            wal.sync(second);
+            long syncs = wal.syncCount();
+            wal.sync(first);
+            wal.sync(second);
+            assertEquals(syncs, wal.syncCount());
+        }
+    }
+
+    private TradeWriteAheadLog open() throws IOException {
+        return new TradeWriteAheadLog(directory);
+    }
+
+    private Path logFile() {
+        return directory.resolve("trades.wal");
+    }
+
+    private static byte[] payload(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(TradeWriteAheadLog.Record record) {
+        return new String(record.payload(), StandardCharsets.UTF_8);
+    }
+}
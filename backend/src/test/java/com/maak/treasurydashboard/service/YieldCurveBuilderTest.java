@@ -0,0 +1,108 @@
+package com.maak.treasurydashboard.service;
+
+import com.maak.treasurydashboard.model.YieldCurve;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YieldCurveBuilderTest {
+
+    private static final String[] TENORS = {"1M", "3M", "6M", "1Y", "2Y", "3Y", "5Y", "7Y", "10Y", "20Y", "30Y"};
+    private static final double[] YEARS = {1 / 12.0, 0.25, 0.5, 1, 2, 3, 5, 7, 10, 20, 30};
+    private static final double[] PAR = {5.30, 5.25, 5.10, 4.85, 4.60, 4.45, 4.30, 4.28, 4.25, 4.50, 4.40};
+    private static final double TOLERANCE = 1e-12;
+
+    @Test
+    void flatParCurveBootstrapsToFlatSemiAnnualZeros() {
+        YieldCurveBuilder builder = new YieldCurveBuilder(TENORS, YEARS);
+        double[] flat = new double[YEARS.length];
+        Arrays.fill(flat, 4.0);
+        builder.rebuild(flat);
+        YieldCurve curve = builder.snapshot(0L);
+
+        for (int k = 1; k <= 60; k++) {
+            double t = k / 2.0;
+            assertEquals(4.0, curve.parYieldAt(t), TOLERANCE);
+            assertEquals(Math.pow(1.02, -k), curve.discountFactorAt(t), 1e-12);
+            assertEquals(4.0, curve.zeroRateAt(t), 1e-9);
+        }
+    }
+
+    @Test
+    void parBondsRepriceToParOffTheBootstrappedFactors() {
+        YieldCurveBuilder builder = new YieldCurveBuilder(TENORS, YEARS);
+        builder.rebuild(PAR);
+        YieldCurve curve = builder.snapshot(0L);
+
+        for (int periods : new int[] {2, 10, 20, 60}) {
+            double coupon = curve.parYieldAt(periods / 2.0) / 2.0;
+            double price = 0.0;
+            for (int k = 1; k <= periods; k++) {
+                price += coupon * curve.discountFactorAt(k / 2.0);
+            }
+            price += 100.0 * curve.discountFactorAt(periods / 2.0);
+            assertEquals(100.0, price, 1e-9, periods / 2.0 + "Y par bond");
+        }
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        YieldCurveBuilder incremental = new YieldCurveBuilder(TENORS, YEARS);
+        incremental.rebuild(PAR);
+        double[] yields = PAR.clone();
+        Random random = new Random(42);
+        for (int step = 0; step < 200; step++) {
+            int moves = 1 + random.nextInt(3);
+            for (int i = 0; i < moves; i++) {
+                yields[random.nextInt(yields.length)] += (random.nextDouble() - 0.5) * 0.1;
+            }
+            assertTrue(incremental.update(yields));
+
+            YieldCurveBuilder full = new YieldCurveBuilder(TENORS, YEARS);
+            full.rebuild(yields);
+            YieldCurve expected = full.snapshot(0L);
+            YieldCurve actual = incremental.snapshot(0L);
+            assertArrayEquals(expected.getGridParYields(), actual.getGridParYields(), TOLERANCE, "par, step " + step);
+            assertArrayEquals(expected.getGridZeroRates(), actual.getGridZeroRates(), TOLERANCE, "zero, step " + step);
+            assertArrayEquals(expected.getGridDiscountFactors(), actual.getGridDiscountFactors(), TOLERANCE,
+                "discount, step " + step);
+            assertEquals(expected.discountFactorAt(35.0), actual.discountFactorAt(35.0), TOLERANCE);
+        }
+    }
+
+    @Test
+    void movingALongPillarLeavesShortMaturitiesUntouched() {
+        YieldCurveBuilder builder = new YieldCurveBuilder(TENORS, YEARS);
+        builder.rebuild(PAR);
+        YieldCurve before = builder.snapshot(0L);
+        double[] yields = PAR.clone();
+        yields[9] += 0.25;
+
+        assertTrue(builder.update(yields));
+        YieldCurve after = builder.snapshot(1L);
+        // 20Y moved: the spline changes only from the 7Y pillar, two pillars down
+        int from = builder.lastRebuiltFromMonth();
+        assertEquals(7 * 12 - 6, from);
+        for (int j = 0; j < from; j++) {
+            assertEquals(before.getGridParYields()[j], after.getGridParYields()[j], 0.0);
+            assertEquals(before.getGridDiscountFactors()[j], after.getGridDiscountFactors()[j], 0.0);
+        }
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+
+    @Test
+    void updateWithoutChangesIsANoOp() {
+        YieldCurveBuilder builder = new YieldCurveBuilder(TENORS, YEARS);
+        builder.rebuild(PAR);
+        long version = builder.snapshot(0L).getVersion();
+
+        assertFalse(builder.update(PAR.clone()));
+        assertEquals(version, builder.snapshot(0L).getVersion());
+    }
+}
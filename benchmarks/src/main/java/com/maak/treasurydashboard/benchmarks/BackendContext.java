@@ -0,0 +1,36 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.TreasuryDashboardApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * Starts the backend against its own in-memory H2 database for benchmarks that
+ * need real services and persistence. SQL and application logging are turned down
+ * so console output does not dominate the measurement.
+ */
+final class BackendContext {
+
+    private BackendContext() {}
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        String[] defaults = {
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "logging.level.com.maak.treasurydashboard=WARN",
+            "logging.level.org.springframework.messaging=WARN"
+        };
+        String[] properties = new String[defaults.length + extraProperties.length];
+        System.arraycopy(defaults, 0, properties, 0, defaults.length);
+        System.arraycopy(extraProperties, 0, properties, defaults.length, extraProperties.length);
+        return new SpringApplicationBuilder(TreasuryDashboardApplication.class)
+            .properties(properties)
+            .run();
+    }
+}
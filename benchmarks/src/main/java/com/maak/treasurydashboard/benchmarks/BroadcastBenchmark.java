@@ -0,0 +1,90 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.TreasuryBond;
+import com.maak.treasurydashboard.service.TreasuryDataService;
+import com.maak.treasurydashboard.service.WebSocketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One market-data tick through {@link WebSocketService}: encode the bond list once
+ * and publish it to the market-data and yield-curve topics of the simple broker,
+ * with {@code sessions} STOMP subscribers on each. The subscribers have no socket
+ * behind them, so this measures the publisher's share of the fan-out (broker lookup,
+ * per-session message copies, outbound queue hand-off) rather than network writes.
+ * {@code encodeOnly} isolates the JSON part.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BroadcastBenchmark {
+
+    @Param({"0", "100", "1000"})
+    private int sessions;
+
+    private ConfigurableApplicationContext context;
+    private WebSocketService webSocketService;
+    private List<TreasuryBond> bonds;
+
+    @Setup
+    public void start() {
+        // Keep the simulator and journal from publishing alongside the benchmark thread
+        context = BackendContext.start(
+            "treasury.marketdata.simulator.interval-ms=3600000",
+            "treasury.journal.enabled=false");
+        webSocketService = context.getBean(WebSocketService.class);
+        bonds = context.getBean(TreasuryDataService.class).getAllBonds();
+
+        SimpleBrokerMessageHandler broker = context.getBean(SimpleBrokerMessageHandler.class);
+        for (int i = 0; i < sessions; i++) {
+            subscribe(broker, "bench-" + i, "market", WebSocketService.MARKET_DATA_TOPIC);
+            subscribe(broker, "bench-" + i, "curve", WebSocketService.YIELD_CURVE_TOPIC);
+        }
+    }
+
+    private static void subscribe(SimpleBrokerMessageHandler broker, String sessionId, String subscriptionId,
+                                  String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public void marketAndCurveUpdate() {
+        webSocketService.sendMarketAndYieldCurveUpdate(bonds);
+    }
+
+    @Benchmark
+    public byte[] encodeOnly() throws IOException {
+        return webSocketService.encode(bonds);
+    }
+}
@@ -0,0 +1,98 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.service.TickDecoder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates random-walk ticks for the on-the-run CUSIPs in the replay wire format,
+ * either into a file for the replay-file source or over UDP loopback to the
+ * replay-udp source:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.maak.treasurydashboard.benchmarks.MarketDataReplayFeed file ticks.csv 1000000
+ * java -cp target/benchmarks.jar com.maak.treasurydashboard.benchmarks.MarketDataReplayFeed udp 9555 200000 60
+ * </pre>
+ *
+ * The UDP mode packs lines into ~1,400 byte datagrams and paces to the requested
+ * ticks per second for the given number of seconds.
+ */
+public final class MarketDataReplayFeed {
+
+    private static final String[] CUSIPS = {"912828YK5", "912828YM1", "912828YN9", "912810TM0"};
+    private static final long[] PRICES = {998_125L, 987_500L, 972_500L, 951_250L};
+    private static final long[] YIELDS = {4_875_000L, 4_625_000L, 4_450_000L, 4_625_000L};
+    private static final int DATAGRAM_PAYLOAD = 1_400;
+
+    private final Random random = new Random(7);
+    private final long[] prices = PRICES.clone();
+    private final long[] yields = YIELDS.clone();
+    private long sequence;
+
+    private MarketDataReplayFeed() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && "file".equals(args[0])) {
+            new MarketDataReplayFeed().writeFile(Path.of(args[1]), Long.parseLong(args[2]));
+        } else if (args.length >= 4 && "udp".equals(args[0])) {
+            new MarketDataReplayFeed().send(Integer.parseInt(args[1]), Long.parseLong(args[2]), Long.parseLong(args[3]));
+        } else {
+            System.err.println("Usage: MarketDataReplayFeed file <path> <ticks>");
+            System.err.println("       MarketDataReplayFeed udp <port> <ticksPerSecond> <seconds>");
+            System.exit(1);
+        }
+    }
+
+    private void writeFile(Path path, long ticks) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            out.write("# CUSIP,price,yield,volume\n".getBytes());
+            for (long i = 0; i < ticks; i++) {
+                out.write(nextLine());
+            }
+        }
+        System.out.println("Wrote " + ticks + " ticks to " + path);
+    }
+
+    private void send(int port, long ticksPerSecond, long seconds) throws IOException {
+        InetSocketAddress target = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        ByteBuffer datagram = ByteBuffer.allocate(DATAGRAM_PAYLOAD + 128);
+        long total = ticksPerSecond * seconds;
+        long start = System.nanoTime();
+        long sent = 0;
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            while (sent < total) {
+                datagram.clear();
+                while (datagram.position() < DATAGRAM_PAYLOAD && sent < total) {
+                    datagram.put(nextLine());
+                    sent++;
+                }
+                datagram.flip();
+                channel.send(datagram, target);
+
+                long wait = start + sent * 1_000_000_000L / ticksPerSecond - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Sent %d ticks in %.2fs (%.0f ticks/s)%n", sent, elapsed, sent / elapsed);
+    }
+
+    private byte[] nextLine() {
+        int i = (int) (sequence++ & 3);
+        prices[i] += Math.round(random.nextGaussian() * 5);
+        yields[i] += Math.round(random.nextGaussian() * 50);
+        return TickDecoder.formatBytes(CUSIPS[i], prices[i], yields[i], 100 + random.nextInt(1000), 0L);
+    }
+}
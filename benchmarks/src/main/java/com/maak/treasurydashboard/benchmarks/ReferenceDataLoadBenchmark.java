@@ -0,0 +1,143 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.service.MarketDataStore;
+import com.maak.treasurydashboard.service.ReferenceDataParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the instrument universe at startup. {@code parse} streams a synthetic
+ * security master of {@code securities} rows through {@link ReferenceDataParser};
+ * {@code startup} boots the backend against the same file, which parses it,
+ * batch-inserts it, interns every CUSIP and builds the quote book. After each
+ * startup the heap retained by the running context, measured after a GC against the
+ * heap before it started, is printed. Compare 4 (the size of the bundled file) with 10,000.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceDataLoadBenchmark {
+
+    // Original terms by type; TIPS and FRNs share terms with the nominal curve but never set a pillar
+    private static final String[][] TERMS = {
+        {"BILL", "4W"}, {"BILL", "13W"}, {"BILL", "26W"}, {"BILL", "52W"},
+        {"NOTE", "2Y"}, {"NOTE", "3Y"}, {"NOTE", "5Y"}, {"NOTE", "7Y"}, {"NOTE", "10Y"},
+        {"BOND", "20Y"}, {"BOND", "30Y"}, {"TIPS", "10Y"}, {"FRN", "2Y"}
+    };
+
+    @Param({"4", "1000", "10000"})
+    private int securities;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("treasuries-" + securities + "-", ".csv");
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write("cusip,type,maturity,maturityDate,coupon,price,yield\n");
+            for (int i = 0; i < securities; i++) {
+                String[] term = TERMS[i % TERMS.length];
+                int termDays = termDays(term[1]);
+                LocalDate maturityDate = today.plusDays(1 + random.nextInt(termDays));
+                double coupon = "BILL".equals(term[0]) ? 0.0 : 0.125 * (8 + random.nextInt(32));
+                double yield = 3.5 + random.nextDouble() * 1.5;
+                double price = 90.0 + random.nextDouble() * 15.0;
+                out.write(String.format(Locale.ROOT, "9128%05d,%s,%s,%s,%.3f,%.4f,%.3f%n",
+                    i, term[0], term[1], maturityDate, coupon, price, yield));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public long parse() throws IOException {
+        ReferenceDataParser parser = new ReferenceDataParser();
+        long[] count = new long[1];
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            parser.parse(reader, bond -> count[0]++);
+        }
+        return count[0];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext startup(Startup startup) {
+        startup.context = BackendContext.start(
+            "treasury.refdata.file=" + file.toUri(),
+            "treasury.marketdata.simulator.interval-ms=3600000",
+            "treasury.journal.enabled=false");
+        return startup.context;
+    }
+
+    // Per-invocation heap accounting, kept off the parse benchmark
+    @State(Scope.Thread)
+    public static class Startup {
+        ConfigurableApplicationContext context;
+        long heapBefore;
+
+        @Setup(Level.Invocation)
+        public void measureHeapBefore() {
+            heapBefore = usedHeapAfterGc();
+        }
+
+        @TearDown(Level.Invocation)
+        public void stopContext() {
+            if (context == null) {
+                return;
+            }
+            int loaded = context.getBean(MarketDataStore.class).size();
+            long retained = usedHeapAfterGc() - heapBefore;
+            System.out.printf("%n%d securities loaded, %.1f MB retained (%.0f bytes per security)%n",
+                loaded, retained / (1024.0 * 1024.0), loaded > 0 ? retained / (double) loaded : 0.0);
+            context.close();
+            context = null;
+        }
+    }
+
+    private static int termDays(String term) {
+        int n = Integer.parseInt(term.substring(0, term.length() - 1));
+        return term.endsWith("W") ? n * 7 : n * 365;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
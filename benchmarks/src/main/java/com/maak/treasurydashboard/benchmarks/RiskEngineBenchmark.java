@@ -0,0 +1,78 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.service.CashflowSchedule;
+import com.maak.treasurydashboard.service.RiskCalculator;
+import com.maak.treasurydashboard.service.RiskResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One risk tick over universes of 4 (today's on-the-run set), 400 and 4,000 bonds:
+ * sequential and fork/join evaluation over a reused schedule, plus the cost of
+ * rebuilding the schedule every tick for comparison. Bonds are seasoned, with a random
+ * time left to maturity within their tenor, so most start with a stub period as in
+ * production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RiskEngineBenchmark {
+
+    private static final int[] TENOR_YEARS = {2, 3, 5, 7, 10, 20, 30};
+
+    @Param({"4", "400", "4000"})
+    public int instruments;
+
+    private String[] cusips;
+    private double[] yearsToMaturity;
+    private double[] coupons;
+    private double[] yields;
+    private CashflowSchedule schedule;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cusips = new String[instruments];
+        yearsToMaturity = new double[instruments];
+        coupons = new double[instruments];
+        yields = new double[instruments];
+        for (int i = 0; i < instruments; i++) {
+            cusips[i] = String.format("9128%05d", i);
+            yearsToMaturity[i] = TENOR_YEARS[i % TENOR_YEARS.length] * (0.01 + 0.99 * random.nextDouble());
+            coupons[i] = 3.5 + random.nextInt(12) * 0.125;
+            yields[i] = 4.0 + random.nextGaussian() * 0.5;
+        }
+        schedule = CashflowSchedule.build(cusips, yearsToMaturity, coupons);
+    }
+
+    @Benchmark
+    public RiskResult sequential() {
+        return RiskCalculator.evaluate(schedule, yields, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public RiskResult forkJoin() {
+        return RiskCalculator.evaluate(schedule, yields, 0);
+    }
+
+    @Benchmark
+    public RiskResult rebuildScheduleEachTick() {
+        CashflowSchedule fresh = CashflowSchedule.build(cusips, yearsToMaturity, coupons);
+        return RiskCalculator.evaluate(fresh, yields, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,176 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import com.maak.treasurydashboard.service.MarketDataRouter;
+import com.maak.treasurydashboard.service.MarketDataStore;
+import com.maak.treasurydashboard.service.WebSocketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.AbstractMessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One tick of {@code ticked} quotes out of a {@code universe}-bond book, delivered to
+ * 500 STOMP sessions that each watch five random CUSIPs. In {@code global} mode every
+ * session is on {@code /topic/market-data} and gets the whole tick, which is how the
+ * feed worked before per-CUSIP topics. In {@code perCusip} mode each session holds five
+ * {@code /topic/market-data/{cusip}} subscriptions and {@link MarketDataRouter} sends
+ * only the watched quotes.
+ *
+ * <p>The score is publisher CPU per tick: encoding, broker fan-out and the hand-off
+ * to the session queues. Outbound bytes and frames per tick, counted as the broker
+ * emits them, are printed at the end of each trial. Sessions have no socket behind
+ * them, so network writes are not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+
+    private static final int SESSIONS = 500;
+    private static final int WATCHED_PER_SESSION = 5;
+    private static final String[] MATURITIES = {"2Y", "5Y", "10Y", "30Y"};
+
+    @Param({"global", "perCusip"})
+    private String mode;
+
+    @Param({"400"})
+    private int universe;
+
+    @Param({"40"})
+    private int ticked;
+
+    private ConfigurableApplicationContext context;
+    private WebSocketService webSocketService;
+    private MarketDataRouter marketDataRouter;
+    private List<BondQuote> tick;
+
+    private final LongAdder outboundBytes = new LongAdder();
+    private final LongAdder outboundFrames = new LongAdder();
+    private long ticks;
+
+    @Setup
+    public void start() {
+        context = BackendContext.start(
+            "treasury.marketdata.simulator.interval-ms=3600000",
+            "treasury.journal.enabled=false");
+        webSocketService = context.getBean(WebSocketService.class);
+        marketDataRouter = context.getBean(MarketDataRouter.class);
+        MarketDataStore store = context.getBean(MarketDataStore.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TreasuryBond> bonds = new ArrayList<>(universe);
+        for (int i = 0; i < universe; i++) {
+            BigDecimal price = new BigDecimal("97.2500").add(BigDecimal.valueOf(i % 100, 4));
+            TreasuryBond bond = new TreasuryBond(String.format("BENCH%04d", i), MATURITIES[i & 3],
+                new BigDecimal("4.450000"), price, new BigDecimal("4.450"),
+                price.subtract(new BigDecimal("0.0063")), price.add(new BigDecimal("0.0062")));
+            bond.setId(10_000L + i);
+            bond.setPriceChange(BigDecimal.ZERO);
+            bond.setYieldChange(BigDecimal.ZERO);
+            bond.setVolume(0L);
+            bond.setLastUpdated(now);
+            bonds.add(bond);
+        }
+        store.load(bonds);
+
+        Random random = new Random(42);
+        tick = new ArrayList<>(ticked);
+        for (int i = 0; i < ticked; i++) {
+            tick.add(store.get(bonds.get(random.nextInt(universe)).getCusip()));
+        }
+
+        SimpleBrokerMessageHandler broker = context.getBean(SimpleBrokerMessageHandler.class);
+        for (int s = 0; s < SESSIONS; s++) {
+            String sessionId = "bench-" + s;
+            if ("global".equals(mode)) {
+                subscribe(broker, sessionId, "all", WebSocketService.MARKET_DATA_TOPIC);
+                continue;
+            }
+            for (int w = 0; w < WATCHED_PER_SESSION; w++) {
+                String cusip = bonds.get(random.nextInt(universe)).getCusip();
+                subscribe(broker, sessionId, "watch-" + w, MarketDataRouter.CUSIP_TOPIC_PREFIX + cusip);
+            }
+        }
+
+        // First in the chain, so it sees every frame before the session queues conflate
+        AbstractMessageChannel outbound = context.getBean("clientOutboundChannel", AbstractMessageChannel.class);
+        outbound.addInterceptor(0, new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (message.getPayload() instanceof byte[] payload
+                        && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    outboundBytes.add(payload.length);
+                    outboundFrames.increment();
+                }
+                return message;
+            }
+        });
+    }
+
+    // Registers the subscription with the broker and, as the STOMP handler would, announces it
+    private void subscribe(SimpleBrokerMessageHandler broker, String sessionId, String subscriptionId,
+                           String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        broker.handleMessage(message);
+        context.publishEvent(new SessionSubscribeEvent(this, message));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (ticks > 0) {
+            System.out.printf("%n%s: %d outbound bytes and %.1f frames per tick%n", mode,
+                outboundBytes.sum() / ticks, outboundFrames.sum() / (double) ticks);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public void tick() {
+        ticks++;
+        if ("global".equals(mode)) {
+            List<TreasuryBond> bonds = new ArrayList<>(tick.size());
+            for (BondQuote quote : tick) {
+                bonds.add(quote.toBond());
+            }
+            webSocketService.sendMarketUpdate(bonds);
+        } else {
+            marketDataRouter.publish(tick);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of the bond and trade lists the backend broadcasts and serves.
+ * {@code writeValueAsBytes} allocates a fresh buffer per call; {@code bondsReusedBuffer}
+ * writes into a retained stream the way {@code WebSocketService.encode} does, so the
+ * gc.alloc.rate.norm difference is the buffer churn saved.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private static final String[] CUSIPS = {"912828YK5", "912828YM1", "912828YN9", "912810TM0"};
+    private static final String[] MATURITIES = {"2Y", "5Y", "10Y", "30Y"};
+
+    @Param({"4", "400", "4000"})
+    private int size;
+
+    // Configured like Spring Boot's auto-configured mapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+
+    private List<TreasuryBond> bonds;
+    private List<Trade> trades;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        bonds = new ArrayList<>(size);
+        trades = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int bond = i & 3;
+            BigDecimal price = new BigDecimal("97.2500").add(BigDecimal.valueOf(i % 100, 4));
+            TreasuryBond treasuryBond = new TreasuryBond(CUSIPS[bond], MATURITIES[bond], new BigDecimal("4.450000"),
+                price, new BigDecimal("4.450"), price.subtract(new BigDecimal("0.0063")),
+                price.add(new BigDecimal("0.0062")));
+            treasuryBond.setId((long) i);
+            treasuryBond.setPriceChange(new BigDecimal("0.0125"));
+            treasuryBond.setYieldChange(new BigDecimal("-0.000400"));
+            treasuryBond.setVolume(1_000_000L * (i + 1));
+            treasuryBond.setLastUpdated(now);
+            bonds.add(treasuryBond);
+
+            Trade trade = TradeFixtures.trade(i);
+            trade.setId((long) i);
+            trade.setTimestamp(now);
+            trade.setStatus("EXECUTED");
+            trades.add(trade);
+        }
+    }
+
+    @Benchmark
+    public byte[] bonds() throws IOException {
+        return objectMapper.writeValueAsBytes(bonds);
+    }
+
+    @Benchmark
+    public byte[] trades() throws IOException {
+        return objectMapper.writeValueAsBytes(trades);
+    }
+
+    @Benchmark
+    public int bondsReusedBuffer() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, bonds);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.service.CusipInterner;
+import com.maak.treasurydashboard.service.MarketTick;
+import com.maak.treasurydashboard.service.TickDecoder;
+import com.maak.treasurydashboard.service.TickRingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Ingest-path cost per tick: decoding one wire-format line into a ring slot, and
+ * decode plus a single-threaded ring hand-off. Run with {@code -prof gc}; steady
+ * state should allocate nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TickDecoderBenchmark {
+
+    private final byte[][] lines = {
+        "912828YK5,99.8125,4.875000,500".getBytes(),
+        "912828YM1,98.7500,4.625000,250".getBytes(),
+        "912828YN9,97.2531,4.451200,1200,1718031600000".getBytes(),
+        "912810TM0,95.1250,4.625000,100".getBytes()
+    };
+
+    private CusipInterner interner;
+    private MarketTick slot;
+    private TickRingBuffer ring;
+    private Consumer<MarketTick> sink;
+    private int cursor;
+
+    @Setup
+    public void setUp(Blackhole bh) {
+        sink = bh::consume;
+        interner = new CusipInterner();
+        slot = new MarketTick();
+        ring = new TickRingBuffer(1024);
+    }
+
+    @Benchmark
+    public long decode() {
+        byte[] line = lines[cursor++ & 3];
+        TickDecoder.decode(line, 0, line.length, interner, slot);
+        return slot.getPrice();
+    }
+
+    @Benchmark
+    public int decodeAndHandOff() {
+        byte[] line = lines[cursor++ & 3];
+        MarketTick claimed = ring.claim();
+        TickDecoder.decode(line, 0, line.length, interner, claimed);
+        ring.commit();
+        return ring.drain(sink, 1);
+    }
+}
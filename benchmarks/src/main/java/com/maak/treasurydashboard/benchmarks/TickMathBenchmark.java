@@ -0,0 +1,93 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.BondQuote;
+import com.maak.treasurydashboard.model.FixedPoint;
+import com.maak.treasurydashboard.model.Security;
+import com.maak.treasurydashboard.service.TickMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-bond tick arithmetic: the fixed-point {@link TickMath} path against the
+ * BigDecimal arithmetic the scheduler used before. Run with {@code -prof gc} to
+ * compare allocation rate (gc.alloc.rate.norm is bytes per tick).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TickMathBenchmark {
+
+    private static final int DRAWS = 1024;
+
+    private final double[] priceMoves = new double[DRAWS];
+    private final double[] yieldMoves = new double[DRAWS];
+    private int cursor;
+
+    private BondQuote quote;
+    private BigDecimal price;
+    private BigDecimal yield;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < DRAWS; i++) {
+            priceMoves[i] = random.nextGaussian() * 0.0005;
+            yieldMoves[i] = random.nextGaussian() * 0.0002;
+        }
+        price = new BigDecimal("97.2500");
+        yield = new BigDecimal("4.450000");
+        Security security = new Security(0, "912828YN9", "NOTE", "10Y", LocalDate.of(2036, 8, 15),
+            new BigDecimal("4.450"));
+        quote = new BondQuote(3L, security,
+            FixedPoint.toPriceUnits(price), FixedPoint.toYieldUnits(yield), 0L, 0L,
+            TickMath.bid(FixedPoint.toPriceUnits(price)), TickMath.ask(FixedPoint.toPriceUnits(price)),
+            0L, System.currentTimeMillis(), 0L);
+    }
+
+    @Benchmark
+    public BondQuote fixedPoint() {
+        int i = cursor++ & (DRAWS - 1);
+        return TickMath.nextQuote(quote, priceMoves[i], yieldMoves[i], 500L, 0L, i);
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole bh) {
+        int i = cursor++ & (DRAWS - 1);
+        BigDecimal newPrice = price.multiply(BigDecimal.ONE.add(BigDecimal.valueOf(priceMoves[i])))
+            .setScale(4, RoundingMode.HALF_UP);
+        BigDecimal newYield = yield.multiply(BigDecimal.ONE.add(BigDecimal.valueOf(yieldMoves[i])))
+            .setScale(6, RoundingMode.HALF_UP);
+
+        BigDecimal priceChange = newPrice.subtract(price);
+        BigDecimal yieldChange = newYield.subtract(yield);
+
+        BigDecimal spread = new BigDecimal("0.0125");
+        BigDecimal bidPrice = newPrice.subtract(spread.divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP));
+        BigDecimal askPrice = newPrice.add(spread.divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP));
+
+        bh.consume(newPrice);
+        bh.consume(newYield);
+        bh.consume(priceChange);
+        bh.consume(yieldChange);
+        bh.consume(bidPrice);
+        bh.consume(askPrice);
+    }
+}
@@ -0,0 +1,68 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.BatchBookingResponse;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.service.TradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trades per second through the single-trade booking path against the batch path,
+ * both writing to H2. Batch scores are normalised per trade via
+ * {@link OperationsPerInvocation}, so the two numbers compare directly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeBookingBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private ConfigurableApplicationContext context;
+    private TradeService tradeService;
+    private int counter;
+
+    @Setup
+    public void start() {
+        context = BackendContext.start();
+        tradeService = context.getBean(TradeService.class);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Trade singleTrade() {
+        return tradeService.bookTrade(TradeFixtures.trade(counter++));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BatchBookingResponse batch() {
+        List<Trade> trades = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            trades.add(TradeFixtures.trade(counter++));
+        }
+        return tradeService.bookTrades(trades);
+    }
+}
@@ -0,0 +1,71 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.repository.TradeRepository;
+import com.maak.treasurydashboard.service.TradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking latency distribution under concurrent load. {@code singleWrite} is the
+ * current {@link TradeService#bookTrade} path; {@code insertThenUpdate} replays the
+ * previous lifecycle (insert as PENDING, then save again as EXECUTED) on the same
+ * schema. SampleTime mode reports p50/p90/p99/p99.9 per method.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeBookingLatencyBenchmark {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+    private TradeService tradeService;
+    private TradeRepository tradeRepository;
+
+    @Setup
+    public void start() {
+        context = BackendContext.start();
+        tradeService = context.getBean(TradeService.class);
+        tradeRepository = context.getBean(TradeRepository.class);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Trade singleWrite() {
+        return tradeService.bookTrade(TradeFixtures.trade(counter.getAndIncrement()));
+    }
+
+    @Benchmark
+    public Trade insertThenUpdate() {
+        Trade trade = TradeFixtures.trade(counter.getAndIncrement());
+        trade.setTimestamp(LocalDateTime.now());
+        trade.setStatus("PENDING");
+        Trade saved = tradeRepository.save(trade);
+        saved.setStatus("EXECUTED");
+        return tradeRepository.save(saved);
+    }
+}
@@ -0,0 +1,24 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.Trade;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+final class TradeFixtures {
+
+    private static final String[] CUSIPS = {"912828YK5", "912828YM1", "912828YN9", "912810TM0"};
+    private static final String[] MATURITIES = {"2Y", "5Y", "10Y", "30Y"};
+    private static final String[] TRADERS = {"JSMITH", "AKUMAR", "MLOPEZ", "TCHEN"};
+    private static final String[] COUNTERPARTIES = {"GS", "JPM", "MS", "CITI", "BARC"};
+
+    private TradeFixtures() {}
+
+    static Trade trade(int n) {
+        int bond = n & 3;
+        return new Trade(CUSIPS[bond], MATURITIES[bond], (n & 1) == 0 ? "BUY" : "SELL",
+            1_000_000L * (1 + n % 25), new BigDecimal("99.812500"), new BigDecimal("4.87500"),
+            COUNTERPARTIES[n % COUNTERPARTIES.length], TRADERS[(n >> 2) % TRADERS.length],
+            null, null, LocalDateTime.now().plusDays(1), new BigDecimal("25.00"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.maak.treasurydashboard.model.Trade;
+import com.maak.treasurydashboard.model.TreasuryBond;
+import com.maak.treasurydashboard.service.BinaryWireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against {@link BinaryWireFormat} for the frames on {@code /topic/market-data}
+ * and {@code /topic/trades}: encode and decode time per frame, with the payload sizes
+ * printed once per trial. The Java decoders stand in for the browser's, which read
+ * the same layout with a {@code DataView} against {@code JSON.parse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    private static final String[] CUSIPS = {"912828YK5", "912828YM1", "912828YN9", "912810TM0"};
+    private static final String[] MATURITIES = {"2Y", "5Y", "10Y", "30Y"};
+
+    private static final TypeReference<List<TreasuryBond>> BOND_LIST = new TypeReference<>() {};
+
+    @Param({"4", "400", "4000"})
+    private int size;
+
+    // Configured like Spring Boot's auto-configured mapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<TreasuryBond> bonds;
+    private Trade trade;
+
+    private byte[] bondsJson;
+    private byte[] bondsBinary;
+    private byte[] tradeJson;
+    private byte[] tradeBinary;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        bonds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int bond = i & 3;
+            BigDecimal price = new BigDecimal("97.2500").add(BigDecimal.valueOf(i % 100, 4));
+            TreasuryBond treasuryBond = new TreasuryBond(CUSIPS[bond], MATURITIES[bond], new BigDecimal("4.450000"),
+                price, new BigDecimal("4.450"), price.subtract(new BigDecimal("0.0063")),
+                price.add(new BigDecimal("0.0062")));
+            treasuryBond.setId((long) i);
+            treasuryBond.setPriceChange(new BigDecimal("0.0125"));
+            treasuryBond.setYieldChange(new BigDecimal("-0.000400"));
+            treasuryBond.setVolume(1_000_000L * (i + 1));
+            treasuryBond.setLastUpdated(now);
+            bonds.add(treasuryBond);
+        }
+        trade = TradeFixtures.trade(7);
+        trade.setId(1_000_007L);
+        trade.setTimestamp(now);
+        trade.setStatus("EXECUTED");
+
+        bondsJson = objectMapper.writeValueAsBytes(bonds);
+        bondsBinary = BinaryWireFormat.encodeBonds(bonds);
+        tradeJson = objectMapper.writeValueAsBytes(trade);
+        tradeBinary = BinaryWireFormat.encodeTrade(trade);
+        System.out.printf("%n%d bonds: JSON %d bytes, binary %d bytes; trade: JSON %d bytes, binary %d bytes%n",
+            size, bondsJson.length, bondsBinary.length, tradeJson.length, tradeBinary.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBondsJson() throws IOException {
+        return objectMapper.writeValueAsBytes(bonds);
+    }
+
+    @Benchmark
+    public byte[] encodeBondsBinary() {
+        return BinaryWireFormat.encodeBonds(bonds);
+    }
+
+    @Benchmark
+    public List<TreasuryBond> decodeBondsJson() throws IOException {
+        return objectMapper.readValue(bondsJson, BOND_LIST);
+    }
+
+    @Benchmark
+    public List<TreasuryBond> decodeBondsBinary() {
+        return BinaryWireFormat.decodeBonds(bondsBinary);
+    }
+
+    @Benchmark
+    public byte[] encodeTradeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(trade);
+    }
+
+    @Benchmark
+    public byte[] encodeTradeBinary() {
+        return BinaryWireFormat.encodeTrade(trade);
+    }
+
+    @Benchmark
+    public Trade decodeTradeJson() throws IOException {
+        return objectMapper.readValue(tradeJson, Trade.class);
+    }
+
+    @Benchmark
+    public Trade decodeTradeBinary() {
+        return BinaryWireFormat.decodeTrade(tradeBinary);
+    }
+}
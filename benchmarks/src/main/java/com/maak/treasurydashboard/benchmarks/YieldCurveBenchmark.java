@@ -0,0 +1,65 @@
+package com.maak.treasurydashboard.benchmarks;
+
+import com.maak.treasurydashboard.model.YieldCurve;
+import com.maak.treasurydashboard.service.YieldCurveBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yield curve costs on a ten-pillar curve: a point query (budget: under 1 microsecond),
+ * an incremental update after one long-end pillar moves, and a full rebuild.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class YieldCurveBenchmark {
+
+    private static final String[] TENORS = {"3M", "6M", "1Y", "2Y", "3Y", "5Y", "7Y", "10Y", "20Y", "30Y"};
+    private static final double[] YEARS = {0.25, 0.5, 1, 2, 3, 5, 7, 10, 20, 30};
+    private static final double[] PAR = {5.30, 5.20, 5.00, 4.875, 4.70, 4.625, 4.55, 4.45, 4.70, 4.625};
+
+    private YieldCurveBuilder builder;
+    private YieldCurve curve;
+    private double[] yields;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        builder = new YieldCurveBuilder(TENORS, YEARS);
+        builder.rebuild(PAR);
+        curve = builder.snapshot(0L);
+        yields = PAR.clone();
+    }
+
+    @Benchmark
+    public double pointQuery() {
+        double years = 0.1 + (cursor++ & 255) * 0.117;
+        return curve.zeroRateAt(years) + curve.parYieldAt(years);
+    }
+
+    @Benchmark
+    public boolean incrementalUpdate() {
+        // Alternate the 20Y pillar so every call has something to recompute
+        yields[8] = (cursor++ & 1) == 0 ? 4.71 : 4.70;
+        return builder.update(yields);
+    }
+
+    @Benchmark
+    public void fullRebuild() {
+        yields[8] = (cursor++ & 1) == 0 ? 4.71 : 4.70;
+        builder.rebuild(yields);
+    }
+}
@@ -0,0 +1,41 @@
+import { TreasuryBond } from './treasury-bond.model';
+
+// Field flags carried in BondDelta.mask (mirrors BondDelta.java)
+export const DeltaField = {
+  PRICE: 1,
+  YIELD: 1 << 1,
+  PRICE_CHANGE: 1 << 2,
+  YIELD_CHANGE: 1 << 3,
+  BID_PRICE: 1 << 4,
+  ASK_PRICE: 1 << 5,
+  VOLUME: 1 << 6,
+  LAST_UPDATED: 1 << 7,
+  REFERENCE: 1 << 8
+};
+
+export interface BondDelta {
+  cusip: string;
+  mask: number;
+  id?: number;
+  maturity?: string;
+  coupon?: number;
+  price?: number;
+  yield?: number;
+  priceChange?: number;
+  yieldChange?: number;
+  bidPrice?: number;
+  askPrice?: number;
+  volume?: number;
+  lastUpdated?: string;
+}
+
+export interface MarketDataDelta {
+  sequence: number;
+  timestamp: number;
+  changes: BondDelta[];
+}
+
+export interface MarketDataSnapshot {
+  sequence: number;
+  bonds: TreasuryBond[];
+}
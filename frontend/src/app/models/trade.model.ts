@@ -12,4 +12,15 @@ export interface Trade {
   status: 'PENDING' | 'EXECUTED' | 'CANCELLED' | 'FAILED';
   settlementDate: string;
   commission?: number;
+  version?: number;
+}
+
+// Terms that may change after booking; omitted fields are kept
+export interface TradeAmendment {
+  quantity?: number;
+  price?: number;
+  yield?: number;
+  settlementDate?: string;
+  commission?: number;
+  version?: number;
 }
@@ -2,6 +2,8 @@ export interface TreasuryBond {
   id: number;
   cusip: string;
   maturity: string;
+  maturityDate?: string;
+  securityType?: string;
   yield: number;
   price: number;
   coupon: number;
@@ -0,0 +1,4 @@
+export interface Watchlist {
+  name: string;
+  cusips: string[];
+}
@@ -0,0 +1,116 @@
+import { IMessage } from '@stomp/stompjs';
+import { TreasuryBond } from '../models/treasury-bond.model';
+import { Trade } from '../models/trade.model';
+
+// Decoder for the backend's binary frames (layout documented in BinaryWireFormat.java).
+// Little-endian; a u8 kind, u8 version and u16 record count precede the records.
+const KIND_BONDS = 1;
+const KIND_TRADE = 2;
+const VERSION = 1;
+
+const PRICE_SCALE = 10_000;
+const YIELD_SCALE = 1_000_000;
+const TRADE_SCALE = 1_000_000;
+const NO_COMMISSION = -(2n ** 63n);
+
+const utf8 = new TextDecoder();
+
+export function isBinaryFrame(message: IMessage): boolean {
+  return message.headers['content-type'] === 'application/octet-stream';
+}
+
+export function decodeBonds(bytes: Uint8Array): TreasuryBond[] {
+  const reader = new FrameReader(bytes);
+  const count = reader.header(KIND_BONDS);
+  const bonds: TreasuryBond[] = new Array(count);
+  for (let i = 0; i < count; i++) {
+    bonds[i] = {
+      id: reader.i64(),
+      cusip: reader.str(),
+      maturity: reader.str(),
+      coupon: reader.i32() / YIELD_SCALE,
+      price: reader.i32() / PRICE_SCALE,
+      yield: reader.i32() / YIELD_SCALE,
+      priceChange: reader.i32() / PRICE_SCALE,
+      yieldChange: reader.i32() / YIELD_SCALE,
+      bidPrice: reader.i32() / PRICE_SCALE,
+      askPrice: reader.i32() / PRICE_SCALE,
+      volume: reader.i64(),
+      lastUpdated: reader.time()!
+    };
+  }
+  return bonds;
+}
+
+export function decodeTrade(bytes: Uint8Array): Trade {
+  const reader = new FrameReader(bytes);
+  reader.header(KIND_TRADE);
+  const trade: Trade = {
+    id: String(reader.i64()),
+    cusip: reader.str(),
+    maturity: reader.str(),
+    side: reader.str() as Trade['side'],
+    quantity: reader.i64(),
+    price: reader.i64() / TRADE_SCALE,
+    yield: reader.i64() / TRADE_SCALE,
+    counterparty: reader.str(),
+    trader: reader.str(),
+    timestamp: reader.time()!,
+    status: reader.str() as Trade['status'],
+    settlementDate: reader.time()!
+  };
+  const commission = reader.bigI64();
+  if (commission !== NO_COMMISSION) {
+    trade.commission = Number(commission) / 100;
+  }
+  return trade;
+}
+
+class FrameReader {
+  private readonly view: DataView;
+  private offset = 0;
+
+  constructor(private readonly bytes: Uint8Array) {
+    this.view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+  }
+
+  header(kind: number): number {
+    const actualKind = this.view.getUint8(0);
+    const version = this.view.getUint8(1);
+    if (actualKind !== kind || version !== VERSION) {
+      throw new Error(`Unexpected frame kind ${actualKind} version ${version}`);
+    }
+    this.offset = 4;
+    return this.view.getUint16(2, true);
+  }
+
+  i32(): number {
+    const value = this.view.getInt32(this.offset, true);
+    this.offset += 4;
+    return value;
+  }
+
+  bigI64(): bigint {
+    const value = this.view.getBigInt64(this.offset, true);
+    this.offset += 8;
+    return value;
+  }
+
+  // Ids, volumes and millis stay well inside Number's exact range
+  i64(): number {
+    return Number(this.bigI64());
+  }
+
+  str(): string {
+    const length = this.view.getUint8(this.offset);
+    const start = this.offset + 1;
+    this.offset = start + length;
+    return utf8.decode(this.bytes.subarray(start, start + length));
+  }
+
+  // Wall-clock millis read as UTC, back to the local date-time string the JSON carries
+  time(): string | null {
+    const millis = this.i64();
+    return millis === 0 ? null : new Date(millis).toISOString().slice(0, 23);
+  }
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, Subject } from 'rxjs';
-import { Trade } from '../models/trade.model';
+import { Trade, TradeAmendment } from '../models/trade.model';
 
 @Injectable({
   providedIn: 'root'
@@ -32,8 +32,14 @@ export class TradeBookingService {
     return this.http.get<Trade>(`${this.apiUrl}/trades/${id}`);
   }
 
-  cancelTrade(id: string): Observable<Trade> {
-    return this.http.put<Trade>(`${this.apiUrl}/trades/${id}/cancel`, {});
+  // With a version, a 409 comes back if the trade has changed since; its body is the current trade
+  cancelTrade(id: string, version?: number): Observable<Trade> {
+    const query = version !== undefined ? `?version=${version}` : '';
+    return this.http.put<Trade>(`${this.apiUrl}/trades/${id}/cancel${query}`, {});
+  }
+
+  amendTrade(id: string, amendment: TradeAmendment): Observable<Trade> {
+    return this.http.put<Trade>(`${this.apiUrl}/trades/${id}/amend`, amendment);
   }
 
   getTradesByStatus(status: string): Observable<Trade[]> {
@@ -1,9 +1,20 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable, Subject } from 'rxjs';
+import { Observable, Subject, from, merge } from 'rxjs';
+import { mergeMap } from 'rxjs/operators';
 import { TreasuryBond } from '../models/treasury-bond.model';
+import { BondDelta, DeltaField, MarketDataDelta, MarketDataSnapshot } from '../models/market-data-delta.model';
+import { Trade } from '../models/trade.model';
+import { Watchlist } from '../models/watchlist.model';
+import { decodeBonds, decodeTrade, isBinaryFrame } from './binary-wire-format';
 import * as SockJS from 'sockjs-client';
-import { Client } from '@stomp/stompjs';
+import { Client, IMessage, StompSubscription } from '@stomp/stompjs';
+
+// 'full' receives the whole bond list every tick; 'delta' applies sequence-numbered changes to a snapshot
+export type MarketDataFeedMode = 'full' | 'delta';
+
+// 'binary' connects to /ws-native and asks for compact binary frames on the market-data, yield-curve and trade topics
+export type WireFormat = 'json' | 'binary';
 
 @Injectable({
   providedIn: 'root'
@@ -11,8 +22,19 @@ import { Client } from '@stomp/stompjs';
 export class TreasuryService {
   private apiUrl = 'http://localhost:8086/api/treasury';
   private wsUrl = 'http://localhost:8086/ws';
+  private nativeWsUrl = 'ws://localhost:8086/ws-native';
+  private wireFormat: WireFormat = 'json';
   private stompClient: Client | null = null;
   private marketDataSubject = new Subject<TreasuryBond[]>();
+  private feedMode: MarketDataFeedMode = 'full';
+  private feedSubscriptions: StompSubscription[] = [];
+  // Per-bond and watchlist subscriptions, re-made on every (re)connect
+  private topicWatchers = new Set<() => void>();
+
+  // Delta feed state: lastSequence is -1 while waiting for a snapshot
+  private bonds = new Map<string, TreasuryBond>();
+  private lastSequence = -1;
+  private pendingDeltas: MarketDataDelta[] = [];
   
   public marketData$ = this.marketDataSubject.asObservable();
 
@@ -33,9 +55,89 @@ export class TreasuryService {
     return this.http.post<string>(`${this.apiUrl}/initialize`, {});
   }
 
+  getWatchlists(): Observable<Watchlist[]> {
+    return this.http.get<Watchlist[]>(`${this.apiUrl}/watchlists`);
+  }
+
+  saveWatchlist(name: string, cusips: string[]): Observable<Watchlist> {
+    return this.http.put<Watchlist>(`${this.apiUrl}/watchlists/${name}`, cusips);
+  }
+
+  deleteWatchlist(name: string): Observable<void> {
+    return this.http.delete<void>(`${this.apiUrl}/watchlists/${name}`);
+  }
+
+  // Quotes for one bond, sent only when it ticks; unsubscribe to stop them
+  watchBond(cusip: string): Observable<TreasuryBond> {
+    return this.watchTopic<TreasuryBond>(`/topic/market-data/${cusip}`);
+  }
+
+  // Every member of the watchlist, re-sent whenever one of them ticks
+  watchWatchlist(name: string): Observable<TreasuryBond[]> {
+    return this.watchTopic<TreasuryBond[]>(`/topic/watchlist/${name}`);
+  }
+
+  // Booked, amended and cancelled trades as they happen, including trades booked in batches
+  watchTrades(): Observable<Trade> {
+    return merge(
+      this.watchTopic<Trade>('/topic/trades',
+        message => isBinaryFrame(message) ? decodeTrade(message.binaryBody) : JSON.parse(message.body)),
+      // Batch bookings arrive as one JSON array per batch
+      this.watchTopic<Trade[]>('/topic/trades/batch').pipe(mergeMap(trades => from(trades))));
+  }
+
+  private watchTopic<T>(destination: string,
+                        parse: (message: IMessage) => T = message => JSON.parse(message.body)): Observable<T> {
+    return new Observable<T>(observer => {
+      let subscription: StompSubscription | null = null;
+      const subscribe = () => {
+        subscription = this.stompClient!.subscribe(destination, (message: IMessage) => {
+          try {
+            observer.next(parse(message));
+          } catch (error) {
+            console.error(`Error parsing ${destination} message:`, error);
+          }
+        });
+      };
+      this.topicWatchers.add(subscribe);
+      if (this.stompClient?.connected) {
+        subscribe();
+      }
+      return () => {
+        this.topicWatchers.delete(subscribe);
+        if (this.stompClient?.connected) {
+          subscription?.unsubscribe();
+        }
+      };
+    });
+  }
+
+  setFeedMode(mode: MarketDataFeedMode): void {
+    if (mode === this.feedMode) {
+      return;
+    }
+    this.feedMode = mode;
+    if (this.stompClient?.connected) {
+      this.subscribeMarketData();
+    }
+  }
+
+  setWireFormat(format: WireFormat): void {
+    if (format === this.wireFormat) {
+      return;
+    }
+    this.wireFormat = format;
+    this.stompClient?.deactivate();
+    this.feedSubscriptions = [];
+    this.initializeWebSocket();
+  }
+
   private initializeWebSocket(): void {
+    const binary = this.wireFormat === 'binary';
     this.stompClient = new Client({
-      webSocketFactory: () => new SockJS(this.wsUrl),
+      // SockJS frames are text, so binary frames need a plain WebSocket
+      webSocketFactory: () => binary ? new WebSocket(this.nativeWsUrl) : new SockJS(this.wsUrl),
+      connectHeaders: binary ? { 'x-wire-format': 'binary' } : {},
       debug: (str: string) => {
         console.log('STOMP: ' + str);
       },
@@ -44,31 +146,8 @@ export class TreasuryService {
       heartbeatOutgoing: 4000,
       onConnect: (frame: any) => {
         console.log('WebSocket Connected: ' + frame);
-        console.log('Subscribing to /topic/market-data');
-        
-        this.stompClient?.subscribe('/topic/market-data', (message: any) => {
-          console.log('WebSocket: Received market data message:', message);
-          try {
-            const bonds: TreasuryBond[] = JSON.parse(message.body);
-            console.log('WebSocket: Parsed bonds data:', bonds);
-            this.marketDataSubject.next(bonds);
-          } catch (error) {
-            console.error('WebSocket: Error parsing message:', error);
-          }
-        });
-
-        // Also subscribe to yield curve updates (same data, different topic)
-        this.stompClient?.subscribe('/topic/yield-curve', (message: any) => {
-          console.log('WebSocket: Received yield curve message:', message);
-          try {
-            const bonds: TreasuryBond[] = JSON.parse(message.body);
-            console.log('WebSocket: Parsed yield curve data:', bonds);
-            this.marketDataSubject.next(bonds);
-          } catch (error) {
-            console.error('WebSocket: Error parsing yield curve message:', error);
-          }
-        });
-        
+        this.subscribeMarketData();
+        this.topicWatchers.forEach(subscribe => subscribe());
         console.log('WebSocket subscription established');
       },
       onStompError: (error: any) => {
@@ -84,6 +163,127 @@ export class TreasuryService {
     this.stompClient.activate();
   }
 
+  private subscribeMarketData(): void {
+    this.feedSubscriptions.forEach(subscription => subscription.unsubscribe());
+    this.feedSubscriptions = [];
+    if (this.feedMode === 'delta') {
+      this.subscribeDeltaFeed();
+    } else {
+      this.subscribeFullFeed();
+    }
+  }
+
+  private subscribeFullFeed(): void {
+    console.log('Subscribing to /topic/market-data');
+    
+    this.feedSubscriptions.push(this.stompClient!.subscribe('/topic/market-data', (message: any) => {
+      console.log('WebSocket: Received market data message:', message);
+      try {
+        const bonds = this.parseBonds(message);
+        console.log('WebSocket: Parsed bonds data:', bonds);
+        this.marketDataSubject.next(bonds);
+      } catch (error) {
+        console.error('WebSocket: Error parsing message:', error);
+      }
+    }));
+
+    // Also subscribe to yield curve updates (same data, different topic)
+    this.feedSubscriptions.push(this.stompClient!.subscribe('/topic/yield-curve', (message: any) => {
+      console.log('WebSocket: Received yield curve message:', message);
+      try {
+        const bonds = this.parseBonds(message);
+        console.log('WebSocket: Parsed yield curve data:', bonds);
+        this.marketDataSubject.next(bonds);
+      } catch (error) {
+        console.error('WebSocket: Error parsing yield curve message:', error);
+      }
+    }));
+  }
+
+  private parseBonds(message: IMessage): TreasuryBond[] {
+    return isBinaryFrame(message) ? decodeBonds(message.binaryBody) : JSON.parse(message.body);
+  }
+
+  private subscribeDeltaFeed(): void {
+    console.log('Subscribing to /topic/market-data-delta');
+    this.pendingDeltas = [];
+    this.feedSubscriptions.push(this.stompClient!.subscribe('/topic/market-data-delta', (message: any) => {
+      try {
+        this.onDelta(JSON.parse(message.body));
+      } catch (error) {
+        console.error('WebSocket: Error parsing market delta:', error);
+      }
+    }));
+    this.requestSnapshot();
+  }
+
+  // Deltas that arrive before the snapshot are buffered and replayed on top of it
+  private requestSnapshot(): void {
+    this.lastSequence = -1;
+    const subscription = this.stompClient!.subscribe('/app/market-data/snapshot', (message: any) => {
+      subscription.unsubscribe();
+      const snapshot: MarketDataSnapshot = JSON.parse(message.body);
+      this.bonds = new Map(snapshot.bonds.map(bond => [bond.cusip, bond] as [string, TreasuryBond]));
+      this.lastSequence = snapshot.sequence;
+      const pending = this.pendingDeltas;
+      this.pendingDeltas = [];
+      pending.forEach(delta => this.applyFrame(delta));
+      this.marketDataSubject.next(Array.from(this.bonds.values()));
+    });
+  }
+
+  private onDelta(delta: MarketDataDelta): void {
+    if (this.lastSequence < 0) {
+      this.pendingDeltas.push(delta);
+      return;
+    }
+    if (this.applyFrame(delta)) {
+      this.marketDataSubject.next(Array.from(this.bonds.values()));
+    }
+  }
+
+  private applyFrame(delta: MarketDataDelta): boolean {
+    if (this.lastSequence < 0) {
+      this.pendingDeltas.push(delta);
+      return false;
+    }
+    if (delta.sequence <= this.lastSequence) {
+      return false; // already reflected in the snapshot
+    }
+    if (delta.sequence !== this.lastSequence + 1 || !delta.changes.every(change => this.applyChange(change))) {
+      console.warn(`Market delta gap: expected ${this.lastSequence + 1}, got ${delta.sequence}; resyncing`);
+      this.requestSnapshot();
+      this.pendingDeltas.push(delta);
+      return false;
+    }
+    this.lastSequence = delta.sequence;
+    return true;
+  }
+
+  private applyChange(change: BondDelta): boolean {
+    const current = this.bonds.get(change.cusip);
+    if (!current && !(change.mask & DeltaField.REFERENCE)) {
+      return false;
+    }
+    // Replace rather than mutate so components see a new object
+    const bond = { ...(current ?? { cusip: change.cusip }) } as TreasuryBond;
+    if (change.mask & DeltaField.REFERENCE) {
+      bond.id = change.id!;
+      bond.maturity = change.maturity!;
+      bond.coupon = change.coupon!;
+    }
+    if (change.mask & DeltaField.PRICE) bond.price = change.price!;
+    if (change.mask & DeltaField.YIELD) bond.yield = change.yield!;
+    if (change.mask & DeltaField.PRICE_CHANGE) bond.priceChange = change.priceChange!;
+    if (change.mask & DeltaField.YIELD_CHANGE) bond.yieldChange = change.yieldChange!;
+    if (change.mask & DeltaField.BID_PRICE) bond.bidPrice = change.bidPrice!;
+    if (change.mask & DeltaField.ASK_PRICE) bond.askPrice = change.askPrice!;
+    if (change.mask & DeltaField.VOLUME) bond.volume = change.volume!;
+    if (change.mask & DeltaField.LAST_UPDATED) bond.lastUpdated = change.lastUpdated!;
+    this.bonds.set(change.cusip, bond);
+    return true;
+  }
+
   disconnect(): void {
     if (this.stompClient) {
       this.stompClient.deactivate();
@@ -0,0 +1,190 @@
+package com.maak.treasurydashboard.loadtest;
+
+import com.maak.treasurydashboard.service.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop REST load test: each simulated client sends a request, waits for the
+ * response and immediately sends the next. Clients are asynchronous HttpClient
+ * chains rather than threads, so 10k clients need 10k sockets but not 10k threads.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --label platform --scenarios book,list --clients 1000,10000 --duration 30
+ * </pre>
+ *
+ * Options: {@code --base-url} (http://localhost:8086), {@code --scenarios} (book: POST
+ * /trades/book, list: GET /trades, lookup: GET /trades/{id} over IDs 1 to
+ * {@code --lookup-ids}, default 1000, so book that many first), {@code --clients},
+ * {@code --warmup} and {@code --duration} in seconds, {@code --label} for the results table and
+ * {@code --csv} to append results to a file. Run once against the default backend and
+ * once against the virtual-threads profile with a different label, then compare.
+ */
+public final class RestLoadTest {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int lookupIds;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean recording;
+    private volatile boolean stopping;
+
+    private RestLoadTest(String baseUrl, int lookupIds, ExecutorService callbacks) {
+        this.baseUrl = baseUrl;
+        this.lookupIds = lookupIds;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(callbacks)
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8086");
+        String label = options.getOrDefault("label", "run");
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "30"));
+        String csv = options.get("csv");
+        int lookupIds = Integer.parseInt(options.getOrDefault("lookup-ids", "1000"));
+
+        // Sockets per client are kept open for the whole run
+        System.setProperty("jdk.httpclient.keepalive.timeout", "120");
+        ExecutorService callbacks = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        List<String> rows = new ArrayList<>();
+        try {
+            for (String scenario : options.getOrDefault("scenarios", "book,list").split(",")) {
+                for (String clients : options.getOrDefault("clients", "1000,10000").split(",")) {
+                    RestLoadTest test = new RestLoadTest(baseUrl, lookupIds, callbacks);
+                    String row = test.run(label, scenario.trim(), Integer.parseInt(clients.trim()), warmup, duration);
+                    System.out.println(row);
+                    rows.add(row);
+                    // Let the server close idle sockets before the next run
+                    Thread.sleep(5_000);
+                }
+            }
+        } finally {
+            callbacks.shutdownNow();
+        }
+
+        System.out.println();
+        System.out.println(header());
+        rows.forEach(System.out::println);
+        if (csv != null) {
+            Path path = Path.of(csv);
+            if (!Files.exists(path)) {
+                Files.writeString(path, header() + System.lineSeparator());
+            }
+            Files.write(path, rows, StandardOpenOption.APPEND);
+        }
+    }
+
+    private String run(String label, String scenario, int clients, long warmupSeconds, long durationSeconds)
+            throws InterruptedException {
+        System.out.printf("%s: %s with %d clients, %ds warm-up, %ds measured%n", label, scenario, clients,
+            warmupSeconds, durationSeconds);
+        CountDownLatch stopped = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            new ClientLoop(scenario, i, stopped).next();
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        latency.reset();
+        completed.set(0);
+        errors.set(0);
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+        recording = false;
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        stopping = true;
+        if (!stopped.await(60, TimeUnit.SECONDS)) {
+            System.err.println("Some clients were still waiting on responses after 60s");
+        }
+
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%.0f,%d,%.2f,%.2f,%.2f,%.2f,%.2f", label, scenario, clients,
+            completed.get(), completed.get() / elapsed, errors.get(), latency.valueAt(0.50) / 1e6,
+            latency.valueAt(0.90) / 1e6, latency.valueAt(0.99) / 1e6, latency.valueAt(0.999) / 1e6,
+            latency.valueAt(1.0) / 1e6);
+    }
+
+    private static String header() {
+        return "label,scenario,clients,requests,requestsPerSecond,errors,p50Ms,p90Ms,p99Ms,p999Ms,maxMs";
+    }
+
+    private HttpRequest request(String scenario, int client, long n) {
+        switch (scenario) {
+            case "list":
+                return TradeRequests.get(baseUrl, "/api/treasury/trades");
+            case "book":
+                return TradeRequests.book(baseUrl, client, n, 1_000_000L * (1 + n % 25));
+            case "lookup":
+                // Strided so concurrent clients spread over the ID range
+                return TradeRequests.get(baseUrl, "/api/treasury/trades/" + (1 + (client + n * 7919) % lookupIds));
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private final class ClientLoop {
+        private final String scenario;
+        private final int id;
+        private final CountDownLatch stopped;
+        private long sent;
+
+        ClientLoop(String scenario, int id, CountDownLatch stopped) {
+            this.scenario = scenario;
+            this.id = id;
+            this.stopped = stopped;
+        }
+
+        void next() {
+            if (stopping) {
+                stopped.countDown();
+                return;
+            }
+            long start = System.nanoTime();
+            client.sendAsync(request(scenario, id, sent++), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (recording) {
+                        latency.record(System.nanoTime() - start);
+                        completed.incrementAndGet();
+                        if (error != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    next();
+                });
+        }
+    }
+
+    static Map<String, String> parse(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IOException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,428 @@
+package com.maak.treasurydashboard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maak.treasurydashboard.service.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end WebSocket load: N blotter clients subscribed to market data, the yield
+ * curve and trades over STOMP while trades are booked over REST at a fixed rate.
+ *
+ * <pre>
+ * java -cp target/loadtest.jar com.maak.treasurydashboard.loadtest.StompLoadTest --sessions 500 --book-rate 50 --duration 60
+ * </pre>
+ *
+ * Options: {@code --base-url} (http://localhost:8086), {@code --sessions},
+ * {@code --book-rate} (trades per second), {@code --warmup}, {@code --duration} and
+ * {@code --drain} (seconds to wait for late trade broadcasts), {@code --label} and
+ * {@code --csv}.
+ *
+ * <p>Sessions connect to SockJS's raw WebSocket transport, {@code /ws/websocket}. Reported:
+ * <ul>
+ *   <li>tick-to-client: receive time minus the newest {@code lastUpdated} in each
+ *       market-data frame. This includes conflation up to the publish interval, and
+ *       only makes sense with the client on the server's host (same clock and zone).</li>
+ *   <li>book-to-broadcast: booking request sent to the trade arriving on
+ *       {@code /topic/trades}. Each booked trade has a unique quantity to match on.</li>
+ *   <li>trade loss: broadcasts missing for trades booked during the measurement, over
+ *       all sessions. Trades are never conflated, so anything missing is lost.</li>
+ *   <li>market-data frames per session against the server's published ticks (from
+ *       {@code /metrics/broadcast}). A shortfall is server-side conflation for a
+ *       client that fell behind, not necessarily loss.</li>
+ *   <li>server heap and GC, polled from {@code /api/treasury/metrics} every second.</li>
+ * </ul>
+ */
+public final class StompLoadTest {
+
+    private static final String MARKET_DATA = "/topic/market-data";
+    private static final String YIELD_CURVE = "/topic/yield-curve";
+    private static final String TRADES = "/topic/trades";
+
+    // Booked quantities count up from here, so each broadcast can be matched to its request
+    private static final long QUANTITY_BASE = 1_000_000_000L;
+
+    private final String baseUrl;
+    private final URI wsUri;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Session> sessions = new ArrayList<>();
+
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+    private final LatencyHistogram tradeLatency = new LatencyHistogram();
+    private final LatencyHistogram bookLatency = new LatencyHistogram();
+
+    // Quantity -> System.nanoTime() when its booking was sent, for trades booked while measuring
+    private final Map<Long, Long> sentAt = new ConcurrentHashMap<>();
+    private final AtomicLong bookSequence = new AtomicLong();
+    private final AtomicLong measuredBooked = new AtomicLong();
+    private final AtomicLong bookErrors = new AtomicLong();
+    private final AtomicLong tradeDeliveries = new AtomicLong();
+    private final AtomicLong stompErrors = new AtomicLong();
+    private final AtomicInteger subscribedSessions = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private final AtomicLong maxHeapBytes = new AtomicLong();
+    private volatile boolean recording;
+
+    private StompLoadTest(String baseUrl, ExecutorService callbacks) {
+        this.baseUrl = baseUrl;
+        this.wsUri = URI.create(baseUrl.replaceFirst("^http", "ws") + "/ws/websocket");
+        this.http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(callbacks)
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = RestLoadTest.parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8086");
+        int sessionCount = Integer.parseInt(options.getOrDefault("sessions", "200"));
+        double bookRate = Double.parseDouble(options.getOrDefault("book-rate", "20"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "10"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "60"));
+        long drain = Long.parseLong(options.getOrDefault("drain", "5"));
+        String label = options.getOrDefault("label", "run");
+        String csv = options.get("csv");
+
+        ExecutorService callbacks = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        try {
+            StompLoadTest test = new StompLoadTest(baseUrl, callbacks);
+            String row = test.run(scheduler, label, sessionCount, bookRate, warmup, duration, drain);
+            if (csv != null) {
+                Path path = Path.of(csv);
+                if (!Files.exists(path)) {
+                    Files.writeString(path, header() + System.lineSeparator());
+                }
+                Files.writeString(path, row + System.lineSeparator(), StandardOpenOption.APPEND);
+            }
+        } finally {
+            scheduler.shutdownNow();
+            callbacks.shutdownNow();
+        }
+    }
+
+    private String run(ScheduledExecutorService scheduler, String label, int sessionCount, double bookRate,
+                       long warmupSeconds, long durationSeconds, long drainSeconds) throws Exception {
+        System.out.printf("%s: connecting %d STOMP sessions to %s%n", label, sessionCount, wsUri);
+        CountDownLatch ready = new CountDownLatch(sessionCount);
+        List<CompletableFuture<WebSocket>> connects = new ArrayList<>(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            Session session = new Session(i, ready);
+            sessions.add(session);
+            connects.add(http.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .buildAsync(wsUri, session)
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        session.fail(error);
+                    }
+                }));
+        }
+        if (!ready.await(120, TimeUnit.SECONDS)) {
+            System.err.println("Timed out waiting for sessions to subscribe");
+        }
+        int live = subscribedSessions.get();
+        System.out.printf("%d of %d sessions subscribed%n", live, sessionCount);
+
+        ScheduledFuture<?> poller = scheduler.scheduleAtFixedRate(this::pollHeap, 0, 1, TimeUnit.SECONDS);
+        long periodNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / bookRate));
+        ScheduledFuture<?> booker = scheduler.scheduleAtFixedRate(this::bookOne, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        tickLatency.reset();
+        tradeLatency.reset();
+        bookLatency.reset();
+        for (Session session : sessions) {
+            session.marketFrames.set(0);
+        }
+        Map<String, Long> serverBefore = serverCounters();
+        maxHeapBytes.set(0);
+        int closedBefore = closed.get();
+        recording = true;
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+        recording = false;
+        Map<String, Long> serverAfter = serverCounters();
+        booker.cancel(false);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(drainSeconds));
+        poller.cancel(false);
+        int closedDuring = closed.get() - closedBefore;
+
+        for (CompletableFuture<WebSocket> connect : connects) {
+            WebSocket ws = connect.getNow(null);
+            if (ws != null && !ws.isOutputClosed()) {
+                ws.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+            }
+        }
+
+        long serverTicks = serverAfter.get("ticks") - serverBefore.get("ticks");
+        long minFrames = Long.MAX_VALUE;
+        long totalFrames = 0;
+        for (Session session : sessions) {
+            if (session.subscribed) {
+                long frames = session.marketFrames.get();
+                minFrames = Math.min(minFrames, frames);
+                totalFrames += frames;
+            }
+        }
+        if (live == 0) {
+            minFrames = 0;
+        }
+        long expectedTrades = measuredBooked.get() * live;
+        long lostTrades = Math.max(0, expectedTrades - tradeDeliveries.get());
+
+        System.out.println();
+        System.out.printf("Sessions: %d subscribed, %d closed during measurement, %d STOMP errors%n", live,
+            closedDuring, stompErrors.get());
+        System.out.printf("Booking: %d trades booked (%.1f/s), %d errors; REST %s%n", measuredBooked.get(),
+            measuredBooked.get() / (double) durationSeconds, bookErrors.get(), percentiles(bookLatency));
+        System.out.printf("Tick-to-client:     %s%n", percentiles(tickLatency));
+        System.out.printf("Book-to-broadcast:  %s%n", percentiles(tradeLatency));
+        System.out.printf("Trade broadcasts: %d of %d delivered, %d lost (%.3f%%)%n", tradeDeliveries.get(),
+            expectedTrades, lostTrades, expectedTrades > 0 ? 100.0 * lostTrades / expectedTrades : 0.0);
+        System.out.printf("Market-data frames per session: avg %.1f, min %d, server ticks %d%n",
+            live > 0 ? totalFrames / (double) live : 0.0, minFrames, serverTicks);
+        System.out.printf("Server: max heap used %d MB, %d GCs taking %d ms%n", maxHeapBytes.get() >> 20,
+            serverAfter.get("jvm.gc.count") - serverBefore.get("jvm.gc.count"),
+            serverAfter.get("jvm.gc.timeMs") - serverBefore.get("jvm.gc.timeMs"));
+
+        String row = String.format(Locale.ROOT,
+            "%s,%d,%d,%.1f,%d,%s,%s,%d,%d,%d,%.1f,%d,%d,%d,%d", label, sessionCount, live, bookRate,
+            measuredBooked.get(), csvPercentiles(tickLatency), csvPercentiles(tradeLatency), expectedTrades,
+            lostTrades, serverTicks, live > 0 ? totalFrames / (double) live : 0.0, minFrames,
+            maxHeapBytes.get() >> 20, serverAfter.get("jvm.gc.count") - serverBefore.get("jvm.gc.count"),
+            serverAfter.get("jvm.gc.timeMs") - serverBefore.get("jvm.gc.timeMs"));
+        System.out.println();
+        System.out.println(header());
+        System.out.println(row);
+        return row;
+    }
+
+    private static String header() {
+        return "label,sessions,subscribed,bookRate,booked,tickP50Ms,tickP99Ms,tickP999Ms,tickMaxMs,"
+            + "tradeP50Ms,tradeP99Ms,tradeP999Ms,tradeMaxMs,expectedTradeBroadcasts,lostTradeBroadcasts,"
+            + "serverTicks,avgMarketFrames,minMarketFrames,maxHeapMb,gcCount,gcTimeMs";
+    }
+
+    static String percentiles(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "n=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+            histogram.count(), histogram.valueAt(0.50) / 1e6, histogram.valueAt(0.90) / 1e6,
+            histogram.valueAt(0.99) / 1e6, histogram.valueAt(0.999) / 1e6, histogram.valueAt(1.0) / 1e6);
+    }
+
+    private static String csvPercentiles(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%.2f,%.2f,%.2f,%.2f", histogram.valueAt(0.50) / 1e6,
+            histogram.valueAt(0.99) / 1e6, histogram.valueAt(0.999) / 1e6, histogram.valueAt(1.0) / 1e6);
+    }
+
+    private void bookOne() {
+        long n = bookSequence.getAndIncrement();
+        long quantity = QUANTITY_BASE + n;
+        boolean measured = recording;
+        long start = System.nanoTime();
+        if (measured) {
+            sentAt.put(quantity, start);
+        }
+        http.sendAsync(TradeRequests.book(baseUrl, (int) (n % 64), n, quantity), HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    bookErrors.incrementAndGet();
+                    sentAt.remove(quantity);
+                    return;
+                }
+                if (measured) {
+                    bookLatency.record(System.nanoTime() - start);
+                    measuredBooked.incrementAndGet();
+                }
+            });
+    }
+
+    private void pollHeap() {
+        try {
+            JsonNode gauges = getJson("/api/treasury/metrics").path("gauges");
+            long heap = gauges.path("jvm.heap.usedBytes").asLong();
+            maxHeapBytes.accumulateAndGet(heap, Math::max);
+        } catch (Exception e) {
+            System.err.println("Metrics poll failed: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Long> serverCounters() throws IOException, InterruptedException {
+        JsonNode gauges = getJson("/api/treasury/metrics").path("gauges");
+        JsonNode broadcast = getJson("/api/treasury/metrics/broadcast");
+        return Map.of(
+            "ticks", broadcast.path("ticks").asLong(),
+            "jvm.gc.count", gauges.path("jvm.gc.count").asLong(),
+            "jvm.gc.timeMs", gauges.path("jvm.gc.timeMs").asLong());
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(TradeRequests.get(baseUrl, path),
+            HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void onMessage(Session session, String destination, String body) throws IOException {
+        if (MARKET_DATA.equals(destination)) {
+            if (!recording) {
+                return;
+            }
+            session.marketFrames.incrementAndGet();
+            long newest = 0;
+            for (JsonNode bond : objectMapper.readTree(body)) {
+                JsonNode lastUpdated = bond.path("lastUpdated");
+                if (lastUpdated.isTextual()) {
+                    newest = Math.max(newest, LocalDateTime.parse(lastUpdated.asText())
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                }
+            }
+            if (newest > 0) {
+                tickLatency.record(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - newest));
+            }
+        } else if (TRADES.equals(destination)) {
+            long quantity = objectMapper.readTree(body).path("quantity").asLong();
+            Long sent = sentAt.get(quantity);
+            if (sent != null) {
+                tradeLatency.record(System.nanoTime() - sent);
+                tradeDeliveries.incrementAndGet();
+            }
+        }
+    }
+
+    /** One STOMP client. The JDK calls a listener for one socket at a time. */
+    private final class Session implements WebSocket.Listener {
+        private final int id;
+        private final CountDownLatch ready;
+        private final StringBuilder partial = new StringBuilder();
+        final AtomicLong marketFrames = new AtomicLong();
+        volatile boolean subscribed;
+        private boolean counted;
+
+        Session(int id, CountDownLatch ready) {
+            this.id = id;
+            this.ready = ready;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            webSocket.sendText("CONNECT\naccept-version:1.2\nhost:localhost\nheart-beat:0,0\n\n\0", true);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                String frame = partial.toString();
+                partial.setLength(0);
+                try {
+                    onFrame(webSocket, frame);
+                } catch (Exception e) {
+                    stompErrors.incrementAndGet();
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void onFrame(WebSocket webSocket, String frame) throws IOException {
+            int headersEnd = frame.indexOf("\n\n");
+            if (headersEnd < 0) {
+                // Heart-beat or keep-alive newline
+                return;
+            }
+            String[] headers = frame.substring(0, headersEnd).split("\n");
+            String command = headers[0];
+            int bodyEnd = frame.indexOf('\0', headersEnd);
+            String body = frame.substring(headersEnd + 2, bodyEnd >= 0 ? bodyEnd : frame.length());
+            switch (command) {
+                case "CONNECTED":
+                    webSocket.sendText(subscribe("market", MARKET_DATA) + subscribe("curve", YIELD_CURVE)
+                        + subscribe("trades", TRADES), true);
+                    subscribed = true;
+                    markReady();
+                    break;
+                case "MESSAGE":
+                    String destination = null;
+                    for (int i = 1; i < headers.length; i++) {
+                        if (headers[i].startsWith("destination:")) {
+                            destination = headers[i].substring("destination:".length());
+                            break;
+                        }
+                    }
+                    onMessage(this, destination, body);
+                    break;
+                case "ERROR":
+                    stompErrors.incrementAndGet();
+                    System.err.println("Session " + id + " STOMP error: " + frame.substring(0, headersEnd));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private String subscribe(String subscriptionId, String destination) {
+            return "SUBSCRIBE\nid:" + subscriptionId + "\ndestination:" + destination + "\n\n\0";
+        }
+
+        // Counts the session toward the ready latch exactly once, subscribed or failed
+        private synchronized void markReady() {
+            if (!counted) {
+                counted = true;
+                if (subscribed) {
+                    subscribedSessions.incrementAndGet();
+                }
+                ready.countDown();
+            }
+        }
+
+        void fail(Throwable error) {
+            System.err.println("Session " + id + " failed to connect: " + error.getMessage());
+            markReady();
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed.incrementAndGet();
+            markReady();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            closed.incrementAndGet();
+            System.err.println("Session " + id + " error: " + error.getMessage());
+            markReady();
+        }
+    }
+}
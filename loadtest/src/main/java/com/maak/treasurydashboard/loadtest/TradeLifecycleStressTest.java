@@ -0,0 +1,301 @@
+package com.maak.treasurydashboard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maak.treasurydashboard.service.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Races cancels and amends on the same trades while more trades are being booked,
+ * then checks that no transition was lost or applied twice.
+ *
+ * <pre>
+ * java -cp target/loadtest.jar com.maak.treasurydashboard.loadtest.TradeLifecycleStressTest --trades 500 --amenders 8
+ * </pre>
+ *
+ * Options: {@code --base-url} (http://localhost:8086), {@code --trades} to book,
+ * {@code --bookers} (booking threads), {@code --amenders} and {@code --cancellers}
+ * per trade, {@code --amends} (successful amends each amender aims for),
+ * {@code --cancel-delay-ms} (how long cancellers let the amenders run first) and
+ * {@code --threads} (threads shared by all amenders and cancellers).
+ *
+ * <p>Every amend adds a fixed step to the quantity it last read and sends the version
+ * it read. Cancels also send the version they read. On a 409 a worker retries against
+ * the trade in the response body, and stops once the trade is cancelled. At the end
+ * every trade must be cancelled exactly once, its quantity must include every
+ * successful amend, and its version must equal the number of successful transitions,
+ * each of which returned a different version. The process exits with status 1 if any
+ * trade fails a check.
+ */
+public final class TradeLifecycleStressTest {
+
+    // Each successful amend adds this to the quantity it read, so a lost update leaves a shortfall
+    private static final long STEP = 1_000L;
+    private static final long INITIAL_QUANTITY = 1_000_000L;
+    private static final int MAX_ATTEMPTS = 1_000;
+    private static final String TRADES_PATH = "/api/treasury/trades/";
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Tracked> tracked = new CopyOnWriteArrayList<>();
+
+    private final LatencyHistogram transitionLatency = new LatencyHistogram();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong gaveUp = new AtomicLong();
+
+    private TradeLifecycleStressTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = RestLoadTest.parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8086");
+        int trades = Integer.parseInt(options.getOrDefault("trades", "200"));
+        int bookers = Integer.parseInt(options.getOrDefault("bookers", "4"));
+        int amenders = Integer.parseInt(options.getOrDefault("amenders", "4"));
+        int cancellers = Integer.parseInt(options.getOrDefault("cancellers", "2"));
+        int amends = Integer.parseInt(options.getOrDefault("amends", "5"));
+        long cancelDelayMs = Long.parseLong(options.getOrDefault("cancel-delay-ms", "20"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "64"));
+
+        TradeLifecycleStressTest test = new TradeLifecycleStressTest(baseUrl);
+        int violations = test.run(trades, bookers, amenders, cancellers, amends, cancelDelayMs, threads);
+        System.exit(violations == 0 ? 0 : 1);
+    }
+
+    private int run(int trades, int bookers, int amenders, int cancellers, int amends, long cancelDelayMs,
+                    int threads) throws Exception {
+        System.out.printf("Booking %d trades on %d threads; %d amenders and %d cancellers race on each%n",
+            trades, bookers, amenders, cancellers);
+        ExecutorService booking = Executors.newFixedThreadPool(bookers);
+        ExecutorService racers = Executors.newFixedThreadPool(threads);
+        AtomicInteger booked = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Future<?>> bookings = new ArrayList<>(trades);
+        for (int i = 0; i < trades; i++) {
+            int n = i;
+            bookings.add(booking.submit(() -> {
+                Tracked trade = book(n);
+                if (trade == null) {
+                    return null;
+                }
+                booked.incrementAndGet();
+                tracked.add(trade);
+                // Racers on this trade overlap with the bookings still to come
+                for (int a = 0; a < amenders; a++) {
+                    racers.submit(() -> amend(trade, amends));
+                }
+                for (int c = 0; c < cancellers; c++) {
+                    racers.submit(() -> cancel(trade, cancelDelayMs));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : bookings) {
+            future.get();
+        }
+        booking.shutdown();
+        racers.shutdown();
+        if (!racers.awaitTermination(10, TimeUnit.MINUTES)) {
+            System.err.println("Racers still running after 10 minutes");
+            racers.shutdownNow();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int violations = verify();
+        long amended = tracked.stream().mapToLong(t -> t.amends.get()).sum();
+        long cancelled = tracked.stream().mapToLong(t -> t.cancels.get()).sum();
+        System.out.println();
+        System.out.printf("booked=%d amends=%d cancels=%d conflicts=%d errors=%d gaveUp=%d in %.1fs%n",
+            booked.get(), amended, cancelled, conflicts.get(), errors.get(), gaveUp.get(), elapsed);
+        System.out.println("transition latency: " + StompLoadTest.percentiles(transitionLatency));
+        System.out.println(violations == 0 ? "OK: no lost or repeated transitions"
+            : "FAILED: " + violations + " trades with lost or repeated transitions");
+        return violations;
+    }
+
+    private Tracked book(int n) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(TradeRequests.book(baseUrl, n % 64, n, INITIAL_QUANTITY),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            errors.incrementAndGet();
+            return null;
+        }
+        long id = objectMapper.readTree(response.body()).get("id").asLong();
+        // In WAL mode the trade has no version until its insert lands, and transitions get a 409 until then
+        JsonNode trade = get(id);
+        for (int i = 0; trade != null && !trade.hasNonNull("version") && i < 1_000; i++) {
+            Thread.sleep(10);
+            trade = get(id);
+        }
+        if (trade == null || !trade.hasNonNull("version")) {
+            errors.incrementAndGet();
+            return null;
+        }
+        return new Tracked(id);
+    }
+
+    private void amend(Tracked trade, int target) {
+        try {
+            JsonNode current = get(trade.id);
+            int done = 0;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && done < target; attempt++) {
+                if (current == null || isCancelled(current)) {
+                    return;
+                }
+                String body = "{\"quantity\":" + (current.get("quantity").asLong() + STEP)
+                    + ",\"version\":" + current.get("version").asLong() + "}";
+                HttpResponse<String> response = transition(TradeRequests.put(baseUrl,
+                    TRADES_PATH + trade.id + "/amend", body));
+                if (response.statusCode() == 200) {
+                    current = objectMapper.readTree(response.body());
+                    trade.amends.incrementAndGet();
+                    trade.succeeded(current);
+                    done++;
+                } else if (response.statusCode() == 409) {
+                    current = afterConflict(trade.id, response);
+                } else {
+                    errors.incrementAndGet();
+                    return;
+                }
+            }
+            if (done < target && current != null && !isCancelled(current)) {
+                gaveUp.incrementAndGet();
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private void cancel(Tracked trade, long delayMs) {
+        try {
+            Thread.sleep(delayMs);
+            JsonNode current = get(trade.id);
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                if (current == null || isCancelled(current)) {
+                    return;
+                }
+                HttpResponse<String> response = transition(TradeRequests.put(baseUrl,
+                    TRADES_PATH + trade.id + "/cancel?version=" + current.get("version").asLong(), null));
+                if (response.statusCode() == 200) {
+                    trade.cancels.incrementAndGet();
+                    trade.succeeded(objectMapper.readTree(response.body()));
+                    return;
+                } else if (response.statusCode() == 409) {
+                    current = afterConflict(trade.id, response);
+                } else {
+                    errors.incrementAndGet();
+                    return;
+                }
+            }
+            gaveUp.incrementAndGet();
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private int verify() throws IOException, InterruptedException {
+        int violations = 0;
+        for (Tracked trade : tracked) {
+            JsonNode last = get(trade.id);
+            List<String> problems = new ArrayList<>();
+            int transitions = trade.amends.get() + trade.cancels.get();
+            if (last == null) {
+                problems.add("missing");
+            } else {
+                if (trade.cancels.get() != 1) {
+                    problems.add("cancelled " + trade.cancels.get() + " times");
+                }
+                if (!isCancelled(last)) {
+                    problems.add("status " + last.path("status").asText());
+                }
+                long expectedQuantity = INITIAL_QUANTITY + STEP * trade.amends.get();
+                if (last.path("quantity").asLong() != expectedQuantity) {
+                    problems.add("quantity " + last.path("quantity").asLong() + ", expected " + expectedQuantity);
+                }
+                if (last.path("version").asLong() != transitions) {
+                    problems.add("version " + last.path("version").asLong() + " after " + transitions + " transitions");
+                }
+            }
+            if (trade.versions.size() != transitions || trade.repeatedVersions.get() > 0) {
+                problems.add(trade.repeatedVersions.get() + " transitions returned a repeated version");
+            }
+            if (!problems.isEmpty()) {
+                if (violations < 10) {
+                    System.out.println("trade " + trade.id + ": " + String.join("; ", problems));
+                }
+                violations++;
+            }
+        }
+        return violations;
+    }
+
+    private HttpResponse<String> transition(HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        transitionLatency.record(System.nanoTime() - start);
+        return response;
+    }
+
+    // The 409 body is the trade as it stands; it is empty while the trade is still in the WAL
+    private JsonNode afterConflict(long id, HttpResponse<String> response) throws IOException, InterruptedException {
+        conflicts.incrementAndGet();
+        if (response.body() == null || response.body().isEmpty()) {
+            Thread.sleep(10);
+            return get(id);
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private JsonNode get(long id) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(TradeRequests.get(baseUrl, TRADES_PATH + id),
+            HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private static boolean isCancelled(JsonNode trade) {
+        return "CANCELLED".equals(trade.path("status").asText());
+    }
+
+    private static final class Tracked {
+        final long id;
+        final AtomicInteger amends = new AtomicInteger();
+        final AtomicInteger cancels = new AtomicInteger();
+        // Versions returned by successful transitions; each should be new
+        final Set<Long> versions = ConcurrentHashMap.newKeySet();
+        final AtomicInteger repeatedVersions = new AtomicInteger();
+
+        Tracked(long id) {
+            this.id = id;
+        }
+
+        void succeeded(JsonNode trade) {
+            if (!versions.add(trade.path("version").asLong())) {
+                repeatedVersions.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.maak.treasurydashboard.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/** Booking requests shaped like the blotter's, spread over the four seeded bonds. */
+final class TradeRequests {
+
+    private static final String[] CUSIPS = {"912828YK5", "912828YM1", "912828YN9", "912810TM0"};
+    private static final String[] MATURITIES = {"2Y", "5Y", "10Y", "30Y"};
+    private static final String[] TRADERS = {"JSMITH", "AKUMAR", "MLOPEZ", "TCHEN"};
+    private static final String[] COUNTERPARTIES = {"GS", "JPM", "MS", "CITI", "BARC"};
+
+    private static final String SETTLEMENT_DATE = LocalDate.now().plusDays(1).atStartOfDay().toString();
+
+    private TradeRequests() {}
+
+    static HttpRequest book(String baseUrl, int client, long n, long quantity) {
+        int bond = (int) ((client + n) & 3);
+        String body = "{\"cusip\":\"" + CUSIPS[bond] + "\",\"maturity\":\"" + MATURITIES[bond]
+            + "\",\"side\":\"" + ((n & 1) == 0 ? "BUY" : "SELL") + "\",\"quantity\":" + quantity
+            + ",\"price\":99.8125,\"yield\":4.875,\"counterparty\":\"" + COUNTERPARTIES[client % COUNTERPARTIES.length]
+            + "\",\"trader\":\"" + TRADERS[client % TRADERS.length] + "\",\"settlementDate\":\"" + SETTLEMENT_DATE
+            + "\",\"commission\":25.00}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/treasury/trades/book"))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    static HttpRequest put(String baseUrl, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .PUT(json != null ? HttpRequest.BodyPublishers.ofString(json) : HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+    static HttpRequest get(String baseUrl, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .GET()
+            .build();
+    }
+}